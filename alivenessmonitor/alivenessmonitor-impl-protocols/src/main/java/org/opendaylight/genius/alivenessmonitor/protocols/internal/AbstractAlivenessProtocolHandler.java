@@ -12,10 +12,14 @@ import static org.opendaylight.mdsal.binding.util.Datastore.OPERATIONAL;
 
 import com.google.common.base.Strings;
 import com.google.common.primitives.UnsignedBytes;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandler;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandlerRegistry;
+import org.opendaylight.genius.alivenessmonitor.utils.AlivenessMonitorUtil;
+import org.opendaylight.genius.mdsalutil.MDSALUtil;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunnerImpl;
@@ -24,11 +28,15 @@ import org.opendaylight.openflowplugin.libraries.liblldp.Packet;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.InterfacesState;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.Interface;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.MonitorProtocolType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitor.configs.MonitoringInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 abstract class AbstractAlivenessProtocolHandler<P extends Packet> implements AlivenessProtocolHandler<P> {
 
-    // private static final Logger LOG = LoggerFactory.getLogger(AbstractAlivenessProtocolHandler.class);
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractAlivenessProtocolHandler.class);
 
     private final ManagedNewTransactionRunner txRunner;
 
@@ -62,6 +70,30 @@ abstract class AbstractAlivenessProtocolHandler<P extends Packet> implements Ali
     }
     // @formatter:on
 
+    /**
+     * Returns the DPN of the source interface of the monitoring, from the lower layer port of its interface state.
+     */
+    @Override
+    public @Nullable Object getMonitoringBatchKey(MonitoringInfo monitorInfo) {
+        String interfaceName = AlivenessMonitorUtil.getInterfaceName(monitorInfo.getSource().getEndpointType());
+        if (interfaceName == null) {
+            return null;
+        }
+        Interface interfaceState;
+        try {
+            interfaceState = getInterfaceFromOperDS(interfaceName);
+        } catch (ReadFailedException e) {
+            LOG.debug("Error reading the state of interface {}, its monitorings are not batched", interfaceName, e);
+            return null;
+        }
+        List<String> lowerLayerIfs = interfaceState != null ? interfaceState.getLowerLayerIf() : null;
+        if (lowerLayerIfs == null || lowerLayerIfs.isEmpty()) {
+            return null;
+        }
+        long dpnId = MDSALUtil.getDpnIdFromPortName(new NodeConnectorId(lowerLayerIfs.get(0)));
+        return dpnId != -1 ? Long.valueOf(dpnId) : null;
+    }
+
     protected Optional<byte[]> getMacAddress(Interface interfaceState) {
         String macAddress = interfaceState.getPhysAddress().getValue();
 
@@ -28,6 +28,8 @@ import org.opendaylight.genius.alivenessmonitor.utils.AlivenessMonitorUtil;
 import org.opendaylight.genius.mdsalutil.MetaDataUtil;
 import org.opendaylight.genius.mdsalutil.NWUtil;
 import org.opendaylight.genius.mdsalutil.packet.ARP;
+import org.opendaylight.genius.mdsalutil.packet.view.ArpView;
+import org.opendaylight.genius.mdsalutil.packet.view.EthernetView;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.PhysAddress;
@@ -78,48 +80,62 @@ public class AlivenessProtocolHandlerARP extends AbstractAlivenessProtocolHandle
     @Override
     @SuppressFBWarnings("NP_NONNULL_RETURN_VIOLATION")
     public String handlePacketIn(ARP packet, PacketReceived packetReceived) {
-        short tableId = packetReceived.getTableId().getValue().toJava();
-        int arpType = packet.getOpCode();
+        if (packet.getOpCode() != ARP.REPLY) {
+            LOG.trace("packet: {}, arpType {}", packetReceived, packet.getOpCode());
+            return null;
+        }
+        return getReplyMonitoringKey(packetReceived, NWUtil.toStringIpAddress(packet.getSenderProtocolAddress()),
+                NWUtil.toStringIpAddress(packet.getTargetProtocolAddress()));
+    }
 
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("packet: {}, tableId {}, arpType {}", packetReceived, tableId, arpType);
+    /**
+     * Reads the ARP op code and addresses in place from the payload, without deserializing the packet, which
+     * matters as most ARP packet-ins are requests, which are not of interest to the monitoring.
+     */
+    @Override
+    @SuppressFBWarnings("NP_NONNULL_RETURN_VIOLATION")
+    public String handlePacketIn(PacketReceived packetReceived) {
+        EthernetView ethernet = new EthernetView().wrap(packetReceived.getPayload());
+        ArpView arp = new ArpView().wrapPayload(ethernet);
+        if (arp.getOpCode() != ArpView.REPLY) {
+            LOG.trace("packet: {}, arpType {}", packetReceived, arp.getOpCode());
+            return null;
         }
+        return getReplyMonitoringKey(packetReceived, NWUtil.toStringIpv4Address(arp.getSenderProtocolAddress()),
+                NWUtil.toStringIpv4Address(arp.getTargetProtocolAddress()));
+    }
 
-        if (arpType == ARP.REPLY) {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("packet: {}", packetReceived);
-            }
+    private String getReplyMonitoringKey(PacketReceived packetReceived, String sourceIp, String targetIp) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("packet: {}, tableId {}", packetReceived, packetReceived.getTableId().getValue());
+        }
 
-            Uint64 metadata = packetReceived.getMatch().getMetadata().getMetadata();
-            int portTag = MetaDataUtil.getLportFromMetadata(metadata).intValue();
-            String interfaceName = null;
-
-            try {
-                GetInterfaceFromIfIndexInput input = new GetInterfaceFromIfIndexInputBuilder().setIfIndex(portTag)
-                        .build();
-                Future<RpcResult<GetInterfaceFromIfIndexOutput>> output = interfaceManager
-                        .getInterfaceFromIfIndex(input);
-                RpcResult<GetInterfaceFromIfIndexOutput> result = output.get();
-                if (result.isSuccessful()) {
-                    GetInterfaceFromIfIndexOutput ifIndexOutput = result.getResult();
-                    interfaceName = ifIndexOutput.getInterfaceName();
-                } else {
-                    LOG.warn("RPC call to get interface name for if index {} failed with errors {}", portTag,
-                            result.getErrors());
-                    return null;
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.warn("Error retrieving interface Name for tag {}", portTag, e);
-            }
-            if (!Strings.isNullOrEmpty(interfaceName)) {
-                String sourceIp = NWUtil.toStringIpAddress(packet.getSenderProtocolAddress());
-                String targetIp = NWUtil.toStringIpAddress(packet.getTargetProtocolAddress());
-                return getMonitoringKey(interfaceName, targetIp, sourceIp);
+        Uint64 metadata = packetReceived.getMatch().getMetadata().getMetadata();
+        int portTag = MetaDataUtil.getLportFromMetadata(metadata).intValue();
+        String interfaceName = null;
+
+        try {
+            GetInterfaceFromIfIndexInput input = new GetInterfaceFromIfIndexInputBuilder().setIfIndex(portTag)
+                    .build();
+            Future<RpcResult<GetInterfaceFromIfIndexOutput>> output = interfaceManager
+                    .getInterfaceFromIfIndex(input);
+            RpcResult<GetInterfaceFromIfIndexOutput> result = output.get();
+            if (result.isSuccessful()) {
+                GetInterfaceFromIfIndexOutput ifIndexOutput = result.getResult();
+                interfaceName = ifIndexOutput.getInterfaceName();
             } else {
-                LOG.debug("No interface associated with tag {} to interpret the received ARP Reply", portTag);
+                LOG.warn("RPC call to get interface name for if index {} failed with errors {}", portTag,
+                        result.getErrors());
+                return null;
             }
+        } catch (InterruptedException | ExecutionException e) {
+            LOG.warn("Error retrieving interface Name for tag {}", portTag, e);
+        }
+        if (!Strings.isNullOrEmpty(interfaceName)) {
+            return getMonitoringKey(interfaceName, targetIp, sourceIp);
+        } else {
+            LOG.debug("No interface associated with tag {} to interpret the received ARP Reply", portTag);
         }
-
         return null;
     }
 
@@ -88,7 +88,17 @@ public class AlivenessProtocolHandlerIPv6ND extends AbstractAlivenessProtocolHan
             LOG.warn("Packet received is not an IPv6 NA packet, ignored.");
             return null;
         }
+        return handlePacketIn(packetReceived);
+    }
 
+    /**
+     * Handles a packet-in already classified as an IPv6 Neighbor Advertisement by the Aliveness monitor, so
+     * without checking that again.
+     */
+    @Override
+    @SuppressFBWarnings("NP_NONNULL_RETURN_VIOLATION")
+    public String handlePacketIn(PacketReceived packetReceived) {
+        byte[] data = packetReceived.getPayload();
         Ipv6NaDecoder ipv6NaDecoder = new Ipv6NaDecoder(data);
         NeighborAdvertisePacket naPacket;
         try {
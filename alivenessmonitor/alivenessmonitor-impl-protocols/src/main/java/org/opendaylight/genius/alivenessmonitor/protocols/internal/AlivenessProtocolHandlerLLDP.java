@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
@@ -30,6 +31,9 @@ import org.opendaylight.genius.mdsalutil.MDSALUtil;
 import org.opendaylight.genius.mdsalutil.actions.ActionOutput;
 import org.opendaylight.genius.mdsalutil.actions.ActionSetFieldTunnelId;
 import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.out.PacketOutBatcher;
+import org.opendaylight.genius.mdsalutil.packet.out.PacketOutNodeListener;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.openflowplugin.libraries.liblldp.EtherTypes;
@@ -60,16 +64,26 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
     // TODO org.opendaylight.openflowplugin.libraries.liblldp.LLDPTLV uses Charset.defaultCharset() .. bug there?
     private static final Charset LLDPTLV_CHARSET = StandardCharsets.US_ASCII;
 
-    private final PacketProcessingService packetProcessingService;
+    private final PacketOutBatcher packetOutBatcher;
+    private final PacketOutNodeListener packetOutNodeListener;
     private final AtomicInteger packetId = new AtomicInteger(0);
 
     @Inject
     public AlivenessProtocolHandlerLLDP(
             @Reference final DataBroker dataBroker,
             @Reference final AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry,
-            final PacketProcessingService packetProcessingService) {
+            final PacketProcessingService packetProcessingService,
+            @Reference final MetricProvider metricProvider) {
         super(dataBroker, alivenessProtocolHandlerRegistry, MonitorProtocolType.Lldp);
-        this.packetProcessingService = packetProcessingService;
+        // The LLDP probes of the monitorings of the same DPN are sent out together
+        this.packetOutBatcher = new PacketOutBatcher(packetProcessingService, "AlivenessLLDP", metricProvider);
+        this.packetOutNodeListener = new PacketOutNodeListener(dataBroker, packetOutBatcher);
+    }
+
+    @PreDestroy
+    public void close() {
+        packetOutNodeListener.close();
+        packetOutBatcher.close();
     }
 
     @Override
@@ -160,7 +174,7 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
             }
             TransmitPacketInput transmitPacketInput = MDSALUtil.getPacketOut(actions, ethenetLLDPPacket.serialize(),
                     nodeId, MDSALUtil.getNodeConnRef(Uint64.valueOf(nodeId), "0xfffffffd"));
-            addErrorLogging(packetProcessingService.transmitPacket(transmitPacketInput),
+            addErrorLogging(packetOutBatcher.transmitPacket(transmitPacketInput),
                     LOG, "transmitPacket() failed: {}", transmitPacketInput);
         } catch (InterruptedException | ExecutionException | PacketException e) {
             LOG.error("Error while sending LLDP Packet", e);
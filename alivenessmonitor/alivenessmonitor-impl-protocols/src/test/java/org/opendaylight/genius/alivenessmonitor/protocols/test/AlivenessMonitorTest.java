@@ -38,11 +38,17 @@ import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.genius.alivenessmonitor.internal.AlivenessMonitor;
+import org.opendaylight.genius.alivenessmonitor.internal.PacketInStatistics;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandler;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandlerRegistry;
 import org.opendaylight.genius.alivenessmonitor.protocols.impl.AlivenessProtocolHandlerRegistryImpl;
 import org.opendaylight.genius.alivenessmonitor.protocols.internal.AlivenessProtocolHandlerARP;
 import org.opendaylight.genius.alivenessmonitor.protocols.internal.AlivenessProtocolHandlerLLDP;
+import org.opendaylight.genius.mdsalutil.packet.IPProtocols;
+import org.opendaylight.genius.mdsalutil.packet.view.ArpView;
+import org.opendaylight.genius.mdsalutil.packet.view.EthernetView;
+import org.opendaylight.genius.mdsalutil.packet.view.PacketWriter;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.NotificationPublishService;
 import org.opendaylight.mdsal.binding.api.NotificationService;
@@ -51,6 +57,7 @@ import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
 import org.opendaylight.mdsal.binding.api.WriteTransaction;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.openflowplugin.libraries.liblldp.EtherTypes;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.MonitorPauseInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.MonitorPauseInputBuilder;
@@ -96,8 +103,16 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdManagerService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.OdlInterfaceRpcService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.MetadataBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceivedBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.SendToController;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.packet.received.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.table.types.rev131026.TableId;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -106,6 +121,8 @@ import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
 
 public class AlivenessMonitorTest {
 
@@ -176,11 +193,11 @@ public class AlivenessMonitorTest {
 
         AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry = new AlivenessProtocolHandlerRegistryImpl();
         alivenessMonitor = new AlivenessMonitor(dataBroker, idManager,
-                notificationPublishService, alivenessProtocolHandlerRegistry);
+                notificationPublishService, alivenessProtocolHandlerRegistry, new TestMetricProviderImpl());
         arpHandler = new AlivenessProtocolHandlerARP(dataBroker, alivenessProtocolHandlerRegistry,
                 interfaceManager, arpService);
         lldpHandler = new AlivenessProtocolHandlerLLDP(dataBroker,
-                alivenessProtocolHandlerRegistry, packetProcessingService);
+                alivenessProtocolHandlerRegistry, packetProcessingService, new TestMetricProviderImpl());
         mockId = 1L;
         when(idManager.allocateId(any(AllocateIdInput.class)))
                 .thenReturn(
@@ -395,6 +412,33 @@ public class AlivenessMonitorTest {
         assertTrue("Monitor profile delete result", result.isSuccessful());
     }
 
+    @Test
+    public void testPacketInClassification() {
+        when(interfaceManager.getInterfaceFromIfIndex(any(GetInterfaceFromIfIndexInput.class)))
+                .thenReturn(Futures.immediateFuture(RpcResultBuilder.<GetInterfaceFromIfIndexOutput>failed().build()));
+        PacketWriter writer = new PacketWriter();
+        byte[] arpRequest = writer.reset().ethernet(0xffffffffffffL, 0x000102030405L, EtherTypes.ARP.intValue())
+                .arp(ArpView.REQUEST, 0x000102030405L, 0xc0a80002, 0, 0xc0a80001).build();
+        byte[] arpReply = writer.reset().ethernet(0x000102030405L, 0x0a0b0c0d0e0fL, EtherTypes.ARP.intValue())
+                .arp(ArpView.REPLY, 0x0a0b0c0d0e0fL, 0xc0a80001, 0x000102030405L, 0xc0a80002).build();
+        byte[] truncatedArp = Arrays.copyOf(arpReply, EthernetView.HEADER_LENGTH + 8);
+        byte[] ipv4 = writer.reset().ethernet(0x000102030405L, 0x0a0b0c0d0e0fL, EtherTypes.IPv4.intValue())
+                .ipv4(IPProtocols.UDP.intValue(), 64, 0xc0a80001, 0xc0a80002).udp(1000, 2000).build();
+
+        alivenessMonitor.onPacketReceived(getPacketReceived(arpRequest));
+        alivenessMonitor.onPacketReceived(getPacketReceived(arpReply));
+        alivenessMonitor.onPacketReceived(getPacketReceived(truncatedArp));
+        alivenessMonitor.onPacketReceived(getPacketReceived(ipv4));
+
+        // Only the reply gets as far as looking up the interface, the request is discarded from its op code
+        verify(interfaceManager).getInterfaceFromIfIndex(any(GetInterfaceFromIfIndexInput.class));
+        PacketInStatistics statistics = alivenessMonitor.getPacketInStatistics();
+        assertEquals(3, statistics.getReceivedCount(MonitorProtocolType.Arp));
+        assertEquals(1, statistics.getDroppedCount(MonitorProtocolType.Arp));
+        assertEquals(0, statistics.getReceivedCount(MonitorProtocolType.Lldp));
+        assertEquals(1, statistics.getUnclassifiedCount());
+    }
+
     @SuppressWarnings("unchecked")
     private Uint32 createProfile()
             throws InterruptedException, ExecutionException {
@@ -412,6 +456,13 @@ public class AlivenessMonitorTest {
         return output.getResult().getProfileId();
     }
 
+    private static PacketReceived getPacketReceived(byte[] payload) {
+        return new PacketReceivedBuilder().setPacketInReason(SendToController.class).setTableId(new TableId(Uint8.TWO))
+                .setPayload(payload)
+                .setMatch(new MatchBuilder().setMetadata(new MetadataBuilder().setMetadata(Uint64.TEN).build()).build())
+                .build();
+    }
+
     private MonitorProfile getTestMonitorProfile() {
         return new MonitorProfileBuilder().setId(Uint32.MAX_VALUE).setFailureThreshold(Uint32.TEN)
                 .setMonitorInterval(Uint32.valueOf(10000)).setMonitorWindow(Uint32.TEN)
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.protocols.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.genius.alivenessmonitor.internal.MonitoringScheduler;
+
+/**
+ * Unit tests of the {@link MonitoringScheduler}, whose ticks are run by the test on a fake clock, and whose expired
+ * tasks are run in place.
+ */
+public class MonitoringSchedulerTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private static final int TICKS_PER_WHEEL = 8;
+
+    // The time of the fake clock, which does not start at 0
+    private long nanos = 123_456_789;
+    // The number of ticks ended on the fake clock
+    private long elapsedTicks;
+    private final List<List<Object>> batches = new ArrayList<>();
+    private List<Object> currentBatch = new ArrayList<>();
+    private final MonitoringScheduler scheduler = new MonitoringScheduler(TICK_MILLIS, TICKS_PER_WHEEL, command -> {
+        currentBatch = new ArrayList<>();
+        command.run();
+        batches.add(currentBatch);
+    }, new Ticker() {
+        @Override
+        public long read() {
+            return nanos;
+        }
+    });
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void testPhasesSpreadOverInterval() {
+        long intervalMillis = TICKS_PER_WHEEL * TICK_MILLIS;
+        List<List<Long>> runTicks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            List<Long> taskRunTicks = new ArrayList<>();
+            runTicks.add(taskRunTicks);
+            scheduler.schedule(null, () -> taskRunTicks.add(elapsedTicks), intervalMillis);
+        }
+        advanceTicks(2 * TICKS_PER_WHEEL);
+
+        // Each task runs at the end of the tick of its phase, the fraction of the interval given by its sequence
+        // number times the golden ratio conjugate, and again one interval later
+        long[] firstRunTicks = {1, 5, 2, 7, 4, 1, 6, 3};
+        for (int i = 0; i < firstRunTicks.length; i++) {
+            assertEquals("Task " + i, List.of(firstRunTicks[i], firstRunTicks[i] + TICKS_PER_WHEEL), runTicks.get(i));
+        }
+        assertEquals(16, scheduler.getFiredCount());
+        assertEquals(2 * TICKS_PER_WHEEL, scheduler.getTickCount());
+        assertEquals(0, scheduler.getTickOverrunCount());
+    }
+
+    @Test
+    public void testBatchedPerKey() {
+        // All the phases within the first tick
+        for (int i = 0; i < 6; i++) {
+            String dpn = "dpn" + i % 2;
+            scheduler.schedule(dpn, () -> currentBatch.add(dpn), TICK_MILLIS);
+        }
+        advanceTicks(1);
+        assertEquals(List.of(List.of("dpn0", "dpn0", "dpn0"), List.of("dpn1", "dpn1", "dpn1")), batches);
+
+        batches.clear();
+        advanceTicks(1);
+        assertEquals(List.of(List.of("dpn0", "dpn0", "dpn0"), List.of("dpn1", "dpn1", "dpn1")), batches);
+        assertEquals(12, scheduler.getFiredCount());
+    }
+
+    @Test
+    public void testIntervalOfOneRotation() {
+        // Expired and inserted again in the bucket of the same tick, which must not cost an extra rotation
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.schedule(null, () -> runTicks.add(elapsedTicks), TICK_MILLIS * TICKS_PER_WHEEL);
+        advanceTicks(4 * TICKS_PER_WHEEL + 1);
+
+        assertEquals(List.of(1L, 9L, 17L, 25L, 33L), runTicks);
+    }
+
+    @Test
+    public void testIntervalOfSeveralRotations() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.schedule(null, () -> runTicks.add(elapsedTicks), TICK_MILLIS * 20);
+        advanceTicks(50);
+
+        assertEquals(List.of(1L, 21L, 41L), runTicks);
+    }
+
+    @Test
+    public void testCancel() {
+        List<Long> runTicks = new ArrayList<>();
+        MonitoringScheduler.Task task = scheduler.schedule(null, () -> runTicks.add(elapsedTicks), 2 * TICK_MILLIS);
+        assertEquals(1, scheduler.getScheduledCount());
+        advanceTicks(3);
+        assertEquals(List.of(1L, 3L), runTicks);
+
+        task.cancel();
+        assertTrue(task.isCancelled());
+        assertEquals(0, scheduler.getScheduledCount());
+        advanceTicks(4);
+        assertEquals(List.of(1L, 3L), runTicks);
+    }
+
+    @Test
+    public void testCancelBeforeFirstTick() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.schedule(null, () -> runTicks.add(elapsedTicks), TICK_MILLIS).cancel();
+        advanceTicks(2);
+
+        assertEquals(List.of(), runTicks);
+        assertEquals(0, scheduler.getFiredCount());
+    }
+
+    @Test
+    public void testRunsMissedByLateTicksSkipped() {
+        List<Long> runTicks = new ArrayList<>();
+        scheduler.schedule(null, () -> runTicks.add(elapsedTicks), 2 * TICK_MILLIS);
+        // The ticks are run at once, after the end of the third one: the run of the third one is missed
+        nanos += 3 * TICK_NANOS;
+        elapsedTicks += 3;
+        assertEquals(3, scheduler.runDueTicks());
+        assertEquals(List.of(3L), runTicks);
+        assertEquals(1, scheduler.getTickOverrunCount());
+
+        advanceTicks(2);
+        assertEquals(List.of(3L, 5L), runTicks);
+    }
+
+    private void advanceTicks(int count) {
+        for (int i = 0; i < count; i++) {
+            nanos += TICK_NANOS;
+            elapsedTicks++;
+            assertEquals(1, scheduler.runDueTicks());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.protocols.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+import static org.opendaylight.genius.alivenessmonitor.utils.AlivenessMonitorUtil.getMonitorStateId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.alivenessmonitor.internal.MonitoringStateTable;
+import org.opendaylight.genius.alivenessmonitor.internal.MonitoringStateTable.MonitorEntry;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.ReadTransaction;
+import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.LivenessState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringStateBuilder;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint32;
+
+/**
+ * Test of the {@link MonitoringStateTable} with 10k monitorings, probed and answered by a simulated southbound, and
+ * of the replies received by another node, over a map backed datastore.
+ */
+public class MonitoringStateTableLoadTest {
+
+    private static final int MONITORS = 10000;
+    // One in FAILING_EVERY monitorings never gets a reply
+    private static final int FAILING_EVERY = 100;
+    private static final int ROUNDS = 20;
+    private static final int CHECKPOINT_EVERY_ROUNDS = 10;
+    private static final int THREADS = 4;
+    private static final long MONITOR_WINDOW = 4;
+    private static final long FAILURE_THRESHOLD = 3;
+
+    private final ConcurrentMap<InstanceIdentifier<?>, MonitoringState> datastore = new ConcurrentHashMap<>();
+    private final AtomicInteger writeTransactions = new AtomicInteger();
+    private DataBroker dataBroker;
+    private MonitoringStateTable table;
+
+    @Before
+    public void setUp() {
+        dataBroker = mock(DataBroker.class);
+        // Stub only, not to record the 10k reads and merges of each checkpoint
+        ReadWriteTransaction readWriteTx = mock(ReadWriteTransaction.class, withSettings().stubOnly());
+        doAnswer(invocation -> read(invocation.getArgument(1))).when(readWriteTx).read(any(), any());
+        doAnswer(invocation -> {
+            merge(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(readWriteTx).merge(any(), any(), any());
+        doReturn(CommitInfo.emptyFluentFuture()).when(readWriteTx).commit();
+        doAnswer(invocation -> {
+            writeTransactions.incrementAndGet();
+            return readWriteTx;
+        }).when(dataBroker).newReadWriteTransaction();
+        ReadTransaction readTx = mock(ReadTransaction.class, withSettings().stubOnly());
+        doAnswer(invocation -> read(invocation.getArgument(1))).when(readTx).read(any(), any());
+        doReturn(readTx).when(dataBroker).newReadOnlyTransaction();
+
+        table = new MonitoringStateTable(dataBroker);
+        for (int i = 0; i < MONITORS; i++) {
+            MonitoringState state = new MonitoringStateBuilder().setMonitorKey(monitorKey(i))
+                    .setMonitorId(Uint32.valueOf(i)).setRequestCount(Uint32.ZERO)
+                    .setResponsePendingCount(Uint32.ZERO).setState(LivenessState.Unknown).build();
+            datastore.put(getMonitorStateId(monitorKey(i)), state);
+            table.register(state);
+        }
+    }
+
+    @Test
+    public void testTenThousandMonitors() throws Exception {
+        List<MonitorEntry> entries = new ArrayList<>(MONITORS);
+        for (int i = 0; i < MONITORS; i++) {
+            entries.add(table.getOrLoad(monitorKey(i)));
+            assertNotNull(entries.get(i));
+        }
+
+        ExecutorService southbound = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    int first = thread;
+                    futures.add(southbound.submit(() -> {
+                        for (int i = first; i < MONITORS; i += THREADS) {
+                            MonitorEntry entry = entries.get(i);
+                            table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD);
+                            if (i % FAILING_EVERY != 0) {
+                                table.replyReceived(entry);
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+                if (round % CHECKPOINT_EVERY_ROUNDS == 0) {
+                    table.checkpoint();
+                }
+            }
+        } finally {
+            southbound.shutdown();
+        }
+
+        // One transaction for each state change, all the monitorings come up or go down once, plus the checkpoints
+        assertEquals(MONITORS, table.getTransitionCount());
+        assertEquals(MONITORS + ROUNDS / CHECKPOINT_EVERY_ROUNDS, table.getTransactionCount());
+        assertEquals(table.getTransactionCount(), writeTransactions.get());
+        assertEquals(ROUNDS / CHECKPOINT_EVERY_ROUNDS * MONITORS, table.getCheckpointedEntryCount());
+        for (int i = 0; i < MONITORS; i++) {
+            LivenessState expected = i % FAILING_EVERY == 0 ? LivenessState.Down : LivenessState.Up;
+            assertEquals(expected, table.getState(monitorKey(i)));
+            assertEquals(expected, datastore.get(getMonitorStateId(monitorKey(i))).getState());
+        }
+    }
+
+    @Test
+    public void testReplyReceivedElsewhere() {
+        MonitoringStateTable otherNode = new MonitoringStateTable(dataBroker);
+        MonitorEntry entry = table.getOrLoad(monitorKey(1));
+        assertNotNull(entry);
+        assertNull(otherNode.get(monitorKey(1)));
+
+        // A new monitoring, never checkpointed: its response pending count is still 0 in the datastore
+        assertFalse(table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD));
+        // The other node records the reply in the datastore only
+        assertEquals(Uint32.ONE, otherNode.replyReceivedElsewhere(monitorKey(1)));
+        assertNull(otherNode.get(monitorKey(1)));
+        assertEquals(Uint32.ZERO, datastore.get(getMonitorStateId(monitorKey(1))).getResponsePendingCount());
+        assertEquals(Uint32.ONE, datastore.get(getMonitorStateId(monitorKey(1))).getReplyCount());
+
+        // The probing node adopts the reply instead of marking the monitoring down
+        assertFalse(table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD));
+        assertFalse(table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD));
+        assertEquals(LivenessState.Up, table.getState(monitorKey(1)));
+
+        // Without any further reply, it goes down
+        assertFalse(table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD));
+        assertTrue(table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD));
+        assertEquals(LivenessState.Down, table.getState(monitorKey(1)));
+        assertEquals(LivenessState.Down, datastore.get(getMonitorStateId(monitorKey(1))).getState());
+    }
+
+    @Test
+    public void testDeletedMonitoringIsNotRecreated() {
+        MonitorEntry entry = table.getOrLoad(monitorKey(1));
+        assertNotNull(entry);
+        table.probeSent(entry, MONITOR_WINDOW, FAILURE_THRESHOLD);
+        // Deleted by another node, the local table not being updated yet
+        datastore.remove(getMonitorStateId(monitorKey(1)));
+        table.checkpoint();
+        assertNull(datastore.get(getMonitorStateId(monitorKey(1))));
+
+        MonitorEntry other = table.getOrLoad(monitorKey(2));
+        assertNotNull(other);
+        table.probeSent(other, MONITOR_WINDOW, FAILURE_THRESHOLD);
+        table.remove(monitorKey(2));
+        datastore.remove(getMonitorStateId(monitorKey(2)));
+        table.replyReceived(other);
+        table.checkpoint();
+        assertNull(datastore.get(getMonitorStateId(monitorKey(2))));
+    }
+
+    private Object read(InstanceIdentifier<?> path) {
+        return FluentFutures.immediateFluentFuture(Optional.ofNullable(datastore.get(path)));
+    }
+
+    private void merge(InstanceIdentifier<?> path, MonitoringState state) {
+        datastore.compute(path, (key, current) -> {
+            if (current == null) {
+                return state;
+            }
+            MonitoringStateBuilder builder = new MonitoringStateBuilder(current);
+            if (state.getRequestCount() != null) {
+                builder.setRequestCount(state.getRequestCount());
+            }
+            if (state.getResponsePendingCount() != null) {
+                builder.setResponsePendingCount(state.getResponsePendingCount());
+            }
+            if (state.getState() != null) {
+                builder.setState(state.getState());
+            }
+            if (state.getReplyCount() != null) {
+                builder.setReplyCount(state.getReplyCount());
+            }
+            return builder.build();
+        });
+    }
+
+    private static String monitorKey(int index) {
+        return "tunnel" + index + ":Arp:10.0.0.1:10.0.0.2";
+    }
+}
@@ -36,7 +36,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -45,11 +44,11 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.genius.alivenessmonitor.internal.MonitoringStateTable.MonitorEntry;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandler;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandlerRegistry;
 import org.opendaylight.genius.alivenessmonitor.utils.AlivenessMonitorUtil;
-import org.opendaylight.genius.mdsalutil.packet.Ethernet;
-import org.opendaylight.genius.mdsalutil.packet.utils.PacketUtil;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.infrautils.utils.concurrent.Executors;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.NotificationPublishService;
@@ -60,7 +59,6 @@ import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunnerImpl;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
-import org.opendaylight.openflowplugin.libraries.liblldp.Packet;
 import org.opendaylight.openflowplugin.libraries.liblldp.PacketException;
 import org.opendaylight.serviceutils.tools.listener.AbstractClusteredSyncDataTreeChangeListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.AlivenessMonitorService;
@@ -134,11 +132,16 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
     private static final Logger LOG = LoggerFactory.getLogger(AlivenessMonitor.class);
 
     private static final int THREAD_POOL_SIZE = 4;
-    private static final boolean INTERRUPT_TASK = true;
-    private static final int NO_DELAY = 0;
     private static final Long INITIAL_COUNT = 0L;
     private static final boolean CREATE_MISSING_PARENT = true;
     private static final int INVALID_ID = 0;
+    // The request and pending response counts are persisted at this interval, the state changes immediately
+    private static final long CHECKPOINT_INTERVAL_MILLIS =
+            Long.getLong("genius.alivenessmonitor.checkpoint.interval.ms", 30000L);
+    // The monitoring tasks are run at this precision
+    private static final long SCHEDULER_TICK_MILLIS = Long.getLong("genius.alivenessmonitor.scheduler.tick.ms", 10L);
+    private static final int SCHEDULER_TICKS_PER_WHEEL =
+            Integer.getInteger("genius.alivenessmonitor.scheduler.ticks.per.wheel", 512);
 
     private static class FutureCallbackImpl implements FutureCallback<Object> {
         private final String message;
@@ -177,16 +180,20 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
     private final IdManagerService idManager;
     private final NotificationPublishService notificationPublishService;
     private final AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry;
-    private final ConcurrentMap<Uint32, ScheduledFuture<?>> monitoringTasks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Uint32, MonitoringScheduler.Task> monitoringTasks = new ConcurrentHashMap<>();
     private final ScheduledExecutorService monitorService;
+    private final MonitoringScheduler monitoringScheduler;
     private final ExecutorService callbackExecutorService;
     private final LoadingCache<Uint32, String> monitorIdKeyCache;
     private final ConcurrentMap<String, Semaphore> lockMap = new ConcurrentHashMap<>();
+    private final PacketInStatistics packetInStatistics;
+    private final MonitoringStateTable monitoringStates;
 
     @Inject
     public AlivenessMonitor(@Reference final DataBroker dataBroker, final IdManagerService idManager,
                             @Reference final NotificationPublishService notificationPublishService,
-                            AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry) {
+                            AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry,
+                            @Reference final MetricProvider metricProvider) {
         super(dataBroker, LogicalDatastoreType.OPERATIONAL,
                 InstanceIdentifier.create(MonitoringStates.class).child(MonitoringState.class));
         this.dataBroker = dataBroker;
@@ -194,9 +201,15 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
         this.idManager = idManager;
         this.notificationPublishService = notificationPublishService;
         this.alivenessProtocolHandlerRegistry = alivenessProtocolHandlerRegistry;
+        this.packetInStatistics = new PacketInStatistics(metricProvider, this);
+        this.monitoringStates = new MonitoringStateTable(dataBroker);
 
         monitorService = Executors.newListeningScheduledThreadPool(THREAD_POOL_SIZE, "Aliveness Monitoring Task", LOG);
         callbackExecutorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE, "Aliveness Callback Handler", LOG);
+        monitorService.scheduleWithFixedDelay(monitoringStates::checkpoint, CHECKPOINT_INTERVAL_MILLIS,
+                CHECKPOINT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        monitoringScheduler = new MonitoringScheduler(SCHEDULER_TICK_MILLIS, SCHEDULER_TICKS_PER_WHEEL, monitorService,
+                metricProvider);
 
         createIdPool();
         monitorIdKeyCache = CacheBuilder.newBuilder().build(new CacheLoader<Uint32, String>() {
@@ -221,7 +234,9 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
     @Override
     @PreDestroy
     public void close() {
+        monitoringStates.checkpoint();
         monitorIdKeyCache.cleanUp();
+        monitoringScheduler.close();
         monitorService.shutdown();
         callbackExecutorService.shutdown();
         LOG.info("{} close", getClass().getSimpleName());
@@ -295,43 +310,36 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
         if (pktInReason != SendToController.class) {
             return;
         }
-        byte[] data = packetReceived.getPayload();
-        Packet protocolPacket = null;
-        AlivenessProtocolHandler<Packet> livenessProtocolHandler = null;
-
-        if (!PacketUtil.isIpv6NaPacket(data)) {
-            Packet packetInFormatted;
-            Ethernet res = new Ethernet();
-            try {
-                packetInFormatted = res.deserialize(data, 0, data.length * Byte.SIZE);
-            } catch (PacketException e) {
-                LOG.warn("Failed to decode packet: ", e);
-                return;
-            }
-
-            if (packetInFormatted == null) {
-                LOG.warn("Failed to deserialize Received Packet from table {}", packetReceived.getTableId().getValue());
-                return;
-            }
-
-            protocolPacket = packetInFormatted.getPayload();
-            if (protocolPacket == null) {
-                LOG.trace("Unsupported packet type. Ignoring the packet...");
-                return;
-            }
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("onPacketReceived packet: {}, packet class: {}", packetReceived, protocolPacket.getClass());
-            }
-            livenessProtocolHandler = getAlivenessProtocolHandler(protocolPacket.getClass());
-
-        } else if (PacketUtil.isIpv6NaPacket(data)) {
-            livenessProtocolHandler = getAlivenessProtocolHandler(MonitorProtocolType.Ipv6Nd);
+        // Classify in place, only the handlers which need it deserialize the full packet
+        MonitorProtocolType protocolType;
+        try {
+            protocolType = PacketInClassifier.classify(packetReceived.getPayload());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Failed to classify packet received from table {}", packetReceived.getTableId().getValue(), e);
+            packetInStatistics.unclassified();
+            return;
         }
+        if (protocolType == null) {
+            LOG.trace("Unsupported packet type. Ignoring the packet...");
+            packetInStatistics.unclassified();
+            return;
+        }
+        packetInStatistics.received(protocolType);
+
+        AlivenessProtocolHandler<?> livenessProtocolHandler = alivenessProtocolHandlerRegistry.getOpt(protocolType);
         if (livenessProtocolHandler == null) {
+            packetInStatistics.dropped(protocolType);
             return;
         }
 
-        String monitorKey = livenessProtocolHandler.handlePacketIn(protocolPacket, packetReceived);
+        String monitorKey;
+        try {
+            monitorKey = livenessProtocolHandler.handlePacketIn(packetReceived);
+        } catch (PacketException | IllegalArgumentException e) {
+            LOG.warn("Failed to decode packet: ", e);
+            packetInStatistics.dropped(protocolType);
+            return;
+        }
         if (monitorKey != null) {
             processReceivedMonitorKey(monitorKey);
         } else {
@@ -339,100 +347,37 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private AlivenessProtocolHandler<Packet> getAlivenessProtocolHandler(Class<? extends Packet> protocolHandlerClass) {
-        return (AlivenessProtocolHandler<Packet>) alivenessProtocolHandlerRegistry.getOpt(protocolHandlerClass);
+    public PacketInStatistics getPacketInStatistics() {
+        return packetInStatistics;
     }
 
-    @SuppressWarnings("unchecked")
-    private AlivenessProtocolHandler<Packet> getAlivenessProtocolHandler(MonitorProtocolType protocolType) {
-        return (AlivenessProtocolHandler<Packet>) alivenessProtocolHandlerRegistry.get(protocolType);
+    public MonitoringStateTable getMonitoringStates() {
+        return monitoringStates;
     }
 
-    private void processReceivedMonitorKey(final String monitorKey) {
-        class Result {
-            final MonitoringState currentState;
-            final MonitoringState state;
-
-            Result(MonitoringState currentState, MonitoringState state) {
-                this.currentState = currentState;
-                this.state = state;
-            }
-        }
+    public MonitoringScheduler getMonitoringScheduler() {
+        return monitoringScheduler;
+    }
 
+    private void processReceivedMonitorKey(final String monitorKey) {
         requireNonNull(monitorKey, "Monitor Key required to process the state");
 
         LOG.debug("Processing monitorKey: {} for received packet", monitorKey);
 
-        final Semaphore lock = lockMap.get(monitorKey);
-        LOG.debug("Acquiring lock for monitor key : {} to process monitor packet", monitorKey);
-        acquireLock(lock);
-
-        txRunner.applyWithNewReadWriteTransactionAndSubmit(OPERATIONAL, tx -> {
-            Optional<MonitoringState> optState = tx.read(getMonitorStateId(monitorKey)).get();
-            if (optState.isPresent()) {
-                final MonitoringState currentState = optState.get();
-
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("OnPacketReceived : Monitoring state from ODS : {} ", currentState);
-                }
-
-                // Long responsePendingCount = currentState.getResponsePendingCount();
-                //
-                // Need to relook at the pending count logic to support N
-                // out of M scenarios
-                // if (currentState.getState() != LivenessState.Up) {
-                // //Reset responsePendingCount when state changes from DOWN
-                // to UP
-                // responsePendingCount = INITIAL_COUNT;
-                // }
-                //
-                // if (responsePendingCount > INITIAL_COUNT) {
-                // responsePendingCount =
-                // currentState.getResponsePendingCount() - 1;
-                // }
-                Long responsePendingCount = INITIAL_COUNT;
-
-                final MonitoringState state = new MonitoringStateBuilder().setMonitorKey(monitorKey)
-                        .setState(LivenessState.Up).setResponsePendingCount(responsePendingCount).build();
-                tx.merge(getMonitorStateId(monitorKey), state);
-
-                return Optional.of(new Result(currentState, state));
-            } else {
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Monitoring State not available for key: {} to process the Packet received",
-                            monitorKey);
-                }
-                return Optional.<Result>empty();
-            }
-        }).addCallback(new FutureCallback<Optional<Result>>() {
-            @Override
-            public void onSuccess(Optional<Result> optResult) {
-                releaseLock(lock);
-                optResult.ifPresent(result -> {
-                    final boolean stateChanged = result.currentState.getState() == LivenessState.Down
-                            || result.currentState.getState() == LivenessState.Unknown;
-                    if (stateChanged) {
-                        // send notifications
-                        if (LOG.isTraceEnabled()) {
-                            LOG.trace("Sending notification for monitor Id : {} with Current State: {}",
-                                    result.currentState.getMonitorId(), LivenessState.Up);
-                        }
-                        publishNotification(result.currentState.getMonitorId(), LivenessState.Up);
-                    } else {
-                        if (LOG.isTraceEnabled()) {
-                            LOG.trace("Successful in writing monitoring state {} to ODS", result.state);
-                        }
-                    }
-                });
-            }
-
-            @Override
-            public void onFailure(Throwable error) {
-                releaseLock(lock);
-                LOG.warn("Error in reading or writing monitoring state : {} to Datastore", monitorKey, error);
-            }
-        }, callbackExecutorService);
+        final MonitorEntry entry = monitoringStates.get(monitorKey);
+        final Uint32 upMonitorId;
+        if (entry != null) {
+            upMonitorId = monitoringStates.replyReceived(entry) ? entry.getMonitorId() : null;
+        } else {
+            // Probed by another node, which reads the reply from the datastore
+            upMonitorId = monitoringStates.replyReceivedElsewhere(monitorKey);
+        }
+        if (upMonitorId != null) {
+            // send notifications
+            LOG.trace("Sending notification for monitor Id : {} with Current State: {}", upMonitorId,
+                    LivenessState.Up);
+            publishNotification(upMonitorId, LivenessState.Up);
+        }
     }
 
     private String getUniqueKey(String interfaceName, String protocolType, EndpointType source,
@@ -559,9 +504,10 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
                             handler.startMonitoringTask(monitoringInfo);
                             return;
                         }
+                        monitoringStates.register(monitoringState);
                         // Schedule task
                         LOG.debug("Scheduling monitor task for config: {}", in);
-                        scheduleMonitoringTask(monitoringInfo, profile.getMonitorInterval());
+                        scheduleMonitoringTask(monitoringInfo, profile);
                     }
                 }, callbackExecutorService);
             }
@@ -614,11 +560,16 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
 
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
-    private void scheduleMonitoringTask(MonitoringInfo monitoringInfo, Uint32 monitorInterval) {
-        AlivenessMonitorTask monitorTask = new AlivenessMonitorTask(monitoringInfo);
-        ScheduledFuture<?> scheduledFutureResult = monitorService.scheduleAtFixedRate(monitorTask, NO_DELAY,
-                monitorInterval.toJava(), TimeUnit.MILLISECONDS);
-        monitoringTasks.put(monitoringInfo.getId(), scheduledFutureResult);
+    private void scheduleMonitoringTask(MonitoringInfo monitoringInfo, MonitorProfile profile) {
+        // The monitorings of the same DPN due in the same tick send their packets out together
+        AlivenessProtocolHandler<?> handler = alivenessProtocolHandlerRegistry.getOpt(profile.getProtocolType());
+        Object batchKey = handler != null ? handler.getMonitoringBatchKey(monitoringInfo) : null;
+        MonitoringScheduler.Task task = monitoringScheduler.schedule(batchKey,
+                new AlivenessMonitorTask(monitoringInfo), profile.getMonitorInterval().toJava());
+        MonitoringScheduler.Task previous = monitoringTasks.put(monitoringInfo.getId(), task);
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
     @Override
@@ -695,7 +646,7 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
                                     ((HwVtepTunnelsStateHandler) alivenessProtocolHandlerRegistry.get(protocolType))
                                             .resetMonitoringTask(true);
                                 } else {
-                                    scheduleMonitoringTask(info, profile.getMonitorInterval());
+                                    scheduleMonitoringTask(info, profile);
                                 }
                                 result.set(RpcResultBuilder.<MonitorUnpauseOutput>success().build());
                             } else {
@@ -722,10 +673,6 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
     }
 
     private boolean stopMonitoringTask(Uint32 monitorId) {
-        return stopMonitoringTask(monitorId, INTERRUPT_TASK);
-    }
-
-    private boolean stopMonitoringTask(Uint32 monitorId, boolean interruptTask) {
         Optional<MonitoringInfo> optInfo;
         try {
             optInfo = txRunner.applyInterruptiblyWithNewReadOnlyTransactionAndClose(OPERATIONAL,
@@ -754,9 +701,9 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
                     .resetMonitoringTask(false);
             return true;
         }
-        ScheduledFuture<?> scheduledFutureResult = monitoringTasks.remove(monitorId);
-        if (scheduledFutureResult != null) {
-            scheduledFutureResult.cancel(interruptTask);
+        MonitoringScheduler.Task task = monitoringTasks.remove(monitorId);
+        if (task != null) {
+            task.cancel();
             return true;
         }
         return false;
@@ -827,81 +774,23 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
             return;
         }
 
-        final Semaphore lock = lockMap.get(monitorKey);
-        LOG.debug("Acquiring lock for monitor key : {} to send monitor packet", monitorKey);
-        acquireLock(lock);
-
-        final ReadWriteTransaction tx = dataBroker.newReadWriteTransaction();
-        FluentFuture<Optional<MonitoringState>> readResult = tx.read(LogicalDatastoreType.OPERATIONAL,
-                getMonitorStateId(monitorKey));
-        FluentFuture<? extends CommitInfo> writeResult = readResult.transformAsync(optState -> {
-            if (optState.isPresent()) {
-                MonitoringState state = optState.get();
-
-                // Increase the request count
-                Long requestCount = state.getRequestCount().toJava() + 1;
-
-                // Check with the monitor window
-                LivenessState currentLivenessState = state.getState();
-
-                // Increase the pending response count
-                long responsePendingCount = state.getResponsePendingCount().toJava();
-                if (responsePendingCount < profile.getMonitorWindow().toJava()) {
-                    responsePendingCount = responsePendingCount + 1;
-                }
-
-                // Check with the failure threshold
-                if (responsePendingCount >= profile.getFailureThreshold().toJava()) {
-                    // Change the state to down and notify
-                    if (currentLivenessState != LivenessState.Down) {
-                        LOG.debug("Response pending Count: {}, Failure threshold: {} for monitorId {}",
-                                responsePendingCount, profile.getFailureThreshold(), state.getMonitorId());
-                        LOG.info("Sending notification for monitor Id : {} with State: {}",
-                                state.getMonitorId(), LivenessState.Down);
-                        publishNotification(monitorId, LivenessState.Down);
-                        currentLivenessState = LivenessState.Down;
-                        // Reset requestCount when state changes
-                        // from UP to DOWN
-                        requestCount = INITIAL_COUNT;
-                    }
-                }
-
-                // Update the ODS with state
-                MonitoringState updatedState = new MonitoringStateBuilder(/* state */)
-                            .setMonitorKey(state.getMonitorKey()).setRequestCount(requestCount)
-                            .setResponsePendingCount(responsePendingCount).setState(currentLivenessState).build();
-                tx.merge(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(state.getMonitorKey()),
-                            updatedState);
-                return tx.commit();
-            } else {
-                // Close the transaction
-                tx.commit();
-                String errorMsg = String.format(
-                        "Monitoring State associated with id %s is not present to send packet out.", monitorId);
-                return Futures.immediateFailedFuture(new RuntimeException(errorMsg));
-            }
-        }, callbackExecutorService);
-
-        writeResult.addCallback(new FutureCallback<CommitInfo>() {
-            @Override
-            public void onSuccess(CommitInfo noarg) {
-                // invoke packetout on protocol handler
-                AlivenessProtocolHandler<?> handler =
-                        alivenessProtocolHandlerRegistry.getOpt(profile.getProtocolType());
-                if (handler != null) {
-                    LOG.debug("Sending monitoring packet {}", monitoringInfo);
-                    handler.startMonitoringTask(monitoringInfo);
-                }
-                releaseLock(lock);
-            }
+        final MonitorEntry entry = monitoringStates.getOrLoad(monitorKey);
+        if (entry == null) {
+            LOG.warn("Monitoring State associated with id {} is not present to send packet out.", monitorId);
+            return;
+        }
+        if (monitoringStates.probeSent(entry, profile.getMonitorWindow().toJava(),
+                profile.getFailureThreshold().toJava())) {
+            LOG.info("Sending notification for monitor Id : {} with State: {}", monitorId, LivenessState.Down);
+            publishNotification(monitorId, LivenessState.Down);
+        }
 
-            @Override
-            public void onFailure(Throwable error) {
-                LOG.warn("Updating monitoring state for key: {} failed. Monitoring packet is not sent", monitorKey,
-                        error);
-                releaseLock(lock);
-            }
-        }, callbackExecutorService);
+        // invoke packetout on protocol handler
+        AlivenessProtocolHandler<?> handler = alivenessProtocolHandlerRegistry.getOpt(profile.getProtocolType());
+        if (handler != null) {
+            LOG.debug("Sending monitoring packet {}", monitoringInfo);
+            handler.startMonitoringTask(monitoringInfo);
+        }
     }
 
     void publishNotification(final Uint32 monitorId, final LivenessState state) {
@@ -1106,6 +995,10 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
             stopMonitoringTask(monitorId);
 
             String monitorKey = monitorIdKeyCache.getUnchecked(monitorId);
+            if (monitorKey != null) {
+                // Before the delete, so that no checkpoint in progress recreates the monitoring state
+                monitoringStates.remove(monitorKey);
+            }
 
             // Cleanup the Data store
             txRunner.callWithNewWriteOnlyTransactionAndSubmit(OPERATIONAL, tx -> {
@@ -1286,7 +1179,7 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
                                     currentStatus -> currentStatus != MonitorStatus.Started);
                                 MonitorProfile profile = optProfile.get();
                                 LOG.debug("Monitor Resume - Scheduling monitoring task for Id: {}", monitorId);
-                                scheduleMonitoringTask(info, profile.getMonitorInterval());
+                                scheduleMonitoringTask(info, profile);
                             } else {
                                 String msg = String.format("Monitoring profile associated with id %s is not present",
                                         info.getProfileId());
@@ -1346,10 +1239,10 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
                        @NonNull MonitoringState removedDataObject) {
         final Uint32 monitorId = removedDataObject.getMonitorId();
         LOG.debug("Monitor State remove listener invoked for monitor id: {}", monitorId);
+        monitoringStates.remove(removedDataObject.getMonitorKey());
 
         if (removedDataObject.getStatus() != MonitorStatus.Paused) {
-            ScheduledFuture<?> scheduledFutureResult = monitoringTasks.get(monitorId);
-            if (scheduledFutureResult != null) {
+            if (monitoringTasks.containsKey(monitorId)) {
                 LOG.debug("Stopping the task for Monitor id: {}", monitorId);
                 stopMonitoringTask(monitorId);
             }
@@ -1366,8 +1259,7 @@ public class AlivenessMonitor extends AbstractClusteredSyncDataTreeChangeListene
 
         if (updatedDataObject.getStatus() == MonitorStatus.Paused
                 && originalDataObject.getStatus() != MonitorStatus.Paused) {
-            ScheduledFuture<?> scheduledFutureResult = monitoringTasks.get(monitorId);
-            if (scheduledFutureResult != null) {
+            if (monitoringTasks.containsKey(monitorId)) {
                 LOG.debug("Stopping the task for Monitor id: {}", monitorId);
                 stopMonitoringTask(monitorId);
             }
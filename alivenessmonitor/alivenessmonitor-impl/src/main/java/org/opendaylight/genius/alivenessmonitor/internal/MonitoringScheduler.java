@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.infrautils.metrics.Counter;
+import org.opendaylight.infrautils.metrics.Meter;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel running the periodic monitoring tasks of the {@link AlivenessMonitor}, instead of one
+ * {@link java.util.concurrent.ScheduledFuture} per monitoring in the delay queue of a scheduled executor.
+ *
+ * <p>Adding and cancelling a task are O(1): both are queued, and applied by the wheel thread at its next tick. The
+ * first run of each task is shifted by a phase spread evenly over its interval, so that the monitorings with the
+ * same interval do not all fire at the same instant. The tasks expiring in a tick are grouped by their batch key,
+ * typically the DPN their packets are sent out of, and each group is run as one job of the executor.
+ *
+ * <p>Deadlines more than one rotation of the wheel away are kept in the bucket of their tick with the number of
+ * remaining rotations, rather than in a hierarchy of coarser wheels.
+ *
+ * <p>The lag of the expiries and the tick overruns are also exported through the infrautils {@link MetricProvider}
+ * if the scheduler was given one.
+ *
+ * <p>For the tests, a scheduler can instead read the time from a given {@link Ticker} and have its ticks run by
+ * {@link #runDueTicks()} rather than by a wheel thread.
+ */
+public final class MonitoringScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MonitoringScheduler.class);
+
+    private static final String MODULENAME = "odl.genius.alivenessmonitor.";
+
+    // Low discrepancy sequence: the phases of any number of tasks are spread evenly over their interval
+    private static final double GOLDEN_RATIO_CONJUGATE = 0.6180339887498949;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final Executor executor;
+    private final Ticker ticker;
+    private final long startNanos;
+    private final @Nullable ExecutorService worker;
+    private final Queue<Task> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Task> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<Long, AtomicLong> phaseSequences = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    // Only accessed by the wheel thread
+    private long tick;
+
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder tickOverruns = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder lagNanos = new LongAdder();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Long::max, 0);
+    private final @Nullable Meter tickOverrunMeter;
+    private final @Nullable Counter lagMicrosCounter;
+
+    /**
+     * Creates a scheduler and starts its wheel thread.
+     *
+     * @param tickMillis the duration of a tick, which is the precision of the scheduling
+     * @param ticksPerWheel the number of buckets of the wheel, rounded up to a power of two
+     * @param executor the executor of the batches of expired tasks
+     * @param metricProvider the provider of the lag and tick overrun metrics, if any
+     */
+    public MonitoringScheduler(long tickMillis, int ticksPerWheel, Executor executor,
+            @Nullable MetricProvider metricProvider) {
+        this(tickMillis, ticksPerWheel, executor, metricProvider, Ticker.systemTicker(), true);
+    }
+
+    /**
+     * Creates a scheduler without wheel thread, whose ticks are run by {@link #runDueTicks()}.
+     *
+     * @param tickMillis the duration of a tick, which is the precision of the scheduling
+     * @param ticksPerWheel the number of buckets of the wheel, rounded up to a power of two
+     * @param executor the executor of the batches of expired tasks
+     * @param ticker the source of the time
+     */
+    @VisibleForTesting
+    public MonitoringScheduler(long tickMillis, int ticksPerWheel, Executor executor, Ticker ticker) {
+        this(tickMillis, ticksPerWheel, executor, null, ticker, false);
+    }
+
+    private MonitoringScheduler(long tickMillis, int ticksPerWheel, Executor executor,
+            @Nullable MetricProvider metricProvider, Ticker ticker, boolean startWheelThread) {
+        if (tickMillis <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickMillis and ticksPerWheel must be positive: " + tickMillis + ", "
+                    + ticksPerWheel);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.executor = executor;
+        this.ticker = ticker;
+        this.startNanos = ticker.read();
+        if (metricProvider != null) {
+            tickOverrunMeter = metricProvider.newMeter(this, MODULENAME + "schedulerTickOverruns");
+            lagMicrosCounter = metricProvider.newCounter(this, MODULENAME + "schedulerLagMicros");
+        } else {
+            tickOverrunMeter = null;
+            lagMicrosCounter = null;
+        }
+        if (startWheelThread) {
+            this.worker = Executors.newSingleThreadExecutor("Aliveness Monitoring Wheel", LOG);
+            worker.execute(this::run);
+        } else {
+            this.worker = null;
+        }
+    }
+
+    /**
+     * Schedules a task to run periodically, first after a phase between 0 and the interval.
+     *
+     * @param batchKey the key of the tasks to run together when they expire in the same tick, or null to run the
+     *                 task on its own
+     * @param runnable the task
+     * @param intervalMillis the period of the task
+     * @return the handle to cancel the task
+     */
+    public Task schedule(@Nullable Object batchKey, Runnable runnable, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be positive: " + intervalMillis);
+        }
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        long sequence = phaseSequences.computeIfAbsent(intervalNanos, interval -> new AtomicLong()).getAndIncrement();
+        long phaseNanos = (long) (sequence * GOLDEN_RATIO_CONJUGATE % 1.0 * intervalNanos);
+        Task task = new Task(batchKey, runnable, intervalNanos, elapsedNanos() + phaseNanos);
+        scheduled.incrementAndGet();
+        pendingAdds.add(task);
+        return task;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs, in the calling thread, the ticks ended by the current time of the ticker of a scheduler created without
+     * wheel thread.
+     *
+     * @return the number of ticks run
+     */
+    @VisibleForTesting
+    public int runDueTicks() {
+        if (worker != null) {
+            throw new IllegalStateException("The ticks are run by the wheel thread");
+        }
+        int count = 0;
+        for (long now = elapsedNanos(); !closed && now >= tickNanos * (tick + 1); count++) {
+            runTick(now);
+        }
+        return count;
+    }
+
+    private long elapsedNanos() {
+        return ticker.read() - startNanos;
+    }
+
+    private void run() {
+        while (!closed) {
+            long deadline = tickNanos * (tick + 1);
+            long now = elapsedNanos();
+            if (now < deadline) {
+                LockSupport.parkNanos(deadline - now);
+                continue;
+            }
+            runTick(now);
+        }
+    }
+
+    private void runTick(long now) {
+        long deadline = tickNanos * (tick + 1);
+        ticks.increment();
+        processCancels();
+        processAdds();
+        List<Task> expired = wheel[(int) (tick & mask)].expire();
+        // Before inserting the expired tasks again, as the bucket of this tick is done with for this rotation
+        tick++;
+        if (!expired.isEmpty()) {
+            dispatch(expired, now);
+        }
+        if (elapsedNanos() > deadline + tickNanos) {
+            // The next tick starts late
+            tickOverruns.increment();
+            if (tickOverrunMeter != null) {
+                tickOverrunMeter.mark();
+            }
+        }
+    }
+
+    private void processCancels() {
+        for (Task task = pendingCancels.poll(); task != null; task = pendingCancels.poll()) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void processAdds() {
+        for (Task task = pendingAdds.poll(); task != null; task = pendingAdds.poll()) {
+            if (!task.cancelled) {
+                insert(task);
+            }
+        }
+    }
+
+    private void insert(Task task) {
+        long taskTick = task.deadlineNanos / tickNanos;
+        // tick is the next one to expire, from which the bucket of the task is expired every wheel.length ticks
+        task.remainingRounds = (taskTick - tick) / wheel.length;
+        // Deadlines already past go into the current tick
+        wheel[(int) (Math.max(taskTick, tick) & mask)].add(task);
+    }
+
+    private void dispatch(List<Task> expired, long now) {
+        Map<Object, List<Task>> batches = new LinkedHashMap<>();
+        for (Task task : expired) {
+            long lag = now - task.deadlineNanos;
+            lagNanos.add(lag);
+            maxLagNanos.accumulate(lag);
+            if (lagMicrosCounter != null) {
+                lagMicrosCounter.increment(TimeUnit.NANOSECONDS.toMicros(lag));
+            }
+            fired.increment();
+
+            // Periodic at a fixed rate, skipping the runs missed if the wheel lagged by more than an interval; a
+            // deadline in the tick of now is not missed, it is expired with the tick
+            long nowTickNanos = now - now % tickNanos;
+            do {
+                task.deadlineNanos += task.intervalNanos;
+            } while (task.deadlineNanos < nowTickNanos);
+            insert(task);
+
+            if (task.batchKey != null) {
+                batches.computeIfAbsent(task.batchKey, key -> new ArrayList<>()).add(task);
+            } else {
+                execute(List.of(task));
+            }
+        }
+        batches.values().forEach(this::execute);
+    }
+
+    private void execute(List<Task> batch) {
+        try {
+            executor.execute(() -> {
+                for (Task task : batch) {
+                    if (!task.cancelled) {
+                        try {
+                            task.runnable.run();
+                        } catch (RuntimeException e) {
+                            LOG.warn("Monitoring task failed", e);
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Monitoring tasks rejected, the executor is shut down", e);
+        }
+    }
+
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+
+    public long getTickCount() {
+        return ticks.sum();
+    }
+
+    /**
+     * Returns the number of ticks whose processing ended after the start of the next one.
+     */
+    public long getTickOverrunCount() {
+        return tickOverruns.sum();
+    }
+
+    public long getFiredCount() {
+        return fired.sum();
+    }
+
+    /**
+     * Returns the average delay between the deadline of the tasks and their expiry by the wheel, which is at most a
+     * tick when the wheel keeps up; the time the tasks then wait for the executor is not included.
+     */
+    public long getAverageLagMicros() {
+        long count = fired.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(lagNanos.sum() / count);
+    }
+
+    public long getMaxLagMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLagNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "MonitoringScheduler{scheduled=" + getScheduledCount() + ", ticks=" + getTickCount()
+                + ", tickOverruns=" + getTickOverrunCount() + ", fired=" + getFiredCount() + ", averageLagMicros="
+                + getAverageLagMicros() + ", maxLagMicros=" + getMaxLagMicros() + "}";
+    }
+
+    /**
+     * Handle of a task scheduled with {@link MonitoringScheduler#schedule(Object, Runnable, long)}.
+     */
+    public final class Task {
+        private final @Nullable Object batchKey;
+        private final Runnable runnable;
+        private final long intervalNanos;
+        private volatile boolean cancelled;
+
+        // Only accessed by the wheel thread, once added
+        private long deadlineNanos;
+        private long remainingRounds;
+        private @Nullable Bucket bucket;
+        private @Nullable Task prev;
+        private @Nullable Task next;
+
+        Task(@Nullable Object batchKey, Runnable runnable, long intervalNanos, long deadlineNanos) {
+            this.batchKey = batchKey;
+            this.runnable = runnable;
+            this.intervalNanos = intervalNanos;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the task; a run already handed over to the executor is skipped unless it has started.
+         */
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                scheduled.decrementAndGet();
+                pendingCancels.add(this);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Doubly linked list of the tasks of a tick, only accessed by the wheel thread.
+     */
+    private final class Bucket {
+        private @Nullable Task head;
+        private @Nullable Task tail;
+
+        void add(Task task) {
+            task.bucket = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(Task task) {
+            if (task.prev == null) {
+                head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.bucket = null;
+            task.prev = null;
+            task.next = null;
+        }
+
+        List<Task> expire() {
+            List<Task> expired = new ArrayList<>();
+            Task task = head;
+            while (task != null) {
+                Task next = task.next;
+                if (task.cancelled) {
+                    remove(task);
+                } else if (task.remainingRounds <= 0) {
+                    remove(task);
+                    expired.add(task);
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+            return expired;
+        }
+    }
+}
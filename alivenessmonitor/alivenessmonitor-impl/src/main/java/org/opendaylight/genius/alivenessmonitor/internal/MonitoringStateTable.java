@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import static org.opendaylight.genius.alivenessmonitor.utils.AlivenessMonitorUtil.getMonitorStateId;
+import static org.opendaylight.mdsal.binding.util.Datastore.OPERATIONAL;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.util.Datastore.Operational;
+import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
+import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunnerImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.LivenessState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringStateBuilder;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory request and pending response counts, and liveness state, of the monitorings, keyed by monitor key.
+ * Probes and replies update them without locks or datastore transactions; the OPERATIONAL {@link MonitoringState}
+ * is written immediately only when the liveness state changes, and otherwise by the periodic {@link #checkpoint()}
+ * of the changed counters, all in one transaction.
+ *
+ * <p>The table of a node only holds the monitorings it probes. In a cluster the reply to a probe may be received by
+ * another node, which then records it straight in the datastore with {@link #replyReceivedElsewhere(String)}, and
+ * counts it in the reply count of the monitoring; the probing node adopts such a reply, seen as a reply count other
+ * than the one it last saw, when it checkpoints the monitoring and before it marks the monitoring down.
+ */
+public final class MonitoringStateTable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MonitoringStateTable.class);
+
+    private final ManagedNewTransactionRunner txRunner;
+    private final ConcurrentMap<String, MonitorEntry> entries = new ConcurrentHashMap<>();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder transitions = new LongAdder();
+    private final LongAdder checkpointedEntries = new LongAdder();
+
+    public MonitoringStateTable(DataBroker dataBroker) {
+        this.txRunner = new ManagedNewTransactionRunnerImpl(dataBroker);
+    }
+
+    /**
+     * Adds the monitoring with the counts and state of the given {@link MonitoringState}, replacing any earlier one
+     * with the same monitor key.
+     */
+    public void register(MonitoringState state) {
+        entries.put(state.getMonitorKey(), new MonitorEntry(state));
+    }
+
+    /**
+     * Removes the monitoring, which is no longer written to the datastore from then on; this must be called before
+     * its {@link MonitoringState} is deleted, so that no write in progress can recreate it.
+     */
+    public void remove(String monitorKey) {
+        MonitorEntry entry = entries.remove(monitorKey);
+        if (entry != null) {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * Returns the monitoring with the given key if it is probed by this node.
+     */
+    public @Nullable MonitorEntry get(String monitorKey) {
+        return entries.get(monitorKey);
+    }
+
+    /**
+     * Returns the monitoring with the given key, reading its {@link MonitoringState} from the datastore if it is not
+     * in the table yet, as for the monitorings started before a restart.
+     */
+    public @Nullable MonitorEntry getOrLoad(String monitorKey) {
+        MonitorEntry entry = entries.get(monitorKey);
+        if (entry != null) {
+            return entry;
+        }
+        Optional<MonitoringState> optState = read(monitorKey);
+        if (!optState.isPresent()) {
+            return null;
+        }
+        MonitorEntry loaded = new MonitorEntry(optState.get());
+        MonitorEntry existing = entries.putIfAbsent(monitorKey, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Records a probe sent for the given monitoring, and marks it down once the responses pending reach the failure
+     * threshold.
+     *
+     * @return true if the monitoring went down, in which case the new state is already being persisted
+     */
+    public boolean probeSent(MonitorEntry entry, long monitorWindow, long failureThreshold) {
+        boolean reconciled = false;
+        Counters previous;
+        Counters next;
+        do {
+            previous = entry.counters.get();
+            long requestCount = previous.requestCount + 1;
+            long responsePendingCount = previous.responsePendingCount < monitorWindow
+                    ? previous.responsePendingCount + 1 : previous.responsePendingCount;
+            LivenessState state = previous.state;
+            if (responsePendingCount >= failureThreshold && state != LivenessState.Down) {
+                state = LivenessState.Down;
+                // Reset requestCount when state changes from UP to DOWN
+                requestCount = 0;
+            }
+            next = new Counters(requestCount, responsePendingCount, state);
+            if (next.state == LivenessState.Down && previous.state != LivenessState.Down && !reconciled) {
+                // The replies may have been received by another node
+                reconciled = true;
+                Optional<MonitoringState> optState = read(entry.monitorKey);
+                if (optState.isPresent() && adoptReplyReceivedElsewhere(entry, optState.get())) {
+                    next = null;
+                    continue;
+                }
+            }
+        } while (next == null || !entry.counters.compareAndSet(previous, next));
+        return changed(entry, previous, next);
+    }
+
+    /**
+     * Records a reply received for the given monitoring, which marks it up.
+     *
+     * @return true if the monitoring came up, in which case the new state is already being persisted
+     */
+    public boolean replyReceived(MonitorEntry entry) {
+        Counters previous;
+        Counters next;
+        do {
+            previous = entry.counters.get();
+            next = new Counters(previous.requestCount, 0, LivenessState.Up);
+        } while (!entry.counters.compareAndSet(previous, next));
+        return changed(entry, previous, next);
+    }
+
+    /**
+     * Records in the datastore a reply received for a monitoring probed by another node, which marks it up.
+     *
+     * @return the monitor id if the monitoring came up, null otherwise
+     */
+    public @Nullable Uint32 replyReceivedElsewhere(String monitorKey) {
+        transactions.increment();
+        try {
+            return txRunner.<Operational, ExecutionException, Uint32>applyWithNewReadWriteTransactionAndSubmit(
+                OPERATIONAL, tx -> {
+                    Optional<MonitoringState> optState = tx.read(getMonitorStateId(monitorKey)).get();
+                    if (!optState.isPresent()) {
+                        LOG.trace("Monitoring State not available for key: {} to process the reply", monitorKey);
+                        return null;
+                    }
+                    long replyCount = MonitorEntry.toLong(optState.get().getReplyCount()) + 1;
+                    tx.merge(getMonitorStateId(monitorKey), new MonitoringStateBuilder().setMonitorKey(monitorKey)
+                            .setResponsePendingCount(Uint32.ZERO).setState(LivenessState.Up)
+                            .setReplyCount(Uint32.valueOf(replyCount & 0xFFFFFFFFL)).build());
+                    return optState.get().getState() != LivenessState.Up ? optState.get().getMonitorId() : null;
+                }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            LOG.warn("Error recording the reply received for key {}", monitorKey, e);
+            return null;
+        }
+    }
+
+    private static boolean adoptReplyReceivedElsewhere(MonitorEntry entry, MonitoringState state) {
+        long replyCount = MonitorEntry.toLong(state.getReplyCount());
+        if (replyCount == entry.seenReplyCount) {
+            return false;
+        }
+        entry.seenReplyCount = replyCount;
+        Counters previous;
+        do {
+            previous = entry.counters.get();
+        } while (!entry.counters.compareAndSet(previous,
+                new Counters(previous.requestCount, 0, LivenessState.Up)));
+        entry.dirty.set(true);
+        LOG.debug("Adopted the reply received by another node for key {}", entry.monitorKey);
+        return true;
+    }
+
+    private boolean changed(MonitorEntry entry, Counters previous, Counters next) {
+        entry.dirty.set(true);
+        if (previous.state == next.state) {
+            return false;
+        }
+        transitions.increment();
+        persist(List.of(entry));
+        return true;
+    }
+
+    /**
+     * Writes the counts and state of all the monitorings changed since the last checkpoint, in one transaction.
+     */
+    public void checkpoint() {
+        List<MonitorEntry> changed = new ArrayList<>();
+        for (MonitorEntry entry : entries.values()) {
+            if (entry.dirty.get()) {
+                changed.add(entry);
+            }
+        }
+        if (!changed.isEmpty()) {
+            checkpointedEntries.add(changed.size());
+            persist(changed);
+        }
+    }
+
+    private void persist(List<MonitorEntry> changed) {
+        transactions.increment();
+        txRunner.callWithNewReadWriteTransactionAndSubmit(OPERATIONAL, tx -> {
+            for (MonitorEntry entry : changed) {
+                if (entry.removed) {
+                    continue;
+                }
+                // A missing state is being deleted, and must not be recreated partially by the merge
+                Optional<MonitoringState> optState = tx.read(getMonitorStateId(entry.monitorKey)).get();
+                if (!optState.isPresent()) {
+                    continue;
+                }
+                adoptReplyReceivedElsewhere(entry, optState.get());
+                // The latest counts, so that concurrent writes of the same monitoring all end up with them
+                entry.dirty.set(false);
+                MonitoringState state = entry.toMonitoringState();
+                tx.merge(getMonitorStateId(entry.monitorKey), state);
+            }
+        }).addCallback(new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                LOG.trace("Persisted the monitoring state of {} monitorings", changed.size());
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                LOG.warn("Error persisting the monitoring state of {} monitorings", changed.size(), error);
+                changed.forEach(entry -> entry.dirty.set(true));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private Optional<MonitoringState> read(String monitorKey) {
+        try {
+            return txRunner.<Operational, ExecutionException, Optional<MonitoringState>>
+                applyInterruptiblyWithNewReadOnlyTransactionAndClose(OPERATIONAL,
+                    tx -> tx.read(getMonitorStateId(monitorKey)).get());
+        } catch (InterruptedException | ExecutionException e) {
+            LOG.warn("Error reading monitoring state for key {}", monitorKey, e);
+            return Optional.empty();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of write transactions of monitoring states, for state changes and checkpoints.
+     */
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    public long getTransitionCount() {
+        return transitions.sum();
+    }
+
+    public long getCheckpointedEntryCount() {
+        return checkpointedEntries.sum();
+    }
+
+    public @Nullable LivenessState getState(String monitorKey) {
+        MonitorEntry entry = entries.get(monitorKey);
+        return entry != null ? entry.counters.get().state : null;
+    }
+
+    @Override
+    public String toString() {
+        return "MonitoringStateTable{size=" + size() + ", transactions=" + getTransactionCount() + ", transitions="
+                + getTransitionCount() + ", checkpointedEntries=" + getCheckpointedEntryCount() + "}";
+    }
+
+    public static final class MonitorEntry {
+        private final String monitorKey;
+        private final @Nullable Uint32 monitorId;
+        private final AtomicReference<Counters> counters;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile boolean removed;
+        // The count of the replies received by other nodes, as last seen by this node
+        private volatile long seenReplyCount;
+
+        MonitorEntry(MonitoringState state) {
+            this.monitorKey = state.getMonitorKey();
+            this.monitorId = state.getMonitorId();
+            this.seenReplyCount = toLong(state.getReplyCount());
+            this.counters = new AtomicReference<>(new Counters(toLong(state.getRequestCount()),
+                    toLong(state.getResponsePendingCount()),
+                    state.getState() != null ? state.getState() : LivenessState.Unknown));
+        }
+
+        public @Nullable Uint32 getMonitorId() {
+            return monitorId;
+        }
+
+        MonitoringState toMonitoringState() {
+            Counters current = counters.get();
+            return new MonitoringStateBuilder().setMonitorKey(monitorKey)
+                    .setRequestCount(Uint32.valueOf(current.requestCount))
+                    .setResponsePendingCount(Uint32.valueOf(current.responsePendingCount)).setState(current.state)
+                    .build();
+        }
+
+        private static long toLong(@Nullable Number count) {
+            return count != null ? count.longValue() : 0;
+        }
+    }
+
+    private static final class Counters {
+        final long requestCount;
+        final long responsePendingCount;
+        final LivenessState state;
+
+        Counters(long requestCount, long responsePendingCount, LivenessState state) {
+            this.requestCount = requestCount;
+            this.responsePendingCount = responsePendingCount;
+            this.state = state;
+        }
+    }
+}
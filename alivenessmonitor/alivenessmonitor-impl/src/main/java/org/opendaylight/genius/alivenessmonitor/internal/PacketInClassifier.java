@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.genius.mdsalutil.packet.utils.PacketUtil;
+import org.opendaylight.genius.mdsalutil.packet.view.EthernetView;
+import org.opendaylight.openflowplugin.libraries.liblldp.EtherTypes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.MonitorProtocolType;
+
+/**
+ * Classifies packet-ins by the monitoring protocol they may belong to, reading the EtherType and protocol bytes in
+ * place instead of deserializing the packet.
+ */
+final class PacketInClassifier {
+
+    private static final int ETHER_TYPE_ARP = EtherTypes.ARP.intValue();
+    private static final int ETHER_TYPE_LLDP = EtherTypes.LLDP.intValue();
+    private static final int ETHER_TYPE_IPV6 = EtherTypes.IPv6.intValue();
+
+    private PacketInClassifier() {
+    }
+
+    /**
+     * Returns the protocol of the given packet, or null if it is not one the monitoring handles; as before, VLAN
+     * tagged frames are never handled.
+     *
+     * @throws IllegalArgumentException if the packet is too short for its headers
+     */
+    static @Nullable MonitorProtocolType classify(byte[] data) {
+        EthernetView ethernet = new EthernetView().wrap(data);
+        if (ethernet.isVlanTagged()) {
+            return null;
+        }
+        int etherType = ethernet.getEtherType();
+        if (etherType == ETHER_TYPE_ARP) {
+            return MonitorProtocolType.Arp;
+        } else if (etherType == ETHER_TYPE_LLDP) {
+            return MonitorProtocolType.Lldp;
+        } else if (etherType == ETHER_TYPE_IPV6 && PacketUtil.isIpv6NaPacket(data)) {
+            return MonitorProtocolType.Ipv6Nd;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.infrautils.metrics.Meter;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.MonitorProtocolType;
+
+/**
+ * Per protocol packet-in statistics of the {@link AlivenessMonitor}, also exported as meters, which provide the
+ * rates, through the infrautils {@link MetricProvider}.
+ */
+public final class PacketInStatistics {
+
+    private static final String MODULENAME = "odl.genius.alivenessmonitor.";
+
+    private final Map<MonitorProtocolType, ProtocolCounters> counters = new EnumMap<>(MonitorProtocolType.class);
+    private final LongAdder unclassified = new LongAdder();
+    private final Meter unclassifiedMeter;
+
+    PacketInStatistics(MetricProvider metricProvider, Object anchor) {
+        for (MonitorProtocolType protocolType : MonitorProtocolType.values()) {
+            counters.put(protocolType, new ProtocolCounters(metricProvider, anchor, protocolType));
+        }
+        unclassifiedMeter = metricProvider.newMeter(anchor, MODULENAME + "packetInUnclassified");
+    }
+
+    void received(MonitorProtocolType protocolType) {
+        ProtocolCounters protocolCounters = counters.get(protocolType);
+        protocolCounters.received.increment();
+        protocolCounters.receivedMeter.mark();
+    }
+
+    void dropped(MonitorProtocolType protocolType) {
+        ProtocolCounters protocolCounters = counters.get(protocolType);
+        protocolCounters.dropped.increment();
+        protocolCounters.droppedMeter.mark();
+    }
+
+    void unclassified() {
+        unclassified.increment();
+        unclassifiedMeter.mark();
+    }
+
+    public long getReceivedCount(MonitorProtocolType protocolType) {
+        return counters.get(protocolType).received.sum();
+    }
+
+    /**
+     * Returns the number of packet-ins of the given protocol which could not be decoded, or for which no handler
+     * was registered.
+     */
+    public long getDroppedCount(MonitorProtocolType protocolType) {
+        return counters.get(protocolType).dropped.sum();
+    }
+
+    /**
+     * Returns the number of packet-ins which did not belong to any monitoring protocol, and were ignored.
+     */
+    public long getUnclassifiedCount() {
+        return unclassified.sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PacketInStatistics{");
+        counters.forEach((protocolType, protocolCounters) -> sb.append(protocolType).append("={received=")
+                .append(protocolCounters.received.sum()).append(", dropped=").append(protocolCounters.dropped.sum())
+                .append("}, "));
+        return sb.append("unclassified=").append(getUnclassifiedCount()).append('}').toString();
+    }
+
+    private static final class ProtocolCounters {
+        final LongAdder received = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final Meter receivedMeter;
+        final Meter droppedMeter;
+
+        ProtocolCounters(MetricProvider metricProvider, Object anchor, MonitorProtocolType protocolType) {
+            String protocol = protocolType.getName().toLowerCase(Locale.ROOT);
+            receivedMeter = metricProvider.newMeter(anchor, MODULENAME + "packetInReceived." + protocol);
+            droppedMeter = metricProvider.newMeter(anchor, MODULENAME + "packetInDropped." + protocol);
+        }
+    }
+}
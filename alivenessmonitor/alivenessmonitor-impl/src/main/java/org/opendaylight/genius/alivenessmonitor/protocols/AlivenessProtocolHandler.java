@@ -8,7 +8,9 @@
 package org.opendaylight.genius.alivenessmonitor.protocols;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.genius.mdsalutil.packet.Ethernet;
 import org.opendaylight.openflowplugin.libraries.liblldp.Packet;
+import org.opendaylight.openflowplugin.libraries.liblldp.PacketException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitor.configs.MonitoringInfo;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
 
@@ -23,7 +25,33 @@ public interface AlivenessProtocolHandler<T extends Packet> {
 
     @Nullable String handlePacketIn(T protocolPacket, PacketReceived packetReceived);
 
+    /**
+     * Handles a packet-in which the Aliveness monitor has already classified, from its EtherType and protocol bytes,
+     * as belonging to the protocol of this handler. This default deserializes the full packet for
+     * {@link #handlePacketIn(Packet, PacketReceived)}; handlers which only need a few header fields should override
+     * it to read them in place from the payload instead.
+     *
+     * @return the monitoring key of the packet, or null if it does not concern any monitoring
+     * @throws PacketException if the packet could not be decoded
+     */
+    default @Nullable String handlePacketIn(PacketReceived packetReceived) throws PacketException {
+        byte[] data = packetReceived.getPayload();
+        Packet payload = new Ethernet().deserialize(data, 0, data.length * Byte.SIZE).getPayload();
+        Class<T> packetClass = getPacketClass();
+        return packetClass.isInstance(payload) ? handlePacketIn(packetClass.cast(payload), packetReceived) : null;
+    }
+
     void startMonitoringTask(MonitoringInfo monitorInfo);
 
+    /**
+     * Returns the key of the monitorings whose packets the Aliveness monitor should send out together when they are
+     * due in the same tick, typically the DPN of their source interface.
+     *
+     * @return the batch key, or null if the packets of the monitoring are sent on their own
+     */
+    default @Nullable Object getMonitoringBatchKey(MonitoringInfo monitorInfo) {
+        return null;
+    }
+
     String getUniqueMonitoringKey(MonitoringInfo monitorInfo);
 }
@@ -12,6 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Objects.requireNonNull;
 import static org.opendaylight.mdsal.binding.util.Datastore.OPERATIONAL;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.net.InetAddresses;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -20,22 +23,36 @@ import com.google.common.util.concurrent.SettableFuture;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.genius.arputil.api.ArpConstants;
 import org.opendaylight.genius.mdsalutil.MDSALUtil;
 import org.opendaylight.genius.mdsalutil.MetaDataUtil;
 import org.opendaylight.genius.mdsalutil.NWUtil;
-import org.opendaylight.genius.mdsalutil.packet.ARP;
-import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.out.PacketOutBatcher;
+import org.opendaylight.genius.mdsalutil.packet.out.PacketOutNodeListener;
+import org.opendaylight.genius.mdsalutil.packet.view.ArpView;
+import org.opendaylight.genius.mdsalutil.packet.view.EthernetView;
 import org.opendaylight.infrautils.inject.AbstractLifecycle;
 import org.opendaylight.infrautils.metrics.Meter;
 import org.opendaylight.infrautils.metrics.MetricProvider;
@@ -47,7 +64,6 @@ import org.opendaylight.mdsal.binding.util.Datastore.Operational;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunnerImpl;
 import org.opendaylight.openflowplugin.libraries.liblldp.HexEncode;
-import org.opendaylight.openflowplugin.libraries.liblldp.Packet;
 import org.opendaylight.openflowplugin.libraries.liblldp.PacketException;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IetfInetUtil;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
@@ -61,6 +77,9 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.Ar
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.MacChangedBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.OdlArputilService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestInput;
@@ -68,12 +87,14 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.Se
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.input.MacRequest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.output.MacResponse;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.output.MacResponseBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetEgressActionsForInterfaceInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetEgressActionsForInterfaceOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexInputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetPortFromInterfaceInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetPortFromInterfaceOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.OdlInterfaceRpcService;
@@ -84,7 +105,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnector;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.model.match.types.rev131026.match.Metadata;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketInReason;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
@@ -108,16 +128,35 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
     private static final Logger LOG = LoggerFactory.getLogger(ArpUtilImpl.class);
     private static final String MODULENAME = "odl.genius.arputil.";
     private static final String OPENFLOW_PFX = "openflow:";
+    // The ARP packet-ins of an lport tag are always handled by the same worker, keeping them in order; those beyond
+    // the backlog of the worker are dropped instead of holding up the notification thread
+    private static final int PACKET_IN_WORKERS = Integer.getInteger("genius.arputil.packetin.workers", 4);
+    private static final int PACKET_IN_BACKLOG = Integer.getInteger("genius.arputil.packetin.backlog", 1024);
+    // The last MAC seen for an IP on an interface is forgotten after this time, or when there are too many of them,
+    // the next packet then fires a MacChanged notification again
+    private static final long MACS_MAX_SIZE = Long.getLong("genius.arputil.macs.max.size", 100000L);
+    private static final long MACS_EXPIRY_SECONDS = Long.getLong("genius.arputil.macs.expiry.seconds", 3600L);
+    // How long getMacs waits for the ARP responses when its input does not say
+    private static final long GET_MACS_TIMEOUT_MILLIS = Long.getLong("genius.arputil.getmacs.timeout.ms", 2000L);
+    // How long the resolution of a MAC is kept at most, even with getMac requests waiting for it without timeout
+    private static final long MAC_RESOLUTION_MAX_LIFETIME_MILLIS =
+            Long.getLong("genius.arputil.macresolution.max.lifetime.ms", 60000L);
 
     private final ManagedNewTransactionRunner txRunner;
-    private final PacketProcessingService packetProcessingService;
+    private final PacketOutBatcher packetOutBatcher;
+    private final PacketOutNodeListener packetOutNodeListener;
     private final NotificationPublishService notificationPublishService;
     private final NotificationService notificationService;
     private final OdlInterfaceRpcService odlInterfaceRpcService;
     private ListenerRegistration<ArpUtilImpl> listenerRegistration;
-    private final ExecutorService threadPool = Executors.newFixedThreadPool(1, "ArpUtil", LOG);
-    private final ConcurrentMap<String, String> macsDB = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, SettableFuture<RpcResult<GetMacOutput>>> macAddrs = new ConcurrentHashMap<>();
+    private final InterfaceNameIndex interfaceNameIndex;
+    private final ExecutorService[] packetInWorkers = new ExecutorService[PACKET_IN_WORKERS];
+    private final AtomicIntegerArray packetInBacklogs = new AtomicIntegerArray(PACKET_IN_WORKERS);
+    private final Cache<MacsKey, Long> macsDB = CacheBuilder.newBuilder().maximumSize(MACS_MAX_SIZE)
+            .expireAfterWrite(MACS_EXPIRY_SECONDS, TimeUnit.SECONDS).build();
+    private final ConcurrentMap<String, MacResolution> macAddrs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService macResolutionTimer =
+            Executors.newSingleThreadScheduledExecutor("ArpUtil-MacResolutionTimer", LOG);
 
     private final Meter arpRespRecvd;
     private final Meter arpRespRecvdNotification;
@@ -125,7 +164,7 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
     private final Meter arpReqRecvd;
     private final Meter arpReqRecvdNotification;
     private final Meter arpReqRecvdNotificationRejected;
-
+    private final Meter arpPacketInDropped;
 
     @Inject
     public ArpUtilImpl(@Reference final DataBroker dataBroker,
@@ -135,10 +174,16 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
                        final OdlInterfaceRpcService odlInterfaceRpcService,
                        @Reference  final MetricProvider metricProvider) {
         this.txRunner = new ManagedNewTransactionRunnerImpl(dataBroker);
-        this.packetProcessingService = packetProcessingService;
+        // The ARP requests to the same DPN are sent out together
+        this.packetOutBatcher = new PacketOutBatcher(packetProcessingService, "ArpUtil", metricProvider);
+        this.packetOutNodeListener = new PacketOutNodeListener(dataBroker, packetOutBatcher);
         this.notificationPublishService = notificationPublishService;
         this.notificationService = notificationService;
         this.odlInterfaceRpcService = odlInterfaceRpcService;
+        this.interfaceNameIndex = new InterfaceNameIndex(dataBroker);
+        for (int i = 0; i < packetInWorkers.length; i++) {
+            packetInWorkers[i] = Executors.newSingleThreadExecutor("ArpUtil-PacketIn-" + i, LOG);
+        }
 
         arpRespRecvd = metricProvider.newMeter(this,MODULENAME + "arpResponseReceived");
         arpRespRecvdNotification = metricProvider.newMeter(this,MODULENAME + "arpResponseReceivedNotification");
@@ -148,6 +193,7 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         arpReqRecvdNotification = metricProvider.newMeter(this,MODULENAME + "arpRequestReceivedNotification");
         arpReqRecvdNotificationRejected = metricProvider.newMeter(this,
                 MODULENAME + "arpRequestReceivedNotificationRejected");
+        arpPacketInDropped = metricProvider.newMeter(this, MODULENAME + "arpPacketInDropped");
     }
 
     @Override
@@ -164,6 +210,13 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
             listenerRegistration.close();
             listenerRegistration = null;
         }
+        interfaceNameIndex.close();
+        for (ExecutorService packetInWorker : packetInWorkers) {
+            packetInWorker.shutdown();
+        }
+        macResolutionTimer.shutdownNow();
+        packetOutNodeListener.close();
+        packetOutBatcher.close();
     }
 
     private String getIpAddressInString(IpAddress ipAddress) throws UnknownHostException {
@@ -171,43 +224,114 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
     }
 
     @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
     public ListenableFuture<RpcResult<GetMacOutput>> getMac(GetMacInput input) {
+        final String dstIpAddress;
         try {
-            final String dstIpAddress = getIpAddressInString(input.getIpaddress());
-            LOG.trace("getMac rpc invoked for ip {}", dstIpAddress);
-            if (macAddrs.get(dstIpAddress) != null) {
-                if (LOG.isInfoEnabled()) {
-                    LOG.info("get mac already in progress for the ip {}", dstIpAddress);
-                }
-                return macAddrs.get(dstIpAddress);
-            }
-            SendArpRequestInputBuilder builder = new SendArpRequestInputBuilder()
-                    .setInterfaceAddress(input.getInterfaceAddress()).setIpaddress(input.getIpaddress());
-            ListenableFuture<RpcResult<SendArpRequestOutput>> arpReqFt = sendArpRequest(builder.build());
-            final SettableFuture<RpcResult<GetMacOutput>> ft = SettableFuture.create();
-
-            Futures.addCallback(arpReqFt, new FutureCallback<RpcResult<SendArpRequestOutput>>() {
-                @Override
-                public void onFailure(Throwable ex) {
-                    RpcResultBuilder<GetMacOutput> resultBuilder = RpcResultBuilder.<GetMacOutput>failed()
-                            .withError(ErrorType.APPLICATION, ex.getMessage(), ex);
-                    ft.set(resultBuilder.build());
-                }
-
-                @Override
-                public void onSuccess(RpcResult<SendArpRequestOutput> result) {
-                    LOG.trace("Successfully sent the arp pkt out for ip {}", dstIpAddress);
-                }
-            }, MoreExecutors.directExecutor());
-
-            macAddrs.put(dstIpAddress, ft);
-            return ft;
+            dstIpAddress = getIpAddressInString(input.getIpaddress());
         } catch (UnknownHostException e) {
             LOG.error("Failed to handle getMac request for {}", input.getIpaddress(), e);
             RpcResultBuilder<GetMacOutput> resultBuilder = RpcResultBuilder.<GetMacOutput>failed()
                     .withError(ErrorType.APPLICATION, e.getMessage(), e);
             return Futures.immediateFuture(resultBuilder.build());
         }
+        LOG.trace("getMac rpc invoked for ip {}", dstIpAddress);
+        MacResolution resolution = new MacResolution(dstIpAddress);
+        MacResolution pending = macAddrs.putIfAbsent(dstIpAddress, resolution);
+        if (pending != null) {
+            LOG.info("get mac already in progress for the ip {}", dstIpAddress);
+            resolution = pending;
+        } else {
+            resolution.limitLifetime();
+            final MacResolution sending = resolution;
+            final String failedToSend = ArpConstants.FAILED_TO_SEND_ARP_REQ_FOR_INTERFACE
+                    + input.nonnullInterfaceAddress().keySet();
+            try {
+                Futures.addCallback(sendArpRequest(new SendArpRequestInputBuilder()
+                        .setInterfaceAddress(input.getInterfaceAddress()).setIpaddress(input.getIpaddress()).build()),
+                    new FutureCallback<RpcResult<SendArpRequestOutput>>() {
+                        @Override
+                        public void onSuccess(RpcResult<SendArpRequestOutput> result) {
+                            if (!result.isSuccessful()) {
+                                sending.fail(new IllegalStateException(failedToSend));
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable throwable) {
+                            LOG.error("Failed to send the arp request for ip {}", dstIpAddress, throwable);
+                            sending.fail(new IllegalStateException(failedToSend, throwable));
+                        }
+                    }, MoreExecutors.directExecutor());
+            } catch (RuntimeException e) {
+                LOG.error("Failed to send the arp request for ip {}", dstIpAddress, e);
+                sending.fail(new IllegalStateException(failedToSend, e));
+            }
+        }
+        // As before, getMac waits for the ARP response without timeout, up to the lifetime of the resolution
+        ListenableFuture<RpcResult<GetMacOutput>> result = Futures.transform(resolution.await(0),
+            mac -> RpcResultBuilder.success(new GetMacOutputBuilder().setMacaddress(mac).build()).build(),
+            MoreExecutors.directExecutor());
+        return Futures.catching(result, Exception.class, ex -> RpcResultBuilder.<GetMacOutput>failed()
+                .withError(ErrorType.APPLICATION, ex.getMessage(), ex).build(), MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Resolves the MACs of all the requested IPs, sending a single ARP request per IP which is not being resolved
+     * already. The ARP requests are handed to the packet-out batcher one after the other, so that those out of the
+     * same DPN are sent together, and the port, source MAC and egress actions of an interface are looked up once for
+     * the whole batch. Each IP is awaited up to the timeout of the request, on the shared timer, an IP not resolved
+     * by then has no MAC in the output.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public ListenableFuture<RpcResult<GetMacsOutput>> getMacs(GetMacsInput input) {
+        long timeoutMillis = input.getTimeoutMillis() != null ? input.getTimeoutMillis().toJava()
+                : GET_MACS_TIMEOUT_MILLIS;
+        LOG.trace("getMacs rpc invoked for {} ips", input.nonnullMacRequest().size());
+        Map<InterfaceAddress, ArpSource> arpSources = new HashMap<>();
+        List<ListenableFuture<MacResponse>> responses = new ArrayList<>();
+        for (MacRequest request : input.nonnullMacRequest().values()) {
+            IpAddress ip = request.getIpaddress();
+            final String dstIpAddress;
+            try {
+                dstIpAddress = getIpAddressInString(ip);
+            } catch (UnknownHostException | RuntimeException e) {
+                // Not an IPv4 address
+                LOG.error("Failed to handle getMacs request for {}", ip, e);
+                responses.add(Futures.immediateFuture(new MacResponseBuilder().setIpaddress(ip).build()));
+                continue;
+            }
+            MacResolution resolution = new MacResolution(dstIpAddress);
+            MacResolution pending = macAddrs.putIfAbsent(dstIpAddress, resolution);
+            if (pending != null) {
+                LOG.trace("get mac already in progress for the ip {}", dstIpAddress);
+                resolution = pending;
+            } else {
+                resolution.limitLifetime();
+                boolean sent = false;
+                try {
+                    sent = sendArpRequest(ip, request.nonnullInterfaceAddress().values(), arpSources);
+                } finally {
+                    if (!sent) {
+                        resolution.fail(new IllegalStateException(ArpConstants.FAILED_TO_SEND_ARP_REQ_FOR_INTERFACE
+                                + request.nonnullInterfaceAddress().keySet()));
+                    }
+                }
+            }
+            ListenableFuture<PhysAddress> mac = Futures.catching(resolution.await(timeoutMillis), Exception.class,
+                ex -> {
+                    LOG.debug("No mac resolved for ip {}", dstIpAddress, ex);
+                    return null;
+                }, MoreExecutors.directExecutor());
+            responses.add(Futures.transform(mac,
+                physAddress -> new MacResponseBuilder().setIpaddress(ip).setMacaddress(physAddress).build(),
+                MoreExecutors.directExecutor()));
+        }
+        return Futures.transform(Futures.allAsList(responses),
+            macResponses -> RpcResultBuilder.success(new GetMacsOutputBuilder().setMacResponse(macResponses.stream()
+                    .collect(Collectors.toMap(MacResponse::key, response -> response))).build()).build(),
+            MoreExecutors.directExecutor());
     }
 
     private byte[] getIpAddressBytes(IpAddress ip) throws UnknownHostException {
@@ -217,12 +341,9 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
     @Override
     public ListenableFuture<RpcResult<SendArpRequestOutput>> sendArpRequest(SendArpRequestInput arpReqInput) {
         LOG.trace("rpc sendArpRequest invoked for ip {}", arpReqInput.getIpaddress());
-        Uint64 dpnId;
         byte[] payload;
         String interfaceName = null;
-        byte[] srcIpBytes;
         byte[] dstIpBytes;
-        byte[] srcMac;
 
         RpcResultBuilder<SendArpRequestOutput> failureBuilder = RpcResultBuilder.failed();
         RpcResultBuilder<SendArpRequestOutput> successBuilder = RpcResultBuilder.success();
@@ -239,40 +360,10 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         for (InterfaceAddress interfaceAddress : arpReqInput.nonnullInterfaceAddress().values()) {
             try {
                 interfaceName = interfaceAddress.getInterface();
-                srcIpBytes = getIpAddressBytes(interfaceAddress.getIpAddress());
-
-                GetPortFromInterfaceOutput portResult = getPortFromInterface(interfaceName);
-                requireNonNull(portResult);
-                dpnId = portResult.getDpid();
-                Long portid = portResult.getPortno().toJava();
-                checkArgument(null != dpnId && !Uint64.ZERO.equals(dpnId),
-                    ArpConstants.DPN_NOT_FOUND_ERROR, interfaceName);
-
-                NodeConnectorRef ref = MDSALUtil.getNodeConnRef(dpnId, portid.toString());
-                checkNotNull(ref, ArpConstants.NODE_CONNECTOR_NOT_FOUND_ERROR, interfaceName);
-
-                LOG.trace("sendArpRequest received dpnId {} out interface {}", dpnId, interfaceName);
-                if (interfaceAddress.getMacaddress() == null) {
-                    srcMac = txRunner.<Operational, ExecutionException, byte[]>
-                        applyInterruptiblyWithNewReadOnlyTransactionAndClose(OPERATIONAL,
-                            tx -> tx.read((InstanceIdentifier<NodeConnector>) ref.getValue()).get()
-                                .map(nc -> nc.augmentation(FlowCapableNodeConnector.class))
-                                .map(FlowCapableNodeConnector::getHardwareAddress)
-                                .map(MacAddress::getValue)
-                                .map(HexEncode::bytesFromHexString)
-                                .orElse(null));
-                } else {
-                    String macAddr = interfaceAddress.getMacaddress().getValue();
-                    srcMac = HexEncode.bytesFromHexString(macAddr);
-                }
-                checkNotNull(srcMac, ArpConstants.FAILED_TO_GET_SRC_MAC_FOR_INTERFACE, interfaceName, ref.getValue());
-                checkNotNull(srcIpBytes, ArpConstants.FAILED_TO_GET_SRC_IP_FOR_INTERFACE, interfaceName);
-
-                payload = ArpPacketUtil.getPayload(ArpConstants.ARP_REQUEST_OP, srcMac, srcIpBytes,
+                ArpSource source = getArpSource(interfaceAddress);
+                payload = ArpPacketUtil.getPayload(ArpConstants.ARP_REQUEST_OP, source.srcMac, source.srcIpBytes,
                         ArpPacketUtil.ETHERNET_BROADCAST_DESTINATION, dstIpBytes);
-
-                Map<ActionKey, Action> actions = getEgressAction(interfaceName);
-                sendPacketOutWithActions(dpnId, payload, ref, actions);
+                sendPacketOutWithActions(source.dpnId, payload, source.ref, source.actions);
 
                 LOG.trace("sent arp request for {}", arpReqInput.getIpaddress());
             } catch (UnknownHostException | PacketException | InterruptedException | ExecutionException e) {
@@ -292,10 +383,82 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         return Futures.immediateFuture(successBuilder.build());
     }
 
+    /**
+     * Sends the ARP request for an IP of a getMacs batch out of all the given interfaces, reusing the sources already
+     * looked up for the batch; returns whether it was sent out of any of them. An interface without port or DPN, or
+     * an IP which is not an IPv4 address, fails the request of this IP only, not the whole batch.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private boolean sendArpRequest(IpAddress ip, Collection<InterfaceAddress> interfaceAddresses,
+            Map<InterfaceAddress, ArpSource> arpSources) {
+        byte[] dstIpBytes;
+        try {
+            dstIpBytes = getIpAddressBytes(ip);
+        } catch (UnknownHostException | RuntimeException e) {
+            LOG.error("Cannot get IP address", e);
+            return false;
+        }
+        boolean sent = false;
+        for (InterfaceAddress interfaceAddress : interfaceAddresses) {
+            try {
+                ArpSource source = arpSources.get(interfaceAddress);
+                if (source == null) {
+                    source = getArpSource(interfaceAddress);
+                    arpSources.put(interfaceAddress, source);
+                }
+                byte[] payload = ArpPacketUtil.getPayload(ArpConstants.ARP_REQUEST_OP, source.srcMac,
+                        source.srcIpBytes, ArpPacketUtil.ETHERNET_BROADCAST_DESTINATION, dstIpBytes);
+                sendPacketOutWithActions(source.dpnId, payload, source.ref, source.actions);
+                sent = true;
+                LOG.trace("sent arp request for {}", ip);
+            } catch (UnknownHostException | PacketException | InterruptedException | ExecutionException
+                    | RuntimeException e) {
+                LOG.trace("failed to send arp req for {} on interface {}", ip, interfaceAddress.getInterface(), e);
+            }
+        }
+        return sent;
+    }
+
+    private ArpSource getArpSource(InterfaceAddress interfaceAddress)
+            throws UnknownHostException, InterruptedException, ExecutionException {
+        String interfaceName = interfaceAddress.getInterface();
+        byte[] srcIpBytes = getIpAddressBytes(interfaceAddress.getIpAddress());
+
+        GetPortFromInterfaceOutput portResult = getPortFromInterface(interfaceName);
+        requireNonNull(portResult);
+        Uint64 dpnId = portResult.getDpid();
+        Long portid = portResult.getPortno().toJava();
+        checkArgument(null != dpnId && !Uint64.ZERO.equals(dpnId),
+            ArpConstants.DPN_NOT_FOUND_ERROR, interfaceName);
+
+        NodeConnectorRef ref = MDSALUtil.getNodeConnRef(dpnId, portid.toString());
+        checkNotNull(ref, ArpConstants.NODE_CONNECTOR_NOT_FOUND_ERROR, interfaceName);
+
+        LOG.trace("sendArpRequest received dpnId {} out interface {}", dpnId, interfaceName);
+        byte[] srcMac;
+        if (interfaceAddress.getMacaddress() == null) {
+            srcMac = txRunner.<Operational, ExecutionException, byte[]>
+                applyInterruptiblyWithNewReadOnlyTransactionAndClose(OPERATIONAL,
+                    tx -> tx.read((InstanceIdentifier<NodeConnector>) ref.getValue()).get()
+                        .map(nc -> nc.augmentation(FlowCapableNodeConnector.class))
+                        .map(FlowCapableNodeConnector::getHardwareAddress)
+                        .map(MacAddress::getValue)
+                        .map(HexEncode::bytesFromHexString)
+                        .orElse(null));
+        } else {
+            String macAddr = interfaceAddress.getMacaddress().getValue();
+            srcMac = HexEncode.bytesFromHexString(macAddr);
+        }
+        checkNotNull(srcMac, ArpConstants.FAILED_TO_GET_SRC_MAC_FOR_INTERFACE, interfaceName, ref.getValue());
+        checkNotNull(srcIpBytes, ArpConstants.FAILED_TO_GET_SRC_IP_FOR_INTERFACE, interfaceName);
+
+        return new ArpSource(dpnId, ref, srcMac, srcIpBytes, getEgressAction(interfaceName));
+    }
+
     public ListenableFuture<RpcResult<TransmitPacketOutput>> sendPacketOut(
             Uint64 dpnId, byte[] payload, NodeConnectorRef ref) {
         NodeConnectorRef nodeConnectorRef = MDSALUtil.getNodeConnRef(dpnId, "0xfffffffd");
-        return packetProcessingService.transmitPacket(new TransmitPacketInputBuilder().setPayload(payload)
+        return packetOutBatcher.transmitPacket(new TransmitPacketInputBuilder().setPayload(payload)
                 .setNode(new NodeRef(InstanceIdentifier.builder(Nodes.class)
                         .child(Node.class, new NodeKey(new NodeId(OPENFLOW_PFX + dpnId))).build()))
                 .setIngress(nodeConnectorRef).setEgress(ref).build());
@@ -309,7 +472,7 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
                         .child(Node.class, new NodeKey(new NodeId(OPENFLOW_PFX + dpnId))).build()))
                 .setIngress(nodeConnectorRef).setEgress(ref).setAction(actions).build();
         LOG.trace("PacketOut message framed for transmitting {}", transmitPacketInput);
-        return packetProcessingService.transmitPacket(transmitPacketInput);
+        return packetOutBatcher.transmitPacket(transmitPacketInput);
     }
 
     private Map<ActionKey, Action> getEgressAction(String interfaceName) {
@@ -385,50 +548,105 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         return Futures.immediateFuture(rpcResultBuilder.build());
     }
 
+    /**
+     * Reads the ARP headers in place on the notification thread, and hands the packet over to the worker of its lport
+     * tag, which resolves the interface and publishes the notifications; the packet is dropped if that worker is too
+     * far behind.
+     */
     @Override
     public void onPacketReceived(PacketReceived packetReceived) {
         Class<? extends PacketInReason> pktInReason = packetReceived.getPacketInReason();
         LOG.trace("Packet Received {}", packetReceived);
 
         if (pktInReason == SendToController.class) {
+            ArpPacketIn packetIn;
             try {
-                Uint64 dpnId = extractDpnId(packetReceived);
-                Uint32 tableId = packetReceived.getTableId().getValue().toUint32();
+                packetIn = parseArpPacketIn(packetReceived);
+            } catch (IllegalArgumentException e) {
+                LOG.trace("Failed to decode packet", e);
+                return;
+            }
+            if (packetIn == null) {
+                return;
+            }
+            int lportTag = MetaDataUtil.getLportFromMetadata(packetIn.metadata).intValue();
+            int worker = Math.floorMod(lportTag, packetInWorkers.length);
+            if (packetInBacklogs.incrementAndGet(worker) > PACKET_IN_BACKLOG) {
+                packetInBacklogs.decrementAndGet(worker);
+                arpPacketInDropped.mark();
+                LOG.debug("Dropping ARP packet-in of lport tag {}, its worker is {} packets behind", lportTag,
+                        PACKET_IN_BACKLOG);
+                return;
+            }
+            try {
+                packetInWorkers[worker].execute(() -> {
+                    packetInBacklogs.decrementAndGet(worker);
+                    processArpPacketIn(lportTag, packetIn);
+                });
+            } catch (RejectedExecutionException e) {
+                packetInBacklogs.decrementAndGet(worker);
+                LOG.debug("Dropping ARP packet-in of lport tag {}, ArpUtil is stopped", lportTag, e);
+            }
+        }
+    }
 
-                byte[] data = packetReceived.getPayload();
-                Ethernet ethernet = new Ethernet();
+    private @Nullable ArpPacketIn parseArpPacketIn(PacketReceived packetReceived) {
+        EthernetView ethernet = new EthernetView().wrap(packetReceived.getPayload());
+        // As before, VLAN tagged frames are not handled
+        if (ethernet.isVlanTagged() || ethernet.getEtherType() != ArpConstants.ETH_TYPE_ARP) {
+            return null;
+        }
+        ArpView arp = new ArpView().wrapPayload(ethernet);
+        if (!arp.isEthernetIpv4()) {
+            return null;
+        }
+        return new ArpPacketIn(extractDpnId(packetReceived), packetReceived.getTableId().getValue().toUint32(),
+                packetReceived.getMatch().getMetadata().getMetadata(), arp.getOpCode(), ethernet.getSourceMac(),
+                ethernet.getDestinationMac(), arp.getSenderHardwareAddress(), arp.getSenderProtocolAddress(),
+                arp.getTargetProtocolAddress());
+    }
 
-                ethernet.deserialize(data, 0, data.length * Byte.SIZE);
-                if (ethernet.getEtherType() != ArpConstants.ETH_TYPE_ARP) {
-                    return;
-                }
+    private void processArpPacketIn(int lportTag, ArpPacketIn packetIn) {
+        String interfaceName = interfaceNameIndex.getInterfaceName(lportTag);
+        if (interfaceName == null) {
+            // The interface is not indexed yet, typically right after it was added; the worker waits for the RPC,
+            // so that the later packets of the lport tag are still handled after this one. As before, the packet is
+            // still handled if the interface manager does not know its lport tag either
+            try {
+                interfaceName = getInterfaceName(lportTag).get();
+            } catch (ExecutionException e) {
+                LOG.error("Failed to get the interface name of lport tag {}", lportTag, e);
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while getting the interface name of lport tag {}", lportTag, e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        handleArpPacketIn(interfaceName, packetIn);
+    }
 
-                Packet pkt = ethernet.getPayload();
-                ARP arp = (ARP) pkt;
-                InetAddress srcInetAddr = InetAddress.getByAddress(arp.getSenderProtocolAddress());
-                InetAddress dstInetAddr = InetAddress.getByAddress(arp.getTargetProtocolAddress());
-                byte[] srcMac = ethernet.getSourceMACAddress();
-                byte[] dstMac = ethernet.getDestinationMACAddress();
-
-                Metadata metadata = packetReceived.getMatch().getMetadata();
-
-                String interfaceName = getInterfaceName(metadata);
-
-                checkAndFireMacChangedNotification(interfaceName, srcInetAddr, srcMac);
-                macsDB.put(interfaceName + "-" + srcInetAddr.getHostAddress(), NWUtil.toStringMacAddress(srcMac));
-                if (arp.getOpCode() == ArpConstants.ARP_REQUEST_OP) {
-                    fireArpReqRecvdNotification(interfaceName, srcInetAddr, srcMac, dstInetAddr, dpnId, tableId,
-                            metadata.getMetadata());
-                } else {
-                    fireArpRespRecvdNotification(interfaceName, srcInetAddr, srcMac, dpnId, tableId,
-                                                 metadata.getMetadata(), dstInetAddr, dstMac);
-                }
-                if (macAddrs.get(srcInetAddr.getHostAddress()) != null) {
-                    threadPool.execute(new MacResponderTask(arp));
-                }
-            } catch (PacketException | UnknownHostException | InterruptedException | ExecutionException e) {
-                LOG.trace("Failed to decode packet", e);
+    private void handleArpPacketIn(@Nullable String interfaceName, ArpPacketIn packetIn) {
+        InetAddress srcInetAddr = InetAddresses.fromInteger(packetIn.senderIp);
+        InetAddress dstInetAddr = InetAddresses.fromInteger(packetIn.targetIp);
+        try {
+            MacsKey macsKey = new MacsKey(interfaceName, packetIn.senderIp);
+            checkAndFireMacChangedNotification(interfaceName, srcInetAddr, macsKey, packetIn.srcMac);
+            macsDB.put(macsKey, packetIn.srcMac);
+            if (packetIn.opCode == ArpConstants.ARP_REQUEST_OP) {
+                fireArpReqRecvdNotification(interfaceName, srcInetAddr, packetIn.srcMac, dstInetAddr,
+                        packetIn.dpnId, packetIn.tableId, packetIn.metadata);
+            } else {
+                fireArpRespRecvdNotification(interfaceName, srcInetAddr, packetIn.srcMac, packetIn.dpnId,
+                        packetIn.tableId, packetIn.metadata, dstInetAddr, packetIn.dstMac);
             }
+        } catch (InterruptedException e) {
+            LOG.trace("Interrupted while publishing the notifications of an ARP packet-in", e);
+            Thread.currentThread().interrupt();
+        }
+        MacResolution resolution = macAddrs.remove(srcInetAddr.getHostAddress());
+        if (resolution != null) {
+            resolution.future.set(new PhysAddress(NWUtil.toStringMacAddress(packetIn.senderMac)));
+            LOG.trace("sent the mac response for ip {}", srcInetAddr.getHostAddress());
         }
     }
 
@@ -447,70 +665,167 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         return result;
     }
 
-    private String getInterfaceName(Metadata metadata)
-            throws InterruptedException, ExecutionException {
-        LOG.debug("metadata received is {} ", metadata);
+    private ListenableFuture<String> getInterfaceName(int lportTag) {
+        GetInterfaceFromIfIndexInput input = new GetInterfaceFromIfIndexInputBuilder().setIfIndex(lportTag).build();
+        return Futures.transform(odlInterfaceRpcService.getInterfaceFromIfIndex(input), result -> {
+            if (result.isSuccessful()) {
+                return result.getResult().getInterfaceName();
+            }
+            LOG.error("RPC call to get interface name for if index {} failed with errors {}", lportTag,
+                    result.getErrors());
+            return null;
+        }, MoreExecutors.directExecutor());
+    }
 
-        GetInterfaceFromIfIndexInputBuilder ifIndexInputBuilder = new GetInterfaceFromIfIndexInputBuilder();
-        Uint64 lportTag = MetaDataUtil.getLportFromMetadata(metadata.getMetadata());
+    /**
+     * The fields of an ARP packet-in, read in place from its payload.
+     */
+    private static final class ArpPacketIn {
+        final Uint64 dpnId;
+        final Uint32 tableId;
+        final Uint64 metadata;
+        final int opCode;
+        final long srcMac;
+        final long dstMac;
+        final long senderMac;
+        final int senderIp;
+        final int targetIp;
+
+        ArpPacketIn(Uint64 dpnId, Uint32 tableId, Uint64 metadata, int opCode, long srcMac, long dstMac,
+                long senderMac, int senderIp, int targetIp) {
+            this.dpnId = dpnId;
+            this.tableId = tableId;
+            this.metadata = metadata;
+            this.opCode = opCode;
+            this.srcMac = srcMac;
+            this.dstMac = dstMac;
+            this.senderMac = senderMac;
+            this.senderIp = senderIp;
+            this.targetIp = targetIp;
+        }
+    }
 
-        ifIndexInputBuilder.setIfIndex(lportTag.intValue());
-        GetInterfaceFromIfIndexInput input = ifIndexInputBuilder.build();
+    /**
+     * The source of the ARP requests sent out of an interface.
+     */
+    private static final class ArpSource {
+        final Uint64 dpnId;
+        final NodeConnectorRef ref;
+        final byte[] srcMac;
+        final byte[] srcIpBytes;
+        final Map<ActionKey, Action> actions;
+
+        ArpSource(Uint64 dpnId, NodeConnectorRef ref, byte[] srcMac, byte[] srcIpBytes,
+                Map<ActionKey, Action> actions) {
+            this.dpnId = dpnId;
+            this.ref = ref;
+            this.srcMac = srcMac;
+            this.srcIpBytes = srcIpBytes;
+            this.actions = actions;
+        }
+    }
 
-        Future<RpcResult<GetInterfaceFromIfIndexOutput>> interfaceFromIfIndex = odlInterfaceRpcService
-                .getInterfaceFromIfIndex(input);
-        if (interfaceFromIfIndex.get().isSuccessful()) {
-            GetInterfaceFromIfIndexOutput interfaceFromIfIndexOutput = interfaceFromIfIndex.get().getResult();
-            return interfaceFromIfIndexOutput.getInterfaceName();
-        } else {
-            LOG.error("RPC call to get interface name for if index {} failed with errors {}", lportTag,
-                interfaceFromIfIndex.get().getErrors());
-            return null;
+    /**
+     * The resolution of the MAC of an IP, shared by all the getMac and getMacs requests for it while its ARP request
+     * is in flight. It is given up once the last of the requests waiting for it with a timeout timed out, unless a
+     * getMac request, which waits without timeout, joined it; in any case it is given up after its maximum lifetime,
+     * so that an IP which never answers does not keep its resolution, and the requests joining it, forever.
+     */
+    private final class MacResolution {
+        final String ipAddress;
+        final SettableFuture<PhysAddress> future = SettableFuture.create();
+        final AtomicLong deadlineNanos = new AtomicLong(System.nanoTime());
+        volatile boolean awaitedWithoutTimeout;
+
+        MacResolution(String ipAddress) {
+            this.ipAddress = ipAddress;
+        }
+
+        ListenableFuture<PhysAddress> await(long timeoutMillis) {
+            // The waiters must not cancel the resolution shared with the others
+            ListenableFuture<PhysAddress> waiter = Futures.nonCancellationPropagating(future);
+            if (timeoutMillis <= 0) {
+                awaitedWithoutTimeout = true;
+                return waiter;
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            deadlineNanos.accumulateAndGet(deadline, (current, next) -> next - current > 0 ? next : current);
+            try {
+                macResolutionTimer.schedule(this::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+                return Futures.withTimeout(waiter, timeoutMillis, TimeUnit.MILLISECONDS, macResolutionTimer);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Not resolving the mac of ip {}, ArpUtil is stopped", ipAddress, e);
+                return Futures.immediateFailedFuture(e);
+            }
+        }
+
+        /**
+         * Gives the resolution up after its maximum lifetime, called once by the request which sends its ARP request.
+         */
+        void limitLifetime() {
+            try {
+                macResolutionTimer.schedule(() -> fail(new TimeoutException("No ARP response received for "
+                        + ipAddress + " in " + MAC_RESOLUTION_MAX_LIFETIME_MILLIS + " ms")),
+                        MAC_RESOLUTION_MAX_LIFETIME_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Not resolving the mac of ip {}, ArpUtil is stopped", ipAddress, e);
+                fail(e);
+            }
+        }
+
+        void fail(Throwable cause) {
+            if (macAddrs.remove(ipAddress, this)) {
+                future.setException(cause);
+            }
+        }
+
+        private void expire() {
+            if (!awaitedWithoutTimeout && System.nanoTime() - deadlineNanos.get() >= 0) {
+                LOG.debug("Giving up the mac resolution of ip {}", ipAddress);
+                fail(new TimeoutException("No ARP response received for " + ipAddress));
+            }
         }
     }
 
-    private class MacResponderTask implements Runnable {
-        final ARP arp;
+    /**
+     * The key of the last MAC seen for an IP on an interface.
+     */
+    private static final class MacsKey {
+        private final @Nullable String interfaceName;
+        private final int ip;
 
-        MacResponderTask(ARP arp) {
-            this.arp = arp;
+        MacsKey(@Nullable String interfaceName, int ip) {
+            this.interfaceName = interfaceName;
+            this.ip = ip;
         }
 
         @Override
-        public void run() {
-            InetAddress srcAddr;
-            GetMacOutputBuilder outputBuilder;
-            String srcMac;
-            try {
-                srcAddr = InetAddress.getByAddress(arp.getSenderProtocolAddress());
-                srcMac = NWUtil.toStringMacAddress(arp.getSenderHardwareAddress());
-                SettableFuture<RpcResult<GetMacOutput>> future = macAddrs.remove(srcAddr.getHostAddress());
-                if (future == null) {
-                    LOG.trace("There are no pending mac requests.");
-                    return;
-                }
-                outputBuilder = new GetMacOutputBuilder().setMacaddress(new PhysAddress(srcMac));
-                future.set(RpcResultBuilder.success(outputBuilder.build()).build());
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("sent the mac response for ip {}", srcAddr.getHostAddress());
-                }
-            } catch (UnknownHostException e) {
-                LOG.error("failed to send mac response", e);
+        public int hashCode() {
+            return 31 * Objects.hashCode(interfaceName) + ip;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
             }
+            if (!(obj instanceof MacsKey)) {
+                return false;
+            }
+            MacsKey other = (MacsKey) obj;
+            return ip == other.ip && Objects.equals(interfaceName, other.interfaceName);
         }
     }
 
-    private void fireArpRespRecvdNotification(String interfaceName, InetAddress srcInetAddr, byte[] srcMacAddressBytes,
-            Uint64 dpnId, Uint32 tableId, Uint64 metadata, InetAddress dstInetAddr, byte[] dstMacAddressBytes)
+    private void fireArpRespRecvdNotification(String interfaceName, InetAddress srcInetAddr, long srcMacAddress,
+            Uint64 dpnId, Uint32 tableId, Uint64 metadata, InetAddress dstInetAddr, long dstMacAddress)
                     throws InterruptedException {
         arpRespRecvd.mark();
 
         IpAddress srcIp = IetfInetUtil.INSTANCE.ipAddressFor(srcInetAddr);
         IpAddress dstIp = IetfInetUtil.INSTANCE.ipAddressFor(dstInetAddr);
-        String srcMacAddress = NWUtil.toStringMacAddress(srcMacAddressBytes);
-        PhysAddress srcMac = new PhysAddress(srcMacAddress);
-        String dstMacAddress = NWUtil.toStringMacAddress(dstMacAddressBytes);
-        PhysAddress dstMac = new PhysAddress(dstMacAddress);
+        PhysAddress srcMac = new PhysAddress(NWUtil.toStringMacAddress(srcMacAddress));
+        PhysAddress dstMac = new PhysAddress(NWUtil.toStringMacAddress(dstMacAddress));
         ArpResponseReceivedBuilder builder = new ArpResponseReceivedBuilder();
         builder.setInterface(interfaceName);
         builder.setSrcIpaddress(srcIp);
@@ -529,7 +844,7 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         }
     }
 
-    private void fireArpReqRecvdNotification(String interfaceName, InetAddress srcInetAddr, byte[] srcMac,
+    private void fireArpReqRecvdNotification(String interfaceName, InetAddress srcInetAddr, long srcMac,
             InetAddress dstInetAddr, Uint64 dpnId, Uint32 tableId, Uint64 metadata) throws InterruptedException {
         arpReqRecvd.mark();
         String macAddress = NWUtil.toStringMacAddress(srcMac);
@@ -549,21 +864,17 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         }
     }
 
-    private void checkAndFireMacChangedNotification(String interfaceName, InetAddress inetAddr, byte[] macAddressBytes)
-            throws InterruptedException {
-
-        IpAddress ip = IetfInetUtil.INSTANCE.ipAddressFor(inetAddr);
-        String macAddress = NWUtil.toStringMacAddress(macAddressBytes);
-        PhysAddress mac = new PhysAddress(macAddress);
-
-        if (!macAddress.equals(macsDB.get(interfaceName + "-" + inetAddr.getHostAddress()))) {
+    private void checkAndFireMacChangedNotification(String interfaceName, InetAddress inetAddr, MacsKey macsKey,
+            long macAddress) throws InterruptedException {
+        Long previousMacAddress = macsDB.getIfPresent(macsKey);
+        if (previousMacAddress == null || previousMacAddress != macAddress) {
             if (LOG.isTraceEnabled()) {
                 LOG.trace("mac address changed for {}", inetAddr);
             }
             MacChangedBuilder builder = new MacChangedBuilder();
             builder.setInterface(interfaceName);
-            builder.setIpaddress(ip);
-            builder.setMacaddress(mac);
+            builder.setIpaddress(IetfInetUtil.INSTANCE.ipAddressFor(inetAddr));
+            builder.setMacaddress(new PhysAddress(NWUtil.toStringMacAddress(macAddress)));
             notificationPublishService.putNotification(builder.build());
         }
     }
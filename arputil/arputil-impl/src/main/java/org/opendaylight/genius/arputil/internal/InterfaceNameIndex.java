@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.arputil.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.serviceutils.tools.listener.AbstractClusteredSyncDataTreeChangeListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * In-memory index of the interface names by lport tag, maintained from the if-index to interface map of the interface
+ * manager, so that the interface of an ARP packet-in is found without calling the getInterfaceFromIfIndex RPC.
+ */
+class InterfaceNameIndex extends AbstractClusteredSyncDataTreeChangeListener<IfIndexInterface> {
+
+    private final ConcurrentMap<Integer, String> interfaceNames = new ConcurrentHashMap<>();
+
+    InterfaceNameIndex(DataBroker dataBroker) {
+        super(dataBroker, LogicalDatastoreType.OPERATIONAL,
+                InstanceIdentifier.create(IfIndexesInterfaceMap.class).child(IfIndexInterface.class));
+        super.register();
+    }
+
+    /**
+     * Returns the name of the interface with the given lport tag, or null if it is not known (yet).
+     */
+    @Nullable String getInterfaceName(int lportTag) {
+        return interfaceNames.get(lportTag);
+    }
+
+    int size() {
+        return interfaceNames.size();
+    }
+
+    @Override
+    public void add(InstanceIdentifier<IfIndexInterface> iid, IfIndexInterface ifIndexInterface) {
+        if (ifIndexInterface.getInterfaceName() != null) {
+            interfaceNames.put(ifIndexInterface.getIfIndex(), ifIndexInterface.getInterfaceName());
+        }
+    }
+
+    @Override
+    public void update(InstanceIdentifier<IfIndexInterface> iid, IfIndexInterface original,
+            IfIndexInterface update) {
+        remove(iid, original);
+        add(iid, update);
+    }
+
+    @Override
+    public void remove(InstanceIdentifier<IfIndexInterface> iid, IfIndexInterface ifIndexInterface) {
+        interfaceNames.remove(ifIndexInterface.getIfIndex());
+    }
+}
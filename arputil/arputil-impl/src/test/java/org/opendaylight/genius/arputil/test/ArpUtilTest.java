@@ -7,7 +7,15 @@
  */
 package org.opendaylight.genius.arputil.test;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.INTERFACE_NAME;
+import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.INTERFACE_NAME_WITHOUT_PORT;
+import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.META_DATA;
 
 import java.util.Map;
 import java.util.concurrent.Future;
@@ -17,22 +25,43 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.opendaylight.genius.arputil.internal.ArpUtilImpl;
+import org.opendaylight.genius.mdsalutil.MetaDataUtil;
 import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
 import org.opendaylight.infrautils.testutils.LogCaptureRule;
 import org.opendaylight.infrautils.testutils.LogRule;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.NotificationPublishService;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
 import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.PhysAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.ArpRequestReceived;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.MacChanged;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.input.MacRequest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.input.MacRequestBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.output.MacResponse;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.get.macs.output.MacResponseKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.Uint32;
 
 public class ArpUtilTest extends AbstractConcurrentDataBrokerTest {
 
@@ -41,6 +70,9 @@ public class ArpUtilTest extends AbstractConcurrentDataBrokerTest {
     public @Rule MethodRule guice = new GuiceRule(new ArpUtilTestModule());
 
     @Inject ArpUtilImpl arpUtil;
+    @Inject DataBroker dataBroker;
+    @Inject NotificationPublishService notificationPublishService;
+    @Inject PacketProcessingService packetProcessingService;
 
     @Test
     public void testGetMac() throws Exception {
@@ -62,6 +94,69 @@ public class ArpUtilTest extends AbstractConcurrentDataBrokerTest {
         Assert.assertEquals("00:01:02:03:04:05", output.get().getResult().getMacaddress().getValue());
     }
 
+    @Test
+    public void testGetMacsSendsOneArpRequestPerIp() throws Exception {
+        final InterfaceAddress interfaceAddress = new InterfaceAddressBuilder()
+                .setInterface(INTERFACE_NAME)
+                .setIpAddress(new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.1")))
+                .setMacaddress(new PhysAddress("1F:1F:1F:1F:1F:1F")).build();
+        IpAddress resolvedIp = new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.2"));
+        IpAddress unresolvedIp = new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.3"));
+        MacRequest resolved = new MacRequestBuilder().setIpaddress(resolvedIp)
+                .setInterfaceAddress(Map.of(interfaceAddress.key(), interfaceAddress)).build();
+        MacRequest unresolved = new MacRequestBuilder().setIpaddress(unresolvedIp)
+                .setInterfaceAddress(Map.of(interfaceAddress.key(), interfaceAddress)).build();
+        GetMacsInput getMacsInput = new GetMacsInputBuilder().setTimeoutMillis(Uint32.valueOf(500))
+                .setMacRequest(Map.of(resolved.key(), resolved, unresolved.key(), unresolved)).build();
+
+        Future<RpcResult<GetMacsOutput>> macsOutput = arpUtil.getMacs(getMacsInput);
+        // Joins the resolution of the batch instead of sending another ARP request
+        Future<RpcResult<GetMacOutput>> macOutput = arpUtil.getMac(new GetMacInputBuilder().setIpaddress(resolvedIp)
+                .setInterfaceAddress(Map.of(interfaceAddress.key(), interfaceAddress)).build());
+        verify(packetProcessingService, after(500).times(2)).transmitPacket(any());
+
+        arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(1)); //response payload
+
+        Assert.assertEquals("00:01:02:03:04:05", macOutput.get().getResult().getMacaddress().getValue());
+        Map<MacResponseKey, MacResponse> macResponses = macsOutput.get().getResult().getMacResponse();
+        Assert.assertEquals("00:01:02:03:04:05",
+                macResponses.get(new MacResponseKey(resolvedIp)).getMacaddress().getValue());
+        Assert.assertNull(macResponses.get(new MacResponseKey(unresolvedIp)).getMacaddress());
+    }
+
+    @Test
+    public void testGetMacsWithInterfaceWithoutPort() throws Exception {
+        final InterfaceAddress interfaceAddress = new InterfaceAddressBuilder()
+                .setInterface(INTERFACE_NAME)
+                .setIpAddress(new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.1")))
+                .setMacaddress(new PhysAddress("1F:1F:1F:1F:1F:1F")).build();
+        final InterfaceAddress interfaceAddressWithoutPort = new InterfaceAddressBuilder()
+                .setInterface(INTERFACE_NAME_WITHOUT_PORT)
+                .setIpAddress(new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.1")))
+                .setMacaddress(new PhysAddress("1F:1F:1F:1F:1F:1F")).build();
+        IpAddress resolvedIp = new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.2"));
+        IpAddress failedIp = new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.4"));
+        MacRequest resolved = new MacRequestBuilder().setIpaddress(resolvedIp)
+                .setInterfaceAddress(Map.of(interfaceAddress.key(), interfaceAddress)).build();
+        MacRequest failed = new MacRequestBuilder().setIpaddress(failedIp)
+                .setInterfaceAddress(Map.of(interfaceAddressWithoutPort.key(), interfaceAddressWithoutPort)).build();
+        GetMacsInput getMacsInput = new GetMacsInputBuilder().setTimeoutMillis(Uint32.valueOf(5000))
+                .setMacRequest(Map.of(failed.key(), failed, resolved.key(), resolved)).build();
+
+        // The interface without port fails its IP only, the ARP request of the other IP is sent
+        Future<RpcResult<GetMacsOutput>> macsOutput = arpUtil.getMacs(getMacsInput);
+        verify(packetProcessingService, timeout(5000).times(1)).transmitPacket(any());
+
+        arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(1)); //response payload
+
+        RpcResult<GetMacsOutput> result = macsOutput.get();
+        Assert.assertTrue(result.isSuccessful());
+        Map<MacResponseKey, MacResponse> macResponses = result.getResult().getMacResponse();
+        Assert.assertEquals("00:01:02:03:04:05",
+                macResponses.get(new MacResponseKey(resolvedIp)).getMacaddress().getValue());
+        Assert.assertNull(macResponses.get(new MacResponseKey(failedIp)).getMacaddress());
+    }
+
     @Test
     public void testSendArpResponse() throws Exception {
         SendArpResponseInput builder = new SendArpResponseInputBuilder().setInterface(INTERFACE_NAME)
@@ -72,4 +167,38 @@ public class ArpUtilTest extends AbstractConcurrentDataBrokerTest {
 
         Assert.assertTrue(arpUtil.sendArpResponse(builder).get().isSuccessful());
     }
+
+    @Test
+    public void testPacketInOfIndexedInterface() throws Exception {
+        // The interface of the lport tag is resolved without the getInterfaceFromIfIndex RPC once indexed
+        String indexedInterfaceName = "indexed-" + INTERFACE_NAME;
+        int lportTag = MetaDataUtil.getLportFromMetadata(META_DATA).intValue();
+        WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, InstanceIdentifier.create(IfIndexesInterfaceMap.class)
+                .child(IfIndexInterface.class, new IfIndexInterfaceKey(lportTag)),
+                new IfIndexInterfaceBuilder().setIfIndex(lportTag).setInterfaceName(indexedInterfaceName).build());
+        tx.commit().get();
+
+        for (int i = 0; i < 100 && !isArpRequestNotified(indexedInterfaceName); i++) {
+            arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(0));
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(isArpRequestNotified(indexedInterfaceName));
+    }
+
+    @Test
+    public void testMacChangedNotifiedOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(0));
+        }
+        verify(notificationPublishService, timeout(5000).times(3)).offerNotification(any(ArpRequestReceived.class));
+        verify(notificationPublishService, times(1)).putNotification(any(MacChanged.class));
+    }
+
+    private boolean isArpRequestNotified(String interfaceName) {
+        return mockingDetails(notificationPublishService).getInvocations().stream()
+                .map(invocation -> invocation.getArguments())
+                .anyMatch(arguments -> arguments.length == 1 && arguments[0] instanceof ArpRequestReceived
+                        && interfaceName.equals(((ArpRequestReceived) arguments[0]).getInterface()));
+    }
 }
@@ -32,6 +32,8 @@ public final class ArpUtilTestUtil {
     public static final Uint32 PORT_NUMBER = Uint32.TWO;
     public static final String URI = "2";
     public static final String INTERFACE_NAME = "23701c04-7e58-4c65-9425-78a80d49a218";
+    // An interface of which the port is not known
+    public static final String INTERFACE_NAME_WITHOUT_PORT = "9b3e6c7a-1d2f-4f43-8a55-0c6e1b2d4f70";
     private static final String[] OP_CODE = new String[]{"0 1", "0 2"}; //array to store opCodes
 
     private ArpUtilTestUtil() {
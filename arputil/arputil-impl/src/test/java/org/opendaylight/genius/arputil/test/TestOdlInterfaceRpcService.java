@@ -9,6 +9,7 @@ package org.opendaylight.genius.arputil.test;
 
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.DPN_ID;
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.INTERFACE_NAME;
+import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.INTERFACE_NAME_WITHOUT_PORT;
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.PORT_NUMBER;
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.URI;
 import static org.opendaylight.yangtools.testutils.mockito.MoreAnswers.realOrException;
@@ -45,6 +46,9 @@ public abstract class TestOdlInterfaceRpcService implements OdlInterfaceRpcServi
     public ListenableFuture<RpcResult<GetPortFromInterfaceOutput>> getPortFromInterface(
             GetPortFromInterfaceInput input) {
         RpcResultBuilder<GetPortFromInterfaceOutput> rpcResultBuilder;
+        if (INTERFACE_NAME_WITHOUT_PORT.equals(input.getIntfName())) {
+            return Futures.immediateFuture(RpcResultBuilder.<GetPortFromInterfaceOutput>failed().build());
+        }
         GetPortFromInterfaceOutputBuilder output = new GetPortFromInterfaceOutputBuilder().setDpid(DPN_ID)
                 .setPortname(INTERFACE_NAME).setPortno(PORT_NUMBER).setPhyAddress("1F:1F:1F:1F:1F:1F");
         rpcResultBuilder = RpcResultBuilder.success();
@@ -25,4 +25,11 @@ public interface IdManagerMonitor {
      */
     Map<String, String> getLocalPoolsDetails();
 
+    /**
+     * Obtain the counters of the local pool id holder syncs to the datastore.
+     *
+     * @return Map with the counter name ("coalesced" or "written") as key, and its value
+     */
+    Map<String, Long> getIdHolderSyncCounters();
+
 }
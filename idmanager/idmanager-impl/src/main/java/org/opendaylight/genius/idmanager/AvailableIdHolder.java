@@ -28,11 +28,14 @@ public class AvailableIdHolder implements IdHolder {
 
     @Override
     public Optional<Long> allocateId() {
-        if (isIdAvailable(0L /*currentTime*/)) { //currentTime parameter not used for fetching Ids from AvailableIds
-            long id = cur.incrementAndGet();
-            if (id <= high) {
-                return Optional.of(id);
+        // CAS loop instead of a blind incrementAndGet(), so that concurrent callers racing on an exhausted
+        // holder can never push the cursor beyond high (which would make getAvailableIdCount() negative)
+        long current = cur.get();
+        while (current < high) {
+            if (cur.compareAndSet(current, current + 1)) {
+                return Optional.of(current + 1);
             }
+            current = cur.get();
         }
         return Optional.empty();
     }
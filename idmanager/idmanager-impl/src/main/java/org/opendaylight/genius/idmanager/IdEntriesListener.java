@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager;
+
+import static org.opendaylight.yangtools.yang.binding.CodeHelpers.nonnull;
+
+import com.google.common.collect.ImmutableList;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.aries.blueprint.annotation.service.Reference;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.serviceutils.tools.listener.AbstractClusteredAsyncDataTreeChangeListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdPools;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.id.pool.IdEntries;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the in-memory idKey cache used by the fast allocation path in line with IdEntries
+ * written or removed by other cluster members. Does nothing unless
+ * {@link IdUtils#isFastAllocationEnabled()}.
+ */
+@Singleton
+public class IdEntriesListener extends AbstractClusteredAsyncDataTreeChangeListener<IdEntries> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdEntriesListener.class);
+
+    private final IdUtils idUtils;
+
+    @Inject
+    public IdEntriesListener(@Reference DataBroker dataBroker, IdUtils idUtils) {
+        super(dataBroker, LogicalDatastoreType.CONFIGURATION,
+              InstanceIdentifier.create(IdPools.class).child(IdPool.class).child(IdEntries.class), Executors
+                      .newSingleThreadExecutor("IdEntriesListener", LOG));
+        this.idUtils = idUtils;
+    }
+
+    @Override
+    public void add(@NonNull InstanceIdentifier<IdEntries> instanceIdentifier, @NonNull IdEntries idEntries) {
+        if (idUtils.isFastAllocationEnabled()) {
+            idUtils.putIdEntries(getUniqueKey(instanceIdentifier, idEntries),
+                    ImmutableList.copyOf(nonnull(idEntries.getIdValue())));
+        }
+    }
+
+    @Override
+    public void remove(@NonNull InstanceIdentifier<IdEntries> instanceIdentifier, @NonNull IdEntries idEntries) {
+        if (idUtils.isFastAllocationEnabled()) {
+            idUtils.removeIdEntries(getUniqueKey(instanceIdentifier, idEntries));
+        }
+    }
+
+    @Override
+    public void update(@NonNull InstanceIdentifier<IdEntries> instanceIdentifier,
+                       @NonNull IdEntries originalIdEntries, @NonNull IdEntries updatedIdEntries) {
+        add(instanceIdentifier, updatedIdEntries);
+    }
+
+    private String getUniqueKey(InstanceIdentifier<IdEntries> instanceIdentifier, IdEntries idEntries) {
+        return idUtils.getUniqueKey(instanceIdentifier.firstKeyOf(IdPool.class).getPoolName(),
+                idEntries.getIdKey());
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        super.close();
+        Executors.shutdownAndAwaitTermination(getExecutorService());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.genius.idmanager.jobs.IdHolderSyncJob;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind syncer of the {@link IdHolder}s of local pools to the datastore.
+ *
+ * <p>Instead of enqueuing an {@link IdHolderSyncJob} per mutation, a mutated holder only marks its
+ * {@link IdLocalPool} dirty. A dirty pool is flushed at most once per {@link #SYNC_INTERVAL_PROPERTY}
+ * milliseconds, or as soon as {@link #SYNC_MUTATIONS_PROPERTY} mutations have accumulated, whichever comes
+ * first. A flush enqueues one {@link IdHolderSyncJob} per dirty holder, which snapshots the holder when it runs,
+ * so only the latest state is ever written. With the default interval of 0 every mutation is synced right away,
+ * as before.
+ *
+ * <p>Crash-safety contract: the IdEntries of the parent pool are the source of truth for allocated ids, the
+ * persisted holders may lag behind them by up to one interval (or N mutations). After a restart
+ * {@link IdManager} therefore reconciles every local pool read from the datastore with the IdEntries of its
+ * parent pool, moving the available ids cursor past, and dropping from the released ids, every id which is
+ * already recorded there. An id can thus never be handed out twice because of a lost flush; the worst case is
+ * that ids released during the last interval before a crash are leaked.
+ */
+public class IdHolderSyncer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdHolderSyncer.class);
+
+    public static final String SYNC_INTERVAL_PROPERTY = "idmanager.holder.sync.interval.ms";
+    public static final String SYNC_MUTATIONS_PROPERTY = "idmanager.holder.sync.max.mutations";
+    private static final int DEFAULT_SYNC_MUTATIONS = 1000;
+
+    private final ManagedNewTransactionRunner txRunner;
+    private final IdUtils idUtils;
+    private final JobCoordinator jobCoordinator;
+    private final long syncIntervalMillis;
+    private final int maxMutations;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, PoolSyncState> poolSyncStates = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedSyncs = new AtomicLong();
+    private final AtomicLong writtenSyncs = new AtomicLong();
+
+    public IdHolderSyncer(ManagedNewTransactionRunner txRunner, IdUtils idUtils, JobCoordinator jobCoordinator) {
+        this(txRunner, idUtils, jobCoordinator, Long.getLong(SYNC_INTERVAL_PROPERTY, 0),
+                Integer.getInteger(SYNC_MUTATIONS_PROPERTY, DEFAULT_SYNC_MUTATIONS));
+    }
+
+    public IdHolderSyncer(ManagedNewTransactionRunner txRunner, IdUtils idUtils, JobCoordinator jobCoordinator,
+            long syncIntervalMillis, int maxMutations) {
+        this.txRunner = txRunner;
+        this.idUtils = idUtils;
+        this.jobCoordinator = jobCoordinator;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.maxMutations = Math.max(maxMutations, 1);
+        this.scheduler = syncIntervalMillis > 0 ? Executors.newSingleThreadScheduledExecutor("IdHolderSyncer", LOG)
+                : null;
+    }
+
+    public void markAvailableIdsDirty(IdLocalPool localIdPool) {
+        markDirty(localIdPool, true);
+    }
+
+    public void markReleasedIdsDirty(IdLocalPool localIdPool) {
+        markDirty(localIdPool, false);
+    }
+
+    private void markDirty(IdLocalPool localIdPool, boolean availableIds) {
+        if (scheduler == null) {
+            sync(localIdPool.getPoolName(), availableIds ? localIdPool.getAvailableIds()
+                    : localIdPool.getReleasedIds());
+            return;
+        }
+        PoolSyncState state = poolSyncStates.computeIfAbsent(localIdPool.getPoolName(),
+            poolName -> new PoolSyncState());
+        state.localIdPool = localIdPool;
+        if (availableIds) {
+            state.availableIdsDirty.set(true);
+        } else {
+            state.releasedIdsDirty.set(true);
+        }
+        if (state.pendingMutations.incrementAndGet() >= maxMutations) {
+            flush(state);
+        } else if (state.flushScheduled.compareAndSet(false, true)) {
+            state.scheduledFlush = scheduler.schedule(() -> flush(state), syncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            coalescedSyncs.incrementAndGet();
+        }
+    }
+
+    /**
+     * Flushes all dirty pools right away, e.g. before shutting down.
+     */
+    public void flushAll() {
+        poolSyncStates.values().forEach(this::flush);
+    }
+
+    private void flush(PoolSyncState state) {
+        // A flush before the scheduled one, on reaching the mutations threshold or closing, makes it redundant
+        ScheduledFuture<?> scheduledFlush = state.scheduledFlush;
+        if (scheduledFlush != null) {
+            state.scheduledFlush = null;
+            scheduledFlush.cancel(false);
+        }
+        state.flushScheduled.set(false);
+        state.pendingMutations.set(0);
+        IdLocalPool localIdPool = state.localIdPool;
+        if (state.availableIdsDirty.getAndSet(false) && localIdPool.getAvailableIds() != null) {
+            sync(localIdPool.getPoolName(), localIdPool.getAvailableIds());
+        }
+        if (state.releasedIdsDirty.getAndSet(false)) {
+            sync(localIdPool.getPoolName(), localIdPool.getReleasedIds());
+        }
+    }
+
+    private void sync(String localPoolName, IdHolder idHolder) {
+        writtenSyncs.incrementAndGet();
+        jobCoordinator.enqueueJob(localPoolName, new IdHolderSyncJob(localPoolName, idHolder, txRunner, idUtils),
+                IdUtils.RETRY_COUNT);
+    }
+
+    /**
+     * Number of holder mutations which did not cause a datastore write of their own.
+     */
+    public long getCoalescedSyncs() {
+        return coalescedSyncs.get();
+    }
+
+    /**
+     * Number of {@link IdHolderSyncJob}s enqueued.
+     */
+    public long getWrittenSyncs() {
+        return writtenSyncs.get();
+    }
+
+    public void close() {
+        if (scheduler != null) {
+            flushAll();
+            Executors.shutdownAndAwaitTermination(scheduler);
+        }
+    }
+
+    private static final class PoolSyncState {
+        final AtomicBoolean availableIdsDirty = new AtomicBoolean();
+        final AtomicBoolean releasedIdsDirty = new AtomicBoolean();
+        final AtomicInteger pendingMutations = new AtomicInteger();
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+        volatile IdLocalPool localIdPool;
+        volatile ScheduledFuture<?> scheduledFlush;
+    }
+}
@@ -12,19 +12,24 @@ import static java.util.stream.Collectors.toCollection;
 import static org.opendaylight.mdsal.binding.util.Datastore.CONFIGURATION;
 import static org.opendaylight.yangtools.yang.binding.CodeHelpers.nonnull;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -44,9 +49,9 @@ import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
 import org.opendaylight.genius.idmanager.ReleasedIdHolder.DelayedIdEntry;
 import org.opendaylight.genius.idmanager.api.IdManagerMonitor;
 import org.opendaylight.genius.idmanager.jobs.CleanUpJob;
-import org.opendaylight.genius.idmanager.jobs.IdHolderSyncJob;
 import org.opendaylight.genius.idmanager.jobs.LocalPoolCreateJob;
 import org.opendaylight.genius.idmanager.jobs.LocalPoolDeleteJob;
+import org.opendaylight.genius.idmanager.jobs.UpdateIdEntriesJob;
 import org.opendaylight.genius.idmanager.jobs.UpdateIdEntryJob;
 import org.opendaylight.genius.mdsalutil.NwConstants;
 import org.opendaylight.genius.mdsalutil.interfaces.ShardStatusMonitor;
@@ -66,6 +71,9 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolOutputBuilder;
@@ -76,6 +84,11 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocate.ids.output.AllocatedIds;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocate.ids.output.AllocatedIdsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolKey;
@@ -87,6 +100,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.id.pool.IdEntriesKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.id.pool.ReleasedIdsHolder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.id.pool.ReleasedIdsHolderBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.release.ids.output.ReleasedIds;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.release.ids.output.ReleasedIdsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.released.ids.DelayedIdEntries;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -107,6 +122,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
     private final LockManagerService lockManager;
     private final IdUtils idUtils;
     private final JobCoordinator jobCoordinator;
+    private final IdHolderSyncer idHolderSyncer;
 
     private final ConcurrentMap<String, IdLocalPool> localPool;
     private final Timer cleanJobTimer = new Timer();
@@ -122,6 +138,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         this.lockManager = lockManager;
         this.idUtils = idUtils;
         this.jobCoordinator = jobCoordinator;
+        this.idHolderSyncer = new IdHolderSyncer(txRunner, idUtils, jobCoordinator);
 
         // NB: We do not "use" the DataImportBootReady, but it's presence in the OSGi
         // Service Registry is the required "signal" that the Daexim "import on boot"
@@ -163,6 +180,14 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         return map;
     }
 
+    @Override
+    public Map<String, Long> getIdHolderSyncCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("coalesced", idHolderSyncer.getCoalescedSyncs());
+        counters.put("written", idHolderSyncer.getWrittenSyncs());
+        return counters;
+    }
+
     @PostConstruct
     public void start() {
         LOG.info("{} start", getClass().getSimpleName());
@@ -171,6 +196,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
     @PreDestroy
     public void close() {
         cleanJobTimer.cancel();
+        idHolderSyncer.close();
 
         LOG.info("{} close", getClass().getSimpleName());
     }
@@ -200,6 +226,60 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
                 .forEach(
                     idPool -> updateLocalIdPoolCache(idPool,
                         idPool.getParentPoolName()));
+        // See the crash-safety contract documented on IdHolderSyncer
+        idPoolsOptional.get().nonnullIdPool().values().stream()
+                .filter(idPool -> localPool.containsKey(idPool.getPoolName()))
+                .forEach(this::reconcileLocalIdPoolCache);
+        if (idUtils.isFastAllocationEnabled()) {
+            idPoolsOptional.get().nonnullIdPool().values().forEach(this::populateIdEntriesCache);
+        }
+    }
+
+    /**
+     * Brings the local pool of the given parent pool in line with the ids recorded in its IdEntries, which may be
+     * ahead of the last synced holders after a restart.
+     */
+    private void reconcileLocalIdPoolCache(IdPool parentIdPool) {
+        IdLocalPool idLocalPool = localPool.get(parentIdPool.getPoolName());
+        Set<Long> allocatedIds = parentIdPool.nonnullIdEntries().values().stream()
+                .flatMap(idEntry -> nonnull(idEntry.getIdValue()).stream())
+                .map(Uint32::toJava)
+                .collect(Collectors.toSet());
+        if (allocatedIds.isEmpty()) {
+            return;
+        }
+        if (idLocalPool.getAvailableIds() != null) {
+            AvailableIdHolder availableIds = (AvailableIdHolder) idLocalPool.getAvailableIds();
+            long cur = availableIds.getCur().get();
+            long high = availableIds.getHigh();
+            long maxAllocatedId = allocatedIds.stream().filter(id -> id > cur && id <= high)
+                    .mapToLong(Long::longValue).max().orElse(cur);
+            if (maxAllocatedId > cur) {
+                LOG.warn("Moving cursor of local pool {} from {} to {}, as ids up to it are already allocated",
+                        idLocalPool.getPoolName(), cur, maxAllocatedId);
+                availableIds.setCur(maxAllocatedId);
+            }
+        }
+        ReleasedIdHolder releasedIds = (ReleasedIdHolder) idLocalPool.getReleasedIds();
+        List<DelayedIdEntry> delayedEntries = releasedIds.getDelayedEntries();
+        List<DelayedIdEntry> unallocatedDelayedEntries = delayedEntries.stream()
+                .filter(delayedIdEntry -> !allocatedIds.contains(delayedIdEntry.getId()))
+                .collect(toCollection(ArrayList::new));
+        if (unallocatedDelayedEntries.size() < delayedEntries.size()) {
+            LOG.warn("Dropping {} already allocated ids from released ids of local pool {}",
+                    delayedEntries.size() - unallocatedDelayedEntries.size(), idLocalPool.getPoolName());
+            releasedIds.replaceDelayedEntries(unallocatedDelayedEntries);
+        }
+    }
+
+    private void populateIdEntriesCache(IdPool idPool) {
+        idPool.nonnullIdEntries().values().forEach(idEntry -> idUtils.putIdEntries(
+                idUtils.getUniqueKey(idPool.getPoolName(), idEntry.getIdKey()),
+                ImmutableList.copyOf(nonnull(idEntry.getIdValue()))));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Populated idKey cache for {} with {} entries", idPool.getPoolName(),
+                    idPool.nonnullIdEntries().size());
+        }
     }
 
     public boolean updateLocalIdPoolCache(IdPool idPool, String parentPoolName) {
@@ -210,7 +290,6 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         ReleasedIdsHolder releasedIdsHolder = idPool.getReleasedIdsHolder();
         ReleasedIdHolder releasedIdHolder = new ReleasedIdHolder(idUtils,
                                                         releasedIdsHolder.getDelayedTimeSec().toJava());
-        releasedIdHolder.setAvailableIdCount(releasedIdsHolder.getAvailableIdCount().toJava());
         List<DelayedIdEntry> delayedIdEntryInCache = releasedIdsHolder.nonnullDelayedIdEntries()
                 .stream()
                 .map(delayedIdEntry -> new DelayedIdEntry(delayedIdEntry
@@ -334,11 +413,47 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
                 }).build();
     }
 
+    @Override
+    public ListenableFuture<RpcResult<AllocateIdsOutput>> allocateIds(AllocateIdsInput input) {
+        String poolName = input.getPoolName();
+        List<String> idKeys = nonnull(input.getIdKeys());
+        return FutureRpcResults.fromBuilder(LOG, "allocateIds", input, () -> {
+            Map<String, List<Uint32>> idValuesByKey =
+                    allocateIdsFromLocalPool(poolName, idUtils.getLocalPoolName(poolName), idKeys);
+            List<AllocatedIds> allocatedIds = new ArrayList<>(idValuesByKey.size());
+            idValuesByKey.forEach((idKey, idValues) -> allocatedIds.add(
+                    new AllocatedIdsBuilder().setIdKey(idKey).setIdValue(idValues.get(0)).build()));
+            return new AllocateIdsOutputBuilder().setAllocatedIds(allocatedIds);
+        }).build();
+    }
+
+    @Override
+    public ListenableFuture<RpcResult<ReleaseIdsOutput>> releaseIds(ReleaseIdsInput input) {
+        String poolName = input.getPoolName();
+        List<String> idKeys = nonnull(input.getIdKeys());
+        return FutureRpcResults.fromBuilder(LOG, "releaseIds", input, () -> {
+            Map<String, List<Uint32>> idValuesByKey =
+                    releaseIdsFromLocalPool(poolName, idUtils.getLocalPoolName(poolName), idKeys);
+            List<ReleasedIds> releasedIds = new ArrayList<>(idValuesByKey.size());
+            idValuesByKey.forEach((idKey, idValues) -> releasedIds.add(
+                    new ReleasedIdsBuilder().setIdKey(idKey).setIdValues(idValues).build()));
+            return new ReleaseIdsOutputBuilder().setReleasedIds(releasedIds);
+        }).build();
+    }
+
     private List<Uint32> allocateIdFromLocalPool(String parentPoolName, String localPoolName,
             String idKey, long size) throws OperationFailedException, IdManagerException, ExecutionException,
             InterruptedException {
         LOG.debug("Allocating id from local pool {}. Parent pool {}. Idkey {}", localPoolName, parentPoolName, idKey);
         String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+        boolean fastAllocation = idUtils.isFastAllocationEnabled();
+        if (fastAllocation) {
+            List<Uint32> cachedIdValues = idUtils.getIdEntries(uniqueIdKey);
+            if (cachedIdValues != null) {
+                LOG.debug("Existing ids {} for the key {} found in cache", cachedIdValues, idKey);
+                return new ArrayList<>(cachedIdValues);
+            }
+        }
         CompletableFuture<List<Uint32>> futureIdValues = new CompletableFuture<>();
         CompletableFuture<List<Uint32>> existingFutureIdValue =
                 idUtils.putAllocatedIdsIfAbsent(uniqueIdKey, futureIdValues);
@@ -352,8 +467,9 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
             }
         }
         try {
-            List<Uint32> newIdValuesList = checkForIdInIdEntries(parentPoolName, idKey, uniqueIdKey, futureIdValues,
-                    false);
+            List<Uint32> newIdValuesList = fastAllocation
+                    ? checkForIdInIdEntriesCache(idKey, uniqueIdKey, futureIdValues)
+                    : checkForIdInIdEntries(parentPoolName, idKey, uniqueIdKey, futureIdValues, false);
             if (!newIdValuesList.isEmpty()) {
                 return newIdValuesList;
             }
@@ -370,17 +486,204 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
             }
             LOG.debug("The newIdValues {} for the idKey {}", newIdValuesList, idKey);
             idUtils.putReleaseIdLatch(uniqueIdKey, new CountDownLatch(1));
+            if (fastAllocation) {
+                // Must be visible before the future is removed again by UpdateIdEntryJob, so that later
+                // callers for the same key are always answered either by the future or by the cache
+                idUtils.putIdEntries(uniqueIdKey, ImmutableList.copyOf(newIdValuesList));
+            }
             UpdateIdEntryJob job = new UpdateIdEntryJob(parentPoolName, localPoolName, idKey, newIdValuesList, txRunner,
-                    idUtils, lockManager);
+                    idUtils, lockManager, !fastAllocation);
             jobCoordinator.enqueueJob(parentPoolName, job, IdUtils.RETRY_COUNT);
             futureIdValues.complete(newIdValuesList);
             return newIdValuesList;
         } catch (OperationFailedException | IdManagerException e) {
-            idUtils.unlock(lockManager, uniqueIdKey);
+            if (!fastAllocation) {
+                idUtils.unlock(lockManager, uniqueIdKey);
+            }
             throw e;
         }
     }
 
+    /**
+     * Batch counterpart of {@link #allocateIdFromLocalPool}. As in the single key variant, the idKey locks are
+     * taken, and held until the new IdEntries are written, unless in fast allocation mode, where existing entries
+     * are looked up in the idKey cache instead. All new ids are reserved from the local pool in one go, and all new
+     * IdEntries are written by one {@link UpdateIdEntriesJob}. Concurrent requests for the same idKey on this node
+     * are de-duplicated through the allocated ids futures shared with the single key RPCs.
+     */
+    private Map<String, List<Uint32>> allocateIdsFromLocalPool(String parentPoolName, String localPoolName,
+            List<String> idKeys) throws IdManagerException, ExecutionException, InterruptedException {
+        LOG.debug("Allocating ids for {} keys from local pool {}. Parent pool {}", idKeys.size(), localPoolName,
+                parentPoolName);
+        boolean fastAllocation = idUtils.isFastAllocationEnabled();
+        Set<String> uniqueIdKeys = new LinkedHashSet<>(idKeys);
+        Map<String, List<Uint32>> idValuesByKey = new HashMap<>();
+        Map<String, CompletableFuture<List<Uint32>>> ownFutureIdValues = new LinkedHashMap<>();
+        Map<String, CompletableFuture<List<Uint32>>> existingFutureIdValues = new HashMap<>();
+        for (String idKey : uniqueIdKeys) {
+            String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+            List<Uint32> cachedIdValues = fastAllocation ? idUtils.getIdEntries(uniqueIdKey) : null;
+            if (cachedIdValues != null) {
+                idValuesByKey.put(idKey, cachedIdValues);
+                continue;
+            }
+            CompletableFuture<List<Uint32>> futureIdValues = new CompletableFuture<>();
+            CompletableFuture<List<Uint32>> existingFutureIdValue =
+                    idUtils.putAllocatedIdsIfAbsent(uniqueIdKey, futureIdValues);
+            if (existingFutureIdValue != null) {
+                existingFutureIdValues.put(idKey, existingFutureIdValue);
+            } else {
+                ownFutureIdValues.put(idKey, futureIdValues);
+            }
+        }
+        if (!ownFutureIdValues.isEmpty()) {
+            try {
+                reserveIds(parentPoolName, localPoolName, ownFutureIdValues, idValuesByKey, fastAllocation);
+            } catch (IdManagerException | ExecutionException | InterruptedException e) {
+                ownFutureIdValues.forEach((idKey, futureIdValues) -> {
+                    idUtils.removeAllocatedIds(idUtils.getUniqueKey(parentPoolName, idKey));
+                    futureIdValues.completeExceptionally(e);
+                });
+                throw e;
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<List<Uint32>>> entry : existingFutureIdValues.entrySet()) {
+            try {
+                idValuesByKey.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.warn("Could not obtain id from existing futureIdValue for idKey {} and pool {}.",
+                        entry.getKey(), parentPoolName);
+                throw new IdManagerException(e.getMessage(), e);
+            }
+        }
+        Map<String, List<Uint32>> orderedIdValuesByKey = new LinkedHashMap<>();
+        uniqueIdKeys.forEach(idKey -> orderedIdValuesByKey.put(idKey, idValuesByKey.get(idKey)));
+        return orderedIdValuesByKey;
+    }
+
+    private void reserveIds(String parentPoolName, String localPoolName,
+            Map<String, CompletableFuture<List<Uint32>>> ownFutureIdValues, Map<String, List<Uint32>> idValuesByKey,
+            boolean fastAllocation) throws IdManagerException, ExecutionException, InterruptedException {
+        List<String> lockedUniqueIdKeys = fastAllocation ? new ArrayList<>()
+                : lockIdKeys(parentPoolName, ownFutureIdValues.keySet());
+        try {
+            List<String> newIdKeys = new ArrayList<>();
+            for (Map.Entry<String, CompletableFuture<List<Uint32>>> entry : ownFutureIdValues.entrySet()) {
+                String idKey = entry.getKey();
+                String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+                List<Uint32> existingIdValues;
+                if (fastAllocation) {
+                    // Same as in checkForIdInIdEntriesCache(), look again now that the futures are registered
+                    existingIdValues = idUtils.getIdEntries(uniqueIdKey);
+                } else {
+                    // Same as in checkForIdInIdEntries(), under the idKey lock
+                    existingIdValues = singleTxDB.syncReadOptional(LogicalDatastoreType.CONFIGURATION,
+                            idUtils.getIdEntriesInstanceIdentifier(parentPoolName, idKey))
+                            .map(IdEntries::getIdValue).orElse(null);
+                }
+                if (existingIdValues != null) {
+                    idValuesByKey.put(idKey, existingIdValues);
+                    entry.getValue().complete(existingIdValues);
+                    idUtils.removeAllocatedIds(uniqueIdKey);
+                    if (lockedUniqueIdKeys.remove(uniqueIdKey)) {
+                        idUtils.unlock(lockManager, uniqueIdKey);
+                    }
+                } else {
+                    newIdKeys.add(idKey);
+                }
+            }
+            if (newIdKeys.isEmpty()) {
+                return;
+            }
+            IdLocalPool localIdPool = getOrCreateLocalIdPool(parentPoolName, localPoolName);
+            List<Long> newIds = getIdsFromLocalPoolCache(localIdPool, parentPoolName, newIdKeys.size());
+            Map<String, List<Uint32>> newIdEntries = new LinkedHashMap<>();
+            for (int i = 0; i < newIdKeys.size(); i++) {
+                String idKey = newIdKeys.get(i);
+                String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+                List<Uint32> newIdValues = Collections.singletonList(Uint32.valueOf(newIds.get(i)));
+                newIdEntries.put(idKey, newIdValues);
+                idValuesByKey.put(idKey, newIdValues);
+                idUtils.putReleaseIdLatch(uniqueIdKey, new CountDownLatch(1));
+                if (fastAllocation) {
+                    idUtils.putIdEntries(uniqueIdKey, newIdValues);
+                }
+            }
+            LOG.debug("The newIdValues {} for pool {}", newIdEntries, parentPoolName);
+            UpdateIdEntriesJob job = new UpdateIdEntriesJob(parentPoolName, localPoolName.intern(), newIdEntries,
+                    txRunner, idUtils, lockManager, !fastAllocation);
+            jobCoordinator.enqueueJob(parentPoolName, job, IdUtils.RETRY_COUNT);
+            // The locks of the new keys are released by the job once their IdEntries are written
+            lockedUniqueIdKeys.clear();
+            newIdEntries.forEach((idKey, newIdValues) -> ownFutureIdValues.get(idKey).complete(newIdValues));
+        } finally {
+            lockedUniqueIdKeys.forEach(uniqueIdKey -> idUtils.unlock(lockManager, uniqueIdKey));
+        }
+    }
+
+    /*
+     * Takes the locks of the given idKeys, in order, so that concurrent batches sharing some keys cannot deadlock;
+     * returns the locked unique keys, or releases them all if one cannot be taken.
+     */
+    private List<String> lockIdKeys(String parentPoolName, Set<String> idKeys) throws IdManagerException {
+        List<String> lockedUniqueIdKeys = new ArrayList<>(idKeys.size());
+        boolean locked = false;
+        try {
+            for (String idKey : new TreeSet<>(idKeys)) {
+                String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+                idUtils.lock(lockManager, uniqueIdKey);
+                lockedUniqueIdKeys.add(uniqueIdKey);
+            }
+            locked = true;
+            return lockedUniqueIdKeys;
+        } finally {
+            if (!locked) {
+                lockedUniqueIdKeys.forEach(uniqueIdKey -> idUtils.unlock(lockManager, uniqueIdKey));
+            }
+        }
+    }
+
+    /**
+     * Reserves count ids from the local pool, taking the parent pool lock at most once, and only if the local pool
+     * runs out of ids. Both id holders are synced to the datastore once for the whole batch.
+     */
+    private List<Long> getIdsFromLocalPoolCache(IdLocalPool localIdPool, String parentPoolName, int count)
+            throws IdManagerException {
+        List<Long> ids = new ArrayList<>(count);
+        boolean isParentPoolLocked = false;
+        try {
+            while (ids.size() < count) {
+                Optional<Long> id = localIdPool.getAvailableIds() != null
+                        ? localIdPool.getAvailableIds().allocateId() : Optional.empty();
+                if (!id.isPresent()) {
+                    id = localIdPool.getReleasedIds().allocateId();
+                }
+                if (id.isPresent()) {
+                    ids.add(id.get());
+                    continue;
+                }
+                if (!isParentPoolLocked) {
+                    idUtils.lock(lockManager, parentPoolName);
+                    isParentPoolLocked = true;
+                }
+                if (getIdBlockFromLockedParentPool(parentPoolName, localIdPool) <= 0) {
+                    throw new IdManagerException(String.format("Ids exhausted for pool : %s", parentPoolName));
+                }
+            }
+            return ids;
+        } catch (IdManagerException e) {
+            // Give the ids reserved so far back to the local pool
+            ids.forEach(id -> localIdPool.getReleasedIds().addId(id));
+            throw e;
+        } finally {
+            if (isParentPoolLocked) {
+                idUtils.unlock(lockManager, parentPoolName);
+            }
+            idHolderSyncer.markAvailableIdsDirty(localIdPool);
+            idHolderSyncer.markReleasedIdsDirty(localIdPool);
+        }
+    }
+
     private Long getIdFromLocalPoolCache(IdLocalPool localIdPool, String parentPoolName)
             throws IdManagerException {
         while (true) {
@@ -388,20 +691,14 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
             if (availableIds != null) {
                 Optional<Long> availableId = availableIds.allocateId();
                 if (availableId.isPresent()) {
-                    IdHolderSyncJob poolSyncJob =
-                            new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getAvailableIds(), txRunner,
-                                    idUtils);
-                    jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                    idHolderSyncer.markAvailableIdsDirty(localIdPool);
                     return availableId.get();
                 }
             }
             IdHolder releasedIds = localIdPool.getReleasedIds();
             Optional<Long> releasedId = releasedIds.allocateId();
             if (releasedId.isPresent()) {
-                IdHolderSyncJob poolSyncJob =
-                        new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getReleasedIds(), txRunner,
-                                idUtils);
-                jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                idHolderSyncer.markReleasedIdsDirty(localIdPool);
                 return releasedId.get();
             }
             long idCount = getIdBlockFromParentPool(parentPoolName, localIdPool);
@@ -422,9 +719,22 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Allocating block of id from parent pool {}", parentPoolName);
         }
-        InstanceIdentifier<IdPool> idPoolInstanceIdentifier = idUtils.getIdPoolInstance(parentPoolName);
         parentPoolName = parentPoolName.intern();
         idUtils.lock(lockManager, parentPoolName);
+        try {
+            return getIdBlockFromLockedParentPool(parentPoolName, localIdPool);
+        } finally {
+            idUtils.unlock(lockManager, parentPoolName);
+        }
+    }
+
+    /**
+     * Same as {@link #getIdBlockFromParentPool(String, IdLocalPool)}, for callers already holding the parent pool
+     * lock.
+     */
+    private long getIdBlockFromLockedParentPool(String parentPoolName, IdLocalPool localIdPool)
+            throws IdManagerException {
+        InstanceIdentifier<IdPool> idPoolInstanceIdentifier = idUtils.getIdPoolInstance(parentPoolName);
         try {
             // Check if the childpool already got id block.
             long availableIdCount =
@@ -444,8 +754,6 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
             }).get();
         } catch (InterruptedException | ExecutionException e) {
             throw new IdManagerException("Error getting id block from parent pool", e);
-        } finally {
-            idUtils.unlock(lockManager, parentPoolName);
         }
     }
 
@@ -546,16 +854,13 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         int idCount = Math.min(delayedIdEntriesParent.size(), parentIdPool.getBlockSize().toJava());
         List<DelayedIdEntries> idEntriesToBeRemoved = delayedIdEntriesParent.subList(0, idCount);
         ReleasedIdHolder releasedIds = (ReleasedIdHolder) localIdPool.getReleasedIds();
-        List<DelayedIdEntry> delayedIdEntriesLocalCache = releasedIds.getDelayedEntries();
         List<DelayedIdEntry> delayedIdEntriesFromParentPool = idEntriesToBeRemoved
                 .stream()
                 .map(delayedIdEntry -> new DelayedIdEntry(delayedIdEntry
                         .getId().toJava(), delayedIdEntry.getReadyTimeSec().toJava()))
                 .sorted(comparing(DelayedIdEntry::getReadyTimeSec))
                 .collect(toCollection(ArrayList::new));
-        delayedIdEntriesFromParentPool.addAll(delayedIdEntriesLocalCache);
-        releasedIds.replaceDelayedEntries(delayedIdEntriesFromParentPool);
-        releasedIds.setAvailableIdCount(releasedIds.getAvailableIdCount() + idCount);
+        releasedIds.prependDelayedEntries(delayedIdEntriesFromParentPool);
         localIdPool.setReleasedIds(releasedIds);
         delayedIdEntriesParent.removeAll(idEntriesToBeRemoved);
         releasedIdsBuilderParent.setDelayedIdEntries(delayedIdEntriesParent);
@@ -600,18 +905,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
             throws IdManagerException, ReadFailedException, ExecutionException, InterruptedException {
         String idLatchKey = idUtils.getUniqueKey(parentPoolName, idKey);
         LOG.debug("Releasing ID {} from pool {}", idKey, localPoolName);
-        CountDownLatch latch = idUtils.getReleaseIdLatch(idLatchKey);
-        if (latch != null) {
-            try {
-                if (!latch.await(10, TimeUnit.SECONDS)) {
-                    LOG.warn("Timed out while releasing id {} from id pool {}", idKey, parentPoolName);
-                }
-            } catch (InterruptedException ignored) {
-                LOG.warn("Thread interrupted while releasing id {} from id pool {}", idKey, parentPoolName);
-            } finally {
-                idUtils.removeReleaseIdLatch(idLatchKey);
-            }
-        }
+        awaitReleaseIdLatch(parentPoolName, idKey);
         localPoolName = localPoolName.intern();
         InstanceIdentifier<IdPool> parentIdPoolInstanceIdentifier = idUtils.getIdPoolInstance(parentPoolName);
         IdPool parentIdPool = singleTxDB.syncRead(LogicalDatastoreType.CONFIGURATION, parentIdPoolInstanceIdentifier);
@@ -630,13 +924,14 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         }
         IdEntries existingIdEntry = existingIdEntryObject.get();
         List<Uint32> idValuesList = nonnull(existingIdEntry.getIdValue());
+        if (idUtils.isFastAllocationEnabled()) {
+            idUtils.removeIdEntries(idLatchKey);
+        }
         IdLocalPool localIdPoolCache = localPool.get(parentPoolName);
         boolean isRemoved = idEntries.values().contains(existingIdEntry);
         LOG.debug("The entry {} is removed {}", existingIdEntry, isRemoved);
         updateDelayedEntriesInLocalCache(idValuesList, parentPoolName, localIdPoolCache);
-        IdHolderSyncJob poolSyncJob = new IdHolderSyncJob(localPoolName, localIdPoolCache.getReleasedIds(), txRunner,
-                idUtils);
-        jobCoordinator.enqueueJob(localPoolName, poolSyncJob, IdUtils.RETRY_COUNT);
+        idHolderSyncer.markReleasedIdsDirty(localIdPoolCache);
         scheduleCleanUpTask(localIdPoolCache, parentPoolName, parentIdPool.getBlockSize().toJava());
         LOG.debug("Released id ({}, {}) from pool {}", idKey, idValuesList, localPoolName);
         // Updating id entries in the parent pool. This will be used for restart scenario
@@ -646,6 +941,78 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         return new ReleaseIdOutputBuilder().setIdValues(idValuesList);
     }
 
+    /**
+     * Batch counterpart of {@link #releaseIdFromLocalPool}. As in the single key variant, the idKey locks are
+     * taken, and held until the IdEntries are removed; the parent pool is read once for all keys, the released ids
+     * are synced to the datastore with a single holder sync and all IdEntries are removed by one
+     * {@link UpdateIdEntriesJob}. Keys without an id entry are skipped.
+     */
+    private Map<String, List<Uint32>> releaseIdsFromLocalPool(String parentPoolName, String localPoolName,
+            List<String> idKeys) throws IdManagerException, ReadFailedException {
+        LOG.debug("Releasing ids of {} keys from pool {}", idKeys.size(), localPoolName);
+        Set<String> uniqueIdKeys = new LinkedHashSet<>(idKeys);
+        List<String> lockedUniqueIdKeys = lockIdKeys(parentPoolName, uniqueIdKeys);
+        uniqueIdKeys.forEach(idKey -> awaitReleaseIdLatch(parentPoolName, idKey));
+        localPoolName = localPoolName.intern();
+        Map<String, List<Uint32>> releasedIdValues = new LinkedHashMap<>();
+        try {
+            IdPool parentIdPool = singleTxDB.syncRead(LogicalDatastoreType.CONFIGURATION,
+                    idUtils.getIdPoolInstance(parentPoolName));
+            IdLocalPool localIdPoolCache = localPool.get(parentPoolName);
+            if (localIdPoolCache == null) {
+                throw new IdManagerException(String.format("Local pool %s not found for pool %s",
+                        localPoolName, parentPoolName));
+            }
+            Map<IdEntriesKey, IdEntries> idEntries = parentIdPool.nonnullIdEntries();
+            for (String idKey : uniqueIdKeys) {
+                IdEntries existingIdEntry = idEntries.get(new IdEntriesKey(idKey));
+                if (existingIdEntry == null) {
+                    LOG.info("Specified Id key {} does not exist in id pool {}", idKey, parentPoolName);
+                    continue;
+                }
+                List<Uint32> idValuesList = nonnull(existingIdEntry.getIdValue());
+                if (idUtils.isFastAllocationEnabled()) {
+                    idUtils.removeIdEntries(idUtils.getUniqueKey(parentPoolName, idKey));
+                }
+                idValuesList.forEach(idValue -> localIdPoolCache.getReleasedIds().addId(idValue.toJava()));
+                releasedIdValues.put(idKey, idValuesList);
+            }
+            if (releasedIdValues.isEmpty()) {
+                return releasedIdValues;
+            }
+            idHolderSyncer.markReleasedIdsDirty(localIdPoolCache);
+            scheduleCleanUpTask(localIdPoolCache, parentPoolName, parentIdPool.getBlockSize().toJava());
+            LOG.debug("Released ids {} from pool {}", releasedIdValues, localPoolName);
+            Map<String, List<Uint32>> removedIdEntries = new LinkedHashMap<>();
+            releasedIdValues.keySet().forEach(idKey -> removedIdEntries.put(idKey, Collections.emptyList()));
+            UpdateIdEntriesJob job = new UpdateIdEntriesJob(parentPoolName, localPoolName, removedIdEntries,
+                    txRunner, idUtils, lockManager, true);
+            jobCoordinator.enqueueJob(parentPoolName, job, IdUtils.RETRY_COUNT);
+            // The locks of the released keys are released by the job once their IdEntries are removed
+            lockedUniqueIdKeys.removeAll(releasedIdValues.keySet().stream()
+                    .map(idKey -> idUtils.getUniqueKey(parentPoolName, idKey)).collect(Collectors.toSet()));
+            return releasedIdValues;
+        } finally {
+            lockedUniqueIdKeys.forEach(uniqueIdKey -> idUtils.unlock(lockManager, uniqueIdKey));
+        }
+    }
+
+    private void awaitReleaseIdLatch(String parentPoolName, String idKey) {
+        String idLatchKey = idUtils.getUniqueKey(parentPoolName, idKey);
+        CountDownLatch latch = idUtils.getReleaseIdLatch(idLatchKey);
+        if (latch != null) {
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    LOG.warn("Timed out while releasing id {} from id pool {}", idKey, parentPoolName);
+                }
+            } catch (InterruptedException ignored) {
+                LOG.warn("Thread interrupted while releasing id {} from id pool {}", idKey, parentPoolName);
+            } finally {
+                idUtils.removeReleaseIdLatch(idLatchKey);
+            }
+        }
+    }
+
     private void scheduleCleanUpTask(final IdLocalPool localIdPoolCache,
             final String parentPoolName, final int blockSize) {
         TimerTask scheduledTask = new TimerTask() {
@@ -745,6 +1112,25 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         return newIdValuesList;
     }
 
+    /**
+     * Fast allocation path counterpart of {@link #checkForIdInIdEntries}. The caller has already registered
+     * futureIdValues for uniqueIdKey, so repeating the cache lookup here closes the window in which another
+     * thread may have allocated (and cached) the same key between the first cache lookup and that registration.
+     * No cluster-wide lock is taken and the datastore is not read.
+     */
+    private List<Uint32> checkForIdInIdEntriesCache(String idKey, String uniqueIdKey,
+            CompletableFuture<List<Uint32>> futureIdValues) {
+        List<Uint32> cachedIdValues = idUtils.getIdEntries(uniqueIdKey);
+        if (cachedIdValues == null) {
+            return new ArrayList<>();
+        }
+        LOG.debug("Existing ids {} for the key {} found in cache", cachedIdValues, idKey);
+        List<Uint32> newIdValuesList = new ArrayList<>(cachedIdValues);
+        futureIdValues.complete(newIdValuesList);
+        idUtils.removeAllocatedIds(uniqueIdKey);
+        return newIdValuesList;
+    }
+
     private IdLocalPool getOrCreateLocalIdPool(String parentPoolName, String localPoolName)
         throws IdManagerException {
         IdLocalPool localIdPool = localPool.get(parentPoolName);
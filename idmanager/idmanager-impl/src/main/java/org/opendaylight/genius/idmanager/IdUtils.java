@@ -21,7 +21,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Singleton;
-import org.opendaylight.genius.idmanager.ReleasedIdHolder.DelayedIdEntry;
 import org.opendaylight.mdsal.binding.util.Datastore.Configuration;
 import org.opendaylight.mdsal.binding.util.TypedWriteTransaction;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdPools;
@@ -62,14 +61,49 @@ public class IdUtils {
     private static final int DEFAULT_BLOCK_SIZE_DIFF = 10;
     public static final int RETRY_COUNT = 6;
 
+    /**
+     * System property enabling the in-memory fast allocation path, see {@link #isFastAllocationEnabled()}.
+     *
+     * <p>This mode gives a weaker guarantee than the default one: without the cluster-wide idKey lock, two cluster
+     * nodes allocating the same idKey at the same time, before either sees the IdEntries of the other, can hand out
+     * two different ids for it. Only enable it where each idKey is allocated from a single node.
+     */
+    public static final String FAST_ALLOCATION_PROPERTY = "idmanager.fast.allocation";
+
     private final ConcurrentHashMap<String, CompletableFuture<List<Uint32>>> allocatedIdMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, CountDownLatch> releaseIdLatchMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, AtomicInteger> poolUpdatedMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Uint32>> idEntriesMap = new ConcurrentHashMap<>();
 
     private final int bladeId;
+    private final boolean fastAllocationEnabled;
 
     public IdUtils() throws UnknownHostException {
         bladeId = InetAddresses.coerceToInteger(InetAddress.getLocalHost());
+        fastAllocationEnabled = Boolean.getBoolean(FAST_ALLOCATION_PROPERTY);
+    }
+
+    /**
+     * Whether allocations are served from the in-memory idKey index and local pool only.
+     * In this mode repeat-key lookups are answered from {@link #getIdEntries(String)} instead of a
+     * cluster-wide lock plus datastore read of the IdEntries, and the lock manager is only used
+     * when a new block of ids has to be fetched from the parent pool. The same idKey allocated concurrently on
+     * different cluster nodes can then be given different ids, see {@link #FAST_ALLOCATION_PROPERTY}.
+     */
+    public boolean isFastAllocationEnabled() {
+        return fastAllocationEnabled;
+    }
+
+    public List<Uint32> getIdEntries(String uniqueIdKey) {
+        return idEntriesMap.get(uniqueIdKey);
+    }
+
+    public void putIdEntries(String uniqueIdKey, List<Uint32> idValues) {
+        idEntriesMap.put(uniqueIdKey, idValues);
+    }
+
+    public List<Uint32> removeIdEntries(String uniqueIdKey) {
+        return idEntriesMap.remove(uniqueIdKey);
     }
 
     public CompletableFuture<List<Uint32>> removeAllocatedIds(String uniqueIdKey) {
@@ -280,11 +314,11 @@ public class IdUtils {
     public void syncReleaseIdHolder(ReleasedIdHolder releasedIdHolder, IdPoolBuilder idPool) {
         long delayTime = releasedIdHolder.getTimeDelaySec();
         ReleasedIdsHolderBuilder releasedIdsBuilder = new ReleasedIdsHolderBuilder();
-        List<DelayedIdEntries> delayedIdEntriesList = new ArrayList<>();
-        List<DelayedIdEntry> delayList = releasedIdHolder.getDelayedEntries();
-        for (DelayedIdEntry delayedId : delayList) {
-            DelayedIdEntries delayedIdEntry = createDelayedIdEntry(delayedId.getId(), delayedId.getReadyTimeSec());
-            delayedIdEntriesList.add(delayedIdEntry);
+        // Packed snapshot, to not materialize an intermediate DelayedIdEntry per released id
+        long[] delayList = releasedIdHolder.toPackedArray();
+        List<DelayedIdEntries> delayedIdEntriesList = new ArrayList<>(delayList.length / 2);
+        for (int index = 0; index < delayList.length; index += 2) {
+            delayedIdEntriesList.add(createDelayedIdEntry(delayList[index], delayList[index + 1]));
         }
         releasedIdsBuilder.setAvailableIdCount((long) delayedIdEntriesList.size()).setDelayedTimeSec(delayTime)
                 .setDelayedIdEntries(delayedIdEntriesList);
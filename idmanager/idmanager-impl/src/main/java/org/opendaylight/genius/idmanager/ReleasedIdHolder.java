@@ -8,32 +8,43 @@
 package org.opendaylight.genius.idmanager;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 
+/**
+ * Holder of released ids, which become available again once their ready time has passed.
+ *
+ * <p>The ids and their ready times are kept in a growable ring buffer of primitive longs, in the order
+ * in which they were released. As every id is released with the same delay, this order is also the ready
+ * time order, so the head of the ring is always the next id to become ready. Adding and allocating an id
+ * are O(1) and do not allocate. The number of ready ids is tracked by a cursor into the ring which only ever
+ * moves forward, so {@link #getAvailableIdCount()} is amortized O(1) as well. All operations hold the monitor
+ * of the holder, but only for a constant number of array accesses.
+ */
 public class ReleasedIdHolder implements IdHolder {
-    private static final int INITIAL_INDEX = 0;
-
-    private final AtomicLong availableIdCount = new AtomicLong();
+    private static final int INITIAL_CAPACITY = 16;
 
     private final long timeDelaySec;
     private final IdUtils idUtils;
 
-    private volatile List<DelayedIdEntry> delayedEntries = new CopyOnWriteArrayList<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] readyTimesSec = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    // Number of entries, starting from head, which are known to be ready
+    private int readyCount;
 
     public ReleasedIdHolder(IdUtils idUtils, long timeDelaySec) {
         this.idUtils = idUtils;
         this.timeDelaySec = timeDelaySec;
-        availableIdCount.set(0);
     }
 
     public ReleasedIdHolder(IdUtils idUtils, long timeDelaySec, List<DelayedIdEntry> delayedEntries) {
         this(idUtils, timeDelaySec);
-        this.delayedEntries.addAll(delayedEntries);
+        replaceDelayedEntries(delayedEntries);
     }
 
     public static class DelayedIdEntry implements Serializable {
@@ -63,82 +74,136 @@ public class ReleasedIdHolder implements IdHolder {
     }
 
     @Override
-    public Optional<Long> allocateId() {
-        long curTimeSec = System.currentTimeMillis() / 1000;
-        Optional<Long> allocatedId = Optional.empty();
-        if (isIdAvailable(curTimeSec)) {
-            Long count = availableIdCount.decrementAndGet();
-            if (count < 0L) {
-                availableIdCount.incrementAndGet();
-                return allocatedId;
-            }
-            DelayedIdEntry idEntry = delayedEntries.remove(INITIAL_INDEX);
-            if (idEntry.getReadyTimeSec() <= curTimeSec) {
-                allocatedId = Optional.of(idEntry.getId());
-            } else {
-                delayedEntries.add(INITIAL_INDEX, idEntry);
-                availableIdCount.incrementAndGet();
-            }
+    public synchronized Optional<Long> allocateId() {
+        if (!isIdAvailable(System.currentTimeMillis() / 1000)) {
+            return Optional.empty();
         }
-        return allocatedId;
+        long id = ids[head];
+        head = (head + 1) % ids.length;
+        size--;
+        readyCount--;
+        return Optional.of(id);
     }
 
     @Override
-    public void addId(long id) {
-        long curTimeSec = System.currentTimeMillis() / 1000;
-        DelayedIdEntry entry = new DelayedIdEntry(id, curTimeSec + timeDelaySec);
-        availableIdCount.incrementAndGet();
-        delayedEntries.add(entry);
+    public synchronized void addId(long id) {
+        add(id, System.currentTimeMillis() / 1000 + timeDelaySec);
     }
 
-    @Override
-    public boolean isIdAvailable(long curTimeSec) {
-        if (availableIdCount.get() <= 0) {
-            return false;
-        }
-        boolean isIdExists = false;
-        if (!delayedEntries.isEmpty() && delayedEntries.get(INITIAL_INDEX).readyTimeSec <= curTimeSec) {
-            isIdExists = true;
+    private void add(long id, long readyTimeSec) {
+        if (size == ids.length) {
+            grow();
         }
-        return isIdExists;
+        int tail = (head + size) % ids.length;
+        ids[tail] = id;
+        readyTimesSec[tail] = readyTimeSec;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        long[] newIds = new long[capacity];
+        long[] newReadyTimesSec = new long[capacity];
+        int firstPart = Math.min(size, ids.length - head);
+        System.arraycopy(ids, head, newIds, 0, firstPart);
+        System.arraycopy(ids, 0, newIds, firstPart, size - firstPart);
+        System.arraycopy(readyTimesSec, head, newReadyTimesSec, 0, firstPart);
+        System.arraycopy(readyTimesSec, 0, newReadyTimesSec, firstPart, size - firstPart);
+        ids = newIds;
+        readyTimesSec = newReadyTimesSec;
+        head = 0;
     }
 
     @Override
-    public long getAvailableIdCount() {
-        long availableDelayedEntries = availableIdCount.get();
-        int index = INITIAL_INDEX;
-        if (delayedEntries.isEmpty()) {
-            return index;
-        }
-        long curTimeSec = System.currentTimeMillis() / 1000;
-        while (index < availableDelayedEntries && delayedEntries.get(index).readyTimeSec <= curTimeSec) {
-            index++;
+    public synchronized boolean isIdAvailable(long curTimeSec) {
+        return advanceReadyCount(curTimeSec) > 0;
+    }
+
+    @Override
+    public synchronized long getAvailableIdCount() {
+        return advanceReadyCount(System.currentTimeMillis() / 1000);
+    }
+
+    private int advanceReadyCount(long curTimeSec) {
+        while (readyCount < size && readyTimesSec[(head + readyCount) % ids.length] <= curTimeSec) {
+            readyCount++;
         }
-        return index;
+        return readyCount;
     }
 
     public long getTimeDelaySec() {
         return timeDelaySec;
     }
 
+    /**
+     * Returns the number of released ids held, including those which are not ready yet.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the released ids held, in ready time order.
+     * Prefer {@link #toPackedArray()} on hot paths, this allocates an object per entry.
+     */
     @NonNull
     public List<DelayedIdEntry> getDelayedEntries() {
+        long[] packed = toPackedArray();
+        List<DelayedIdEntry> delayedEntries = new ArrayList<>(packed.length / 2);
+        for (int i = 0; i < packed.length; i += 2) {
+            delayedEntries.add(new DelayedIdEntry(packed[i], packed[i + 1]));
+        }
         return delayedEntries;
     }
 
-    public void replaceDelayedEntries(@NonNull List<DelayedIdEntry> newDelayedEntries) {
-        this.delayedEntries = new CopyOnWriteArrayList<>(newDelayedEntries);
+    /**
+     * Returns the released ids held, in ready time order, packed as id and ready time pairs,
+     * i.e. {@code [id0, readyTimeSec0, id1, readyTimeSec1, ...]}.
+     */
+    public synchronized long[] toPackedArray() {
+        long[] packed = new long[size * 2];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % ids.length;
+            packed[2 * i] = ids[index];
+            packed[2 * i + 1] = readyTimesSec[index];
+        }
+        return packed;
     }
 
-    public void setAvailableIdCount(long availableIdCount) {
-        this.availableIdCount.set(availableIdCount);
+    public synchronized void replaceDelayedEntries(@NonNull List<DelayedIdEntry> newDelayedEntries) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < newDelayedEntries.size()) {
+            capacity *= 2;
+        }
+        ids = new long[capacity];
+        readyTimesSec = new long[capacity];
+        head = 0;
+        size = 0;
+        readyCount = 0;
+        for (DelayedIdEntry delayedEntry : newDelayedEntries) {
+            add(delayedEntry.getId(), delayedEntry.getReadyTimeSec());
+        }
+    }
+
+    /**
+     * Inserts the given released ids ahead of the ones already held, e.g. ids handed over by the parent pool
+     * which are usually ready already.
+     */
+    public synchronized void prependDelayedEntries(@NonNull List<DelayedIdEntry> newDelayedEntries) {
+        long[] packed = toPackedArray();
+        List<DelayedIdEntry> delayedEntries = new ArrayList<>(newDelayedEntries.size() + packed.length / 2);
+        delayedEntries.addAll(newDelayedEntries);
+        for (int i = 0; i < packed.length; i += 2) {
+            delayedEntries.add(new DelayedIdEntry(packed[i], packed[i + 1]));
+        }
+        replaceDelayedEntries(delayedEntries);
     }
 
     @Override
-    public String toString() {
-        return "ReleasedIdHolder [availableIdCount=" + availableIdCount
+    public synchronized String toString() {
+        return "ReleasedIdHolder [availableIdCount=" + size
                 + ", timeDelaySec=" + timeDelaySec + ", delayedEntries="
-                + delayedEntries + "]";
+                + getDelayedEntries() + "]";
     }
 
     @Override
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.jobs;
+
+import static org.opendaylight.mdsal.binding.util.Datastore.CONFIGURATION;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batch counterpart of {@link UpdateIdEntryJob}: writes (or, for keys mapped to an empty list, deletes)
+ * the IdEntries of several idKeys of one parent pool in a single transaction.
+ */
+public class UpdateIdEntriesJob implements Callable<List<? extends ListenableFuture<?>>> {
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateIdEntriesJob.class);
+
+    // The idKey locks are released by blocking RPCs, off the commit completion thread
+    private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(5, "UpdateIdEntriesJob", LOG);
+
+    private final String parentPoolName;
+    private final String localPoolName;
+    private final Map<String, List<Uint32>> idEntries;
+    private final ManagedNewTransactionRunner txRunner;
+    private final IdUtils idUtils;
+    private final LockManagerService lockManager;
+    private final boolean unlockOnCompletion;
+
+    /**
+     * Constructor.
+     *
+     * @param unlockOnCompletion false if the caller did not take the idKey locks (fast allocation path),
+     *                           in which case no unlock is issued once the entries are written
+     */
+    public UpdateIdEntriesJob(String parentPoolName, String localPoolName, Map<String, List<Uint32>> idEntries,
+            ManagedNewTransactionRunner txRunner, IdUtils idUtils, LockManagerService lockManager,
+            boolean unlockOnCompletion) {
+        this.lockManager = lockManager;
+        this.unlockOnCompletion = unlockOnCompletion;
+        this.parentPoolName = parentPoolName;
+        this.localPoolName = localPoolName;
+        this.idEntries = new LinkedHashMap<>(idEntries);
+        this.txRunner = txRunner;
+        this.idUtils = idUtils;
+    }
+
+    @Override
+    public List<? extends ListenableFuture<?>> call() {
+        FluentFuture<?> future = txRunner.callWithNewWriteOnlyTransactionAndSubmit(CONFIGURATION, tx -> {
+            idUtils.updateChildPool(tx, parentPoolName, localPoolName);
+            idEntries.forEach((idKey, idValues) -> {
+                if (!idValues.isEmpty()) {
+                    tx.merge(idUtils.getIdEntriesInstanceIdentifier(parentPoolName, idKey),
+                            idUtils.createIdEntries(idKey, idValues));
+                } else {
+                    tx.delete(idUtils.getIdEntriesInstanceIdentifier(parentPoolName, idKey));
+                }
+            });
+        });
+        future.addCallback(new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(@Nullable Object result) {
+                cleanUp();
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                cleanUp();
+            }
+        }, EXECUTOR_SERVICE);
+        return Collections.singletonList(future);
+    }
+
+    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
+            justification = "https://github.com/spotbugs/spotbugs/issues/811")
+    private void cleanUp() {
+        for (String idKey : idEntries.keySet()) {
+            String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+            CountDownLatch latch = idUtils.getReleaseIdLatch(uniqueIdKey);
+            if (latch != null) {
+                latch.countDown();
+            }
+            // Once the id is written to DS, removing the id value from map.
+            idUtils.removeAllocatedIds(uniqueIdKey);
+            if (unlockOnCompletion) {
+                idUtils.unlock(lockManager, uniqueIdKey);
+            }
+        }
+    }
+}
@@ -42,10 +42,24 @@ public class UpdateIdEntryJob implements Callable<List<? extends ListenableFutur
     private final ManagedNewTransactionRunner txRunner;
     private final IdUtils idUtils;
     private final LockManagerService lockManager;
+    private final boolean unlockOnCompletion;
 
     public UpdateIdEntryJob(String parentPoolName, String localPoolName, String idKey,
             List<Uint32> newIdValues, ManagedNewTransactionRunner txRunner, IdUtils idUtils,
             LockManagerService lockManager) {
+        this(parentPoolName, localPoolName, idKey, newIdValues, txRunner, idUtils, lockManager, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param unlockOnCompletion false if the caller did not take the idKey lock (fast allocation path),
+     *                           in which case no unlock is issued once the entry is written
+     */
+    public UpdateIdEntryJob(String parentPoolName, String localPoolName, String idKey,
+            List<Uint32> newIdValues, ManagedNewTransactionRunner txRunner, IdUtils idUtils,
+            LockManagerService lockManager, boolean unlockOnCompletion) {
+        this.unlockOnCompletion = unlockOnCompletion;
         this.parentPoolName = parentPoolName;
         this.localPoolName = localPoolName;
         this.idKey = idKey;
@@ -92,6 +106,8 @@ public class UpdateIdEntryJob implements Callable<List<? extends ListenableFutur
         }
         // Once the id is written to DS, removing the id value from map.
         idUtils.removeAllocatedIds(uniqueIdKey);
-        idUtils.unlock(lockManager, uniqueIdKey);
+        if (unlockOnCompletion) {
+            idUtils.unlock(lockManager, uniqueIdKey);
+        }
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.opendaylight.daexim.DataImportBootReady;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.datastoreutils.testutils.JobCoordinatorEventsWaiter;
+import org.opendaylight.genius.datastoreutils.testutils.JobCoordinatorTestModule;
+import org.opendaylight.genius.datastoreutils.testutils.TestableDataTreeChangeListenerModule;
+import org.opendaylight.genius.idmanager.IdHolderSyncer;
+import org.opendaylight.genius.idmanager.IdManager;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.genius.mdsalutil.interfaces.ShardStatusMonitor;
+import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.testutils.LogCaptureRule;
+import org.opendaylight.infrautils.testutils.LogRule;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdManagerService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+
+/**
+ * Tests for the coalescing {@link IdHolderSyncer}, including its crash-safety contract.
+ */
+public class IdHolderSyncerTest {
+
+    private static final String TEST_KEY = "test-key";
+    private static final String ID_POOL_NAME = "test-pool";
+    private static final long ID_LOW = 0L;
+    private static final long ID_HIGH = 100L;
+
+    public @Rule LogRule logRule = new LogRule();
+    public @Rule LogCaptureRule logCaptureRule = new LogCaptureRule();
+
+    public @Rule MethodRule guice = new GuiceRule(IdManagerTestModule.class,
+            TestableDataTreeChangeListenerModule.class, JobCoordinatorTestModule.class);
+
+    private @Inject IdManagerService idManagerService;
+    private @Inject IdManager idManager;
+    private @Inject JobCoordinatorEventsWaiter coordinatorEventsWaiter;
+    private @Inject DataBroker dataBroker;
+    private @Inject IdUtils idUtils;
+    private @Inject LockManagerService lockManager;
+    private @Inject DataImportBootReady dataImportBootReady;
+    private @Inject JobCoordinator jobCoordinator;
+    private @Inject ShardStatusMonitor shardStatusMonitor;
+
+    @BeforeClass
+    public static void enableCoalescing() {
+        // Long enough to never fire while the test runs, so that only explicit flushes write
+        System.setProperty(IdHolderSyncer.SYNC_INTERVAL_PROPERTY, "3600000");
+    }
+
+    @AfterClass
+    public static void disableCoalescing() {
+        System.clearProperty(IdHolderSyncer.SYNC_INTERVAL_PROPERTY);
+    }
+
+    @Before
+    public void before() throws Exception {
+        assertTrue(idManagerService.createIdPool(new CreateIdPoolInputBuilder().setPoolName(ID_POOL_NAME)
+                .setLow(ID_LOW).setHigh(ID_HIGH).build()).get().isSuccessful());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+    }
+
+    @Test
+    public void testHolderSyncsAreCoalesced() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, allocateId(idManagerService, TEST_KEY + i));
+        }
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        assertEquals(2L, idManager.getIdHolderSyncCounters().get("coalesced").longValue());
+        assertEquals(0L, idManager.getIdHolderSyncCounters().get("written").longValue());
+        assertEquals(ID_LOW - 1, readLocalPoolCursor());
+
+        // close() flushes the latest snapshot only
+        idManager.close();
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        assertEquals(1L, idManager.getIdHolderSyncCounters().get("written").longValue());
+        assertEquals(2L, readLocalPoolCursor());
+    }
+
+    @Test
+    public void testRestartReconcilesLocalPoolWithIdEntries() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, allocateId(idManagerService, TEST_KEY + i));
+        }
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        // The holder was never flushed, as if this node crashed now, but the IdEntries were written
+        assertEquals(ID_LOW - 1, readLocalPoolCursor());
+
+        IdManager restartedIdManager = new IdManager(dataBroker, lockManager, idUtils, dataImportBootReady,
+                jobCoordinator, shardStatusMonitor);
+        try {
+            assertEquals(3L, allocateId(restartedIdManager, TEST_KEY + 3));
+        } finally {
+            restartedIdManager.close();
+        }
+    }
+
+    private long readLocalPoolCursor() throws Exception {
+        IdPool localIdPool = new SingleTransactionDataBroker(dataBroker).syncRead(LogicalDatastoreType.CONFIGURATION,
+                idUtils.getIdPoolInstance(idUtils.getLocalPoolName(ID_POOL_NAME)));
+        return localIdPool.getAvailableIdsHolder().getCursor();
+    }
+
+    private static long allocateId(IdManagerService service, String idKey) throws Exception {
+        RpcResult<AllocateIdOutput> result = service.allocateId(new AllocateIdInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKey(idKey).build()).get();
+        assertTrue(result.isSuccessful());
+        return result.getResult().getIdValue().toJava();
+    }
+}
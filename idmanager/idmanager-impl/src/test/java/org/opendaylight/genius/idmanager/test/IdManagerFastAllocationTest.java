@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Sets;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.datastoreutils.testutils.JobCoordinatorEventsWaiter;
+import org.opendaylight.genius.datastoreutils.testutils.JobCoordinatorTestModule;
+import org.opendaylight.genius.datastoreutils.testutils.TestableDataTreeChangeListenerModule;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
+import org.opendaylight.infrautils.testutils.LogCaptureRule;
+import org.opendaylight.infrautils.testutils.LogRule;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdManagerService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdOutput;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the fast allocation path, see {@link IdUtils#isFastAllocationEnabled()}.
+ */
+public class IdManagerFastAllocationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdManagerFastAllocationTest.class);
+
+    private static final String TEST_KEY = "test-key";
+    private static final String ID_POOL_NAME = "test-pool";
+    private static final long ID_LOW = 0L;
+    private static final long ID_HIGH = 1000000L;
+    private static final int ALLOCATIONS = 800;
+
+    public @Rule LogRule logRule = new LogRule();
+    public @Rule LogCaptureRule logCaptureRule = new LogCaptureRule();
+
+    public @Rule MethodRule guice = new GuiceRule(IdManagerTestModule.class,
+            TestableDataTreeChangeListenerModule.class, JobCoordinatorTestModule.class);
+
+    private @Inject IdManagerService idManagerService;
+    private @Inject JobCoordinatorEventsWaiter coordinatorEventsWaiter;
+    private @Inject DataBroker dataBroker;
+    private @Inject IdUtils idUtils;
+
+    @BeforeClass
+    public static void enableFastAllocation() {
+        System.setProperty(IdUtils.FAST_ALLOCATION_PROPERTY, "true");
+    }
+
+    @AfterClass
+    public static void disableFastAllocation() {
+        System.clearProperty(IdUtils.FAST_ALLOCATION_PROPERTY);
+    }
+
+    @Test
+    public void testAllocateIdForSameKeyIsAnsweredFromCache() throws Exception {
+        assertTrue(idUtils.isFastAllocationEnabled());
+        createIdPool();
+        long firstId = allocateId(TEST_KEY);
+        assertEquals(firstId, allocateId(TEST_KEY));
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        assertEquals(firstId, allocateId(TEST_KEY));
+        assertTrue(new SingleTransactionDataBroker(dataBroker).syncReadOptional(LogicalDatastoreType.CONFIGURATION,
+                idUtils.getIdEntriesInstanceIdentifier(ID_POOL_NAME, TEST_KEY)).isPresent());
+    }
+
+    @Test
+    public void testReleaseIdRemovesKeyFromCache() throws Exception {
+        createIdPool();
+        long firstId = allocateId(TEST_KEY);
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        RpcResult<ReleaseIdOutput> releaseResult = idManagerService.releaseId(new ReleaseIdInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKey(TEST_KEY).build()).get();
+        assertTrue(releaseResult.isSuccessful());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+        // released ids are only re-used after IdUtils.DEFAULT_DELAY_TIME, so a new one is handed out
+        assertNotEquals(firstId, allocateId(TEST_KEY));
+    }
+
+    @Test
+    @SuppressWarnings("checkstyle:IllegalThrows") // OK as exceptionInExecutor can't be Exception & AssertionFailedError
+    public void testConcurrentAllocationsGetDistinctIds() throws Throwable {
+        createIdPool();
+        int callers = 8;
+        int allocationsPerCaller = ALLOCATIONS / callers;
+        Set<Long> idSet = Sets.newConcurrentHashSet();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(callers);
+        AtomicReference<Throwable> exceptionInExecutorAtomic = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(callers, "concurrentAllocations()", LOG);
+        for (int caller = 0; caller < callers; caller++) {
+            final String keyPrefix = TEST_KEY + "-" + callers + "-" + caller + "-";
+            executor.execute(() -> {
+                // Any exception thrown inside this background thread will not cause the test to fail
+                // so you cannot use assert* here but must set the exceptionInExecutor which is checked after
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < allocationsPerCaller; i++) {
+                        idSet.add(allocateId(keyPrefix + i));
+                    }
+                } catch (InterruptedException | ExecutionException | AssertionError e) {
+                    exceptionInExecutorAtomic.set(e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        if (!doneLatch.await(120, SECONDS)) {
+            fail("doneLatch.await(120, SECONDS) timed out :(");
+        }
+        Executors.shutdownAndAwaitTermination(executor);
+        Throwable exceptionInExecutor = exceptionInExecutorAtomic.get();
+        if (exceptionInExecutor != null) {
+            throw exceptionInExecutor;
+        }
+        assertEquals(allocationsPerCaller * callers, idSet.size());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+    }
+
+    private void createIdPool() throws Exception {
+        assertTrue(idManagerService.createIdPool(new CreateIdPoolInputBuilder().setPoolName(ID_POOL_NAME)
+                .setLow(ID_LOW).setHigh(ID_HIGH).build()).get().isSuccessful());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+    }
+
+    private long allocateId(String idKey) throws InterruptedException, ExecutionException {
+        RpcResult<AllocateIdOutput> result = idManagerService.allocateId(new AllocateIdInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKey(idKey).build()).get();
+        assertTrue(result.isSuccessful());
+        return result.getResult().getIdValue().toJava();
+    }
+}
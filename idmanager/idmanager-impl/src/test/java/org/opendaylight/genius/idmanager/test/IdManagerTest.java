@@ -56,6 +56,8 @@ import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.DeleteIdPoolInput;
@@ -65,6 +67,9 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocate.ids.output.AllocatedIds;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolKey;
@@ -92,6 +97,7 @@ public class IdManagerTest {
 
     private static final String TEST_KEY1 = "test-key1";
     private static final String TEST_KEY2 = "test-key2";
+    private static final String TEST_KEY3 = "test-key3";
     private static final String ID_POOL_NAME = "test-pool";
     private static final int BLOCK_SIZE = 10;
     private static final long ID_LOW = 0L;
@@ -161,6 +167,66 @@ public class IdManagerTest {
         validateIdPools(ExpectedReleaseIdObjects.idPoolParent(), ExpectedReleaseIdObjects.idPoolChild());
     }
 
+    @Test
+    public void testAllocateIds() throws Exception {
+        CreateIdPoolInput createIdPoolInput = new CreateIdPoolInputBuilder().setHigh(ID_HIGH).setLow(ID_LOW)
+                .setPoolName(ID_POOL_NAME).build();
+        AllocateIdInput allocateIdInput = new AllocateIdInputBuilder().setIdKey(TEST_KEY1).setPoolName(ID_POOL_NAME)
+                .build();
+        idManagerService.createIdPool(createIdPoolInput);
+        long existingIdValue = idManagerService.allocateId(allocateIdInput).get().getResult().getIdValue().toJava();
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        List<String> idKeys = Arrays.asList(TEST_KEY1, TEST_KEY2, TEST_KEY2, TEST_KEY3);
+        RpcResult<AllocateIdsOutput> result = idManagerService.allocateIds(new AllocateIdsInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKeys(idKeys).build()).get();
+        assertTrue(result.isSuccessful());
+        List<AllocatedIds> allocatedIds = result.getResult().getAllocatedIds();
+        assertEquals(Arrays.asList(TEST_KEY1, TEST_KEY2, TEST_KEY3),
+                allocatedIds.stream().map(AllocatedIds::getIdKey).collect(Collectors.toList()));
+        assertEquals(existingIdValue, allocatedIds.get(0).getIdValue().longValue());
+        assertEquals(3, allocatedIds.stream().map(AllocatedIds::getIdValue).distinct().count());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        IdPool actualIdPoolParent = getUpdatedActualParentPool();
+        for (AllocatedIds allocatedId : allocatedIds) {
+            IdEntries idEntry = actualIdPoolParent.getIdEntries().get(new IdEntriesKey(allocatedId.getIdKey()));
+            assertNotNull(idEntry);
+            assertEquals(Collections.singletonList(allocatedId.getIdValue()), idEntry.getIdValue());
+        }
+        // The idKey locks taken by the batch were released once its IdEntries were written
+        assertEquals(allocatedIds.get(1).getIdValue().longValue(), idManagerService.allocateId(
+                new AllocateIdInputBuilder().setIdKey(TEST_KEY2).setPoolName(ID_POOL_NAME).build()).get().getResult()
+                .getIdValue().longValue());
+    }
+
+    @Test
+    public void testReleaseIds() throws Exception {
+        CreateIdPoolInput createIdPoolInput = new CreateIdPoolInputBuilder().setHigh(ID_HIGH).setLow(ID_LOW)
+                .setPoolName(ID_POOL_NAME).build();
+        idManagerService.createIdPool(createIdPoolInput);
+        RpcResult<AllocateIdsOutput> allocateResult = idManagerService.allocateIds(new AllocateIdsInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKeys(Arrays.asList(TEST_KEY1, TEST_KEY2)).build()).get();
+        assertTrue(allocateResult.isSuccessful());
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        RpcResult<ReleaseIdsOutput> releaseResult = idManagerService.releaseIds(new ReleaseIdsInputBuilder()
+                .setPoolName(ID_POOL_NAME).setIdKeys(Arrays.asList(TEST_KEY1, TEST_KEY2, TEST_KEY3)).build()).get();
+        assertTrue(releaseResult.isSuccessful());
+        // TEST_KEY3 was never allocated and is skipped
+        assertEquals(2, releaseResult.getResult().getReleasedIds().size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(allocateResult.getResult().getAllocatedIds().get(i).getIdKey(),
+                    releaseResult.getResult().getReleasedIds().get(i).getIdKey());
+            assertEquals(Collections.singletonList(allocateResult.getResult().getAllocatedIds().get(i).getIdValue()),
+                    releaseResult.getResult().getReleasedIds().get(i).getIdValues());
+        }
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        assertTrue(getUpdatedActualParentPool().nonnullIdEntries().isEmpty());
+        assertEquals(2, getUpdatedActualChildPool().getReleasedIdsHolder().getAvailableIdCount().longValue());
+    }
+
     @Test
     public void testAllocateIdBlockFromReleasedIds() throws Exception {
         CreateIdPoolInput createIdPoolInput = new CreateIdPoolInputBuilder().setHigh(ID_HIGH).setLow(ID_LOW)
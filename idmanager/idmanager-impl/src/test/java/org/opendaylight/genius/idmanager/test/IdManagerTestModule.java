@@ -10,6 +10,7 @@ package org.opendaylight.genius.idmanager.test;
 import org.opendaylight.daexim.DataImportBootReady;
 import org.opendaylight.genius.datastoreutils.testutils.JobCoordinatorEventsWaiter;
 import org.opendaylight.genius.datastoreutils.testutils.TestableJobCoordinatorEventsWaiter;
+import org.opendaylight.genius.idmanager.IdEntriesListener;
 import org.opendaylight.genius.idmanager.IdManager;
 import org.opendaylight.genius.idmanager.IdPoolListener;
 import org.opendaylight.genius.lockmanager.impl.LockListener;
@@ -37,6 +38,7 @@ public class IdManagerTestModule extends AbstractGuiceJsr250Module {
         bind(TestIMdsalApiManager.class).toInstance(mdsalManager);
         bind(LockListener.class);
         bind(IdPoolListener.class);
+        bind(IdEntriesListener.class);
         bind(JobCoordinatorEventsWaiter.class).to(TestableJobCoordinatorEventsWaiter.class);
         DataBroker dataBroker = DataBrokerTestModule.dataBroker();
         bind(DataBroker.class).toInstance(dataBroker);
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder.DelayedIdEntry;
+
+/**
+ * Unit tests for the ring buffer of {@link ReleasedIdHolder}.
+ */
+public class ReleasedIdHolderTest {
+
+    private static final int CHURN_IDS = 20000;
+
+    @Test
+    public void testIdsAreAllocatedInReleaseOrder() throws Exception {
+        ReleasedIdHolder releasedIdHolder = new ReleasedIdHolder(new IdUtils(), 0);
+        // More than the initial capacity, and interleaved with allocations so that the ring wraps around
+        for (long id = 0; id < 10; id++) {
+            releasedIdHolder.addId(id);
+        }
+        for (long id = 0; id < 5; id++) {
+            assertEquals(Optional.of(id), releasedIdHolder.allocateId());
+        }
+        for (long id = 10; id < 50; id++) {
+            releasedIdHolder.addId(id);
+        }
+        assertEquals(45, releasedIdHolder.getAvailableIdCount());
+        for (long id = 5; id < 50; id++) {
+            assertEquals(Optional.of(id), releasedIdHolder.allocateId());
+        }
+        assertEquals(Optional.empty(), releasedIdHolder.allocateId());
+        assertEquals(0, releasedIdHolder.getAvailableIdCount());
+    }
+
+    @Test
+    public void testOnlyReadyIdsAreAvailable() throws Exception {
+        long curTimeSec = System.currentTimeMillis() / 1000;
+        ReleasedIdHolder releasedIdHolder = new ReleasedIdHolder(new IdUtils(), IdUtils.DEFAULT_DELAY_TIME);
+        releasedIdHolder.addId(1);
+        assertEquals(0, releasedIdHolder.getAvailableIdCount());
+        assertFalse(releasedIdHolder.allocateId().isPresent());
+
+        List<DelayedIdEntry> readyEntries = new ArrayList<>();
+        readyEntries.add(new DelayedIdEntry(2, curTimeSec - 10));
+        readyEntries.add(new DelayedIdEntry(3, curTimeSec));
+        releasedIdHolder.prependDelayedEntries(readyEntries);
+        assertEquals(3, releasedIdHolder.size());
+        assertEquals(2, releasedIdHolder.getAvailableIdCount());
+        assertArrayEquals(new long[] { 2, curTimeSec - 10, 3, curTimeSec, 1, curTimeSec + IdUtils.DEFAULT_DELAY_TIME },
+                releasedIdHolder.toPackedArray());
+        assertEquals(Optional.of(2L), releasedIdHolder.allocateId());
+        assertEquals(Optional.of(3L), releasedIdHolder.allocateId());
+        assertFalse(releasedIdHolder.allocateId().isPresent());
+        assertEquals(1, releasedIdHolder.getDelayedEntries().size());
+    }
+
+    @Test
+    public void testChurnKeepsReleaseOrder() throws Exception {
+        ReleasedIdHolder releasedIdHolder = new ReleasedIdHolder(new IdUtils(), 0);
+        // Grows the ring well past its initial capacity, twice over
+        for (int round = 0; round < 2; round++) {
+            for (long id = 0; id < CHURN_IDS; id++) {
+                releasedIdHolder.addId(id);
+            }
+            assertEquals(CHURN_IDS, releasedIdHolder.getAvailableIdCount());
+            for (long id = 0; id < CHURN_IDS; id++) {
+                assertEquals(Optional.of(id), releasedIdHolder.allocateId());
+            }
+            assertEquals(Optional.empty(), releasedIdHolder.allocateId());
+        }
+    }
+}
@@ -52,6 +52,7 @@ public class IdManagerCacheCli extends OsgiCommandSupport {
                 print(poolName, idPool);
             }
         }
+        System.out.println("Id holder syncs " + idManagerMonitor.getIdHolderSyncCounters());
         return null;
     }
 
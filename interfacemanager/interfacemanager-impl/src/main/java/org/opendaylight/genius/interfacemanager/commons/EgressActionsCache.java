@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.commons;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.aries.blueprint.annotation.service.Reference;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.genius.interfacemanager.IfmUtil;
+import org.opendaylight.infrautils.metrics.Meter;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.ActionKey;
+
+/**
+ * Caches the egress actions of the interfaces, as returned by
+ * {@link IfmUtil#getEgressActionsForInterface(String, Long, Integer, InterfaceManagerCommonUtils, Boolean)}, by
+ * interface name and tunnel key. The actions are computed once with action keys starting at 0, a cache hit only
+ * shifts the action keys to the requested start.
+ *
+ * <p>The interface config and state listeners invalidate the actions of an interface when it changes. Each interface
+ * has its own generation of cached actions, taken before reading the interface, so that actions computed from an
+ * interface which changed in the meantime are stored in a discarded generation and never returned.
+ */
+@Singleton
+public class EgressActionsCache {
+
+    // ConcurrentHashMap does not accept null keys; tunnel keys are unsigned 32 bits values
+    private static final Long NO_TUNNEL_KEY = -1L;
+
+    private final InterfaceManagerCommonUtils interfaceManagerCommonUtils;
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Meter hitMeter;
+    private final Meter missMeter;
+
+    @Inject
+    public EgressActionsCache(InterfaceManagerCommonUtils interfaceManagerCommonUtils,
+                              @Reference MetricProvider metricProvider) {
+        this.interfaceManagerCommonUtils = interfaceManagerCommonUtils;
+        this.hitMeter = metricProvider.newMeter(this, "odl.genius.interfacemanager.egressActionsCacheHits");
+        this.missMeter = metricProvider.newMeter(this, "odl.genius.interfacemanager.egressActionsCacheMisses");
+    }
+
+    /**
+     * Returns the egress actions of an interface, computing them on a cache miss.
+     *
+     * @param interfaceName the name of the interface
+     * @param tunnelKey the tunnel key, or null
+     * @param actionKey the key of the first action, 0 if null
+     * @return the egress actions
+     * @throws NullPointerException if the interface is missing from the config or the operational datastore
+     */
+    public List<Action> getEgressActions(String interfaceName, @Nullable Long tunnelKey, @Nullable Integer actionKey) {
+        Long key = tunnelKey != null ? tunnelKey : NO_TUNNEL_KEY;
+        Generation generation = generations.computeIfAbsent(interfaceName, name -> new Generation());
+        List<Action> actions = generation.actions.get(key);
+        if (actions != null) {
+            hits.increment();
+            hitMeter.mark();
+        } else {
+            misses.increment();
+            missMeter.mark();
+            try {
+                actions = ImmutableList.copyOf(IfmUtil.getEgressActionsForInterface(interfaceName, tunnelKey, 0,
+                        interfaceManagerCommonUtils, false));
+            } catch (RuntimeException e) {
+                // Does not keep an empty generation for an interface which does not exist
+                if (generation.actions.isEmpty()) {
+                    generations.remove(interfaceName, generation);
+                }
+                throw e;
+            }
+            generation.actions.putIfAbsent(key, actions);
+        }
+        return shiftActionKeys(actions, actionKey == null ? 0 : actionKey);
+    }
+
+    /**
+     * Discards the cached egress actions of an interface, on any change of its config or of its state.
+     */
+    public void invalidate(String interfaceName) {
+        if (generations.remove(interfaceName) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return generations.size();
+    }
+
+    private static List<Action> shiftActionKeys(List<Action> actions, int actionKeyStart) {
+        if (actionKeyStart == 0) {
+            return actions;
+        }
+        List<Action> shiftedActions = new ArrayList<>(actions.size());
+        for (Action action : actions) {
+            shiftedActions.add(new ActionBuilder(action)
+                    .withKey(new ActionKey(action.key().getOrder() + actionKeyStart)).build());
+        }
+        return shiftedActions;
+    }
+
+    @Override
+    public String toString() {
+        return "EgressActionsCache{interfaces=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", invalidations=" + getInvalidationCount() + "}";
+    }
+
+    private static final class Generation {
+        final ConcurrentMap<Long, List<Action>> actions = new ConcurrentHashMap<>();
+    }
+}
@@ -13,6 +13,7 @@ import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
@@ -24,10 +25,11 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 public class IfIndexInterfaceCache extends DataObjectCache<Integer, IfIndexInterface> {
 
     @Inject
-    public IfIndexInterfaceCache(@Reference DataBroker dataBroker, @Reference CacheProvider cacheProvider) {
+    public IfIndexInterfaceCache(@Reference DataBroker dataBroker, @Reference CacheProvider cacheProvider,
+                                 @Reference MetricProvider metricProvider) {
         super(IfIndexInterface.class, dataBroker, LogicalDatastoreType.OPERATIONAL,
                 InstanceIdentifier.builder(IfIndexesInterfaceMap.class).child(IfIndexInterface.class).build(),
-                cacheProvider, (iid, ifIndexInterface) -> ifIndexInterface.key().getIfIndex(),
+                cacheProvider, metricProvider, (iid, ifIndexInterface) -> ifIndexInterface.key().getIfIndex(),
             ifIndex -> InstanceIdentifier.builder(IfIndexesInterfaceMap.class)
                 .child(IfIndexInterface.class, new IfIndexInterfaceKey(ifIndex)).build());
     }
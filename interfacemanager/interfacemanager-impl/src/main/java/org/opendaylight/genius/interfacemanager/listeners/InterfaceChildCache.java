@@ -16,6 +16,7 @@ import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
 import org.opendaylight.genius.mdsalutil.cache.InstanceIdDataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
@@ -35,11 +36,12 @@ public class InterfaceChildCache {
     private final InstanceIdDataObjectCache<InterfaceParentEntry> dataObjectCache;
 
     @Inject
-    public InterfaceChildCache(@Reference final DataBroker dataBroker, final @Reference CacheProvider cacheProvider) {
+    public InterfaceChildCache(@Reference final DataBroker dataBroker, final @Reference CacheProvider cacheProvider,
+                               final @Reference MetricProvider metricProvider) {
         dataObjectCache = new InstanceIdDataObjectCache<>(InterfaceParentEntry.class,
                 dataBroker, LogicalDatastoreType.CONFIGURATION,
                 InstanceIdentifier.create(InterfaceChildInfo.class).child(InterfaceParentEntry.class),
-                cacheProvider);
+                cacheProvider, metricProvider);
     }
 
     public Optional<Map<InterfaceChildEntryKey, InterfaceChildEntry>>
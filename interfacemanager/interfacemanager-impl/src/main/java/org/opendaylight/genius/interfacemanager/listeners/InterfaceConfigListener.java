@@ -14,6 +14,7 @@ import org.apache.aries.blueprint.annotation.service.Reference;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.genius.interfacemanager.IfmConstants;
 import org.opendaylight.genius.interfacemanager.InterfacemgrProvider;
+import org.opendaylight.genius.interfacemanager.commons.EgressActionsCache;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceManagerCommonUtils;
 import org.opendaylight.genius.interfacemanager.recovery.impl.InterfaceServiceRecoveryHandler;
 import org.opendaylight.genius.interfacemanager.renderer.ovs.confighelpers.OvsInterfaceConfigAddHelper;
@@ -53,6 +54,7 @@ public class InterfaceConfigListener
     private final OvsInterfaceConfigRemoveHelper ovsInterfaceConfigRemoveHelper;
     private final OvsInterfaceConfigAddHelper ovsInterfaceConfigAddHelper;
     private final OvsInterfaceConfigUpdateHelper ovsInterfaceConfigUpdateHelper;
+    private final EgressActionsCache egressActionsCache;
 
     @Inject
     public InterfaceConfigListener(@Reference DataBroker dataBroker,
@@ -64,7 +66,8 @@ public class InterfaceConfigListener
                                    OvsInterfaceConfigAddHelper ovsInterfaceConfigAddHelper,
                                    OvsInterfaceConfigUpdateHelper ovsInterfaceConfigUpdateHelper,
                                    InterfaceServiceRecoveryHandler interfaceServiceRecoveryHandler,
-                                   @Reference ServiceRecoveryRegistry serviceRecoveryRegistry) {
+                                   @Reference ServiceRecoveryRegistry serviceRecoveryRegistry,
+                                   EgressActionsCache egressActionsCache) {
         super(dataBroker, LogicalDatastoreType.CONFIGURATION,
               InstanceIdentifier.create(Interfaces.class).child(Interface.class));
         this.interfaceMgrProvider = interfaceMgrProvider;
@@ -74,6 +77,7 @@ public class InterfaceConfigListener
         this.ovsInterfaceConfigRemoveHelper = ovsInterfaceConfigRemoveHelper;
         this.ovsInterfaceConfigAddHelper = ovsInterfaceConfigAddHelper;
         this.ovsInterfaceConfigUpdateHelper = ovsInterfaceConfigUpdateHelper;
+        this.egressActionsCache = egressActionsCache;
         serviceRecoveryRegistry.addRecoverableListener(interfaceServiceRecoveryHandler.buildServiceRegistryKey(),
                 this);
     }
@@ -91,6 +95,7 @@ public class InterfaceConfigListener
     @Override
     public void remove(@NonNull InstanceIdentifier<Interface> instanceIdentifier, @NonNull Interface removedInterface) {
         interfaceManagerCommonUtils.removeFromInterfaceCache(removedInterface);
+        egressActionsCache.invalidate(removedInterface.getName());
 
         if (!entityOwnershipUtils.isEntityOwner(IfmConstants.INTERFACE_CONFIG_ENTITY,
                 IfmConstants.INTERFACE_CONFIG_ENTITY)) {
@@ -114,6 +119,7 @@ public class InterfaceConfigListener
     public void update(@NonNull InstanceIdentifier<Interface> instanceIdentifier, @NonNull Interface originalInterface,
                        @NonNull Interface updatedInterface) {
         interfaceManagerCommonUtils.addInterfaceToCache(updatedInterface);
+        egressActionsCache.invalidate(updatedInterface.getName());
 
         if (!entityOwnershipUtils.isEntityOwner(IfmConstants.INTERFACE_CONFIG_ENTITY,
                 IfmConstants.INTERFACE_CONFIG_ENTITY)) {
@@ -142,6 +148,7 @@ public class InterfaceConfigListener
     @Override
     public void add(@NonNull InstanceIdentifier<Interface> instanceIdentifier, @NonNull Interface newInterface) {
         interfaceManagerCommonUtils.addInterfaceToCache(newInterface);
+        egressActionsCache.invalidate(newInterface.getName());
 
         if (!entityOwnershipUtils.isEntityOwner(IfmConstants.INTERFACE_CONFIG_ENTITY,
                 IfmConstants.INTERFACE_CONFIG_ENTITY)) {
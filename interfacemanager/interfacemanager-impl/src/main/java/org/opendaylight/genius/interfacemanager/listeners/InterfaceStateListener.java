@@ -10,10 +10,12 @@ package org.opendaylight.genius.interfacemanager.listeners;
 import static org.opendaylight.mdsal.binding.util.Datastore.OPERATIONAL;
 
 import java.util.Collections;
+import java.util.Objects;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
 import org.opendaylight.genius.interfacemanager.IfmConstants;
+import org.opendaylight.genius.interfacemanager.commons.EgressActionsCache;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceManagerCommonUtils;
 import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
@@ -38,12 +40,14 @@ public class InterfaceStateListener
     private final EntityOwnershipUtils entityOwnershipUtils;
     private final JobCoordinator coordinator;
     private final InterfaceManagerCommonUtils interfaceManagerCommonUtils;
+    private final EgressActionsCache egressActionsCache;
 
     @Inject
     public InterfaceStateListener(@Reference DataBroker dataBroker,
                                   final EntityOwnershipUtils entityOwnershipUtils,
                                   @Reference final JobCoordinator coordinator,
-                                  final InterfaceManagerCommonUtils interfaceManagerCommonUtils) {
+                                  final InterfaceManagerCommonUtils interfaceManagerCommonUtils,
+                                  final EgressActionsCache egressActionsCache) {
         super(dataBroker, LogicalDatastoreType.OPERATIONAL,
                 InstanceIdentifier.create(InterfacesState.class).child(Interface.class),
                 Executors.newSingleThreadExecutor("NodeConnectorStatsImpl", LOG));
@@ -51,6 +55,7 @@ public class InterfaceStateListener
         this.entityOwnershipUtils = entityOwnershipUtils;
         this.coordinator = coordinator;
         this.interfaceManagerCommonUtils = interfaceManagerCommonUtils;
+        this.egressActionsCache = egressActionsCache;
     }
 
     /*@Override
@@ -61,16 +66,23 @@ public class InterfaceStateListener
     @Override
     public void remove(InstanceIdentifier<Interface> key, Interface interfaceStateOld) {
         interfaceManagerCommonUtils.removeFromInterfaceStateCache(interfaceStateOld);
+        egressActionsCache.invalidate(interfaceStateOld.getName());
     }
 
     @Override
     public void update(InstanceIdentifier<Interface> key, Interface interfaceStateOld, Interface interfaceStateNew) {
         interfaceManagerCommonUtils.addInterfaceStateToCache(interfaceStateNew);
+        // The egress actions only depend on the port and the lport tag, not on the frequent oper status changes
+        if (!Objects.equals(interfaceStateOld.getIfIndex(), interfaceStateNew.getIfIndex())
+                || !Objects.equals(interfaceStateOld.getLowerLayerIf(), interfaceStateNew.getLowerLayerIf())) {
+            egressActionsCache.invalidate(interfaceStateNew.getName());
+        }
     }
 
     @Override
     public void add(InstanceIdentifier<Interface> key, Interface interfaceStateNew) {
         interfaceManagerCommonUtils.addInterfaceStateToCache(interfaceStateNew);
+        egressActionsCache.invalidate(interfaceStateNew.getName());
         if (!Tunnel.class.equals(interfaceStateNew.getType())
             || !entityOwnershipUtils.isEntityOwner(IfmConstants.INTERFACE_CONFIG_ENTITY,
                     IfmConstants.INTERFACE_CONFIG_ENTITY)) {
@@ -28,4 +28,9 @@ public interface CounterConstants {
     String LBL_KEY_FLOWTBLID = "flowtableid";
     String LBL_KEY_ALIASID = "aliasid";
     String LBL_KEY_COUNTER_NAME = "name";
+
+    // IFM statistics collection metric ids, labeled by switch id
+    String CNT_TYPE_STATS_COLLECTION_MICROS_ID = "statscollectionmicros";
+    String CNT_TYPE_STATS_RPC_LATENCY_MICROS_ID = "statsrpclatencymicros";
+    String CNT_TYPE_STATS_RPCS_ID = "statsrpcs";
 }
\ No newline at end of file
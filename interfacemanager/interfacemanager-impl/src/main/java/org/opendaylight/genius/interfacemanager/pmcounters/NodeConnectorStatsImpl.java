@@ -9,25 +9,29 @@ package org.opendaylight.genius.interfacemanager.pmcounters;
 
 import static org.opendaylight.infrautils.utils.concurrent.Executors.newListeningScheduledThreadPool;
 
-import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
-import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.genius.interfacemanager.IfmConstants;
 import org.opendaylight.genius.interfacemanager.listeners.InterfaceChildCache;
 import org.opendaylight.genius.interfacemanager.listeners.PortNameCache;
@@ -41,25 +45,24 @@ import org.opendaylight.infrautils.utils.concurrent.Executors;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.serviceutils.tools.listener.AbstractClusteredAsyncDataTreeChangeListener;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsInput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsInputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowStatisticsOutput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsInput;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.Counter32;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowTableStatisticsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowTableStatisticsOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.statistics.rev130819.flow.and.statistics.map.list.FlowAndStatisticsMapList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.table.statistics.rev131215.flow.table.and.statistics.map.FlowTableAndStatisticsMap;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.config.rev160406.IfmConfig;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._interface.child.info._interface.parent.entry.InterfaceChildEntry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._interface.child.info._interface.parent.entry.InterfaceChildEntryKey;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnector;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnectorKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMap;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMapKey;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.slf4j.Logger;
@@ -71,8 +74,23 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
     private static final Logger LOG = LoggerFactory.getLogger(NodeConnectorStatsImpl.class);
 
     private static final int THREAD_POOL_SIZE = 4;
-    private final Set<String> nodes = ConcurrentHashMap.newKeySet();
+    // At most this many switches are queried for statistics at the same time
+    static final int MAX_POLLS_IN_FLIGHT =
+            Integer.getInteger("genius.interfacemanager.stats.max.in.flight", 8);
+    // The poll interval of a switch whose port counters did not change since its last poll is doubled, up to this
+    // many times the configured interval; it is back to the configured interval as soon as they change again
+    static final int MAX_POLL_INTERVAL_FACTOR =
+            Integer.getInteger("genius.interfacemanager.stats.max.interval.factor", 4);
+    // A switch finding all the poll slots taken tries again after this delay
+    static final long POLL_RETRY_SECONDS = Long.getLong("genius.interfacemanager.stats.retry.seconds", 5L);
+
+    private final Map<String, DpnStatsPoller> pollers = new ConcurrentHashMap<>();
+    private final Semaphore pollsInFlight = new Semaphore(MAX_POLLS_IN_FLIGHT);
     private final Map<String, Set<Counter>> metricsCountersPerNodeMap = new ConcurrentHashMap<>();
+    // The counters of each port of each node, by node and port
+    private final Map<String, Map<String, PortCounters>> portCountersPerNodeMap = new ConcurrentHashMap<>();
+    // The flow count counter of each table of each node, by node and table
+    private final Map<String, Map<String, Counter>> flowTableCountersPerNodeMap = new ConcurrentHashMap<>();
     private final OpendaylightDirectStatisticsService opendaylightDirectStatisticsService;
     private final ScheduledExecutorService portStatExecutorService;
     private final EntityOwnershipUtils entityOwnershipUtils;
@@ -80,9 +98,11 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
     private final InterfaceChildCache interfaceChildCache;
     private final IfmConfig ifmConfig;
     private final MetricProvider metricProvider;
-
-    private volatile int delayStatsQuery;
-    private ScheduledFuture<?> scheduledResult;
+    private final Labeled<Counter> collectionMicrosCounter;
+    private final Labeled<Counter> rpcLatencyMicrosCounter;
+    private final Labeled<Counter> rpcsCounter;
+    private final Labeled<Labeled<Labeled<Labeled<Labeled<Counter>>>>> portCounter;
+    private final Labeled<Labeled<Labeled<Labeled<Counter>>>> flowTableCounter;
 
     @Inject
     public NodeConnectorStatsImpl(@Reference DataBroker dataBroker,
@@ -92,6 +112,16 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
                                   final InterfaceChildCache interfaceChildCache,
                                   final IfmConfig ifmConfigObj,
                                   final @Reference  MetricProvider metricProvider) {
+        this(dataBroker, opendaylightDirectStatisticsService, entityOwnershipUtils, portNameCache, interfaceChildCache,
+                ifmConfigObj, metricProvider,
+                newListeningScheduledThreadPool(THREAD_POOL_SIZE, "Port Stats Request Task", LOG));
+    }
+
+    NodeConnectorStatsImpl(DataBroker dataBroker,
+                           OpendaylightDirectStatisticsService opendaylightDirectStatisticsService,
+                           EntityOwnershipUtils entityOwnershipUtils, PortNameCache portNameCache,
+                           InterfaceChildCache interfaceChildCache, IfmConfig ifmConfigObj,
+                           MetricProvider metricProvider, ScheduledExecutorService portStatExecutorService) {
         super(dataBroker, LogicalDatastoreType.OPERATIONAL,
                 InstanceIdentifier.create(Nodes.class).child(Node.class),
                 Executors.newSingleThreadExecutor("NodeConnectorStatsImpl", LOG));
@@ -101,143 +131,203 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
         this.interfaceChildCache = interfaceChildCache;
         this.ifmConfig = ifmConfigObj;
         this.metricProvider = metricProvider;
-        portStatExecutorService = newListeningScheduledThreadPool(THREAD_POOL_SIZE, "Port Stats Request Task", LOG);
+        this.portStatExecutorService = portStatExecutorService;
+        collectionMicrosCounter = newSwitchCounter(CounterConstants.CNT_TYPE_STATS_COLLECTION_MICROS_ID);
+        rpcLatencyMicrosCounter = newSwitchCounter(CounterConstants.CNT_TYPE_STATS_RPC_LATENCY_MICROS_ID);
+        rpcsCounter = newSwitchCounter(CounterConstants.CNT_TYPE_STATS_RPCS_ID);
+        /*
+         * Pattern to be followed for key generation:
+         *
+         * genius.interfacemanager.entitycounter{entitytype=port,switchid=value,portid=value,aliasid=value,
+         * name=counterName}
+         */
+        portCounter = metricProvider.newCounter(MetricDescriptor.builder().anchor(this).project("genius")
+                .module("interfacemanager").id(CounterConstants.CNT_TYPE_ENTITY_CNT_ID).build(),
+                CounterConstants.LBL_KEY_ENTITY_TYPE, CounterConstants.LBL_KEY_SWITCHID,
+                CounterConstants.LBL_KEY_PORTID, CounterConstants.LBL_KEY_ALIASID,
+                CounterConstants.LBL_KEY_COUNTER_NAME);
+        /*
+         * Pattern to be followed for key generation:
+         *
+         * genius.interfacemanager.entitycounter{entitytype=flowtable,switchid=value,flowtableid=value,name=counterName}
+         */
+        flowTableCounter = metricProvider.newCounter(MetricDescriptor.builder().anchor(this).project("genius")
+                .module("interfacemanager").id(CounterConstants.CNT_TYPE_ENTITY_CNT_ID).build(),
+                CounterConstants.LBL_KEY_ENTITY_TYPE, CounterConstants.LBL_KEY_SWITCHID,
+                CounterConstants.LBL_KEY_FLOWTBLID, CounterConstants.LBL_KEY_COUNTER_NAME);
     }
 
     @Override
     @PreDestroy
     public void close() {
+        pollers.values().forEach(DpnStatsPoller::stop);
+        portStatExecutorService.shutdownNow();
         // close the nested counter objects for each node
         metricsCountersPerNodeMap.values().forEach(counterSet -> counterSet.forEach(UncheckedCloseable::close));
     }
 
-    /*
-     * PortStat request task is started when first DPN gets connected
-     */
-    private void schedulePortStatRequestTask() {
-        if (!ifmConfig.isIfmStatsPollEnabled()) {
-            LOG.info("Port statistics is turned off");
-            return;
-        }
-        LOG.info("Scheduling port statistics request");
-        PortStatRequestTask portStatRequestTask = new PortStatRequestTask();
-        scheduledResult = portStatExecutorService.scheduleWithFixedDelay(portStatRequestTask,
-                ifmConfig.getIfmStatsDefPollInterval().toJava(), ifmConfig.getIfmStatsDefPollInterval().toJava(),
-                TimeUnit.MINUTES);
+    private Labeled<Counter> newSwitchCounter(String id) {
+        return metricProvider.newCounter(MetricDescriptor.builder().anchor(this).project("genius")
+                .module("interfacemanager").id(id).build(), CounterConstants.LBL_KEY_SWITCHID);
     }
 
     /*
-     * PortStat request task is stopped when last DPN is removed.
+     * The configured polling interval, which is also the shortest interval of a switch.
      */
-    private void stopPortStatRequestTask() {
-        if (scheduledResult != null) {
-            LOG.info("Stopping port statistics request");
-            scheduledResult.cancel(true);
-        }
+    private long getPollIntervalSeconds() {
+        return TimeUnit.MINUTES.toSeconds(ifmConfig.getIfmStatsDefPollInterval().toJava());
     }
 
-    /*
-     * This task queries for node connector statistics as well as flowtables
-     * statistics every 10 secs. Minimum period which can be configured for
-     * PMJob is 10 secs.
+    /**
+     * Polls the node connector and flow table statistics of a switch on its own schedule. The poll interval of a
+     * switch adapts to how its port counters change, a switch not owned by this node is skipped, and the number of
+     * switches polled at the same time is bounded. The flow counts per table are read from the flow table
+     * statistics, instead of counting the flows of the full flow statistics of the switch.
      */
-    private class PortStatRequestTask implements Runnable {
+    final class DpnStatsPoller implements Runnable {
+        private final String dpId;
+        private final NodeRef nodeRef;
+        private final Counter collectionMicros;
+        private final Counter rpcLatencyMicros;
+        private final Counter rpcs;
+        private volatile boolean stopped;
+        private volatile ScheduledFuture<?> scheduled;
+        // Only accessed by the polls of the switch, which never overlap
+        private long intervalSeconds;
+        private long lastPortPackets = -1;
+
+        DpnStatsPoller(String dpId) {
+            this.dpId = dpId;
+            this.nodeRef = new NodeRef(InstanceIdentifier.builder(Nodes.class)
+                    .child(Node.class, new NodeKey(new NodeId("openflow:" + dpId))).build());
+            this.collectionMicros = registerCounter(dpId, collectionMicrosCounter.label(dpId));
+            this.rpcLatencyMicros = registerCounter(dpId, rpcLatencyMicrosCounter.label(dpId));
+            this.rpcs = registerCounter(dpId, rpcsCounter.label(dpId));
+            this.intervalSeconds = getPollIntervalSeconds();
+        }
+
+        void start() {
+            // The first polls of the switches are spread across the polling interval
+            schedule(ThreadLocalRandom.current().nextLong(Math.max(intervalSeconds, 1)));
+        }
+
+        void stop() {
+            stopped = true;
+            ScheduledFuture<?> future = scheduled;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
 
         @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
         public void run() {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Requesting port stats");
+            if (stopped) {
+                return;
+            }
+            if (!entityOwnershipUtils.isEntityOwner(IfmConstants.SERVICE_ENTITY_TYPE, "openflow:" + dpId)) {
+                LOG.trace("Not a locally connected switch {}, skipping its statistics", dpId);
+                schedule(getPollIntervalSeconds() * MAX_POLL_INTERVAL_FACTOR);
+                return;
             }
-            for (String node : nodes) {
-                LOG.trace("Requesting AllNodeConnectorStatistics and flow table statistics for node - {}", node);
-                // Call RPC to Get NodeConnector Stats for node
+            if (!pollsInFlight.tryAcquire()) {
+                LOG.trace("{} switches are being polled already, delaying the statistics of switch {}",
+                        MAX_POLLS_IN_FLIGHT, dpId);
+                schedule(POLL_RETRY_SECONDS);
+                return;
+            }
+            LOG.trace("Requesting AllNodeConnectorStatistics and flow table statistics for node - {}", dpId);
+            long startNanos = System.nanoTime();
+            try {
                 ListenableFuture<RpcResult<GetNodeConnectorStatisticsOutput>> ncStatsFuture =
-                        opendaylightDirectStatisticsService.getNodeConnectorStatistics(
-                            buildGetNodeConnectorStatisticsInput(node));
-
-                Futures.addCallback(ncStatsFuture, new FutureCallback<RpcResult<GetNodeConnectorStatisticsOutput>>() {
-
-                    @Override
-                    public void onFailure(Throwable error) {
-                        LOG.error("getNodeConnectorStatistics RPC failed for node: {} ", node, error);
-                    }
-
-                    @Override
-                    public void onSuccess(RpcResult<GetNodeConnectorStatisticsOutput> result) {
-                        if (result != null) {
-                            if (result.isSuccessful()) {
-                                GetNodeConnectorStatisticsOutput ncStatsRpcResult = result.getResult();
-                                // process NodeConnectorStatistics RPC result
-                                processNodeConnectorStatistics(ncStatsRpcResult, node);
-                            } else {
-                                LOG.error("getNodeConnectorStatistics RPC failed for node: {} with error: {}",
-                                        node, result.getErrors());
-                            }
-                        }
-                    }
-                }, portStatExecutorService);
-
-                // Call RPC to Get flow stats for node
-                ListenableFuture<RpcResult<GetFlowStatisticsOutput>> flowStatsFuture =
-                        opendaylightDirectStatisticsService.getFlowStatistics(buildGetFlowStatisticsInput(node));
+                        timed(opendaylightDirectStatisticsService.getNodeConnectorStatistics(
+                                new GetNodeConnectorStatisticsInputBuilder().setNode(nodeRef).build()), startNanos);
+                ListenableFuture<RpcResult<GetFlowTableStatisticsOutput>> flowTableStatsFuture =
+                        timed(opendaylightDirectStatisticsService.getFlowTableStatistics(
+                                new GetFlowTableStatisticsInputBuilder().setNode(nodeRef).build()), startNanos);
+                Futures.whenAllComplete(ncStatsFuture, flowTableStatsFuture).run(
+                    () -> completePoll(ncStatsFuture, flowTableStatsFuture, startNanos), portStatExecutorService);
+            } catch (RuntimeException e) {
+                // The poll never completes, its slot is given back and the switch is polled again later on
+                LOG.error("Failed to request the statistics of switch {}", dpId, e);
+                pollsInFlight.release();
+                schedule(intervalSeconds);
+            }
+        }
 
-                Futures.addCallback(flowStatsFuture, new FutureCallback<RpcResult<GetFlowStatisticsOutput>>() {
+        long getIntervalSeconds() {
+            return intervalSeconds;
+        }
 
-                    @Override
-                    public void onFailure(Throwable error) {
-                        LOG.error("getFlowStatistics RPC failed for node: {} ", node, error);
-                    }
+        private <T> ListenableFuture<RpcResult<T>> timed(ListenableFuture<RpcResult<T>> future, long startNanos) {
+            future.addListener(() -> {
+                rpcLatencyMicros.increment(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+                rpcs.increment();
+            }, MoreExecutors.directExecutor());
+            return future;
+        }
 
-                    @Override
-                    public void onSuccess(RpcResult<GetFlowStatisticsOutput> result) {
-                        if (result != null) {
-                            if (result.isSuccessful()) {
-                                GetFlowStatisticsOutput flowStatsRpcResult = result.getResult();
-                                // process FlowStatistics RPC result
-                                processFlowStatistics(flowStatsRpcResult, node);
-                            } else {
-                                LOG.error("getFlowStatistics RPC failed for node: {} with error: {}",
-                                        node, result.getErrors());
-                            }
-                        }
+        private void completePoll(Future<RpcResult<GetNodeConnectorStatisticsOutput>> ncStatsFuture,
+                Future<RpcResult<GetFlowTableStatisticsOutput>> flowTableStatsFuture, long startNanos) {
+            try {
+                if (stopped) {
+                    return;
+                }
+                boolean portCountersChanged = false;
+                GetNodeConnectorStatisticsOutput ncStats = getResult(ncStatsFuture, "getNodeConnectorStatistics");
+                if (ncStats != null) {
+                    long portPackets = processNodeConnectorStatistics(ncStats, dpId);
+                    portCountersChanged = portPackets != lastPortPackets;
+                    lastPortPackets = portPackets;
+                }
+                GetFlowTableStatisticsOutput flowTableStats = getResult(flowTableStatsFuture, "getFlowTableStatistics");
+                if (flowTableStats != null) {
+                    processFlowTableStatistics(flowTableStats, dpId);
+                }
+                long configuredSeconds = getPollIntervalSeconds();
+                intervalSeconds = portCountersChanged ? configuredSeconds
+                        : Math.min(intervalSeconds * 2, configuredSeconds * MAX_POLL_INTERVAL_FACTOR);
+                updateCounter(collectionMicros, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+                if (stopped) {
+                    // The switch was removed while its statistics were processed, after its counters were removed
+                    // or before: the counters created meanwhile are removed as well, unless it was added again
+                    if (!pollers.containsKey(dpId)) {
+                        removeNodeCounters(dpId);
                     }
-                }, portStatExecutorService);
-
-                delay();
+                    return;
+                }
+                LOG.trace("Next statistics poll of switch {} in {} seconds", dpId, intervalSeconds);
+            } finally {
+                pollsInFlight.release();
+                schedule(intervalSeconds);
             }
         }
 
-        /**
-         * The delay is added to spread the RPC call of the switches to query statistics
-         * across the polling interval.
-         * delay factor is calculated by dividing pollinginterval by no.of.switches.
-         */
-        private void delay() {
+        private <T> @Nullable T getResult(Future<RpcResult<T>> future, String rpcName) {
             try {
-                Thread.sleep(TimeUnit.SECONDS.toMillis(delayStatsQuery));
-            } catch (InterruptedException ex) {
-                LOG.error("InterruptedException");
+                RpcResult<T> result = Futures.getDone(future);
+                if (result == null) {
+                    return null;
+                }
+                if (result.isSuccessful()) {
+                    return result.getResult();
+                }
+                LOG.error("{} RPC failed for node: {} with error: {}", rpcName, dpId, result.getErrors());
+            } catch (ExecutionException | CancellationException error) {
+                LOG.error("{} RPC failed for node: {} ", rpcName, dpId, error);
             }
+            return null;
         }
 
-        /**
-         * This method builds GetNodeConnectorStatisticsInput which is input for NodeConnectorStatistics RPC.
-         */
-        private GetNodeConnectorStatisticsInput buildGetNodeConnectorStatisticsInput(String dpId) {
-            return new GetNodeConnectorStatisticsInputBuilder()
-                    .setNode(new NodeRef(InstanceIdentifier.builder(Nodes.class)
-                            .child(Node.class, new NodeKey(new NodeId("openflow:" + dpId))).build()))
-                    .build();
-        }
-
-        /**
-         * This method builds GetFlowStatisticsInput which is input for FlowStatistics RPC.
-         */
-        private GetFlowStatisticsInput buildGetFlowStatisticsInput(String dpId) {
-            return new GetFlowStatisticsInputBuilder()
-                    .setNode(new NodeRef(InstanceIdentifier.builder(Nodes.class)
-                            .child(Node.class, new NodeKey(new NodeId("openflow:" + dpId))).build()))
-                    .build();
+        private void schedule(long delaySeconds) {
+            if (stopped) {
+                return;
+            }
+            try {
+                scheduled = portStatExecutorService.schedule(this, delaySeconds, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Not polling the statistics of switch {} anymore, shut down", dpId, e);
+            }
         }
     }
 
@@ -245,147 +335,159 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
      * This method processes NodeConnectorStatistics RPC result.
      * It performs:
      * - fetches various OF Port counters values
-     * - creates/updates new OF Port counters using Infrautils metrics API
+     * - updates the OF Port counters of the port, created with their labels the first time the port is seen
      * - set counter with values fetched from NodeConnectorStatistics
+     * It returns the packets sent and received by all the ports of the node, to tell whether they changed.
      */
-    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
-            justification = "https://github.com/spotbugs/spotbugs/issues/811")
-    private void processNodeConnectorStatistics(GetNodeConnectorStatisticsOutput nodeConnectorStatisticsOutput,
-                                                String dpid) {
-        String port = "";
-        String portUuid = "";
-        @NonNull Map<NodeConnectorStatisticsAndPortNumberMapKey, NodeConnectorStatisticsAndPortNumberMap>
-                ncStatsAndPortMapList = nodeConnectorStatisticsOutput.nonnullNodeConnectorStatisticsAndPortNumberMap();
-        // Parse NodeConnectorStatistics and create/update counters for them
-        for (NodeConnectorStatisticsAndPortNumberMap ncStatsAndPortMap : ncStatsAndPortMapList.values()) {
-            NodeConnectorId nodeConnector = ncStatsAndPortMap.getNodeConnectorId();
-            LOG.trace("Create/update metric counter for NodeConnector: {} of node: {}", nodeConnector, dpid);
-            port = nodeConnector.getValue();
-            // update port name as per port name maintained in portNameCache
-            String portNameInCache = "openflow" + ":" + dpid + ":" + port;
-            java.util.Optional<String> portName = portNameCache.get(portNameInCache);
-            if (portName.isPresent()) {
-                Optional<Map<InterfaceChildEntryKey, InterfaceChildEntry>> interfaceChildEntries = interfaceChildCache
-                        .getInterfaceChildEntries(portName.get());
-                if (interfaceChildEntries.isPresent()) {
-                    if (!interfaceChildEntries.get().isEmpty()) {
-                        portUuid = interfaceChildEntries.get().get(0).getChildInterface();
-                        LOG.trace("Retrieved portUuid {} for portname {}", portUuid, portName.get());
-                    } else {
-                        LOG.trace("PortUuid is not found for portname {}. Skipping IFM counters publish for this port.",
-                            portName.get());
-                        continue;
-                    }
-                } else {
-                    LOG.trace("PortUuid is not present for portname {}. Skipping IFM counters publish for this port.",
-                        portName.get());
+    long processNodeConnectorStatistics(GetNodeConnectorStatisticsOutput nodeConnectorStatisticsOutput,
+                                        String dpid) {
+        long portPackets = 0;
+        Map<String, PortCounters> nodePortCounters =
+                portCountersPerNodeMap.computeIfAbsent(dpid, key -> new ConcurrentHashMap<>());
+        // Parse NodeConnectorStatistics and update the counters of the ports
+        for (NodeConnectorStatisticsAndPortNumberMap ncStatsAndPortMap
+                : nodeConnectorStatisticsOutput.nonnullNodeConnectorStatisticsAndPortNumberMap().values()) {
+            if (ncStatsAndPortMap.getPackets() != null) {
+                portPackets += ncStatsAndPortMap.getPackets().getReceived().longValue()
+                        + ncStatsAndPortMap.getPackets().getTransmitted().longValue();
+            }
+            String port = ncStatsAndPortMap.getNodeConnectorId().getValue();
+            PortCounters portCounters = nodePortCounters.get(port);
+            if (portCounters == null) {
+                portCounters = newPortCounters(dpid, port);
+                if (portCounters == null) {
                     continue;
                 }
-            } else {
-                LOG.trace("Port {} not found in PortName Cache.", portNameInCache);
-                continue;
+                nodePortCounters.put(port, portCounters);
             }
+            portCounters.update(ncStatsAndPortMap);
+        }
+        return portPackets;
+    }
 
-            Counter counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_DURATION, dpid, port, portUuid,null);
-            long ofPortDuration = ncStatsAndPortMap.getDuration().getSecond().getValue().toJava();
-            updateCounter(counter, ofPortDuration);
-
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECVDROP, dpid, port, portUuid, null);
-            long packetsPerOFPortReceiveDrop = ncStatsAndPortMap.getReceiveDrops().longValue();
-            updateCounter(counter, packetsPerOFPortReceiveDrop);
+    /*
+     * Resolves the alias of a port newly seen in the statistics of a node, and creates its counters; returns null if
+     * the alias is not known (yet).
+     */
+    private @Nullable PortCounters newPortCounters(String dpid, String port) {
+        LOG.trace("Create metric counters for NodeConnector: {} of node: {}", port, dpid);
+        // update port name as per port name maintained in portNameCache
+        String portNameInCache = "openflow" + ":" + dpid + ":" + port;
+        Optional<String> portName = portNameCache.get(portNameInCache);
+        if (!portName.isPresent()) {
+            LOG.trace("Port {} not found in PortName Cache.", portNameInCache);
+            return null;
+        }
+        Optional<Map<InterfaceChildEntryKey, InterfaceChildEntry>> interfaceChildEntries = interfaceChildCache
+                .getInterfaceChildEntries(portName.get());
+        if (!interfaceChildEntries.isPresent()) {
+            LOG.trace("PortUuid is not present for portname {}. Skipping IFM counters publish for this port.",
+                portName.get());
+            return null;
+        }
+        if (interfaceChildEntries.get().isEmpty()) {
+            LOG.trace("PortUuid is not found for portname {}. Skipping IFM counters publish for this port.",
+                portName.get());
+            return null;
+        }
+        String portUuid = interfaceChildEntries.get().values().iterator().next().getChildInterface();
+        LOG.trace("Retrieved portUuid {} for portname {}", portUuid, portName.get());
+        Labeled<Counter> labeledCounter = portCounter.label(CounterConstants.LBL_VAL_ENTITY_TYPE_PORT).label(dpid)
+                .label(port).label(portUuid);
+        return new PortCounters(
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_DURATION),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECVDROP),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECVERROR),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_SENT),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECV),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_BYTE_SENT),
+                newSampledCounter(dpid, labeledCounter, CounterConstants.IFM_PORT_COUNTER_OFPORT_BYTE_RECV));
+    }
 
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECVERROR, dpid, port, portUuid, null);
-            long packetsPerOFPortReceiveError = ncStatsAndPortMap.getReceiveErrors().longValue();
-            updateCounter(counter, packetsPerOFPortReceiveError);
+    private SampledCounter newSampledCounter(String dpid, Labeled<Counter> labeledCounter, String counterName) {
+        return new SampledCounter(registerCounter(dpid, labeledCounter.label(counterName)));
+    }
 
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_SENT, dpid, port, portUuid, null);
-            long packetsPerOFPortSent = ncStatsAndPortMap.getPackets().getTransmitted().longValue();
-            updateCounter(counter, packetsPerOFPortSent);
+    /*
+     * Removes the counters of a port deleted from a node.
+     */
+    private void removePortCounters(String dpid, String port) {
+        Map<String, PortCounters> nodePortCounters = portCountersPerNodeMap.get(dpid);
+        PortCounters portCounters = nodePortCounters != null ? nodePortCounters.remove(port) : null;
+        if (portCounters != null) {
+            LOG.trace("Remove metric counters for NodeConnector: {} of node: {}", port, dpid);
+            Set<Counter> nodeMetricCounterSet = metricsCountersPerNodeMap.get(dpid);
+            for (SampledCounter sampledCounter : portCounters.counters()) {
+                if (nodeMetricCounterSet != null) {
+                    nodeMetricCounterSet.remove(sampledCounter.counter);
+                }
+                sampledCounter.counter.close();
+            }
+        }
+    }
 
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_PKT_RECV, dpid, port, portUuid, null);
-            long packetsPerOFPortReceive = ncStatsAndPortMap.getPackets().getReceived().longValue();
-            updateCounter(counter, packetsPerOFPortReceive);
+    @Nullable DpnStatsPoller getPoller(String dpId) {
+        return pollers.get(dpId);
+    }
 
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_BYTE_SENT, dpid, port, portUuid, null);
-            long bytesPerOFPortSent = ncStatsAndPortMap.getBytes().getTransmitted().longValue();
-            updateCounter(counter, bytesPerOFPortSent);
+    int getPortCountersSize(String dpid) {
+        Map<String, PortCounters> nodePortCounters = portCountersPerNodeMap.get(dpid);
+        return nodePortCounters != null ? nodePortCounters.size() : 0;
+    }
 
-            counter = getCounter(CounterConstants.IFM_PORT_COUNTER_OFPORT_BYTE_RECV, dpid, port, portUuid, null);
-            long bytesPerOFPortReceive = ncStatsAndPortMap.getBytes().getReceived().longValue();
-            updateCounter(counter, bytesPerOFPortReceive);
-        }
+    /*
+     * Returns the values of the metric counters of a port: its duration, receive drops, receive errors, packets sent
+     * and received, and bytes sent and received; or null if the port has no counters.
+     */
+    long @Nullable [] getPortCounterValues(String dpid, String port) {
+        Map<String, PortCounters> nodePortCounters = portCountersPerNodeMap.get(dpid);
+        PortCounters portCounters = nodePortCounters != null ? nodePortCounters.get(port) : null;
+        return portCounters != null
+                ? Arrays.stream(portCounters.counters()).mapToLong(sampledCounter -> sampledCounter.counter.get())
+                        .toArray()
+                : null;
     }
 
     /**
-     * This method processes FlowStatistics RPC result.
+     * This method processes FlowTableStatistics RPC result.
      * It performs:
-     * - fetches all flows of node
-     * - stores flows count per table in local map
-     * - creates/updates Flow table counters using Infrautils metrics API
-     * - set counter with values fetched from FlowStatistics
+     * - fetches the active flows count of each table of node
+     * - creates/updates Flow table counters using Infrautils metrics API, for the tables holding flows
+     * - set counter with values fetched from FlowTableStatistics
      */
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
-    private void processFlowStatistics(GetFlowStatisticsOutput flowStatsOutput, String dpid) {
-        Map<Short, AtomicInteger> flowTableMap = new HashMap<>();
-        // Get all flows for node from RPC result
-        @NonNull List<FlowAndStatisticsMapList> flowTableAndStatisticsMapList =
-            flowStatsOutput.nonnullFlowAndStatisticsMapList();
-        for (FlowAndStatisticsMapList flowAndStatisticsMap : flowTableAndStatisticsMapList) {
-            short tableId = flowAndStatisticsMap.getTableId().toJava();
-            // populate map to maintain flow count per table
-            flowTableMap.computeIfAbsent(tableId, key -> new AtomicInteger(0)).incrementAndGet();
-        }
-        LOG.trace("FlowTableStatistics (tableId:counter): {} for node: {}", flowTableMap.entrySet(), dpid);
-        for (Map.Entry<Short, AtomicInteger> flowTable : flowTableMap.entrySet()) {
-            Short tableId = flowTable.getKey();
-            AtomicInteger flowCount = flowTable.getValue();
-            Counter counter = getCounter(CounterConstants.IFM_FLOW_TBL_COUNTER_FLOWS_PER_TBL, dpid, null, null,
-                    tableId.toString());
+    private void processFlowTableStatistics(GetFlowTableStatisticsOutput flowTableStatsOutput, String dpid) {
+        for (FlowTableAndStatisticsMap flowTableAndStatisticsMap
+                : flowTableStatsOutput.nonnullFlowTableAndStatisticsMap().values()) {
+            Counter32 activeFlows = flowTableAndStatisticsMap.getActiveFlows();
+            if (activeFlows == null || activeFlows.getValue().longValue() == 0) {
+                continue;
+            }
+            String tableId = flowTableAndStatisticsMap.getTableId().getValue().toString();
+            LOG.trace("FlowTableStatistics (tableId:counter): {}:{} for node: {}", tableId, activeFlows.getValue(),
+                    dpid);
+            Counter counter = getFlowTableCounter(dpid, tableId);
             // update counter value
-            updateCounter(counter, flowCount.longValue());
+            updateCounter(counter, activeFlows.getValue().longValue());
         }
     }
 
     /*
-     * This method returns counter and also creates counter if does not exist.
+     * This method returns the flow count counter of a flow table, and creates it the first time the table is seen.
      *
-     * @param counterName name of the counter
      * @param switchId datapath-id value
-     * @param port port-id value
-     * @param aliasId alias-id value
      * @param tableId table-id value of switch
      * @return counter object
      */
-    private Counter getCounter(String counterName, String switchId, String port, String aliasId, String tableId) {
-        /*
-         * Pattern to be followed for key generation:
-         *
-         * genius.interfacemanager.entitycounter{entitytype=port,switchid=value,portid=value,aliasid=value,
-         * name=counterName}
-         * genius.interfacemanager.entitycounter{entitytype=flowtable,switchid=value,flowtableid=value,name=counterName}
-         */
-        Counter counter = null;
-        if (port != null) {
-            Labeled<Labeled<Labeled<Labeled<Labeled<Counter>>>>> labeledCounter =
-                    metricProvider.newCounter(MetricDescriptor.builder().anchor(this).project("genius")
-                        .module("interfacemanager").id(CounterConstants.CNT_TYPE_ENTITY_CNT_ID).build(),
-                        CounterConstants.LBL_KEY_ENTITY_TYPE, CounterConstants.LBL_KEY_SWITCHID,
-                        CounterConstants.LBL_KEY_PORTID, CounterConstants.LBL_KEY_ALIASID,
-                        CounterConstants.LBL_KEY_COUNTER_NAME);
-            counter = labeledCounter.label(CounterConstants.LBL_VAL_ENTITY_TYPE_PORT).label(switchId)
-                    .label(port).label(aliasId).label(counterName);
-        }
-        if (tableId != null) {
-            Labeled<Labeled<Labeled<Labeled<Counter>>>> labeledCounter =
-                    metricProvider.newCounter(MetricDescriptor.builder().anchor(this).project("genius")
-                        .module("interfacemanager").id(CounterConstants.CNT_TYPE_ENTITY_CNT_ID).build(),
-                        CounterConstants.LBL_KEY_ENTITY_TYPE, CounterConstants.LBL_KEY_SWITCHID,
-                        CounterConstants.LBL_KEY_FLOWTBLID, CounterConstants.LBL_KEY_COUNTER_NAME);
-            counter = labeledCounter.label(CounterConstants.LBL_VAL_ENTITY_TYPE_FLOWTBL).label(switchId)
-                    .label(tableId).label(counterName);
-        }
+    private Counter getFlowTableCounter(String switchId, String tableId) {
+        return flowTableCountersPerNodeMap.computeIfAbsent(switchId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tableId, key -> registerCounter(switchId,
+                        flowTableCounter.label(CounterConstants.LBL_VAL_ENTITY_TYPE_FLOWTBL).label(switchId)
+                                .label(tableId).label(CounterConstants.IFM_FLOW_TBL_COUNTER_FLOWS_PER_TBL)));
+    }
 
+    private Counter registerCounter(String switchId, Counter counter) {
         // create counters set for node if absent.
         // and then populate counter set with counter object
         // which will be needed to close counters when node is removed.
@@ -412,44 +514,133 @@ public class NodeConnectorStatsImpl extends AbstractClusteredAsyncDataTreeChange
     public void remove(InstanceIdentifier<Node> identifier, Node node) {
         NodeId nodeId = node.getId();
         String dpId = nodeId.getValue().split(":")[1];
-        if (nodes.contains(dpId)) {
-            nodes.remove(dpId);
-            // remove counters set from node
-            Set<Counter> nodeMetricCounterSet = metricsCountersPerNodeMap.remove(dpId);
-            if (nodeMetricCounterSet != null) {
-                // remove counters
-                nodeMetricCounterSet.forEach(UncheckedCloseable::close);
-            }
-        }
-        if (nodes.size() > 0) {
-            delayStatsQuery = ifmConfig.getIfmStatsDefPollInterval().toJava() / nodes.size();
+        DpnStatsPoller poller = pollers.remove(dpId);
+        if (poller != null) {
+            // The poller is stopped first, so that a poll in progress sees it and removes the counters it creates
+            poller.stop();
+            removeNodeCounters(dpId);
         } else {
-            stopPortStatRequestTask();
-            delayStatsQuery = 0;
+            portCountersPerNodeMap.remove(dpId);
+            flowTableCountersPerNodeMap.remove(dpId);
+        }
+    }
+
+    /*
+     * Removes and closes the counters of a node; each set of counters is removed from the map by a single caller.
+     */
+    private void removeNodeCounters(String dpId) {
+        portCountersPerNodeMap.remove(dpId);
+        flowTableCountersPerNodeMap.remove(dpId);
+        // remove counters set from node
+        Set<Counter> nodeMetricCounterSet = metricsCountersPerNodeMap.remove(dpId);
+        if (nodeMetricCounterSet != null) {
+            // remove counters
+            nodeMetricCounterSet.forEach(UncheckedCloseable::close);
         }
     }
 
     @Override
     public void update(InstanceIdentifier<Node> identifier, Node original, Node update) {
-        // TODO Auto-generated method stub
+        String dpId = update.getId().getValue().split(":")[1];
+        if (getPortCountersSize(dpId) == 0) {
+            return;
+        }
+        // The counters of the ports deleted from the node are removed with them
+        Map<NodeConnectorKey, NodeConnector> nodeConnectors = update.nonnullNodeConnector();
+        for (NodeConnectorKey nodeConnectorKey : original.nonnullNodeConnector().keySet()) {
+            if (!nodeConnectors.containsKey(nodeConnectorKey)) {
+                String nodeConnectorId = nodeConnectorKey.getId().getValue();
+                removePortCounters(dpId, nodeConnectorId);
+                removePortCounters(dpId, nodeConnectorId.substring(nodeConnectorId.lastIndexOf(':') + 1));
+            }
+        }
     }
 
     @Override
     public void add(InstanceIdentifier<Node> identifier, Node node) {
+        if (!ifmConfig.isIfmStatsPollEnabled()) {
+            LOG.trace("Port statistics is turned off");
+            return;
+        }
+        // The ownership of the switch is checked on each poll, as it can move to or from this node later on
         NodeId nodeId = node.getId();
-        if (entityOwnershipUtils.isEntityOwner(IfmConstants.SERVICE_ENTITY_TYPE, nodeId.getValue())) {
-            LOG.trace("Locally connected switch {}",nodeId.getValue());
-            String dpId = nodeId.getValue().split(":")[1];
-            if (nodes.contains(dpId)) {
+        String dpId = nodeId.getValue().split(":")[1];
+        pollers.computeIfAbsent(dpId, key -> {
+            LOG.info("Scheduling port statistics request for switch {}", key);
+            DpnStatsPoller poller = new DpnStatsPoller(key);
+            poller.start();
+            return poller;
+        });
+    }
+
+    /**
+     * The counters of a port of a node, with their labels resolved when the port was first seen.
+     */
+    private static final class PortCounters {
+        private final SampledCounter duration;
+        private final SampledCounter receiveDrops;
+        private final SampledCounter receiveErrors;
+        private final SampledCounter packetsSent;
+        private final SampledCounter packetsReceived;
+        private final SampledCounter bytesSent;
+        private final SampledCounter bytesReceived;
+
+        PortCounters(SampledCounter duration, SampledCounter receiveDrops, SampledCounter receiveErrors,
+                SampledCounter packetsSent, SampledCounter packetsReceived, SampledCounter bytesSent,
+                SampledCounter bytesReceived) {
+            this.duration = duration;
+            this.receiveDrops = receiveDrops;
+            this.receiveErrors = receiveErrors;
+            this.packetsSent = packetsSent;
+            this.packetsReceived = packetsReceived;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+        }
+
+        void update(NodeConnectorStatisticsAndPortNumberMap ncStatsAndPortMap) {
+            duration.update(ncStatsAndPortMap.getDuration().getSecond().getValue().toJava());
+            receiveDrops.update(ncStatsAndPortMap.getReceiveDrops().longValue());
+            receiveErrors.update(ncStatsAndPortMap.getReceiveErrors().longValue());
+            packetsSent.update(ncStatsAndPortMap.getPackets().getTransmitted().longValue());
+            packetsReceived.update(ncStatsAndPortMap.getPackets().getReceived().longValue());
+            bytesSent.update(ncStatsAndPortMap.getBytes().getTransmitted().longValue());
+            bytesReceived.update(ncStatsAndPortMap.getBytes().getReceived().longValue());
+        }
+
+        SampledCounter[] counters() {
+            return new SampledCounter[] {
+                duration, receiveDrops, receiveErrors, packetsSent, packetsReceived, bytesSent, bytesReceived
+            };
+        }
+    }
+
+    /**
+     * A counter set to the values of the samples of a statistic. The last value is kept in a primitive field, so
+     * that the counter is only updated when the value changes, by the difference.
+     */
+    private static final class SampledCounter {
+        private final Counter counter;
+        private long value;
+
+        SampledCounter(Counter counter) {
+            this.counter = counter;
+            this.value = counter.get();
+        }
+
+        void update(long sample) {
+            if (sample == value) {
                 return;
             }
-            nodes.add(dpId);
-            delayStatsQuery = ifmConfig.getIfmStatsDefPollInterval().toJava() / nodes.size();
-            if (nodes.size() == 1) {
-                schedulePortStatRequestTask();
+            try {
+                if (sample > value) {
+                    counter.increment(sample - value);
+                } else {
+                    counter.decrement(value - sample);
+                }
+                value = sample;
+            } catch (IllegalStateException e) {
+                LOG.error("Metric counter ({}) update has got exception: ", counter, e);
             }
-        } else {
-            LOG.trace("Not a locally connected switch {}",nodeId.getValue());
         }
     }
 }
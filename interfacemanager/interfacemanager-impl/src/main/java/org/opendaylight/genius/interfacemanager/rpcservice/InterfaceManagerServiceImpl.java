@@ -18,6 +18,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
 import org.opendaylight.genius.interfacemanager.IfmUtil;
+import org.opendaylight.genius.interfacemanager.commons.EgressActionsCache;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceManagerCommonUtils;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceMetaUtils;
 import org.opendaylight.genius.interfacemanager.interfaces.InterfaceManagerService;
@@ -89,15 +90,18 @@ public class InterfaceManagerServiceImpl implements InterfaceManagerService {
     private final InterfaceManagerCommonUtils interfaceManagerCommonUtils;
     private final InterfaceMetaUtils interfaceMetaUtils;
     private final IfIndexInterfaceCache ifIndexInterfaceCache;
+    private final EgressActionsCache egressActionsCache;
 
     @Inject
     public InterfaceManagerServiceImpl(@Reference final DataBroker dataBroker,
             final InterfaceManagerCommonUtils interfaceManagerCommonUtils,
-            final InterfaceMetaUtils interfaceMetaUtils, final IfIndexInterfaceCache ifIndexInterfaceCache) {
+            final InterfaceMetaUtils interfaceMetaUtils, final IfIndexInterfaceCache ifIndexInterfaceCache,
+            final EgressActionsCache egressActionsCache) {
         this.dataBroker = dataBroker;
         this.interfaceManagerCommonUtils = interfaceManagerCommonUtils;
         this.interfaceMetaUtils = interfaceMetaUtils;
         this.ifIndexInterfaceCache = ifIndexInterfaceCache;
+        this.egressActionsCache = egressActionsCache;
     }
 
     @Override
@@ -195,9 +199,8 @@ public class InterfaceManagerServiceImpl implements InterfaceManagerService {
     @Override
     public ListenableFuture<GetEgressActionsForInterfaceOutput> getEgressActionsForInterface(
             GetEgressActionsForInterfaceInput input) {
-        List<Action> actionsList = IfmUtil.getEgressActionsForInterface(input.getIntfName(),
-                input.getTunnelKey() != null ? input.getTunnelKey().toJava() : null,
-                input.getActionKey(), interfaceManagerCommonUtils, false);
+        List<Action> actionsList = egressActionsCache.getEgressActions(input.getIntfName(),
+                input.getTunnelKey() != null ? input.getTunnelKey().toJava() : null, input.getActionKey());
         // TODO as above, simplify the success case later, as we have the failure case below
         return Futures
                 .immediateFuture(new GetEgressActionsForInterfaceOutputBuilder().setAction(actionsList).build());
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opendaylight.genius.interfacemanager.pmcounters.NodeConnectorStatsImpl.MAX_POLLS_IN_FLIGHT;
+import static org.opendaylight.genius.interfacemanager.pmcounters.NodeConnectorStatsImpl.MAX_POLL_INTERVAL_FACTOR;
+import static org.opendaylight.genius.interfacemanager.pmcounters.NodeConnectorStatsImpl.POLL_RETRY_SECONDS;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.interfacemanager.listeners.InterfaceChildCache;
+import org.opendaylight.genius.interfacemanager.listeners.PortNameCache;
+import org.opendaylight.genius.interfacemanager.pmcounters.NodeConnectorStatsImpl.DpnStatsPoller;
+import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
+import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetFlowTableStatisticsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.config.rev160406.IfmConfigBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.node.connector.statistics.PacketsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMapBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMapKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint64;
+
+/**
+ * Test of the polls of the statistics of the switches by {@link NodeConnectorStatsImpl}, which are run by the test
+ * itself; the executor only records when they are scheduled, and runs the completion of the polls in place.
+ */
+public class DpnStatsPollerTest {
+
+    private static final String DPN_ID = "1";
+    // The configured poll interval, of 1 minute
+    private static final long INTERVAL_SECONDS = 60;
+
+    private final OpendaylightDirectStatisticsService statisticsService =
+            mock(OpendaylightDirectStatisticsService.class);
+    private final EntityOwnershipUtils entityOwnershipUtils = mock(EntityOwnershipUtils.class);
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private NodeConnectorStatsImpl nodeConnectorStats;
+    private volatile GetNodeConnectorStatisticsOutput portStatistics = statistics(1);
+
+    @Before
+    public void start() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        when(entityOwnershipUtils.isEntityOwner(anyString(), anyString())).thenReturn(true);
+        when(statisticsService.getNodeConnectorStatistics(any())).thenAnswer(
+            invocation -> Futures.immediateFuture(RpcResultBuilder.success(portStatistics).build()));
+        when(statisticsService.getFlowTableStatistics(any())).thenAnswer(invocation -> Futures.immediateFuture(
+                RpcResultBuilder.success(new GetFlowTableStatisticsOutputBuilder().build()).build()));
+        nodeConnectorStats = new NodeConnectorStatsImpl(new DataBrokerTestModule(false).getDataBroker(),
+                statisticsService, entityOwnershipUtils, mock(PortNameCache.class), mock(InterfaceChildCache.class),
+                new IfmConfigBuilder().setIfmStatsPollEnabled(true).setIfmStatsDefPollInterval(Uint16.ONE).build(),
+                new TestMetricProviderImpl(), executor);
+    }
+
+    @After
+    public void stop() {
+        nodeConnectorStats.close();
+    }
+
+    @Test
+    public void testIntervalGrowsAndResets() {
+        DpnStatsPoller poller = addSwitch(DPN_ID);
+
+        poller.run();
+        assertEquals(INTERVAL_SECONDS, poller.getIntervalSeconds());
+        verify(executor).schedule(poller, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        // The port counters do not change, the interval doubles up to its maximum
+        poller.run();
+        assertEquals(2 * INTERVAL_SECONDS, poller.getIntervalSeconds());
+        poller.run();
+        assertEquals(4 * INTERVAL_SECONDS, poller.getIntervalSeconds());
+        for (int i = 0; i < 3; i++) {
+            poller.run();
+            assertEquals(MAX_POLL_INTERVAL_FACTOR * INTERVAL_SECONDS, poller.getIntervalSeconds());
+        }
+        verify(executor, times(4)).schedule(poller, MAX_POLL_INTERVAL_FACTOR * INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        // They change, the interval is back to the configured one
+        portStatistics = statistics(2);
+        poller.run();
+        assertEquals(INTERVAL_SECONDS, poller.getIntervalSeconds());
+        verify(executor, times(2)).schedule(poller, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        verify(statisticsService, times(7)).getNodeConnectorStatistics(any());
+        verify(statisticsService, times(7)).getFlowTableStatistics(any());
+    }
+
+    @Test
+    public void testNotOwnedSwitchIsNotPolled() {
+        when(entityOwnershipUtils.isEntityOwner(anyString(), anyString())).thenReturn(false);
+        DpnStatsPoller poller = addSwitch(DPN_ID);
+
+        poller.run();
+        poller.run();
+        verify(statisticsService, never()).getNodeConnectorStatistics(any());
+        verify(statisticsService, never()).getFlowTableStatistics(any());
+        // Its ownership is checked again later on
+        verify(executor, times(2)).schedule(poller, MAX_POLL_INTERVAL_FACTOR * INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPollsInFlightAreBounded() {
+        List<SettableFuture<RpcResult<GetNodeConnectorStatisticsOutput>>> pendingPolls = new ArrayList<>();
+        when(statisticsService.getNodeConnectorStatistics(any())).thenAnswer(invocation -> {
+            SettableFuture<RpcResult<GetNodeConnectorStatisticsOutput>> future = SettableFuture.create();
+            pendingPolls.add(future);
+            return future;
+        });
+        List<DpnStatsPoller> pollers = new ArrayList<>();
+        for (int i = 0; i <= MAX_POLLS_IN_FLIGHT; i++) {
+            pollers.add(addSwitch(String.valueOf(i)));
+        }
+
+        pollers.forEach(DpnStatsPoller::run);
+        assertEquals(MAX_POLLS_IN_FLIGHT, pendingPolls.size());
+        DpnStatsPoller delayed = pollers.get(MAX_POLLS_IN_FLIGHT);
+        verify(executor).schedule(delayed, POLL_RETRY_SECONDS, TimeUnit.SECONDS);
+        // Still no slot
+        delayed.run();
+        assertEquals(MAX_POLLS_IN_FLIGHT, pendingPolls.size());
+
+        // A completed poll gives its slot back
+        pendingPolls.get(0).set(RpcResultBuilder.success(portStatistics).build());
+        verify(executor).schedule(pollers.get(0), INTERVAL_SECONDS, TimeUnit.SECONDS);
+        delayed.run();
+        assertEquals(MAX_POLLS_IN_FLIGHT + 1, pendingPolls.size());
+    }
+
+    @Test
+    public void testSlotReleasedWhenRpcThrows() {
+        when(statisticsService.getNodeConnectorStatistics(any()))
+                .thenThrow(new IllegalStateException("Statistics RPC not available"));
+        List<DpnStatsPoller> pollers = new ArrayList<>();
+        for (int i = 0; i <= MAX_POLLS_IN_FLIGHT; i++) {
+            pollers.add(addSwitch(String.valueOf(i)));
+        }
+
+        // Each failed poll gives its slot back, so that all the switches get one, and is polled again later on
+        pollers.forEach(DpnStatsPoller::run);
+        verify(statisticsService, times(MAX_POLLS_IN_FLIGHT + 1)).getNodeConnectorStatistics(any());
+        pollers.forEach(poller -> verify(executor).schedule(poller, INTERVAL_SECONDS, TimeUnit.SECONDS));
+        verify(executor, never()).schedule(any(Runnable.class), eq(POLL_RETRY_SECONDS), any());
+    }
+
+    private DpnStatsPoller addSwitch(String dpId) {
+        nodeConnectorStats.add(InstanceIdentifier.create(Nodes.class).child(Node.class),
+                new NodeBuilder().setId(new NodeId("openflow:" + dpId)).build());
+        DpnStatsPoller poller = nodeConnectorStats.getPoller(dpId);
+        assertNotNull(poller);
+        // Forget the first poll scheduled at a random time
+        clearInvocations(executor);
+        return poller;
+    }
+
+    private static GetNodeConnectorStatisticsOutput statistics(long packets) {
+        NodeConnectorId nodeConnectorId = new NodeConnectorId("1");
+        NodeConnectorStatisticsAndPortNumberMap port = new NodeConnectorStatisticsAndPortNumberMapBuilder()
+                .withKey(new NodeConnectorStatisticsAndPortNumberMapKey(nodeConnectorId))
+                .setNodeConnectorId(nodeConnectorId)
+                .setPackets(new PacketsBuilder().setReceived(Uint64.valueOf(packets))
+                        .setTransmitted(Uint64.valueOf(packets)).build())
+                .build();
+        return new GetNodeConnectorStatisticsOutputBuilder()
+                .setNodeConnectorStatisticsAndPortNumberMap(Map.of(port.key(), port)).build();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.interfacemanager.listeners.InterfaceChildCache;
+import org.opendaylight.genius.interfacemanager.listeners.PortNameCache;
+import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.Counter32;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.GetNodeConnectorStatisticsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.direct.statistics.rev160511.OpendaylightDirectStatisticsService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.config.rev160406.IfmConfigBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._interface.child.info._interface.parent.entry.InterfaceChildEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._interface.child.info._interface.parent.entry.InterfaceChildEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._interface.child.info._interface.parent.entry.InterfaceChildEntryKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnector;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnectorBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnectorKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.node.connector.statistics.BytesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.node.connector.statistics.DurationBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.model.statistics.types.rev130925.node.connector.statistics.PacketsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMapBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.port.statistics.rev131214.node.connector.statistics.and.port.number.map.NodeConnectorStatisticsAndPortNumberMapKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+
+/**
+ * Test of the port counters of {@link NodeConnectorStatsImpl}, processing the node connector statistics of a switch
+ * with 500 ports repeatedly once their counters exist.
+ */
+public class NodeConnectorStatsImplTest {
+
+    private static final String DPN_ID = "1";
+    private static final int PORTS = 500;
+    private static final int POLLS = 2000;
+
+    private PortNameCache portNameCache;
+    private InterfaceChildCache interfaceChildCache;
+    private NodeConnectorStatsImpl nodeConnectorStats;
+
+    @Before
+    public void start() {
+        DataBroker dataBroker = new DataBrokerTestModule(false).getDataBroker();
+        portNameCache = mock(PortNameCache.class);
+        when(portNameCache.get(anyString())).thenReturn(Optional.of("tap-port"));
+        interfaceChildCache = mock(InterfaceChildCache.class);
+        InterfaceChildEntry childEntry = new InterfaceChildEntryBuilder()
+                .withKey(new InterfaceChildEntryKey("port-uuid")).setChildInterface("port-uuid").build();
+        when(interfaceChildCache.getInterfaceChildEntries(anyString()))
+                .thenReturn(Optional.of(Map.of(childEntry.key(), childEntry)));
+        // Polling is off, the statistics are processed by the test itself
+        nodeConnectorStats = new NodeConnectorStatsImpl(dataBroker, mock(OpendaylightDirectStatisticsService.class),
+                mock(EntityOwnershipUtils.class), portNameCache, interfaceChildCache,
+                new IfmConfigBuilder().setIfmStatsPollEnabled(false).build(), new TestMetricProviderImpl());
+    }
+
+    @After
+    public void stop() {
+        nodeConnectorStats.close();
+    }
+
+    @Test
+    public void testProcessingOf500Ports() {
+        GetNodeConnectorStatisticsOutput[] samples = { statistics(1), statistics(2) };
+        nodeConnectorStats.processNodeConnectorStatistics(samples[0], DPN_ID);
+        assertEquals(PORTS, nodeConnectorStats.getPortCountersSize(DPN_ID));
+        assertPortCounters(1);
+
+        for (int i = 0; i < POLLS; i++) {
+            nodeConnectorStats.processNodeConnectorStatistics(samples[i % 2], DPN_ID);
+            // The counters go down to the first sample, and up to the second one
+            assertPortCounters(i % 2 + 1);
+        }
+        assertEquals(PORTS, nodeConnectorStats.getPortCountersSize(DPN_ID));
+        // The aliases of the ports were only resolved when the ports were first seen
+        verify(portNameCache, times(PORTS)).get(anyString());
+        verify(interfaceChildCache, times(PORTS)).getInterfaceChildEntries(anyString());
+    }
+
+    @Test
+    public void testPortCountersRemovedWithPort() {
+        nodeConnectorStats.processNodeConnectorStatistics(statistics(1), DPN_ID);
+
+        nodeConnectorStats.update(InstanceIdentifier.create(Nodes.class).child(Node.class), node(PORTS),
+                node(PORTS - 1));
+        assertEquals(PORTS - 1, nodeConnectorStats.getPortCountersSize(DPN_ID));
+
+        // The counters of a port seen again are created again
+        nodeConnectorStats.processNodeConnectorStatistics(statistics(2), DPN_ID);
+        assertEquals(PORTS, nodeConnectorStats.getPortCountersSize(DPN_ID));
+        assertPortCounters(2);
+        verify(portNameCache, times(PORTS + 1)).get(anyString());
+    }
+
+    private void assertPortCounters(long value) {
+        for (int port : new int[] { 1, PORTS / 2, PORTS }) {
+            long counterValue = value * port;
+            assertArrayEquals("Counters of port " + port,
+                    new long[] { value, counterValue, counterValue, counterValue, counterValue, counterValue,
+                        counterValue },
+                    nodeConnectorStats.getPortCounterValues(DPN_ID, String.valueOf(port)));
+        }
+    }
+
+    private static GetNodeConnectorStatisticsOutput statistics(long value) {
+        Map<NodeConnectorStatisticsAndPortNumberMapKey, NodeConnectorStatisticsAndPortNumberMap> ports =
+                new HashMap<>();
+        for (int port = 1; port <= PORTS; port++) {
+            NodeConnectorId nodeConnectorId = new NodeConnectorId(String.valueOf(port));
+            Uint64 counterValue = Uint64.valueOf(value * port);
+            ports.put(new NodeConnectorStatisticsAndPortNumberMapKey(nodeConnectorId),
+                    new NodeConnectorStatisticsAndPortNumberMapBuilder()
+                            .withKey(new NodeConnectorStatisticsAndPortNumberMapKey(nodeConnectorId))
+                            .setNodeConnectorId(nodeConnectorId)
+                            .setDuration(new DurationBuilder().setSecond(new Counter32(Uint32.valueOf(value)))
+                                    .setNanosecond(new Counter32(Uint32.ZERO)).build())
+                            .setReceiveDrops(counterValue).setReceiveErrors(counterValue)
+                            .setPackets(new PacketsBuilder().setReceived(counterValue).setTransmitted(counterValue)
+                                    .build())
+                            .setBytes(new BytesBuilder().setReceived(counterValue).setTransmitted(counterValue)
+                                    .build())
+                            .build());
+        }
+        return new GetNodeConnectorStatisticsOutputBuilder().setNodeConnectorStatisticsAndPortNumberMap(ports)
+                .build();
+    }
+
+    private static Node node(int ports) {
+        Map<NodeConnectorKey, NodeConnector> nodeConnectors = new HashMap<>();
+        for (int port = 1; port <= ports; port++) {
+            NodeConnectorKey key = new NodeConnectorKey(new NodeConnectorId("openflow:" + DPN_ID + ":" + port));
+            nodeConnectors.put(key, new NodeConnectorBuilder().withKey(key).build());
+        }
+        return new NodeBuilder().setId(new NodeId("openflow:" + DPN_ID)).setNodeConnector(nodeConnectors).build();
+    }
+}
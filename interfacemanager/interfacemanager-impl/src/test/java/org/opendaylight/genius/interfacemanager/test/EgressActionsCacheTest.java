@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.opendaylight.mdsal.common.api.LogicalDatastoreType.CONFIGURATION;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.interfacemanager.IfmUtil;
+import org.opendaylight.genius.interfacemanager.commons.EgressActionsCache;
+import org.opendaylight.genius.interfacemanager.commons.InterfaceManagerCommonUtils;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.Interface;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.InterfaceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rev160406.TunnelTypeVxlan;
+import org.opendaylight.yangtools.yang.common.Uint64;
+
+/**
+ * Test of the {@link EgressActionsCache}, checking its lookups against the computation of the egress actions from the
+ * interface config and state done for each getEgressActionsForInterface call before.
+ */
+public class EgressActionsCacheTest {
+
+    private static final String TUNNEL_NAME = "tun1";
+    private static final int CALLS = 10;
+    private static final Long TUNNEL_KEY = 100L;
+    private static final Integer ACTION_KEY = 5;
+
+    private InterfaceManagerCommonUtils interfaceManagerCommonUtils;
+    private EgressActionsCache egressActionsCache;
+
+    @Before
+    public void start() throws Exception {
+        DataBroker dataBroker = new DataBrokerTestModule(false).getDataBroker();
+        WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
+        tx.put(CONFIGURATION, IfmUtil.buildId(TUNNEL_NAME), InterfaceManagerTestUtil.buildTunnelInterface(
+                Uint64.ONE, TUNNEL_NAME, TUNNEL_NAME, true, TunnelTypeVxlan.class, "2.2.2.2", "1.1.1.1"));
+        tx.commit().get();
+        // Only the data broker is used to read the interface config and state
+        interfaceManagerCommonUtils = new InterfaceManagerCommonUtils(dataBroker, null, null, null, null);
+        interfaceManagerCommonUtils.addInterfaceStateToCache(interfaceState(1));
+        egressActionsCache = new EgressActionsCache(interfaceManagerCommonUtils,
+                mock(MetricProvider.class, RETURNS_DEEP_STUBS));
+    }
+
+    @Test
+    public void testCachedLookups() {
+        List<Action> computed = IfmUtil.getEgressActionsForInterface(TUNNEL_NAME, TUNNEL_KEY, ACTION_KEY,
+                interfaceManagerCommonUtils, false);
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals(computed, egressActionsCache.getEgressActions(TUNNEL_NAME, TUNNEL_KEY, ACTION_KEY));
+        }
+        assertEquals(1, egressActionsCache.getMissCount());
+        assertEquals(CALLS - 1, egressActionsCache.getHitCount());
+
+        // The cached actions are shared by all action key starts and tunnel keys are cached separately
+        assertEquals(IfmUtil.getEgressActionsForInterface(TUNNEL_NAME, TUNNEL_KEY, null, interfaceManagerCommonUtils,
+                false), egressActionsCache.getEgressActions(TUNNEL_NAME, TUNNEL_KEY, null));
+        assertEquals(IfmUtil.getEgressActionsForInterface(TUNNEL_NAME, null, ACTION_KEY, interfaceManagerCommonUtils,
+                false), egressActionsCache.getEgressActions(TUNNEL_NAME, null, ACTION_KEY));
+        assertEquals(2, egressActionsCache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidation() {
+        List<Action> before = egressActionsCache.getEgressActions(TUNNEL_NAME, null, null);
+
+        // As done by the interface state listener when the interface gets another ifIndex
+        interfaceManagerCommonUtils.addInterfaceStateToCache(interfaceState(2));
+        egressActionsCache.invalidate(TUNNEL_NAME);
+
+        List<Action> after = egressActionsCache.getEgressActions(TUNNEL_NAME, null, null);
+        assertNotEquals(before, after);
+        assertEquals(IfmUtil.getEgressActionsForInterface(TUNNEL_NAME, null, null, interfaceManagerCommonUtils,
+                false), after);
+        assertEquals(1, egressActionsCache.getInvalidationCount());
+        assertEquals(2, egressActionsCache.getMissCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testMissingInterface() {
+        try {
+            egressActionsCache.getEgressActions("unknown", null, null);
+        } finally {
+            assertEquals(0, egressActionsCache.size());
+        }
+    }
+
+    private static Interface interfaceState(int ifIndex) {
+        return new InterfaceBuilder().setName(TUNNEL_NAME).setIfIndex(ifIndex)
+                .setLowerLayerIf(Collections.singletonList("openflow:1:2")).build();
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.genius.interfacemanager.test;
 
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 
 import org.opendaylight.daexim.DataImportBootReady;
@@ -45,6 +46,7 @@ import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
 import org.opendaylight.genius.utils.hwvtep.HwvtepHACache;
 import org.opendaylight.infrautils.caches.CacheProvider;
 import org.opendaylight.infrautils.inject.guice.testutils.AbstractGuiceJsr250Module;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.dom.adapter.ConstantAdapterContext;
 import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
@@ -120,5 +122,6 @@ public class InterfaceManagerTestModule extends AbstractGuiceJsr250Module {
         bind(IfmConfig.class).toInstance(mock(IfmConfig.class));
         bind(CacheProvider.class).toInstance(mock(CacheProvider.class));
         bind(IfmDiagStatusProvider.class).toInstance(mock(IfmDiagStatusProvider.class));
+        bind(MetricProvider.class).toInstance(mock(MetricProvider.class, RETURNS_DEEP_STUBS));
     }
 }
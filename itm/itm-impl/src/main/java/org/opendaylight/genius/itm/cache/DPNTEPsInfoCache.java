@@ -23,6 +23,7 @@ import org.opendaylight.genius.itm.utils.TunnelStateInfoBuilder;
 import org.opendaylight.genius.mdsalutil.cache.InstanceIdDataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.infrautils.utils.concurrent.NamedSimpleReentrantLock.Acquired;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
@@ -55,9 +56,10 @@ public class DPNTEPsInfoCache extends InstanceIdDataObjectCache<DPNTEPsInfo> {
 
     @Inject
     public DPNTEPsInfoCache(final DataBroker dataBroker, final CacheProvider cacheProvider,
+                            final MetricProvider metricProvider,
                             final DirectTunnelUtils directTunnelUtils, final JobCoordinator coordinator,
                             final UnprocessedNodeConnectorEndPointCache unprocessedNodeConnectorEndPointCache) {
-        super(DPNTEPsInfo.class, dataBroker, LogicalDatastoreType.CONFIGURATION, cacheProvider);
+        super(DPNTEPsInfo.class, dataBroker, LogicalDatastoreType.CONFIGURATION, cacheProvider, metricProvider);
         this.directTunnelUtils = directTunnelUtils;
         this.coordinator = coordinator;
         this.unprocessedNodeConnectorEndPointCache = unprocessedNodeConnectorEndPointCache;
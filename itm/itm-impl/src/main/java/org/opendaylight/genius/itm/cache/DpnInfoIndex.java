@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.cache;
+
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.serviceutils.tools.listener.AbstractClusteredSyncDataTreeChangeListener;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.TransportZones;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZone;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZoneKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.Vteps;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory indexes of the compute node description of the DPNs in the OPERATIONAL inventory, and of the transport
+ * zones and TEP IPs of the DPNs in the CONFIGURATION transport zones, maintained by listeners, so that the DPN
+ * information of k compute nodes is found in O(k) instead of by reading and scanning both trees.
+ */
+@Singleton
+public class DpnInfoIndex implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DpnInfoIndex.class);
+
+    private final ConcurrentMap<String, Uint64> dpnIdsByDescription = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Uint64, String> descriptionsByDpnId = new ConcurrentHashMap<>();
+    // Zone name to TEP IP for each DPN, sorted so that the zone picked for a DPN in several zones is stable
+    private final ConcurrentMap<Uint64, ConcurrentSkipListMap<String, IpAddress>> vtepsByDpnId =
+            new ConcurrentHashMap<>();
+    private final InventoryNodeListener inventoryNodeListener;
+    private final VtepListener vtepListener;
+
+    @Inject
+    public DpnInfoIndex(DataBroker dataBroker) {
+        this.inventoryNodeListener = new InventoryNodeListener(dataBroker);
+        this.vtepListener = new VtepListener(dataBroker);
+    }
+
+    /**
+     * Returns the DPN whose switch has the given description, typically the compute node name.
+     */
+    public @Nullable Uint64 getDpnId(String description) {
+        return dpnIdsByDescription.get(description);
+    }
+
+    /**
+     * Returns the first transport zone of the DPN, by name, with the TEP IP of the DPN in that zone.
+     */
+    public @Nullable Entry<String, IpAddress> getVtep(Uint64 dpnId) {
+        ConcurrentSkipListMap<String, IpAddress> vteps = vtepsByDpnId.get(dpnId);
+        return vteps != null ? vteps.firstEntry() : null;
+    }
+
+    public int getDpnCount() {
+        return descriptionsByDpnId.size();
+    }
+
+    public int getVtepDpnCount() {
+        return vtepsByDpnId.size();
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        inventoryNodeListener.close();
+        vtepListener.close();
+    }
+
+    private void nodeUpdated(Uint64 dpnId, @Nullable String description) {
+        String previous = description != null ? descriptionsByDpnId.put(dpnId, description)
+                : descriptionsByDpnId.remove(dpnId);
+        if (previous != null && !previous.equals(description)) {
+            dpnIdsByDescription.remove(previous, dpnId);
+        }
+        if (description != null) {
+            dpnIdsByDescription.put(description, dpnId);
+        }
+    }
+
+    private static @Nullable Uint64 getDpnId(InstanceIdentifier<?> iid) {
+        NodeKey nodeKey = iid.firstKeyOf(Node.class);
+        // Node ids are of the form openflow:dpnid
+        String[] nodeId = nodeKey != null ? nodeKey.getId().getValue().split(":") : new String[0];
+        if (nodeId.length != 2) {
+            return null;
+        }
+        try {
+            return Uint64.valueOf(nodeId[1]);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Ignoring node {} which is not an openflow node", nodeKey.getId().getValue(), e);
+            return null;
+        }
+    }
+
+    private class InventoryNodeListener extends AbstractClusteredSyncDataTreeChangeListener<FlowCapableNode> {
+
+        InventoryNodeListener(DataBroker dataBroker) {
+            super(dataBroker, LogicalDatastoreType.OPERATIONAL,
+                    InstanceIdentifier.create(Nodes.class).child(Node.class).augmentation(FlowCapableNode.class));
+            super.register();
+        }
+
+        @Override
+        public void add(InstanceIdentifier<FlowCapableNode> iid, FlowCapableNode flowCapableNode) {
+            Uint64 dpnId = getDpnId(iid);
+            if (dpnId != null) {
+                nodeUpdated(dpnId, flowCapableNode.getDescription());
+            }
+        }
+
+        @Override
+        public void update(InstanceIdentifier<FlowCapableNode> iid, FlowCapableNode original,
+                FlowCapableNode update) {
+            // Called for any change of the tables, flows or groups of the node; only the description matters here
+            if (!Objects.equals(original.getDescription(), update.getDescription())) {
+                add(iid, update);
+            }
+        }
+
+        @Override
+        public void remove(InstanceIdentifier<FlowCapableNode> iid, FlowCapableNode flowCapableNode) {
+            Uint64 dpnId = getDpnId(iid);
+            if (dpnId != null) {
+                nodeUpdated(dpnId, null);
+            }
+        }
+    }
+
+    private class VtepListener extends AbstractClusteredSyncDataTreeChangeListener<Vteps> {
+
+        VtepListener(DataBroker dataBroker) {
+            super(dataBroker, LogicalDatastoreType.CONFIGURATION,
+                    InstanceIdentifier.create(TransportZones.class).child(TransportZone.class).child(Vteps.class));
+            super.register();
+        }
+
+        @Override
+        public void add(InstanceIdentifier<Vteps> iid, Vteps vtep) {
+            TransportZoneKey zoneKey = iid.firstKeyOf(TransportZone.class);
+            if (vtep.getDpnId() != null && vtep.getIpAddress() != null) {
+                vtepsByDpnId.computeIfAbsent(vtep.getDpnId(), dpnId -> new ConcurrentSkipListMap<>())
+                        .put(zoneKey.getZoneName(), vtep.getIpAddress());
+            }
+        }
+
+        @Override
+        public void update(InstanceIdentifier<Vteps> iid, Vteps original, Vteps update) {
+            remove(iid, original);
+            add(iid, update);
+        }
+
+        @Override
+        public void remove(InstanceIdentifier<Vteps> iid, Vteps vtep) {
+            String zoneName = iid.firstKeyOf(TransportZone.class).getZoneName();
+            vtepsByDpnId.computeIfPresent(vtep.getDpnId(), (dpnId, vteps) -> {
+                vteps.remove(zoneName);
+                return vteps.isEmpty() ? null : vteps;
+            });
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DpnInfoIndex{dpns=" + getDpnCount() + ", vtepDpns=" + getVtepDpnCount() + "}";
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.genius.itm.cache;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,8 +32,11 @@ import org.opendaylight.genius.itm.utils.TunnelStateInfoBuilder;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.infrautils.utils.concurrent.NamedSimpleReentrantLock.Acquired;
 import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.DataObjectModification;
+import org.opendaylight.mdsal.binding.api.DataObjectModification.ModificationType;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunnerImpl;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -68,12 +72,13 @@ public class DpnTepStateCache extends DataObjectCache<Uint64, DpnsTeps> {
 
     @Inject
     public DpnTepStateCache(DataBroker dataBroker, JobCoordinator coordinator,
-                            CacheProvider cacheProvider, DirectTunnelUtils directTunnelUtils,
+                            CacheProvider cacheProvider, MetricProvider metricProvider,
+                            DirectTunnelUtils directTunnelUtils,
                             DPNTEPsInfoCache dpnTepsInfoCache,
                             UnprocessedNodeConnectorCache unprocessedNCCache,
                             UnprocessedNodeConnectorEndPointCache unprocessedNodeConnectorEndPointCache) {
         super(DpnsTeps.class, dataBroker, LogicalDatastoreType.CONFIGURATION,
-            InstanceIdentifier.builder(DpnTepsState.class).child(DpnsTeps.class).build(), cacheProvider,
+            InstanceIdentifier.builder(DpnTepsState.class).child(DpnsTeps.class).build(), cacheProvider, metricProvider,
             (iid, dpnsTeps) -> dpnsTeps.getSourceDpnId(),
             sourceDpnId -> InstanceIdentifier.builder(DpnTepsState.class)
                     .child(DpnsTeps.class, new DpnsTepsKey(sourceDpnId)).build());
@@ -88,90 +93,136 @@ public class DpnTepStateCache extends DataObjectCache<Uint64, DpnsTeps> {
 
     @Override
     protected void added(InstanceIdentifier<DpnsTeps> path, DpnsTeps dpnsTeps) {
-        String srcOfTunnel = dpnsTeps.getOfTunnel();
         for (RemoteDpns remoteDpns : dpnsTeps.nonnullRemoteDpns().values()) {
-            DpnTepInterfaceInfo value = new DpnTepInterfaceInfoBuilder()
-                .setTunnelName(remoteDpns.getTunnelName())
-                .setIsMonitoringEnabled(remoteDpns.isMonitoringEnabled())
-                .setIsInternal(remoteDpns.isInternal())
-                .setTunnelType(dpnsTeps.getTunnelType())
-                .setRemoteDPN(remoteDpns.getDestinationDpnId()).build();
-            final CacheKey key = new CacheKey(dpnsTeps.getSourceDpnId(), remoteDpns.getDestinationDpnId());
-            dpnTepInterfaceMap.put(key, value);
-
-            addTunnelEndPointInfoToCache(remoteDpns.getTunnelName(), dpnsTeps.getSourceDpnId(),
-                    remoteDpns.getDestinationDpnId());
+            addRemoteDpn(dpnsTeps, remoteDpns);
+        }
+    }
 
-            //Process the unprocessed NodeConnector for the Tunnel, if present in the UnprocessedNodeConnectorCache
+    @Override
+    protected void modified(InstanceIdentifier<DpnsTeps> path, DataObjectModification<DpnsTeps> modification) {
+        DpnsTeps dpnsTeps = modification.getDataAfter();
+        DpnsTeps dpnsTepsBefore = modification.getDataBefore();
+        if (dpnsTepsBefore == null || !Objects.equals(dpnsTepsBefore.getTunnelType(), dpnsTeps.getTunnelType())
+                || !Objects.equals(dpnsTepsBefore.getOfTunnel(), dpnsTeps.getOfTunnel())) {
+            added(path, dpnsTeps);
+            return;
+        }
 
-            final String dpn = key.toString();
-            TunnelStateInfo tunnelStateInfoNew = null;
-            TunnelStateInfo tunnelStateInfo;
-            try (Acquired lock = directTunnelUtils.lockTunnel(remoteDpns.getTunnelName())) {
-                if (srcOfTunnel != null) {
-                    tunnelStateInfo = unprocessedNCCache.remove(dpn);
-                    if (tunnelStateInfo == null) {
-                        tunnelStateInfo = unprocessedNCCache.remove(remoteDpns.getTunnelName());
-                    }
+        // Only the RemoteDpns which changed are processed, adding a DPN to a mesh of N DPNs modifies one RemoteDpns
+        // of each of the N DpnsTeps
+        if (modification.getModificationType() == ModificationType.SUBTREE_MODIFIED) {
+            for (DataObjectModification<RemoteDpns> remoteDpnsModification
+                    : modification.getModifiedChildren(RemoteDpns.class)) {
+                if (remoteDpnsModification.getModificationType() == ModificationType.DELETE) {
+                    removeRemoteDpn(dpnsTeps.getSourceDpnId(), remoteDpnsModification.getDataBefore());
                 } else {
-                    tunnelStateInfo = unprocessedNCCache.remove(remoteDpns.getTunnelName());
+                    addRemoteDpn(dpnsTeps, remoteDpnsModification.getDataAfter());
                 }
             }
+        } else {
+            // The DpnsTeps was replaced as a whole
+            Map<RemoteDpnsKey, RemoteDpns> remoteDpnsBefore = dpnsTepsBefore.nonnullRemoteDpns();
+            Map<RemoteDpnsKey, RemoteDpns> remoteDpnsAfter = dpnsTeps.nonnullRemoteDpns();
+            for (RemoteDpns remoteDpns : remoteDpnsAfter.values()) {
+                if (!remoteDpns.equals(remoteDpnsBefore.get(remoteDpns.key()))) {
+                    addRemoteDpn(dpnsTeps, remoteDpns);
+                }
+            }
+            for (RemoteDpns remoteDpns : remoteDpnsBefore.values()) {
+                if (!remoteDpnsAfter.containsKey(remoteDpns.key())) {
+                    removeRemoteDpn(dpnsTeps.getSourceDpnId(), remoteDpns);
+                }
+            }
+        }
+    }
 
-            if (tunnelStateInfo != null) {
-                LOG.debug("Processing the Unprocessed NodeConnector for Tunnel {}", remoteDpns.getTunnelName());
+    private void addRemoteDpn(DpnsTeps dpnsTeps, RemoteDpns remoteDpns) {
+        String srcOfTunnel = dpnsTeps.getOfTunnel();
+        DpnTepInterfaceInfo value = new DpnTepInterfaceInfoBuilder()
+            .setTunnelName(remoteDpns.getTunnelName())
+            .setIsMonitoringEnabled(remoteDpns.isMonitoringEnabled())
+            .setIsInternal(remoteDpns.isInternal())
+            .setTunnelType(dpnsTeps.getTunnelType())
+            .setRemoteDPN(remoteDpns.getDestinationDpnId()).build();
+        final CacheKey key = new CacheKey(dpnsTeps.getSourceDpnId(), remoteDpns.getDestinationDpnId());
+        dpnTepInterfaceMap.put(key, value);
 
-                TunnelEndPointInfo tunnelEndPtInfo = getTunnelEndPointInfo(dpnsTeps.getSourceDpnId(),
-                        remoteDpns.getDestinationDpnId());
-                TunnelStateInfoBuilder builder = new TunnelStateInfoBuilder()
-                    .setNodeConnectorInfo(tunnelStateInfo.getNodeConnectorInfo())
-                    .setDpnTepInterfaceInfo(value)
-                    .setTunnelEndPointInfo(tunnelEndPtInfo);
-
-                dpnTepsInfoCache.getDPNTepFromDPNId(dpnsTeps.getSourceDpnId()).ifPresent(builder::setSrcDpnTepsInfo);
-                dpnTepsInfoCache.getDPNTepFromDPNId(remoteDpns.getDestinationDpnId())
-                    .ifPresent(builder::setDstDpnTepsInfo);
-
-                tunnelStateInfoNew = builder.build();
-                if (tunnelStateInfoNew.getSrcDpnTepsInfo() == null) {
-                    String srcDpnId = tunnelStateInfoNew.getTunnelEndPointInfo().getSrcEndPointName();
-                    try (Acquired lock = directTunnelUtils.lockTunnel(srcDpnId)) {
-                        LOG.debug("Source DPNTepsInfo is null for tunnel {}. Hence Parking with key {}",
-                            remoteDpns.getTunnelName(), srcDpnId);
-                        unprocessedNodeConnectorEndPointCache.add(srcDpnId, tunnelStateInfoNew);
-                    }
+        addTunnelEndPointInfoToCache(remoteDpns.getTunnelName(), dpnsTeps.getSourceDpnId(),
+                remoteDpns.getDestinationDpnId());
+
+        //Process the unprocessed NodeConnector for the Tunnel, if present in the UnprocessedNodeConnectorCache
+
+        final String dpn = key.toString();
+        TunnelStateInfo tunnelStateInfoNew = null;
+        TunnelStateInfo tunnelStateInfo;
+        try (Acquired lock = directTunnelUtils.lockTunnel(remoteDpns.getTunnelName())) {
+            if (srcOfTunnel != null) {
+                tunnelStateInfo = unprocessedNCCache.remove(dpn);
+                if (tunnelStateInfo == null) {
+                    tunnelStateInfo = unprocessedNCCache.remove(remoteDpns.getTunnelName());
                 }
+            } else {
+                tunnelStateInfo = unprocessedNCCache.remove(remoteDpns.getTunnelName());
+            }
+        }
 
-                if (tunnelStateInfoNew.getDstDpnTepsInfo() == null) {
-                    String dstDpnId = tunnelStateInfoNew.getTunnelEndPointInfo().getDstEndPointName();
-                    try (Acquired lock = directTunnelUtils.lockTunnel(dstDpnId)) {
-                        LOG.debug("Destination DPNTepsInfo is null for tunnel {}. Hence Parking with key {}",
-                            remoteDpns.getTunnelName(), dstDpnId);
-                        unprocessedNodeConnectorEndPointCache.add(dstDpnId, tunnelStateInfoNew);
-                    }
+        if (tunnelStateInfo != null) {
+            LOG.debug("Processing the Unprocessed NodeConnector for Tunnel {}", remoteDpns.getTunnelName());
+
+            TunnelEndPointInfo tunnelEndPtInfo = getTunnelEndPointInfo(dpnsTeps.getSourceDpnId(),
+                    remoteDpns.getDestinationDpnId());
+            TunnelStateInfoBuilder builder = new TunnelStateInfoBuilder()
+                .setNodeConnectorInfo(tunnelStateInfo.getNodeConnectorInfo())
+                .setDpnTepInterfaceInfo(value)
+                .setTunnelEndPointInfo(tunnelEndPtInfo);
+
+            dpnTepsInfoCache.getDPNTepFromDPNId(dpnsTeps.getSourceDpnId()).ifPresent(builder::setSrcDpnTepsInfo);
+            dpnTepsInfoCache.getDPNTepFromDPNId(remoteDpns.getDestinationDpnId())
+                .ifPresent(builder::setDstDpnTepsInfo);
+
+            tunnelStateInfoNew = builder.build();
+            if (tunnelStateInfoNew.getSrcDpnTepsInfo() == null) {
+                String srcDpnId = tunnelStateInfoNew.getTunnelEndPointInfo().getSrcEndPointName();
+                try (Acquired lock = directTunnelUtils.lockTunnel(srcDpnId)) {
+                    LOG.debug("Source DPNTepsInfo is null for tunnel {}. Hence Parking with key {}",
+                        remoteDpns.getTunnelName(), srcDpnId);
+                    unprocessedNodeConnectorEndPointCache.add(srcDpnId, tunnelStateInfoNew);
                 }
             }
 
-            if (tunnelStateInfoNew != null && tunnelStateInfoNew.getSrcDpnTepsInfo() != null
-                && tunnelStateInfoNew.getDstDpnTepsInfo() != null && directTunnelUtils.isEntityOwner()) {
-                TunnelStateAddWorkerForNodeConnector ifStateAddWorker =
-                    new TunnelStateAddWorkerForNodeConnector(new TunnelStateAddWorker(directTunnelUtils, txRunner),
-                        tunnelStateInfoNew);
-                EVENT_LOGGER.debug("ITM-DpnTepStateCache,ADD {}", remoteDpns.getTunnelName());
-                coordinator.enqueueJob(remoteDpns.getTunnelName(), ifStateAddWorker, ITMConstants.JOB_MAX_RETRIES);
+            if (tunnelStateInfoNew.getDstDpnTepsInfo() == null) {
+                String dstDpnId = tunnelStateInfoNew.getTunnelEndPointInfo().getDstEndPointName();
+                try (Acquired lock = directTunnelUtils.lockTunnel(dstDpnId)) {
+                    LOG.debug("Destination DPNTepsInfo is null for tunnel {}. Hence Parking with key {}",
+                        remoteDpns.getTunnelName(), dstDpnId);
+                    unprocessedNodeConnectorEndPointCache.add(dstDpnId, tunnelStateInfoNew);
+                }
             }
         }
+
+        if (tunnelStateInfoNew != null && tunnelStateInfoNew.getSrcDpnTepsInfo() != null
+            && tunnelStateInfoNew.getDstDpnTepsInfo() != null && directTunnelUtils.isEntityOwner()) {
+            TunnelStateAddWorkerForNodeConnector ifStateAddWorker =
+                new TunnelStateAddWorkerForNodeConnector(new TunnelStateAddWorker(directTunnelUtils, txRunner),
+                    tunnelStateInfoNew);
+            EVENT_LOGGER.debug("ITM-DpnTepStateCache,ADD {}", remoteDpns.getTunnelName());
+            coordinator.enqueueJob(remoteDpns.getTunnelName(), ifStateAddWorker, ITMConstants.JOB_MAX_RETRIES);
+        }
     }
 
     @Override
     protected void removed(InstanceIdentifier<DpnsTeps> path, DpnsTeps dpnsTeps) {
         for (RemoteDpns remoteDpns : dpnsTeps.nonnullRemoteDpns().values()) {
-            dpnTepInterfaceMap.remove(new CacheKey(dpnsTeps.getSourceDpnId(), remoteDpns.getDestinationDpnId()));
-            tunnelEndpointMap.remove(remoteDpns.getTunnelName());
-            dpnTepInterfaceMap.remove(new CacheKey(remoteDpns.getDestinationDpnId(), dpnsTeps.getSourceDpnId()));
+            removeRemoteDpn(dpnsTeps.getSourceDpnId(), remoteDpns);
         }
     }
 
+    private void removeRemoteDpn(Uint64 srcDpnId, RemoteDpns remoteDpns) {
+        dpnTepInterfaceMap.remove(new CacheKey(srcDpnId, remoteDpns.getDestinationDpnId()));
+        tunnelEndpointMap.remove(remoteDpns.getTunnelName());
+        dpnTepInterfaceMap.remove(new CacheKey(remoteDpns.getDestinationDpnId(), srcDpnId));
+    }
+
     public DpnTepInterfaceInfo getDpnTepInterface(Uint64 srcDpnId, Uint64 dstDpnId) {
 
         CacheKey srcDst = new CacheKey(srcDpnId, dstDpnId);
@@ -19,6 +19,7 @@ import org.opendaylight.genius.itm.utils.NodeConnectorInfo;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.infrautils.utils.concurrent.NamedSimpleReentrantLock.Acquired;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.util.ManagedNewTransactionRunner;
@@ -44,11 +45,12 @@ public class OfDpnTepConfigCache extends DataObjectCache<BigInteger, OfDpnTep> {
 
     @Inject
     public OfDpnTepConfigCache(DataBroker dataBroker, JobCoordinator coordinator,
-                               CacheProvider cacheProvider,
+                               CacheProvider cacheProvider, MetricProvider metricProvider,
                                DirectTunnelUtils directTunnelUtils,
                                UnprocessedOFNodeConnectorCache unprocessedOFNCCache) {
         super(OfDpnTep.class, dataBroker, LogicalDatastoreType.CONFIGURATION,
             InstanceIdentifier.builder(DpnTepConfig.class).child(OfDpnTep.class).build(), cacheProvider,
+            metricProvider,
             (iid, dpnsTeps) -> dpnsTeps.getSourceDpnId().toJava(),
             sourceDpnId -> InstanceIdentifier.builder(DpnTepConfig.class)
                     .child(OfDpnTep.class, new OfDpnTepKey(Uint64.valueOf(sourceDpnId))).build());
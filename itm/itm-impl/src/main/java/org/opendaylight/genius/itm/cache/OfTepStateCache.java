@@ -20,6 +20,7 @@ import org.opendaylight.genius.itm.servicebinding.BindServiceUtils;
 import org.opendaylight.genius.mdsalutil.MDSALUtil;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.iana._if.type.rev170119.Tunnel;
@@ -43,10 +44,10 @@ public class OfTepStateCache extends DataObjectCache<String, OfTep> {
     private static final Logger LOG = LoggerFactory.getLogger(OfTepStateCache.class);
 
     @Inject
-    public OfTepStateCache(DataBroker dataBroker, CacheProvider cacheProvider,
+    public OfTepStateCache(DataBroker dataBroker, CacheProvider cacheProvider, MetricProvider metricProvider,
                            IInterfaceManager interfaceManager, DirectTunnelUtils directTunnelUtils) {
         super(OfTep.class, dataBroker, LogicalDatastoreType.OPERATIONAL,
-            InstanceIdentifier.builder(OfTepsState.class).child(OfTep.class).build(), cacheProvider,
+            InstanceIdentifier.builder(OfTepsState.class).child(OfTep.class).build(), cacheProvider, metricProvider,
             (iid, ofTepList) -> ofTepList.getOfPortName(), ofPortName -> InstanceIdentifier.builder(OfTepsState.class)
                     .child(OfTep.class, new OfTepKey(ofPortName)).build());
         this.interfaceManager = interfaceManager;
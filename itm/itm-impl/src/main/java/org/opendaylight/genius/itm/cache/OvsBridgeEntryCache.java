@@ -11,6 +11,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.meta.rev171210.BridgeTunnelInfo;
@@ -23,9 +24,10 @@ import org.opendaylight.yangtools.yang.common.Uint64;
 public class OvsBridgeEntryCache extends DataObjectCache<Uint64, OvsBridgeEntry> {
 
     @Inject
-    public OvsBridgeEntryCache(DataBroker dataBroker, CacheProvider cacheProvider) {
+    public OvsBridgeEntryCache(DataBroker dataBroker, CacheProvider cacheProvider, MetricProvider metricProvider) {
         super(OvsBridgeEntry.class, dataBroker, LogicalDatastoreType.CONFIGURATION,
             InstanceIdentifier.builder(BridgeTunnelInfo.class).child(OvsBridgeEntry.class).build(), cacheProvider,
+            metricProvider,
             (iid, ovsBridgeEntry) -> ovsBridgeEntry.key().getDpid(),
             dpId -> InstanceIdentifier.builder(BridgeTunnelInfo.class)
                     .child(OvsBridgeEntry.class, new OvsBridgeEntryKey(dpId)).build());
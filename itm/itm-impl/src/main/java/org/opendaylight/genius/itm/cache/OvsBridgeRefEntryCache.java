@@ -11,6 +11,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.genius.mdsalutil.cache.DataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.meta.rev171210.OvsBridgeRefInfo;
@@ -23,9 +24,10 @@ import org.opendaylight.yangtools.yang.common.Uint64;
 public class OvsBridgeRefEntryCache extends DataObjectCache<Uint64, OvsBridgeRefEntry> {
 
     @Inject
-    public OvsBridgeRefEntryCache(DataBroker dataBroker, CacheProvider cacheProvider) {
+    public OvsBridgeRefEntryCache(DataBroker dataBroker, CacheProvider cacheProvider, MetricProvider metricProvider) {
         super(OvsBridgeRefEntry.class, dataBroker, LogicalDatastoreType.OPERATIONAL,
             InstanceIdentifier.builder(OvsBridgeRefInfo.class).child(OvsBridgeRefEntry.class).build(), cacheProvider,
+            metricProvider,
             (iid, ovsBridgeRefEntry) -> ovsBridgeRefEntry.key().getDpid(),
             dpId -> InstanceIdentifier.builder(OvsBridgeRefInfo.class)
                     .child(OvsBridgeRefEntry.class, new OvsBridgeRefEntryKey(dpId)).build());
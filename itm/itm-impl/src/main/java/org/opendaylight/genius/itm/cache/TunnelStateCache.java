@@ -14,6 +14,7 @@ import org.apache.aries.blueprint.annotation.service.Service;
 import org.opendaylight.genius.itm.globals.ITMConstants;
 import org.opendaylight.genius.mdsalutil.cache.InstanceIdDataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
@@ -33,9 +34,23 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 public class TunnelStateCache extends InstanceIdDataObjectCache<StateTunnelList> {
 
     @Inject
-    public TunnelStateCache(DataBroker dataBroker, CacheProvider cacheProvider) {
+    public TunnelStateCache(DataBroker dataBroker, CacheProvider cacheProvider, MetricProvider metricProvider) {
         super(StateTunnelList.class, dataBroker, LogicalDatastoreType.OPERATIONAL,
-                InstanceIdentifier.builder(TunnelsState.class).child(StateTunnelList.class).build(), cacheProvider);
+                InstanceIdentifier.builder(TunnelsState.class).child(StateTunnelList.class).build(), cacheProvider,
+                metricProvider);
+    }
+
+    /**
+     * Populates the cache with all the StateTunnelLists, read in a single read.
+     *
+     * @return the number of StateTunnelLists cached
+     * @throws ReadFailedException if the read fails
+     */
+    public int preload() throws ReadFailedException {
+        return preload(InstanceIdentifier.create(TunnelsState.class),
+            tunnelsState -> tunnelsState.nonnullStateTunnelList().values(),
+            stateTunnelList -> InstanceIdentifier.builder(TunnelsState.class)
+                .child(StateTunnelList.class, stateTunnelList.key()).build());
     }
 
     public boolean isInternalBasedOnState(String tunnelName) throws ReadFailedException {
@@ -150,6 +150,7 @@ public class ItmProvider implements AutoCloseable, IITMProvider /*,ItmStateServi
             createIdPool();
             registerEntityForOwnership();
             initialiseBatchingManager();
+            preloadCaches();
             LOG.info("ItmProvider Started");
         } catch (Exception ex) {
             itmStatusProvider.reportStatus(ex);
@@ -158,6 +159,15 @@ public class ItmProvider implements AutoCloseable, IITMProvider /*,ItmStateServi
         }
     }
 
+    private void preloadCaches() {
+        // Avoids one read per tunnel on the first tunnel state queries after a restart
+        try {
+            LOG.info("Preloaded {} tunnel states", tunnelStateCache.preload());
+        } catch (ReadFailedException e) {
+            LOG.warn("Failed to preload the tunnel states, they will be read when first queried", e);
+        }
+    }
+
     public void initialiseBatchingManager() {
         batchSize = ITMConstants.BATCH_SIZE;
         LOG.info("entered initialse");
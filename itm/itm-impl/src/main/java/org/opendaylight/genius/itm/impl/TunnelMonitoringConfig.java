@@ -14,6 +14,7 @@ import javax.inject.Singleton;
 import org.opendaylight.genius.itm.globals.ITMConstants;
 import org.opendaylight.genius.mdsalutil.cache.InstanceIdDataObjectCache;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
@@ -43,11 +44,11 @@ public class TunnelMonitoringConfig implements AutoCloseable {
     private final InstanceIdDataObjectCache<TunnelMonitorParams> tunnelMonitorParamsCache;
 
     @Inject
-    public TunnelMonitoringConfig(DataBroker dataBroker, CacheProvider cacheProvider) {
+    public TunnelMonitoringConfig(DataBroker dataBroker, CacheProvider cacheProvider, MetricProvider metricProvider) {
         tunnelMonitorIntervalCache = new InstanceIdDataObjectCache<>(TunnelMonitorInterval.class, dataBroker,
-                LogicalDatastoreType.CONFIGURATION, TUNNEL_MONITOR_INTERVAL_PATH, cacheProvider);
+                LogicalDatastoreType.CONFIGURATION, TUNNEL_MONITOR_INTERVAL_PATH, cacheProvider, metricProvider);
         tunnelMonitorParamsCache = new InstanceIdDataObjectCache<>(TunnelMonitorParams.class, dataBroker,
-                LogicalDatastoreType.CONFIGURATION, TUNNEL_MONITOR_PARAMS_PATH, cacheProvider);
+                LogicalDatastoreType.CONFIGURATION, TUNNEL_MONITOR_PARAMS_PATH, cacheProvider, metricProvider);
     }
 
     public boolean isTunnelMonitoringEnabled() {
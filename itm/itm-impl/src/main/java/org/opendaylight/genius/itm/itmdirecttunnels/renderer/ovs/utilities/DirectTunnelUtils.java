@@ -9,7 +9,9 @@ package org.opendaylight.genius.itm.itmdirecttunnels.renderer.ovs.utilities;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -356,7 +358,20 @@ public final class DirectTunnelUtils {
     public int allocateId(String poolName, String idKey)
             throws InterruptedException, ExecutionException , OperationFailedException {
         AllocateIdInput getIdInput = new AllocateIdInputBuilder().setPoolName(poolName).setIdKey(idKey).build();
-        RpcResult<AllocateIdOutput> rpcResult = idManagerService.allocateId(getIdInput).get();
+        return getAllocatedId(idManagerService.allocateId(getIdInput).get(), idKey);
+    }
+
+    /**
+     * Allocates an id like {@link #allocateId(String, String)}, without blocking on the id manager.
+     */
+    public ListenableFuture<Integer> allocateIdAsync(String poolName, String idKey) {
+        AllocateIdInput getIdInput = new AllocateIdInputBuilder().setPoolName(poolName).setIdKey(idKey).build();
+        return Futures.transformAsync(idManagerService.allocateId(getIdInput),
+            rpcResult -> Futures.immediateFuture(getAllocatedId(rpcResult, idKey)), MoreExecutors.directExecutor());
+    }
+
+    private static int getAllocatedId(RpcResult<AllocateIdOutput> rpcResult, String idKey)
+            throws OperationFailedException {
         if (rpcResult.isSuccessful()) {
             return rpcResult.getResult().getIdValue().intValue();
         } else {
@@ -22,8 +22,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -36,6 +38,7 @@ import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
 import org.opendaylight.genius.interfacemanager.interfaces.IInterfaceManager;
 import org.opendaylight.genius.interfacemanager.interfaces.InterfaceManagerService;
 import org.opendaylight.genius.itm.cache.DPNTEPsInfoCache;
+import org.opendaylight.genius.itm.cache.DpnInfoIndex;
 import org.opendaylight.genius.itm.cache.DpnTepStateCache;
 import org.opendaylight.genius.itm.cache.OfDpnTepConfigCache;
 import org.opendaylight.genius.itm.cache.OfTepStateCache;
@@ -70,7 +73,6 @@ import org.opendaylight.serviceutils.tools.rpc.FutureRpcResults;
 import org.opendaylight.serviceutils.tools.rpc.FutureRpcResults.LogLevel;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.tables.table.Flow;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.BridgeRefInfo;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.bridge.ref.info.BridgeRefEntry;
@@ -93,7 +95,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.dpns.teps.RemoteDpnsKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.external.tunnel.list.ExternalTunnel;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.external.tunnel.list.ExternalTunnelKey;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.of.teps.state.OfTep;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.tunnel.list.InternalTunnel;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.DcGatewayIpList;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.TransportZones;
@@ -105,7 +106,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transp
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.DeviceVteps;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.DeviceVtepsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.DeviceVtepsKey;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.Vteps;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.AddExternalTunnelEndpointInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.AddExternalTunnelEndpointOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.AddL2GwDeviceInput;
@@ -163,11 +163,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.S
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.SetBfdParamOnTunnelOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.get.dpn.info.output.Computes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rpcs.rev160406.get.dpn.info.output.ComputesBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflowjava.nx.match.rev140421.NxmNxReg6;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
-import org.opendaylight.yangtools.yang.common.OperationFailedException;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
@@ -198,6 +195,7 @@ public class ItmManagerRpcService implements ItmRpcService {
     private final ItmConfig itmConfig;
     private final OfDpnTepConfigCache ofDpnTepConfigCache;
     private final OfTepStateCache ofTepStateCache;
+    private final DpnInfoIndex dpnInfoIndex;
 
     @Inject
     public ItmManagerRpcService(final DataBroker dataBroker, final IMdsalApiManager mdsalManager,
@@ -207,7 +205,7 @@ public class ItmManagerRpcService implements ItmRpcService {
                                 final InterfaceManagerService interfaceManagerService,
                                 final OvsBridgeRefEntryCache ovsBridgeRefEntryCache,
                                 final DirectTunnelUtils directTunnelUtils, OfDpnTepConfigCache ofDpnTepConfigCache,
-                                OfTepStateCache ofTepStateCache) {
+                                OfTepStateCache ofTepStateCache, DpnInfoIndex dpnInfoIndex) {
         this.dataBroker = dataBroker;
         this.mdsalManager = mdsalManager;
         this.dpnTEPsInfoCache = dpnTEPsInfoCache;
@@ -224,6 +222,7 @@ public class ItmManagerRpcService implements ItmRpcService {
         this.itmConfig = itmConfig;
         this.ofDpnTepConfigCache = ofDpnTepConfigCache;
         this.ofTepStateCache = ofTepStateCache;
+        this.dpnInfoIndex = dpnInfoIndex;
     }
 
     @PostConstruct
@@ -246,24 +245,23 @@ public class ItmManagerRpcService implements ItmRpcService {
 
         if (interfaceManager.isItmOfTunnelsEnabled()) {
             //Destination DPN Id is not relevant in OF Tunnel scenario and so is ignored
-            try {
-                Optional<OfDpnTep> dpnstep = ofDpnTepConfigCache.get(sourceDpn.toJava());
-                if (dpnstep.isPresent()) {
-                    resultBld = RpcResultBuilder.success();
-                    resultBld.withResult(new GetTunnelInterfaceNameOutputBuilder()
-                            .setInterfaceName(dpnstep.get().getOfPortName())).build();
-                    return Futures.immediateFuture(resultBld.build());
-                } else {
-                    LOG.error("OF tunnel is not available in ITM for source dpn {}", sourceDpn);
-                    resultBld = RpcResultBuilder.failed();
-                    return Futures.immediateFuture(resultBld.build());
-                }
-            } catch (ReadFailedException e) {
+            // The cache read is asynchronous, so a cache miss does not block the calling thread
+            ListenableFuture<RpcResult<GetTunnelInterfaceNameOutput>> result = Futures.transform(
+                ofDpnTepConfigCache.getAsync(sourceDpn.toJava()), dpnstep -> {
+                    if (dpnstep.isPresent()) {
+                        return RpcResultBuilder.<GetTunnelInterfaceNameOutput>success()
+                                .withResult(new GetTunnelInterfaceNameOutputBuilder()
+                                        .setInterfaceName(dpnstep.get().getOfPortName()).build()).build();
+                    } else {
+                        LOG.error("OF tunnel is not available in ITM for source dpn {}", sourceDpn);
+                        return RpcResultBuilder.<GetTunnelInterfaceNameOutput>failed().build();
+                    }
+                }, MoreExecutors.directExecutor());
+            return Futures.catching(result, ReadFailedException.class, e -> {
                 LOG.error("ReadFailedException: cache read failed for source dpn {} reason: {}", sourceDpn,
                         e.getMessage());
-                resultBld = RpcResultBuilder.failed();
-                return Futures.immediateFuture(resultBld.build());
-            }
+                return RpcResultBuilder.<GetTunnelInterfaceNameOutput>failed().build();
+            }, MoreExecutors.directExecutor());
         }
         if (interfaceManager.isItmDirectTunnelsEnabled()) {
             DpnTepInterfaceInfo interfaceInfo = dpnTepStateCache.getDpnTepInterface(sourceDpn, destinationDpn);
@@ -315,7 +313,7 @@ public class ItmManagerRpcService implements ItmRpcService {
                     input.getTunnelKey() != null ? input.getTunnelKey().toJava() : null,
                     input.getActionKey())).onFailureLogLevel(LogLevel.ERROR).build();
         } else {
-            // Re-direct the RPC to Interface Manager
+            // Re-direct the RPC to Interface Manager, which serves it from its EgressActionsCache
             // From the rpc input and get the output and copy to output
             org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406
                     .GetEgressActionsForInterfaceInputBuilder inputIfmBuilder =
@@ -1154,7 +1152,13 @@ public class ItmManagerRpcService implements ItmRpcService {
         InstanceIdentifier<DPNTEPsInfo> tunnelInfoId =
                 InstanceIdentifier.builder(DpnEndpoints.class).child(DPNTEPsInfo.class,
                         new DPNTEPsInfoKey(srcDpn)).build();
-        Optional<DPNTEPsInfo> tunnelInfo = ItmUtils.read(LogicalDatastoreType.CONFIGURATION, tunnelInfoId, dataBroker);
+        Optional<DPNTEPsInfo> tunnelInfo;
+        try {
+            tunnelInfo = dpnTEPsInfoCache.get(tunnelInfoId);
+        } catch (ReadFailedException e) {
+            LOG.error("getDpnEndpointIps: failed to read the TEPs of dpn {}", srcDpn, e);
+            return Futures.immediateFuture(resultBld.build());
+        }
         if (!tunnelInfo.isPresent()) {
             LOG.error("tunnelInfo is not present");
             return Futures.immediateFuture(resultBld.build());
@@ -1182,66 +1186,30 @@ public class ItmManagerRpcService implements ItmRpcService {
     }
 
     private GetDpnInfoOutput getDpnInfoInternal(GetDpnInfoInput input) throws ReadFailedException {
-        Map<String, Uint64> computeNamesVsDpnIds
-                = getDpnIdByComputeNodeNameFromOpInventoryNodes(input.getComputeNames());
-        Map<Uint64, ComputesBuilder> dpnIdVsVtepsComputes
-                = getTunnelEndPointByDpnIdFromTranPortZone(computeNamesVsDpnIds.values());
-        List<Computes> computes = computeNamesVsDpnIds.entrySet().stream()
-                .map(entry -> dpnIdVsVtepsComputes.get(entry.getValue()).setComputeName(entry.getKey()).build())
-                .collect(Collectors.toList());
-        return new GetDpnInfoOutputBuilder().setComputes(computes).build();
-    }
-
-    private Map<Uint64, ComputesBuilder> getTunnelEndPointByDpnIdFromTranPortZone(Collection<Uint64> dpnIds)
-            throws ReadFailedException {
-        TransportZones transportZones = singleTransactionDataBroker.syncRead(
-                LogicalDatastoreType.CONFIGURATION, InstanceIdentifier.builder(TransportZones.class).build());
-        if (transportZones.getTransportZone() == null || transportZones.getTransportZone().isEmpty()) {
-            throw new IllegalStateException("Failed to find transport zones in config datastore");
-        }
-        Map<Uint64, ComputesBuilder> result = new HashMap<>();
-        for (TransportZone transportZone : transportZones.getTransportZone()) {
-            for (Vteps vtep : transportZone.getVteps().values()) {
-                if (dpnIds.contains(vtep.getDpnId())) {
-                    result.putIfAbsent(vtep.getDpnId(),
-                            new ComputesBuilder()
-                                    .setZoneName(transportZone.getZoneName())
-                                    .setDpnId(vtep.getDpnId())
-                                    .setNodeId(getNodeId(vtep.getDpnId()))
-                                    .setTepIp(Collections.singletonList(vtep.getIpAddress())));
-                }
+        // Resolved from the listener-maintained index, in O(compute names) instead of scanning the operational
+        // inventory and all the transport zones for each call
+        Map<String, Computes> computes = new LinkedHashMap<>();
+        for (String computeName : input.getComputeNames()) {
+            Uint64 dpnId = dpnInfoIndex.getDpnId(computeName);
+            if (dpnId == null) {
+                throw new IllegalStateException("Failed to find dpn id of compute node name from oper inventory "
+                        + computeName);
             }
-        }
-        for (Uint64 dpnId : dpnIds) {
-            if (!result.containsKey(dpnId)) {
+            Entry<String, IpAddress> vtep = dpnInfoIndex.getVtep(dpnId);
+            if (vtep == null) {
                 throw new IllegalStateException("Failed to find dpn id " + dpnId + " in transport zone");
             }
-        }
-        return result;
-    }
-
-    private Map<String, Uint64> getDpnIdByComputeNodeNameFromOpInventoryNodes(List<String> nodeNames)
-            throws ReadFailedException {
-        Nodes operInventoryNodes = singleTransactionDataBroker.syncRead(
-                LogicalDatastoreType.OPERATIONAL, InstanceIdentifier.builder(Nodes.class).build());
-        if (operInventoryNodes.getNode() == null || operInventoryNodes.getNode().isEmpty()) {
-            throw new IllegalStateException("Failed to find operational inventory nodes datastore");
-        }
-        Map<String, Uint64> result = new HashMap<>();
-        for (Node node : operInventoryNodes.getNode().values()) {
-            String name = node.augmentation(FlowCapableNode.class).getDescription();
-            if (nodeNames.contains(name)) {
-                String[] nodeId = node.getId().getValue().split(":");
-                result.put(name, Uint64.valueOf(nodeId[1]));
-            }
-        }
-        for (String nodeName : nodeNames) {
-            if (!result.containsKey(nodeName)) {
-                throw new IllegalStateException("Failed to find dpn id of compute node name from oper inventory "
-                        + nodeName);
+            if (!computes.containsKey(computeName)) {
+                computes.put(computeName, new ComputesBuilder()
+                        .setComputeName(computeName)
+                        .setZoneName(vtep.getKey())
+                        .setDpnId(dpnId)
+                        .setNodeId(getNodeId(dpnId))
+                        .setTepIp(Collections.singletonList(vtep.getValue()))
+                        .build());
             }
         }
-        return result;
+        return new GetDpnInfoOutputBuilder().setComputes(new ArrayList<>(computes.values())).build();
     }
 
     private String getNodeId(Uint64 dpnId) throws ReadFailedException {
@@ -1256,18 +1224,19 @@ public class ItmManagerRpcService implements ItmRpcService {
     }
 
     private ListenableFuture<GetEgressActionsForTunnelOutput>
-        getEgressActionsForInternalTunnels(String interfaceName, Long tunnelKey, Integer actionKey)
-            throws ExecutionException, InterruptedException, OperationFailedException {
+        getEgressActionsForInternalTunnels(String interfaceName, Long tunnelKey, Integer actionKey) {
 
         if (interfaceName.startsWith("of")) {
-            Optional<OfTep> oftep = ofTepStateCache.get(interfaceName);
-            if (!oftep.isPresent()) {
-                throw new IllegalStateException("Interface information not present in oper DS for" + interfaceName);
-            }
-            List<ActionInfo> actions = getEgressActionInfosForOpenFlowTunnel(oftep.get().getIfIndex(),
-                    oftep.get().getTepIp(), tunnelKey, actionKey);
-            return Futures.immediateFuture(new GetEgressActionsForTunnelOutputBuilder()
-                    .setAction(actions.stream().map(ActionInfo::buildAction).collect(Collectors.toList())).build());
+            return Futures.transform(ofTepStateCache.getAsync(interfaceName), oftep -> {
+                if (!oftep.isPresent()) {
+                    throw new IllegalStateException("Interface information not present in oper DS for"
+                            + interfaceName);
+                }
+                List<ActionInfo> actions = getEgressActionInfosForOpenFlowTunnel(oftep.get().getIfIndex(),
+                        oftep.get().getTepIp(), tunnelKey, actionKey);
+                return new GetEgressActionsForTunnelOutputBuilder()
+                        .setAction(actions.stream().map(ActionInfo::buildAction).collect(Collectors.toList())).build();
+            }, MoreExecutors.directExecutor());
         } else {
             DpnTepInterfaceInfo interfaceInfo = dpnTepStateCache.getTunnelFromCache(interfaceName);
             if (interfaceInfo == null) {
@@ -1279,33 +1248,36 @@ public class ItmManagerRpcService implements ItmRpcService {
                 throw new IllegalArgumentException(tunnelType + " tunnel not handled by ITM");
             }
 
-            Optional<DPNTEPsInfo> dpntePsInfoOptional = dpnTEPsInfoCache.get(InstanceIdentifier
+            ListenableFuture<Optional<DPNTEPsInfo>> dpntePsInfoFuture = dpnTEPsInfoCache.getAsync(InstanceIdentifier
                     .builder(DpnEndpoints.class)
                     .child(DPNTEPsInfo.class, new DPNTEPsInfoKey(
                             // FIXME: the cache should be caching this value, not just as a String
                             dpnTepStateCache.getTunnelEndPointInfoFromCache(
                                     interfaceInfo.getTunnelName()).getDstEndPointInfo())).build());
-            Integer dstId;
-            if (dpntePsInfoOptional.isPresent()) {
-                dstId = dpntePsInfoOptional.get().getDstId();
-            } else {
-                dstId = directTunnelUtils.allocateId(ITMConstants.ITM_IDPOOL_NAME,
-                        interfaceInfo.getRemoteDPN().toString());
-            }
-
-            List<ActionInfo> result = new ArrayList<>();
-            long regValue = MetaDataUtil.getRemoteDpnMetadatForEgressTunnelTable(dstId);
-            int actionKeyStart = actionKey == null ? 0 : actionKey;
-            result.add(new ActionSetFieldTunnelId(actionKeyStart++,
-                    Uint64.valueOf(tunnelKey != null ? tunnelKey : 0L)));
-            result.add(new ActionRegLoad(actionKeyStart++, NxmNxReg6.class, MetaDataUtil.REG6_START_INDEX,
-                    MetaDataUtil.REG6_END_INDEX, regValue));
-            result.add(new ActionNxResubmit(actionKeyStart, NwConstants.EGRESS_TUNNEL_TABLE));
+            ListenableFuture<Integer> dstIdFuture = Futures.transformAsync(dpntePsInfoFuture,
+                dpntePsInfoOptional -> dpntePsInfoOptional.isPresent()
+                        ? Futures.immediateFuture(dpntePsInfoOptional.get().getDstId())
+                        : directTunnelUtils.allocateIdAsync(ITMConstants.ITM_IDPOOL_NAME,
+                                interfaceInfo.getRemoteDPN().toString()), MoreExecutors.directExecutor());
+            return Futures.transform(dstIdFuture,
+                dstId -> getEgressActionsForInternalTunnel(dstId, tunnelKey, actionKey),
+                MoreExecutors.directExecutor());
+        }
+    }
 
-            return Futures.immediateFuture(new GetEgressActionsForTunnelOutputBuilder()
-                    .setAction(result.stream().map(ActionInfo::buildAction).collect(Collectors.toList())).build());
+    private static GetEgressActionsForTunnelOutput getEgressActionsForInternalTunnel(Integer dstId, Long tunnelKey,
+            Integer actionKey) {
+        List<ActionInfo> result = new ArrayList<>();
+        long regValue = MetaDataUtil.getRemoteDpnMetadatForEgressTunnelTable(dstId);
+        int actionKeyStart = actionKey == null ? 0 : actionKey;
+        result.add(new ActionSetFieldTunnelId(actionKeyStart++,
+                Uint64.valueOf(tunnelKey != null ? tunnelKey : 0L)));
+        result.add(new ActionRegLoad(actionKeyStart++, NxmNxReg6.class, MetaDataUtil.REG6_START_INDEX,
+                MetaDataUtil.REG6_END_INDEX, regValue));
+        result.add(new ActionNxResubmit(actionKeyStart, NwConstants.EGRESS_TUNNEL_TABLE));
 
-        }
+        return new GetEgressActionsForTunnelOutputBuilder()
+                .setAction(result.stream().map(ActionInfo::buildAction).collect(Collectors.toList())).build();
     }
 
     private static List<ActionInfo> getEgressActionInfosForOpenFlowTunnel(Uint16 ifIndex, IpAddress ipAddress,
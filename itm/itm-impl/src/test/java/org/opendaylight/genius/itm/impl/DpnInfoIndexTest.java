@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.itm.cache.DpnInfoIndex;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rev160406.TunnelTypeVxlan;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.TransportZones;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZone;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZoneBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZoneKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.Vteps;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.VtepsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.transport.zone.VtepsKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint64;
+
+/**
+ * Test of the {@link DpnInfoIndex} with 1000 synthetic inventory nodes and TEPs, checking its lookups against the full
+ * scans of the operational inventory and of the transport zones previously done by the getDpnInfo RPC.
+ */
+public class DpnInfoIndexTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final int NODES = 1000;
+    private static final int LOOKUPS = 100;
+    private static final String ZONE = "zone1";
+
+    private DpnInfoIndex dpnInfoIndex;
+
+    @Before
+    public void start() {
+        dpnInfoIndex = new DpnInfoIndex(getDataBroker());
+    }
+
+    @After
+    public void close() {
+        dpnInfoIndex.close();
+    }
+
+    @Test
+    public void testLookupsAgainstFullScans() throws Exception {
+        writeNodesAndVteps();
+        await().atMost(30, TimeUnit.SECONDS)
+                .until(() -> dpnInfoIndex.getDpnCount() == NODES && dpnInfoIndex.getVtepDpnCount() == NODES);
+
+        List<String> computeNames = new ArrayList<>();
+        for (int i = 1; i <= LOOKUPS; i++) {
+            computeNames.add(computeName(i * (NODES / LOOKUPS)));
+        }
+
+        Map<String, IpAddress> scanned = scan(computeNames);
+        Map<String, IpAddress> indexed = new HashMap<>();
+        for (String computeName : computeNames) {
+            indexed.put(computeName, dpnInfoIndex.getVtep(dpnInfoIndex.getDpnId(computeName)).getValue());
+        }
+
+        assertEquals(LOOKUPS, scanned.size());
+        assertEquals(scanned, indexed);
+        assertEquals(ZONE, dpnInfoIndex.getVtep(Uint64.valueOf(1)).getKey());
+    }
+
+    @Test
+    public void testRemoval() throws Exception {
+        writeNodesAndVteps();
+        await().atMost(30, TimeUnit.SECONDS).until(() -> dpnInfoIndex.getVtepDpnCount() == NODES);
+
+        WriteTransaction tx = getDataBroker().newWriteOnlyTransaction();
+        tx.delete(LogicalDatastoreType.OPERATIONAL, nodeIid(1));
+        tx.delete(LogicalDatastoreType.CONFIGURATION, vtepIid(1));
+        tx.commit().get();
+        await().atMost(30, TimeUnit.SECONDS).until(() -> dpnInfoIndex.getDpnCount() == NODES - 1);
+        await().atMost(30, TimeUnit.SECONDS).until(() -> dpnInfoIndex.getVtepDpnCount() == NODES - 1);
+
+        assertNull(dpnInfoIndex.getDpnId(computeName(1)));
+        assertNull(dpnInfoIndex.getVtep(Uint64.valueOf(1)));
+        assertEquals(Uint64.valueOf(2), dpnInfoIndex.getDpnId(computeName(2)));
+    }
+
+    private void writeNodesAndVteps() throws Exception {
+        WriteTransaction tx = getDataBroker().newWriteOnlyTransaction();
+        List<Vteps> vteps = new ArrayList<>();
+        for (int dpn = 1; dpn <= NODES; dpn++) {
+            tx.put(LogicalDatastoreType.OPERATIONAL, nodeIid(dpn), new NodeBuilder()
+                    .withKey(new NodeKey(nodeId(dpn)))
+                    .addAugmentation(new FlowCapableNodeBuilder().setDescription(computeName(dpn)).build())
+                    .build());
+            vteps.add(new VtepsBuilder().withKey(new VtepsKey(Uint64.valueOf(dpn))).setDpnId(Uint64.valueOf(dpn))
+                    .setIpAddress(tepIp(dpn)).build());
+        }
+        tx.put(LogicalDatastoreType.CONFIGURATION, zoneIid(), new TransportZoneBuilder()
+                .withKey(new TransportZoneKey(ZONE)).setZoneName(ZONE).setTunnelType(TunnelTypeVxlan.class)
+                .setVteps(vteps).build());
+        tx.commit().get();
+    }
+
+    // The lookups of the former implementation of the getDpnInfo RPC
+    private Map<String, IpAddress> scan(List<String> computeNames) throws Exception {
+        SingleTransactionDataBroker broker = new SingleTransactionDataBroker(getDataBroker());
+        Nodes nodes = broker.syncRead(LogicalDatastoreType.OPERATIONAL, InstanceIdentifier.create(Nodes.class));
+        Map<Uint64, String> dpnIds = new HashMap<>();
+        for (Node node : nodes.getNode().values()) {
+            String description = node.augmentation(FlowCapableNode.class).getDescription();
+            if (computeNames.contains(description)) {
+                dpnIds.put(Uint64.valueOf(node.getId().getValue().split(":")[1]), description);
+            }
+        }
+        TransportZones transportZones = broker.syncRead(LogicalDatastoreType.CONFIGURATION,
+                InstanceIdentifier.create(TransportZones.class));
+        Map<String, IpAddress> result = new HashMap<>();
+        for (TransportZone transportZone : transportZones.getTransportZone()) {
+            for (Vteps vtep : transportZone.getVteps().values()) {
+                if (dpnIds.containsKey(vtep.getDpnId())) {
+                    result.putIfAbsent(dpnIds.get(vtep.getDpnId()), vtep.getIpAddress());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String computeName(int dpn) {
+        return "compute-" + dpn;
+    }
+
+    private static NodeId nodeId(int dpn) {
+        return new NodeId("openflow:" + dpn);
+    }
+
+    private static IpAddress tepIp(int dpn) {
+        return IpAddressBuilder.getDefaultInstance("10.0." + dpn / 256 + "." + dpn % 256);
+    }
+
+    private static InstanceIdentifier<Node> nodeIid(int dpn) {
+        return InstanceIdentifier.create(Nodes.class).child(Node.class, new NodeKey(nodeId(dpn)));
+    }
+
+    private static InstanceIdentifier<TransportZone> zoneIid() {
+        return InstanceIdentifier.create(TransportZones.class).child(TransportZone.class, new TransportZoneKey(ZONE));
+    }
+
+    private static InstanceIdentifier<Vteps> vtepIid(int dpn) {
+        return zoneIid().child(Vteps.class, new VtepsKey(Uint64.valueOf(dpn)));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.itm.cache.DPNTEPsInfoCache;
+import org.opendaylight.genius.itm.cache.DpnTepStateCache;
+import org.opendaylight.genius.itm.cache.UnprocessedNodeConnectorCache;
+import org.opendaylight.genius.itm.cache.UnprocessedNodeConnectorEndPointCache;
+import org.opendaylight.genius.itm.itmdirecttunnels.renderer.ovs.utilities.DirectTunnelUtils;
+import org.opendaylight.genius.itm.utils.TunnelStateInfo;
+import org.opendaylight.genius.mdsalutil.interfaces.IMdsalApiManager;
+import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
+import org.opendaylight.infrautils.caches.baseimpl.internal.CacheManagersRegistryImpl;
+import org.opendaylight.infrautils.caches.guava.internal.GuavaCacheProvider;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdManagerService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rev160406.TunnelTypeVxlan;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.config.rev160406.ItmConfigBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.DpnTepsState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.DpnsTeps;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.DpnsTepsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.DpnsTepsKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.dpns.teps.RemoteDpns;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.dpns.teps.RemoteDpnsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.teps.state.dpns.teps.RemoteDpnsKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scale test of the {@link DpnTepStateCache} with a full mesh of 500 DPNs, checking that adding a DPN to the mesh
+ * only processes the new RemoteDpns, instead of all the RemoteDpns of every modified DpnsTeps.
+ */
+public class DpnTepStateCacheTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DpnTepStateCacheTest.class);
+
+    private static final int DPNS = 500;
+
+    // Each RemoteDpns processed by the cache probes the unprocessed NodeConnectors once
+    private final AtomicInteger processedRemoteDpns = new AtomicInteger();
+    private DPNTEPsInfoCache dpnTepsInfoCache;
+    private DpnTepStateCache dpnTepStateCache;
+
+    @Before
+    public void start() {
+        GuavaCacheProvider cacheProvider = new GuavaCacheProvider(new CacheManagersRegistryImpl());
+        MetricProvider metricProvider = new TestMetricProviderImpl();
+        JobCoordinator jobCoordinator = mock(JobCoordinator.class);
+        DirectTunnelUtils directTunnelUtils = new DirectTunnelUtils(mock(IdManagerService.class),
+                mock(IMdsalApiManager.class), mock(EntityOwnershipUtils.class), new ItmConfigBuilder().build());
+        UnprocessedNodeConnectorEndPointCache unprocessedNodeConnectorEndPointCache =
+                new UnprocessedNodeConnectorEndPointCache();
+        dpnTepsInfoCache = new DPNTEPsInfoCache(getDataBroker(), cacheProvider, metricProvider, directTunnelUtils,
+                jobCoordinator, unprocessedNodeConnectorEndPointCache);
+        dpnTepStateCache = new DpnTepStateCache(getDataBroker(), jobCoordinator, cacheProvider, metricProvider,
+                directTunnelUtils, dpnTepsInfoCache, new UnprocessedNodeConnectorCache() {
+                    @Override
+                    public TunnelStateInfo remove(String tunnelName) {
+                        processedRemoteDpns.incrementAndGet();
+                        return super.remove(tunnelName);
+                    }
+                }, unprocessedNodeConnectorEndPointCache);
+    }
+
+    @After
+    public void close() {
+        dpnTepStateCache.close();
+        dpnTepsInfoCache.close();
+    }
+
+    @Test
+    public void testAddDpnToMesh() throws Exception {
+        WriteTransaction tx = getDataBroker().newWriteOnlyTransaction();
+        for (int src = 1; src <= DPNS; src++) {
+            tx.put(LogicalDatastoreType.CONFIGURATION, dpnsTepsIid(src), dpnsTeps(src, DPNS));
+        }
+        tx.commit().get();
+        await().atMost(60, TimeUnit.SECONDS).until(() -> processedRemoteDpns.get() == DPNS * (DPNS - 1));
+
+        // Adds a DPN to the mesh, as ItmInternalTunnelAddWorker does, by merging a RemoteDpns in each DpnsTeps
+        processedRemoteDpns.set(0);
+        int newDpn = DPNS + 1;
+        long start = System.nanoTime();
+        tx = getDataBroker().newWriteOnlyTransaction();
+        for (int src = 1; src <= DPNS; src++) {
+            tx.merge(LogicalDatastoreType.CONFIGURATION, remoteDpnsIid(src, newDpn), remoteDpns(src, newDpn));
+        }
+        tx.put(LogicalDatastoreType.CONFIGURATION, dpnsTepsIid(newDpn), dpnsTeps(newDpn, newDpn));
+        tx.commit().get();
+        await().atMost(60, TimeUnit.SECONDS).until(() -> processedRemoteDpns.get() >= 2 * DPNS);
+        LOG.info("Added a DPN to a mesh of {} DPNs in {} ms", DPNS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        Thread.sleep(200);
+        // Without the deltas, each of the DpnsTeps would have been processed as a whole, DPNS * DPNS RemoteDpns
+        assertEquals(2 * DPNS, processedRemoteDpns.get());
+        assertNotNull(dpnTepStateCache.getTunnelEndPointInfoFromCache(tunnelName(1, newDpn)));
+        assertNotNull(dpnTepStateCache.getTunnelEndPointInfoFromCache(tunnelName(newDpn, 1)));
+
+        // Removes the new DPN from a DpnsTeps
+        tx = getDataBroker().newWriteOnlyTransaction();
+        tx.delete(LogicalDatastoreType.CONFIGURATION, remoteDpnsIid(1, newDpn));
+        tx.commit().get();
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> dpnTepStateCache.getTunnelEndPointInfoFromCache(tunnelName(1, newDpn)) == null);
+        assertNull(dpnTepStateCache.getTunnelEndPointInfoFromCache(tunnelName(1, newDpn)));
+        assertNotNull(dpnTepStateCache.getTunnelEndPointInfoFromCache(tunnelName(2, newDpn)));
+        assertEquals(2 * DPNS, processedRemoteDpns.get());
+    }
+
+    private static DpnsTeps dpnsTeps(int src, int dpns) {
+        Map<RemoteDpnsKey, RemoteDpns> remoteDpns = new HashMap<>();
+        for (int dst = 1; dst <= dpns; dst++) {
+            if (dst != src) {
+                RemoteDpns remoteDpn = remoteDpns(src, dst);
+                remoteDpns.put(remoteDpn.key(), remoteDpn);
+            }
+        }
+        return new DpnsTepsBuilder().withKey(new DpnsTepsKey(Uint64.valueOf(src))).setSourceDpnId(Uint64.valueOf(src))
+                .setTunnelType(TunnelTypeVxlan.class).setRemoteDpns(remoteDpns).build();
+    }
+
+    private static RemoteDpns remoteDpns(int src, int dst) {
+        return new RemoteDpnsBuilder().withKey(new RemoteDpnsKey(Uint64.valueOf(dst)))
+                .setDestinationDpnId(Uint64.valueOf(dst)).setTunnelName(tunnelName(src, dst))
+                .setMonitoringEnabled(false).setInternal(true).build();
+    }
+
+    private static String tunnelName(int src, int dst) {
+        return "tun" + src + "-" + dst;
+    }
+
+    private static InstanceIdentifier<DpnsTeps> dpnsTepsIid(int src) {
+        return InstanceIdentifier.create(DpnTepsState.class)
+                .child(DpnsTeps.class, new DpnsTepsKey(Uint64.valueOf(src)));
+    }
+
+    private static InstanceIdentifier<RemoteDpns> remoteDpnsIid(int src, int dst) {
+        return dpnsTepsIid(src).child(RemoteDpns.class, new RemoteDpnsKey(Uint64.valueOf(dst)));
+    }
+}
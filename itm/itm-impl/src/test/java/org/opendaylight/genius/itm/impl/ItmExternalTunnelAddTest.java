@@ -33,6 +33,7 @@ import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
 import org.opendaylight.infrautils.caches.baseimpl.internal.CacheManagersRegistryImpl;
 import org.opendaylight.infrautils.caches.guava.internal.GuavaCacheProvider;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.binding.api.WriteTransaction;
@@ -184,8 +185,8 @@ public class ItmExternalTunnelAddTest {
         tunnelMonitorIntervalOptional = Optional.of(tunnelMonitorInterval);
 
         externalTunnelAddWorker = new ItmExternalTunnelAddWorker(itmConfig,
-            new DPNTEPsInfoCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()), directTunnelUtils,
-            jobCoordinator, unprocessedNodeConnectorEndPointCache));
+            new DPNTEPsInfoCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()),
+            new TestMetricProviderImpl(), directTunnelUtils, jobCoordinator, unprocessedNodeConnectorEndPointCache));
 
     }
 
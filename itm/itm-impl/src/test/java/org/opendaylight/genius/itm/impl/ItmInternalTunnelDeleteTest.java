@@ -36,6 +36,8 @@ import org.opendaylight.genius.mdsalutil.interfaces.IMdsalApiManager;
 import org.opendaylight.infrautils.caches.baseimpl.internal.CacheManagersRegistryImpl;
 import org.opendaylight.infrautils.caches.guava.internal.GuavaCacheProvider;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.infrautils.metrics.testimpl.TestMetricProviderImpl;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
@@ -164,18 +166,22 @@ public class ItmInternalTunnelDeleteTest {
         lenient().doReturn(FluentFutures.immediateFluentFuture(internalTunnelOptional)).when(mockReadWriteTx)
                 .read(LogicalDatastoreType.CONFIGURATION, internalTunnelIdentifier);
 
+        MetricProvider metricProvider = new TestMetricProviderImpl();
         DPNTEPsInfoCache dpntePsInfoCache =
                 new DPNTEPsInfoCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()),
-                        directTunnelUtils, jobCoordinator, unprocessedNodeConnectorEndPointCache);
+                        metricProvider, directTunnelUtils, jobCoordinator, unprocessedNodeConnectorEndPointCache);
 
         itmInternalTunnelDeleteWorker = new ItmInternalTunnelDeleteWorker(dataBroker, jobCoordinator,
-            new TunnelMonitoringConfig(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl())),
+            new TunnelMonitoringConfig(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()),
+                metricProvider),
             interfaceManager, new DpnTepStateCache(dataBroker, jobCoordinator,
-                new GuavaCacheProvider(new CacheManagersRegistryImpl()), directTunnelUtils, dpntePsInfoCache,
-                    unprocessedNodeConnectorCache, unprocessedNodeConnectorEndPointCache),
-            new OvsBridgeEntryCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl())),
-            new OvsBridgeRefEntryCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl())),
-            new TunnelStateCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl())),
+                new GuavaCacheProvider(new CacheManagersRegistryImpl()), metricProvider, directTunnelUtils,
+                    dpntePsInfoCache, unprocessedNodeConnectorCache, unprocessedNodeConnectorEndPointCache),
+            new OvsBridgeEntryCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()),
+                metricProvider),
+            new OvsBridgeRefEntryCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()),
+                metricProvider),
+            new TunnelStateCache(dataBroker, new GuavaCacheProvider(new CacheManagersRegistryImpl()), metricProvider),
             directTunnelUtils, tombstonedNodeManager);
     }
 
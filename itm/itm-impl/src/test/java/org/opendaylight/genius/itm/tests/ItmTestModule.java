@@ -7,6 +7,7 @@
  */
 package org.opendaylight.genius.itm.tests;
 
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 
 import org.opendaylight.daexim.DataImportBootReady;
@@ -40,6 +41,7 @@ import org.opendaylight.genius.mdsalutil.testutils.TestShardStatusMonitor;
 import org.opendaylight.genius.utils.clustering.EntityOwnershipUtils;
 import org.opendaylight.infrautils.diagstatus.DiagStatusService;
 import org.opendaylight.infrautils.inject.guice.testutils.AbstractGuiceJsr250Module;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.dom.adapter.ConstantAdapterContext;
 import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
@@ -118,6 +120,7 @@ public class ItmTestModule extends AbstractGuiceJsr250Module {
         bind(DataImportBootReady.class).toInstance(new DataImportBootReady() {});
         bind(DiagStatusService.class).toInstance(mock(DiagStatusService.class));
         bind(ShardStatusMonitor.class).toInstance(TestShardStatusMonitor.newInstance());
+        bind(MetricProvider.class).toInstance(mock(MetricProvider.class, RETURNS_DEEP_STUBS));
     }
 
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.api;
+
+import java.util.concurrent.CompletionStage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
+
+/**
+ * Java API of the cluster wide named locks also offered by {@link LockManagerService}, without the
+ * overhead of the RPC binding, for other modules which run in the same JVM.
+ *
+ * <p>Locks are not re-entrant, and are held by the node rather than by the thread which acquired them.
+ */
+public interface LockManager {
+
+    /**
+     * Acquires the named lock, waiting as long as it takes without blocking the calling thread.
+     *
+     * @param lockName the name of the lock
+     * @return a stage completed once the lock is acquired, with an {@link AutoCloseable} which releases it
+     *         (asynchronously, its close() does not block); or completed exceptionally if the lock could not be
+     *         acquired because of a datastore failure
+     */
+    CompletionStage<AutoCloseable> acquire(String lockName);
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.impl;
+
+/**
+ * In-memory state of a lock which this node holds as a lease in the datastore, and grants to its own
+ * callers without going to the datastore. All access must be synchronized on the instance.
+ */
+final class LockLease {
+
+    private final String lockName;
+    private long expiryNanos;
+    private boolean held;
+    private boolean contended;
+    private boolean releasing;
+
+    LockLease(String lockName) {
+        this.lockName = lockName;
+        // Expired until renewed from the datastore
+        this.expiryNanos = System.nanoTime();
+    }
+
+    String getLockName() {
+        return lockName;
+    }
+
+    /**
+     * Whether the lease can grant the lock locally, i.e. it is neither held, expired, contended nor being
+     * handed back to the datastore.
+     */
+    boolean isGrantable(long nowNanos) {
+        return !held && !releasing && !contended && nowNanos - expiryNanos < 0;
+    }
+
+    /**
+     * Whether the lease must be handed back to the datastore as soon as it is not held anymore.
+     */
+    boolean isRevoked(long nowNanos) {
+        return contended || nowNanos - expiryNanos >= 0;
+    }
+
+    void renew(long newExpiryNanos) {
+        expiryNanos = newExpiryNanos;
+    }
+
+    boolean isHeld() {
+        return held;
+    }
+
+    void setHeld(boolean held) {
+        this.held = held;
+    }
+
+    void setContended() {
+        contended = true;
+    }
+
+    boolean isReleasing() {
+        return releasing;
+    }
+
+    void setReleasing() {
+        releasing = true;
+    }
+
+    @Override
+    public String toString() {
+        return "LockLease [lockName=" + lockName + ", held=" + held + ", contended=" + contended
+                + ", releasing=" + releasing + "]";
+    }
+}
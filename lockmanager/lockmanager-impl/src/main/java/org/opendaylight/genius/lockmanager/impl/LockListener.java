@@ -44,7 +44,7 @@ public class LockListener extends AbstractClusteredAsyncDataTreeChangeListener<L
     @Override
     public void update(@NonNull InstanceIdentifier<Lock> instanceIdentifier, @NonNull Lock originalLock,
                        @NonNull Lock updatedLock) {
-        // NOOP
+        lockManager.updateLock(updatedLock);
     }
 
     @Override
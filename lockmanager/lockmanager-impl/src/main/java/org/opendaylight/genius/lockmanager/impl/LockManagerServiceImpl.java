@@ -7,24 +7,30 @@
  */
 package org.opendaylight.genius.lockmanager.impl;
 
-import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.aries.blueprint.annotation.service.Reference;
-import org.opendaylight.genius.utils.JvmGlobalLocks;
+import org.apache.aries.blueprint.annotation.service.Service;
+import org.opendaylight.genius.lockmanager.api.LockManager;
 import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.infrautils.utils.concurrent.LoggingFutures;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.util.Datastore;
 import org.opendaylight.mdsal.binding.util.RetryingManagedNewTransactionRunner;
@@ -42,30 +48,44 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev16041
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.UnlockOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.UnlockOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.locks.Lock;
-import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.locks.LockBuilder;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Datastore backed implementation of {@link LockManagerService} and {@link LockManager}.
+ *
+ * <p>Acquiring a lock never blocks a thread: an attempt which finds the lock taken completes once a release
+ * is signalled by {@link LockListener} (see {@link LockWaitQueues}), or after a retry timer, and the next
+ * attempt then runs on the shared executor.
+ *
+ * <p>If {@link #LEASE_DURATION_PROPERTY} is set to a positive number of milliseconds, locks are acquired as
+ * leases: the first lock of a name writes it to the datastore with the {@link LockManagerUtils#getLeaseOwner()}
+ * of this node, after which the lock is granted to and released by callers on this node in memory only, until
+ * the lease expires or another node marks the lock as contended. The lease is then handed back to the datastore
+ * as soon as it is not held locally anymore. Note that only nodes which themselves use this implementation mark
+ * locks as contended; other lock users have to wait for the lease to expire.
+ */
 @Singleton
-public class LockManagerServiceImpl implements LockManagerService {
-    private static final FluentFuture<LockOutput> IMMEDIATE_LOCK = FluentFutures.immediateFluentFuture(
-        new LockOutputBuilder().build());
+@Service(classes = LockManager.class)
+public class LockManagerServiceImpl implements LockManagerService, LockManager {
+    public static final String LEASE_DURATION_PROPERTY = "lockmanager.lease.duration.ms";
+
+    private static final LockOutput LOCK_OUTPUT = new LockOutputBuilder().build();
     private static final UnlockOutput UNLOCK_OUTPUT = new UnlockOutputBuilder().build();
-    private static final ListenableFuture<RpcResult<TryLockOutput>> FAILED_TRYLOCK =
-            RpcResultBuilder.<TryLockOutput>failed().buildFuture();
-    private static final ListenableFuture<RpcResult<TryLockOutput>> SUCCESSFUL_TRYLOCK =
-            RpcResultBuilder.success(new TryLockOutputBuilder().build()).buildFuture();
+    private static final RpcResult<TryLockOutput> FAILED_TRYLOCK = RpcResultBuilder.<TryLockOutput>failed().build();
+    private static final RpcResult<TryLockOutput> SUCCESSFUL_TRYLOCK =
+            RpcResultBuilder.success(new TryLockOutputBuilder().build()).build();
+    private static final ListenableFuture<Boolean> LOCKED = Futures.immediateFuture(Boolean.TRUE);
+    private static final ListenableFuture<Boolean> NOT_LOCKED = Futures.immediateFuture(Boolean.FALSE);
 
     private static final int DEFAULT_NUMBER_LOCKING_ATTEMPS = 30;
     private static final int DEFAULT_RETRY_COUNT = 10;
     private static final int DEFAULT_WAIT_TIME_IN_MILLIS = 1000;
 
-    private final ConcurrentHashMap<String, CompletableFuture<Void>> lockSynchronizerMap =
-            new ConcurrentHashMap<>();
-
     private static final Logger LOG = LoggerFactory.getLogger(LockManagerServiceImpl.class);
     //TODO: replace with shared executor service once that is available
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(25,
@@ -73,19 +93,54 @@ public class LockManagerServiceImpl implements LockManagerService {
 
     private final RetryingManagedNewTransactionRunner txRunner;
     private final LockManagerUtils lockManagerUtils;
+    private final ScheduledExecutorService scheduler;
+    private final LockWaitQueues lockWaitQueues = new LockWaitQueues();
+
+    private final long leaseDurationMillis;
+    private final ConcurrentMap<String, LockLease> leases = new ConcurrentHashMap<>();
+    private final LongAdder leaseHits = new LongAdder();
+    private final LongAdder leaseMisses = new LongAdder();
 
     @Inject
     public LockManagerServiceImpl(final @Reference DataBroker dataBroker, final LockManagerUtils lockManagerUtils) {
         this.lockManagerUtils = lockManagerUtils;
         this.txRunner = new RetryingManagedNewTransactionRunner(dataBroker);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor("LockManagerTimer", LOG);
+        this.leaseDurationMillis = Long.getLong(LEASE_DURATION_PROPERTY, 0);
+    }
+
+    @PreDestroy
+    public void close() {
+        Executors.shutdownAndAwaitTermination(scheduler);
+        if (isLeaseMode()) {
+            LOG.info("Lock leases: {} hits, {} misses", getLeaseHits(), getLeaseMisses());
+        }
+    }
+
+    private boolean isLeaseMode() {
+        return leaseDurationMillis > 0;
+    }
+
+    /**
+     * Number of locks granted from a lease held by this node, without a datastore transaction.
+     */
+    public long getLeaseHits() {
+        return leaseHits.sum();
+    }
+
+    /**
+     * Number of lease acquisitions which had to go to the datastore.
+     */
+    public long getLeaseMisses() {
+        return leaseMisses.sum();
     }
 
     @Override
     public ListenableFuture<RpcResult<LockOutput>> lock(LockInput input) {
         final Lock lockData = lockManagerUtils.buildLock(input.getLockName(), lockManagerUtils.getUniqueID());
-        return FutureRpcResults.fromListenableFuture(LOG, input, () -> {
-            return getLock(lockData);
-        }).build();
+        return FutureRpcResults.fromListenableFuture(LOG, input,
+            () -> Futures.transform(new LockAcquisition(lockData, -1).start(), locked -> LOCK_OUTPUT,
+                MoreExecutors.directExecutor())).build();
     }
 
     @Override
@@ -101,175 +156,332 @@ public class LockManagerServiceImpl implements LockManagerService {
         long retryCount = waitTime / DEFAULT_WAIT_TIME_IN_MILLIS;
         Lock lockData = lockManagerUtils.buildLock(lockName, owner);
 
-        final boolean success;
-        try {
-            success = getLock(lockData, retryCount);
-        } catch (InterruptedException e) {
-            LOG.error("Failed to get lock {} owner {}", lockName, owner, e);
-            return FAILED_TRYLOCK;
-        }
-
-        if (success) {
-            LOG.debug("Acquired lock {} by owner {}", lockName, owner);
-            return SUCCESSFUL_TRYLOCK;
-        }
+        return Futures.transform(new LockAcquisition(lockData, waitTime).start(), success -> {
+            if (success) {
+                LOG.debug("Acquired lock {} by owner {}", lockName, owner);
+                return SUCCESSFUL_TRYLOCK;
+            }
 
-        LOG.error("Failed to get lock {} owner {} after {} retries", lockName, owner, retryCount);
-        return FAILED_TRYLOCK;
+            LOG.error("Failed to get lock {} owner {} after {} retries", lockName, owner, retryCount);
+            return FAILED_TRYLOCK;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
     public ListenableFuture<RpcResult<UnlockOutput>> unlock(UnlockInput input) {
         String lockName = input.getLockName();
         LOG.debug("Unlocking {}", lockName);
-        InstanceIdentifier<Lock> lockInstanceIdentifier = lockManagerUtils.getLockInstanceIdentifier(lockName);
         return FutureRpcResults.fromListenableFuture(LOG, input,
-            () -> Futures.transform(unlock(lockName, lockInstanceIdentifier, DEFAULT_RETRY_COUNT),
-                unused -> UNLOCK_OUTPUT, MoreExecutors.directExecutor())).build();
+            () -> Futures.transform(release(lockName), unused -> UNLOCK_OUTPUT, MoreExecutors.directExecutor()))
+                .build();
     }
 
-    private ListenableFuture<?> unlock(final String lockName,
-        final InstanceIdentifier<Lock> lockInstanceIdentifier, final int retry) {
-        ListenableFuture<?> future = txRunner.callWithNewReadWriteTransactionAndSubmit(Datastore.OPERATIONAL, tx -> {
-            Boolean result = tx.exists(lockInstanceIdentifier).get();
-            if (!result) {
-                LOG.debug("unlock ignored, as unnecessary; lock is already unlocked: {}", lockName);
-            } else {
-                tx.delete(lockInstanceIdentifier);
+    @Override
+    public CompletionStage<AutoCloseable> acquire(String lockName) {
+        Lock lockData = lockManagerUtils.buildLock(lockName, lockManagerUtils.getUniqueID());
+        CompletableFuture<AutoCloseable> lockFuture = new CompletableFuture<>();
+        Futures.addCallback(new LockAcquisition(lockData, -1).start(), new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean locked) {
+                lockFuture.complete(() -> LoggingFutures.addErrorLogging(release(lockName), LOG,
+                    "Failed to release lock {}", lockName));
             }
-        });
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                lockFuture.completeExceptionally(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+        return lockFuture;
+    }
+
+    private ListenableFuture<?> release(final String lockName) {
+        LockLease lease = isLeaseMode() ? leases.get(lockName) : null;
+        if (lease != null) {
+            synchronized (lease) {
+                if (lease.isHeld()) {
+                    lease.setHeld(false);
+                    if (!lease.isRevoked(System.nanoTime())) {
+                        LOG.debug("Unlocked {} locally, lease is kept", lockName);
+                        lockWaitQueues.signal(lockName);
+                        return Futures.immediateFuture(null);
+                    }
+                    return releaseLease(lease);
+                }
+                // Not held here, so the datastore lock is this node's lease: hand it back, rather than deleting
+                // it behind the lease, which would then keep granting a lock that another node can acquire
+                if (!lease.isReleasing()) {
+                    return releaseLease(lease);
+                }
+                LOG.debug("unlock ignored, as the lease on {} is already being released", lockName);
+                return Futures.immediateFuture(null);
+            }
+        }
+        return unlock(lockName, lockManagerUtils.getLockInstanceIdentifier(lockName), DEFAULT_RETRY_COUNT);
+    }
+
+    private ListenableFuture<Object> unlock(final String lockName,
+        final InstanceIdentifier<Lock> lockInstanceIdentifier, final int retry) {
+        ListenableFuture<Object> future = Futures.transform(
+            txRunner.callWithNewReadWriteTransactionAndSubmit(Datastore.OPERATIONAL, tx -> {
+                Boolean result = tx.exists(lockInstanceIdentifier).get();
+                if (!result) {
+                    LOG.debug("unlock ignored, as unnecessary; lock is already unlocked: {}", lockName);
+                } else {
+                    tx.delete(lockInstanceIdentifier);
+                }
+            }), unused -> null, MoreExecutors.directExecutor());
         return Futures.catchingAsync(future, Exception.class, exception -> {
             LOG.error("in unlock unable to unlock {} due to {}, try {} of {}", lockName,
                 exception.getMessage(), DEFAULT_RETRY_COUNT - retry + 1, DEFAULT_RETRY_COUNT);
             if (retry - 1 > 0) {
-                Thread.sleep(DEFAULT_WAIT_TIME_IN_MILLIS);
-                return (ListenableFuture) unlock(lockName, lockInstanceIdentifier, retry - 1);
+                // Retry later from the timer, instead of sleeping on an executor thread
+                return Futures.scheduleAsync(() -> unlock(lockName, lockInstanceIdentifier, retry - 1),
+                    DEFAULT_WAIT_TIME_IN_MILLIS, TimeUnit.MILLISECONDS, scheduler);
             } else {
                 throw exception;
             }
-        }, EXECUTOR_SERVICE);
+        }, MoreExecutors.directExecutor());
     }
 
     void removeLock(final Lock removedLock) {
         final String lockName = removedLock.getLockName();
         LOG.debug("Received remove for lock {} : {}", lockName, removedLock);
-        CompletableFuture<Void> lock = lockSynchronizerMap.get(lockName);
-        if (lock != null) {
-            // FindBugs flags a false violation here - "passes a null value as the parameter of a method which must be
-            // non-null. Either this parameter has been explicitly marked as @NonNull, or analysis has determined that
-            // this parameter is always dereferenced.". However neither is true. The type param is Void so you have to
-            // pas null.
-            lock.complete(null);
+        lockWaitQueues.signal(lockName);
+    }
+
+    void updateLock(final Lock updatedLock) {
+        if (!isLeaseMode() || !Boolean.TRUE.equals(updatedLock.isContended())
+                || !Objects.equals(updatedLock.getLockOwner(), lockManagerUtils.getLeaseOwner())) {
+            return;
+        }
+        LockLease lease = leases.get(updatedLock.getLockName());
+        if (lease != null) {
+            synchronized (lease) {
+                LOG.debug("Lease {} is contended by another node", lease);
+                lease.setContended();
+                if (!lease.isHeld() && !lease.isReleasing()) {
+                    releaseLease(lease);
+                }
+            }
         }
     }
 
     /**
-     * Try to acquire lock indefinitely until it is successful.
+     * One caller waiting for a lock, in the queue of its lock name. Each attempt either acquires the lock,
+     * or arranges for the next attempt to run once the lock is released or the retry timer fires; no thread
+     * waits in between.
      */
-    private ListenableFuture<LockOutput> getLock(final Lock lockData)
-            throws InterruptedException {
+    private final class LockAcquisition {
+        private final Lock lockData;
+        private final String lockName;
+        private final boolean timed;
+        private final long deadlineNanos;
+        private final LockWaitQueues.Waiter waiter;
+        private final SettableFuture<Boolean> result = SettableFuture.create();
         // Count from 1 to provide human-comprehensible messages
-        String lockName = lockData.getLockName();
-        for (int retry = 1;; retry++) {
-            try {
-                lockSynchronizerMap.putIfAbsent(lockName, new CompletableFuture<>());
-                if (readWriteLock(lockData)) {
-                    return IMMEDIATE_LOCK;
-                }
+        private int retry;
 
-                if (retry < DEFAULT_NUMBER_LOCKING_ATTEMPS) {
-                    LOG.debug("Already locked for {} after waiting {}ms, try {}",
-                        lockName, DEFAULT_WAIT_TIME_IN_MILLIS, retry);
-                } else {
-                    LOG.warn("Already locked for {} after waiting {}ms, try {}",
-                        lockName, DEFAULT_WAIT_TIME_IN_MILLIS, retry);
-                }
-            } catch (ExecutionException e) {
-                logUnlessCauseIsOptimisticLockFailedException(lockName, retry, e);
-                if (!(e.getCause() instanceof OptimisticLockFailedException
-                    || e.getCause() instanceof DataStoreUnavailableException)) {
-                    return Futures.immediateFailedFuture(e.getCause());
-                }
+        /**
+         * Creates an acquisition of the given lock, which gives up after the given time, or never if negative.
+         */
+        LockAcquisition(Lock lockData, long waitTimeMillis) {
+            this.lockData = lockData;
+            this.lockName = lockData.getLockName();
+            this.timed = waitTimeMillis >= 0;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(waitTimeMillis, 0));
+            this.waiter = lockWaitQueues.enqueue(lockName);
+        }
+
+        /**
+         * Starts acquiring the lock. The returned future completes with true once it is acquired, or with false
+         * if it could not be acquired in time.
+         */
+        ListenableFuture<Boolean> start() {
+            attempt();
+            return result;
+        }
+
+        private void attempt() {
+            retry++;
+            CompletableFuture<Void> signal = lockWaitQueues.arm(waiter);
+            if (!lockWaitQueues.isHead(lockName, waiter)) {
+                awaitSignal(signal);
+                return;
             }
-            CompletableFuture<Void> future = lockSynchronizerMap.get(lockName);
-            if (future != null) {
-                try {
-                    // Making this as timed get to avoid any missing signal for lock remove notifications
-                    // in LockListener (which does the future.complete())
-                    future.get(DEFAULT_WAIT_TIME_IN_MILLIS, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException | ExecutionException e) {
-                    LOG.error("Problems in waiting on lock synchronizer {}", lockName, e);
-                } catch (TimeoutException e) {
-                    LOG.info("Waiting for the lock {} is timed out. retrying again", lockName);
+            Futures.addCallback(acquireLock(lockData), new FutureCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean acquired) {
+                    if (acquired) {
+                        finish(true);
+                        return;
+                    }
+                    if (timed || retry < DEFAULT_NUMBER_LOCKING_ATTEMPS) {
+                        LOG.debug("Already locked for {}, try {}", lockName, retry);
+                    } else {
+                        LOG.warn("Already locked for {}, try {}", lockName, retry);
+                    }
+                    awaitSignal(signal);
                 }
-                lockSynchronizerMap.remove(lockName);
-            }
+
+                @Override
+                public void onFailure(Throwable cause) {
+                    logUnlessCauseIsOptimisticLockFailedException(lockName, retry, cause);
+                    if (!timed && !(cause instanceof OptimisticLockFailedException
+                            || cause instanceof DataStoreUnavailableException)) {
+                        lockWaitQueues.leave(lockName, waiter, false);
+                        result.setException(cause);
+                        return;
+                    }
+                    awaitSignal(signal);
+                }
+            }, MoreExecutors.directExecutor());
         }
-    }
 
-    /**
-     * Try to acquire lock for mentioned retryCount. Returns true if
-     * successfully acquired lock.
-     */
-    private boolean getLock(Lock lockData, long retryCount) throws InterruptedException {
-        // Count from 1 to provide human-comprehensible messages
-        String lockName = lockData.getLockName();
-        for (int retry = 1; retry <= retryCount; retry++) {
-            try {
-                if (readWriteLock(lockData)) {
-                    return true;
+        /**
+         * Runs the next attempt once the lock is released, or after a timeout which bounds how long a missed
+         * or lost release notification can delay it.
+         */
+        private void awaitSignal(CompletableFuture<Void> signal) {
+            long timeoutMillis = DEFAULT_WAIT_TIME_IN_MILLIS;
+            if (timed) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    finish(false);
+                    return;
                 }
-            } catch (ExecutionException e) {
-                logUnlessCauseIsOptimisticLockFailedException(lockName, retry, e);
+                timeoutMillis = Math.min(remainingMillis, timeoutMillis);
             }
+            // The type param is Void so we have to pass null
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> signal.complete(null), timeoutMillis,
+                TimeUnit.MILLISECONDS);
+            signal.thenRunAsync(() -> {
+                timeout.cancel(false);
+                attempt();
+            }, EXECUTOR_SERVICE);
+        }
 
-            LOG.debug("Already locked for {} after waiting {}ms, try {} of {}", lockName, DEFAULT_WAIT_TIME_IN_MILLIS,
-                retry, retryCount);
-            Thread.sleep(DEFAULT_WAIT_TIME_IN_MILLIS);
+        private void finish(boolean acquired) {
+            lockWaitQueues.leave(lockName, waiter, acquired);
+            result.set(acquired);
         }
-        return false;
     }
 
-    private static void logUnlessCauseIsOptimisticLockFailedException(String name, int retry,
-            ExecutionException exception) {
+    private static void logUnlessCauseIsOptimisticLockFailedException(String name, int retry, Throwable cause) {
         // Log anything else than OptimisticLockFailedException with level error.
         // Bug 8059: We do not log OptimisticLockFailedException, as those are "normal" in the current design,
         //           and this class is explicitly designed to retry obtaining a lock in case of an
         //           OptimisticLockFailedException, so we do not flood the log with events in case it's "just" that.
         // TODO This class may be completely reviewed in the future to work entirely differently;
         //      e.g. using an EntityOwnershipService, as proposed in Bug 8224.
-        if (!(exception.getCause() instanceof OptimisticLockFailedException)) {
-            LOG.error("Unable to acquire lock for {}, try {}", name, retry, exception);
+        if (!(cause instanceof OptimisticLockFailedException)) {
+            LOG.error("Unable to acquire lock for {}, try {}", name, retry, cause);
         }
     }
 
+    private ListenableFuture<Boolean> acquireLock(final Lock lockData) {
+        return isLeaseMode() ? acquireLease(lockData.getLockName()) : readWriteLock(lockData);
+    }
+
     /**
-     * Read and write the lock immediately if available. Returns true if
-     * successfully locked.
+     * Grant the lock from the lease held by this node if possible, else try to (re-)acquire the lease
+     * in the datastore. Completes with true if successfully locked.
      */
-    private boolean readWriteLock(final Lock lockData)
-            throws InterruptedException, ExecutionException {
-        // FIXME: Since netvirt is currently also locking on strings, we need to ensure those places do not synchronize
-        //        with us before switching to .getLockFor()
-        final ReentrantLock lock = JvmGlobalLocks.getLockForString(lockData.getLockName());
-        lock.lock();
-        try {
-            return txRunner.applyWithNewReadWriteTransactionAndSubmit(Datastore.OPERATIONAL, tx -> {
-                final InstanceIdentifier<Lock> lockInstanceIdentifier =
-                        LockManagerUtils.getLockInstanceIdentifier(lockData.key());
-                Optional<Lock> result = tx.read(lockInstanceIdentifier).get();
-                if (!result.isPresent()) {
-                    LOG.debug("Writing lock lockData {}", lockData);
-                    tx.put(lockInstanceIdentifier, lockData);
-                    return true;
+    private ListenableFuture<Boolean> acquireLease(final String lockName) {
+        LockLease lease = leases.computeIfAbsent(lockName, LockLease::new);
+        synchronized (lease) {
+            if (lease.isGrantable(System.nanoTime())) {
+                leaseHits.increment();
+                lease.setHeld(true);
+                return LOCKED;
+            }
+            if (lease.isHeld() || lease.isReleasing() || leases.get(lockName) != lease) {
+                return NOT_LOCKED;
+            }
+            leaseMisses.increment();
+            // Held while it is acquired from the datastore, so that it is neither granted nor expired meanwhile
+            lease.setHeld(true);
+        }
+        ListenableFuture<Boolean> future =
+                readWriteLock(lockManagerUtils.buildLock(lockName, lockManagerUtils.getLeaseOwner()));
+        Futures.addCallback(future, new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean acquired) {
+                synchronized (lease) {
+                    if (acquired) {
+                        LOG.debug("Acquired lease on lock {} for {}ms", lockName, leaseDurationMillis);
+                        lease.renew(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseDurationMillis));
+                        scheduler.schedule(() -> expireLease(lease), leaseDurationMillis, TimeUnit.MILLISECONDS);
+                    } else {
+                        discardLease(lease);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                synchronized (lease) {
+                    discardLease(lease);
                 }
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
 
-                String lockDataOwner = result.get().getLockOwner();
-                String currentOwner = lockData.getLockOwner();
-                return Objects.equals(currentOwner, lockDataOwner);
-            }).get();
-        } finally {
-            lock.unlock();
+    private void discardLease(final LockLease lease) {
+        lease.setHeld(false);
+        leases.remove(lease.getLockName(), lease);
+    }
+
+    private void expireLease(final LockLease lease) {
+        synchronized (lease) {
+            if (!lease.isHeld() && !lease.isReleasing() && lease.isRevoked(System.nanoTime())) {
+                LOG.debug("Lease {} expired", lease);
+                releaseLease(lease);
+            }
         }
     }
+
+    /**
+     * Hands the lease back to the datastore. Must be called holding the monitor of the lease.
+     */
+    private ListenableFuture<?> releaseLease(final LockLease lease) {
+        String lockName = lease.getLockName();
+        lease.setReleasing();
+        ListenableFuture<?> future = unlock(lockName, lockManagerUtils.getLockInstanceIdentifier(lockName),
+            DEFAULT_RETRY_COUNT);
+        future.addListener(() -> leases.remove(lockName, lease), MoreExecutors.directExecutor());
+        return future;
+    }
+
+    /**
+     * Read and write the lock immediately if available. Completes with true if
+     * successfully locked.
+     *
+     * <p>Attempts for the same lock name are not made concurrently on this node, as only the head of its
+     * {@link LockWaitQueues} queue makes them.
+     */
+    private ListenableFuture<Boolean> readWriteLock(final Lock lockData) {
+        return txRunner.applyWithNewReadWriteTransactionAndSubmit(Datastore.OPERATIONAL, tx -> {
+            final InstanceIdentifier<Lock> lockInstanceIdentifier =
+                    LockManagerUtils.getLockInstanceIdentifier(lockData.key());
+            Optional<Lock> result = tx.read(lockInstanceIdentifier).get();
+            if (!result.isPresent()) {
+                LOG.debug("Writing lock lockData {}", lockData);
+                tx.put(lockInstanceIdentifier, lockData);
+                return true;
+            }
+
+            String lockDataOwner = result.get().getLockOwner();
+            String currentOwner = lockData.getLockOwner();
+            if (Objects.equals(currentOwner, lockDataOwner)) {
+                return true;
+            }
+            if (LockManagerUtils.isLeaseOwner(lockDataOwner) && !Boolean.TRUE.equals(result.get().isContended())) {
+                LOG.debug("Asking lease owner {} to release lock {}", lockDataOwner, lockData.getLockName());
+                tx.put(lockInstanceIdentifier, new LockBuilder(result.get()).setContended(true).build());
+            }
+            return false;
+        });
+    }
 }
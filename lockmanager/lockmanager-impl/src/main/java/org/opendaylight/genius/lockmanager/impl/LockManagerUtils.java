@@ -26,6 +26,7 @@ import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 public class LockManagerUtils {
     private static final InstanceIdentifier<Locks> LOCKS_IID = InstanceIdentifier.create(Locks.class);
     private static final String SEPARATOR = ":";
+    private static final String LEASE_SUFFIX = SEPARATOR + "lease";
 
     private final AtomicInteger counter;
     private final int bladeId;
@@ -73,6 +74,17 @@ public class LockManagerUtils {
         return bladeId + SEPARATOR + lockId;
     }
 
+    /**
+     * Owner used for locks held as a lease by this node, see {@link LockManagerServiceImpl}.
+     */
+    public String getLeaseOwner() {
+        return bladeId + LEASE_SUFFIX;
+    }
+
+    public static boolean isLeaseOwner(String owner) {
+        return owner != null && owner.endsWith(LEASE_SUFFIX);
+    }
+
     public int getBladeId() {
         return bladeId;
     }
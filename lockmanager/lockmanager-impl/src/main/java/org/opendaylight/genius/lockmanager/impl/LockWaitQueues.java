@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per lock name FIFO queues of the callers of this node waiting for a lock.
+ *
+ * <p>Only the head of a queue tries to acquire the lock; the others wait for their turn. When the lock is
+ * released, which {@link LockListener} reports for the datastore and {@link LockManagerServiceImpl} itself
+ * for leases, only the head is signalled, so the lock is handed over in arrival order without waking up
+ * every waiter. A head which gives up without acquiring the lock passes a signal it received on to the
+ * next waiter, so that no wakeup is lost.
+ */
+final class LockWaitQueues {
+
+    static final class Waiter {
+        private CompletableFuture<Void> signal = new CompletableFuture<>();
+    }
+
+    private final Map<String, Deque<Waiter>> queues = new HashMap<>();
+
+    synchronized Waiter enqueue(String lockName) {
+        Waiter waiter = new Waiter();
+        queues.computeIfAbsent(lockName, name -> new ArrayDeque<>()).addLast(waiter);
+        return waiter;
+    }
+
+    /**
+     * Returns the future which the next signal to the given waiter completes. Must be called before each
+     * attempt to acquire the lock, so that a release racing with the attempt is not missed.
+     */
+    synchronized CompletableFuture<Void> arm(Waiter waiter) {
+        if (waiter.signal.isDone()) {
+            waiter.signal = new CompletableFuture<>();
+        }
+        return waiter.signal;
+    }
+
+    synchronized boolean isHead(String lockName, Waiter waiter) {
+        Deque<Waiter> queue = queues.get(lockName);
+        return queue != null && queue.peekFirst() == waiter;
+    }
+
+    /**
+     * Signals the head waiter for the given lock name, if any.
+     */
+    synchronized void signal(String lockName) {
+        Deque<Waiter> queue = queues.get(lockName);
+        if (queue != null && !queue.isEmpty()) {
+            // The type param is Void so we have to pass null
+            queue.peekFirst().signal.complete(null);
+        }
+    }
+
+    synchronized void leave(String lockName, Waiter waiter, boolean acquired) {
+        Deque<Waiter> queue = queues.get(lockName);
+        if (queue == null) {
+            return;
+        }
+        boolean wasHead = queue.peekFirst() == waiter;
+        queue.remove(waiter);
+        if (queue.isEmpty()) {
+            queues.remove(lockName);
+        } else if (wasHead && !acquired && waiter.signal.isDone()) {
+            queue.peekFirst().signal.complete(null);
+        }
+    }
+
+    synchronized int getWaiterCount(String lockName) {
+        Deque<Waiter> queue = queues.get(lockName);
+        return queue != null ? queue.size() : 0;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.tests;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailuresModule;
+import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
+import org.opendaylight.infrautils.testutils.LogCaptureRule;
+import org.opendaylight.infrautils.testutils.LogRule;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.UnlockInputBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test of N threads locking and unlocking M lock names, checking that each lock has at most one holder.
+ */
+public class LockManagerContentionTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LockManagerContentionTest.class);
+
+    private static final int THREADS = 8;
+    private static final int LOCK_NAMES = 4;
+    private static final int LOCKS_PER_THREAD = 25;
+
+    public @Rule LogRule logRule = new LogRule();
+    public @Rule LogCaptureRule logCaptureRule = new LogCaptureRule();
+    public @Rule MethodRule guice = new GuiceRule(LockManagerTestModule.class, DataBrokerFailuresModule.class);
+
+    @Inject LockManagerService lockManager;
+
+    @Test
+    @SuppressWarnings("checkstyle:IllegalThrows") // OK as exceptionInExecutor can't be Exception & AssertionFailedError
+    public void testContendedLocksAreExclusive() throws Throwable {
+        AtomicIntegerArray holders = new AtomicIntegerArray(LOCK_NAMES);
+        AtomicInteger acquisitions = new AtomicInteger();
+        CountDownLatch doneLatch = new CountDownLatch(THREADS);
+        AtomicReference<Throwable> exceptionInExecutorAtomic = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, "testContendedLocksAreExclusive()", LOG);
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int firstLock = thread;
+            executor.execute(() -> {
+                // Any exception thrown inside this background thread will not cause the test to fail
+                // so you cannot use assert* here but must set the exceptionInExecutor which is checked after
+                try {
+                    for (int i = 0; i < LOCKS_PER_THREAD; i++) {
+                        int lock = (firstLock + i) % LOCK_NAMES;
+                        String lockName = "contendedLock" + lock;
+                        lockManager.lock(new LockInputBuilder().setLockName(lockName).build()).get();
+                        if (holders.incrementAndGet(lock) != 1) {
+                            throw new AssertionError("Lock " + lockName + " acquired twice");
+                        }
+                        acquisitions.incrementAndGet();
+                        holders.decrementAndGet(lock);
+                        lockManager.unlock(new UnlockInputBuilder().setLockName(lockName).build()).get();
+                    }
+                } catch (InterruptedException | ExecutionException | AssertionError e) {
+                    exceptionInExecutorAtomic.set(e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        if (!doneLatch.await(300, SECONDS)) {
+            fail("doneLatch.await(300, SECONDS) timed out :(");
+        }
+        Executors.shutdownAndAwaitTermination(executor);
+        Throwable exceptionInExecutor = exceptionInExecutorAtomic.get();
+        if (exceptionInExecutor != null) {
+            throw exceptionInExecutor;
+        }
+
+        assertEquals(THREADS * LOCKS_PER_THREAD, acquisitions.get());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.tests;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.opendaylight.serviceutils.tools.mdsal.testutils.TestFutureRpcResults.assertRpcErrorWithoutCausesOrMessages;
+import static org.opendaylight.serviceutils.tools.mdsal.testutils.TestFutureRpcResults.assertRpcSuccess;
+
+import java.util.Optional;
+import javax.inject.Inject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailuresModule;
+import org.opendaylight.genius.lockmanager.impl.LockManagerServiceImpl;
+import org.opendaylight.genius.lockmanager.impl.LockManagerUtils;
+import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
+import org.opendaylight.infrautils.testutils.LogCaptureRule;
+import org.opendaylight.infrautils.testutils.LogRule;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.TimeUnits;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.TryLockInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.UnlockInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.locks.Lock;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.locks.LockBuilder;
+import org.opendaylight.yangtools.yang.common.Uint32;
+
+/**
+ * Test for the lease mode of {@link LockManagerServiceImpl}.
+ */
+public class LockManagerLeaseTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final String LOCK_NAME = "testLeaseLock";
+
+    public @Rule LogRule logRule = new LogRule();
+    public @Rule LogCaptureRule logCaptureRule = new LogCaptureRule();
+    public @Rule MethodRule guice = new GuiceRule(LockManagerTestModule.class, DataBrokerFailuresModule.class);
+
+    @Inject DataBroker dataBroker;
+    @Inject LockManagerServiceImpl lockManager;
+    @Inject LockManagerUtils lockManagerUtils;
+
+    @BeforeClass
+    public static void enableLeases() {
+        System.setProperty(LockManagerServiceImpl.LEASE_DURATION_PROPERTY, "60000");
+    }
+
+    @AfterClass
+    public static void disableLeases() {
+        System.clearProperty(LockManagerServiceImpl.LEASE_DURATION_PROPERTY);
+    }
+
+    @Test
+    public void testLeaseIsReusedLocally() throws Exception {
+        lockAndUnlock();
+        assertEquals(0, lockManager.getLeaseHits());
+        assertEquals(1, lockManager.getLeaseMisses());
+        // The lease stays in the datastore after the local unlock
+        assertEquals(Optional.of(lockManagerUtils.getLeaseOwner()), readLockOwner());
+
+        lockAndUnlock();
+        lockAndUnlock();
+        assertEquals(2, lockManager.getLeaseHits());
+        assertEquals(1, lockManager.getLeaseMisses());
+    }
+
+    @Test
+    public void testTryLockOfLocallyHeldLease() throws Exception {
+        String uniqueId = lockManagerUtils.getBladeId() + ":2";
+        logCaptureRule.expectError("Failed to get lock " + LOCK_NAME + " owner " + uniqueId + " after 1 retries");
+
+        assertRpcSuccess(lockManager.lock(new LockInputBuilder().setLockName(LOCK_NAME).build()));
+        assertRpcErrorWithoutCausesOrMessages(lockManager.tryLock(new TryLockInputBuilder().setLockName(LOCK_NAME)
+                .setTime(Uint32.valueOf(1)).setTimeUnit(TimeUnits.Seconds).build()));
+    }
+
+    @Test
+    public void testContendedLeaseIsHandedBack() throws Exception {
+        lockAndUnlock();
+        assertEquals(Optional.of(lockManagerUtils.getLeaseOwner()), readLockOwner());
+
+        // Another node waiting for the lock marks it as contended
+        Lock lease = new SingleTransactionDataBroker(dataBroker).syncRead(LogicalDatastoreType.OPERATIONAL,
+                lockManagerUtils.getLockInstanceIdentifier(LOCK_NAME));
+        SingleTransactionDataBroker.syncWrite(dataBroker, LogicalDatastoreType.OPERATIONAL,
+                lockManagerUtils.getLockInstanceIdentifier(LOCK_NAME),
+                new LockBuilder(lease).setContended(true).build());
+
+        await().atMost(10, SECONDS).until(() -> !readLockOwner().isPresent());
+        lockAndUnlock();
+        assertEquals(2, lockManager.getLeaseMisses());
+    }
+
+    @Test
+    public void testUnlockOfIdleLeaseHandsItBack() throws Exception {
+        lockAndUnlock();
+        assertEquals(Optional.of(lockManagerUtils.getLeaseOwner()), readLockOwner());
+
+        // The lease must not be kept once its datastore lock is deleted, else it would keep granting locally
+        assertRpcSuccess(lockManager.unlock(new UnlockInputBuilder().setLockName(LOCK_NAME).build()));
+        assertEquals(Optional.empty(), readLockOwner());
+        lockAndUnlock();
+        assertEquals(0, lockManager.getLeaseHits());
+        assertEquals(2, lockManager.getLeaseMisses());
+    }
+
+    private void lockAndUnlock() throws Exception {
+        assertRpcSuccess(lockManager.lock(new LockInputBuilder().setLockName(LOCK_NAME).build()));
+        assertRpcSuccess(lockManager.unlock(new UnlockInputBuilder().setLockName(LOCK_NAME).build()));
+    }
+
+    private Optional<String> readLockOwner() throws Exception {
+        return new SingleTransactionDataBroker(dataBroker).syncReadOptional(LogicalDatastoreType.OPERATIONAL,
+                lockManagerUtils.getLockInstanceIdentifier(LOCK_NAME)).map(Lock::getLockOwner);
+    }
+}
@@ -7,12 +7,15 @@
  */
 package org.opendaylight.genius.lockmanager.tests;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertFalse;
 import static org.opendaylight.serviceutils.tools.mdsal.testutils.TestFutureRpcResults.assertRpcErrorCause;
 import static org.opendaylight.serviceutils.tools.mdsal.testutils.TestFutureRpcResults.assertRpcErrorWithoutCausesOrMessages;
 import static org.opendaylight.serviceutils.tools.mdsal.testutils.TestFutureRpcResults.assertRpcSuccess;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
@@ -21,6 +24,7 @@ import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailures;
 import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailuresModule;
+import org.opendaylight.genius.lockmanager.api.LockManager;
 import org.opendaylight.genius.lockmanager.impl.LockManagerServiceImpl;
 import org.opendaylight.genius.lockmanager.impl.LockManagerUtils;
 import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
@@ -57,6 +61,7 @@ public class LockManagerTest extends AbstractConcurrentDataBrokerTest {
     @Inject DataBrokerFailures dbFailureSimulator;
     @Inject LockManagerService lockManager;
     @Inject LockManagerUtils lockManagerUtils;
+    @Inject LockManager javaLockManager;
 
     @Test
     public void testLockAndUnLock() throws InterruptedException, ExecutionException, TimeoutException {
@@ -140,6 +145,17 @@ public class LockManagerTest extends AbstractConcurrentDataBrokerTest {
         assertRpcErrorCause(lockManager.lock(lockInput), TransactionCommitFailedException.class, "bada boum bam!");
     }
 
+    @Test
+    public void testAcquireAndReleaseThroughJavaApi() throws Exception {
+        AutoCloseable firstLock = javaLockManager.acquire("testJavaLock").toCompletableFuture().get(10, SECONDS);
+
+        // The second acquire does not block this thread, and only completes once the first lock is released
+        CompletableFuture<AutoCloseable> secondLock = javaLockManager.acquire("testJavaLock").toCompletableFuture();
+        assertFalse(secondLock.isDone());
+        firstLock.close();
+        secondLock.get(10, SECONDS).close();
+    }
+
     // TODO testEternalReadFailedExceptionOnLock() throws InterruptedException, ExecutionException, TimeoutException {
 
     // TODO test3sOptimisticLockFailedExceptionOnUnLock()
@@ -8,6 +8,7 @@
 package org.opendaylight.genius.lockmanager.tests;
 
 import java.net.UnknownHostException;
+import org.opendaylight.genius.lockmanager.api.LockManager;
 import org.opendaylight.genius.lockmanager.impl.LockListener;
 import org.opendaylight.genius.lockmanager.impl.LockManagerServiceImpl;
 import org.opendaylight.infrautils.inject.guice.testutils.AbstractGuiceJsr250Module;
@@ -18,6 +19,7 @@ public class LockManagerTestModule extends AbstractGuiceJsr250Module {
     @Override
     protected void configureBindings() throws UnknownHostException {
         bind(LockManagerService.class).to(LockManagerServiceImpl.class);
+        bind(LockManager.class).to(LockManagerServiceImpl.class);
         bind(LockListener.class);
     }
 }
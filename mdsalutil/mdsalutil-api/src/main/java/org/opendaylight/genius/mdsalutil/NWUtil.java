@@ -112,6 +112,13 @@ public final class NWUtil {
         return ip;
     }
 
+    /**
+     * Converts an IPv4 address held in an int, as read in place from a packet, to its dotted decimal String.
+     */
+    public static String toStringIpv4Address(int ipAddress) {
+        return InetAddresses.fromInteger(ipAddress).getHostAddress();
+    }
+
     /**
      * Accepts a MAC address and returns the corresponding long, where the MAC
      * bytes are set on the lower order bytes of the long.
@@ -161,6 +168,23 @@ public final class NWUtil {
         return sb.toString();
     }
 
+    /**
+     * Converts a MAC address held in the lower order bytes of a long, as read in place from a packet, to the same
+     * String as {@link #toStringMacAddress(byte[])}.
+     */
+    public static String toStringMacAddress(long macAddress) {
+        char[] chars = new char[17];
+        for (int i = 0; i < 6; i++) {
+            int macByte = (int) (macAddress >>> (5 - i) * 8) & 0xff;
+            chars[i * 3] = Character.toUpperCase(Character.forDigit(macByte >>> 4, 16));
+            chars[i * 3 + 1] = Character.toUpperCase(Character.forDigit(macByte & 0xf, 16));
+            if (i < 5) {
+                chars[i * 3 + 2] = NwConstants.MACADDR_SEP.charAt(0);
+            }
+        }
+        return new String(chars);
+    }
+
     /**
      * Returns the ids of the currently operative DPNs.
      * @param dataBroker instance of databroker
@@ -12,25 +12,44 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.ClusteredDataTreeChangeListener;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.DataObjectModification;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
 import org.opendaylight.mdsal.binding.api.DataTreeModification;
+import org.opendaylight.mdsal.binding.api.ReadTransaction;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -42,14 +61,39 @@ import org.slf4j.LoggerFactory;
 /**
  * Caches DataObjects of a particular type. The cache is updated by a DataTreeChangeListener.
  *
+ * <p>By default the cache is unbounded. The {@value #MAX_SIZE_PROPERTY} and {@value #EXPIRE_AFTER_ACCESS_PROPERTY}
+ * system properties bound all the caches; each can be overridden for the caches of one class by inserting the
+ * simple name of the class, for example genius.cache.TunnelStateCache.max.size. An evicted DataObject is read
+ * from the datastore again on the next {@link #get(Object)}, but it is missing from {@link #getAllPresent()} until
+ * then, so the caches whose users rely on getAllPresent() must not be bounded.
+ *
+ * <p>The absence of a DataObject is cached too, until the DataObject is created, or, if the
+ * {@value #NEGATIVE_TTL_PROPERTY} system property is set (it can be overridden per class as well), until it is
+ * older than that time to live.
+ *
  * @author Thomas Pantelis
  */
 public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataObjectCache.class);
 
+    public static final String MAX_SIZE_PROPERTY = "genius.cache.max.size";
+    public static final String EXPIRE_AFTER_ACCESS_PROPERTY = "genius.cache.expire.after.access.ms";
+    public static final String NEGATIVE_TTL_PROPERTY = "genius.cache.negative.ttl.ms";
+
+    private final DataBroker dataBroker;
     private final SingleTransactionDataBroker broker;
+    private final LogicalDatastoreType datastoreType;
+    private final BiFunction<InstanceIdentifier<V>, V, K> keyFunction;
+    private final Function<K, InstanceIdentifier<V>> instanceIdFunction;
     private final LoadingCache<K, Optional<V>> cache;
+    private final DataObjectCacheStatistics statistics;
+    private final long negativeTtlNanos;
+    // The expiry times of the cached absences of DataObjects, only used with a negative TTL
+    private final ConcurrentMap<K, Long> negativeExpiryNanos = new ConcurrentHashMap<>();
+    private final AtomicLong deletions = new AtomicLong();
+    // The reads of getAsync() in progress, shared by the concurrent calls for the same key
+    private final ConcurrentMap<K, ListenableFuture<Optional<V>>> pendingLoads = new ConcurrentHashMap<>();
     private final AtomicBoolean isClosed = new AtomicBoolean();
     protected ListenerRegistration<?> listenerRegistration;
     protected ClusteredDataTreeChangeListener<V> dataObjectListener;
@@ -68,7 +112,28 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
                            InstanceIdentifier<V> listetenerRegistrationPath, CacheProvider cacheProvider,
                            BiFunction<InstanceIdentifier<V>, V, K> keyFunction,
                            Function<K, InstanceIdentifier<V>> instanceIdFunction) {
-        this(dataObjectClass, dataBroker, datastoreType, cacheProvider, keyFunction, instanceIdFunction);
+        this(dataObjectClass, dataBroker, datastoreType, listetenerRegistrationPath, cacheProvider, null,
+            keyFunction, instanceIdFunction);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataObjectClass the DataObject class to cache
+     * @param dataBroker the DataBroker
+     * @param datastoreType the LogicalDatastoreType
+     * @param cacheProvider the CacheProvider used to instantiate the Cache
+     * @param metricProvider the MetricProvider used to export the statistics of the cache, or null not to export them
+     * @param keyFunction the function used to convert or extract the key instance on change notification
+     * @param instanceIdFunction the function used to convert a key instance to an InstanceIdentifier on read
+     */
+    public DataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker, LogicalDatastoreType datastoreType,
+                           InstanceIdentifier<V> listetenerRegistrationPath, CacheProvider cacheProvider,
+                           @Nullable MetricProvider metricProvider,
+                           BiFunction<InstanceIdentifier<V>, V, K> keyFunction,
+                           Function<K, InstanceIdentifier<V>> instanceIdFunction) {
+        this(dataObjectClass, dataBroker, datastoreType, cacheProvider, metricProvider, keyFunction,
+            instanceIdFunction);
         listenerRegistration = dataBroker.registerDataTreeChangeListener(DataTreeIdentifier.create(
                 datastoreType, listetenerRegistrationPath), dataObjectListener);
 
@@ -77,15 +142,43 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
     public DataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker, LogicalDatastoreType datastoreType,
                            CacheProvider cacheProvider, BiFunction<InstanceIdentifier<V>, V, K> keyFunction,
                            Function<K, InstanceIdentifier<V>> instanceIdFunction) {
-        Objects.requireNonNull(keyFunction);
-        Objects.requireNonNull(instanceIdFunction);
-        this.broker = new SingleTransactionDataBroker(Objects.requireNonNull(dataBroker));
+        this(dataObjectClass, dataBroker, datastoreType, cacheProvider, null, keyFunction, instanceIdFunction);
+    }
+
+    public DataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker, LogicalDatastoreType datastoreType,
+                           CacheProvider cacheProvider, @Nullable MetricProvider metricProvider,
+                           BiFunction<InstanceIdentifier<V>, V, K> keyFunction,
+                           Function<K, InstanceIdentifier<V>> instanceIdFunction) {
+        this.keyFunction = Objects.requireNonNull(keyFunction);
+        this.instanceIdFunction = Objects.requireNonNull(instanceIdFunction);
+        this.dataBroker = Objects.requireNonNull(dataBroker);
+        this.broker = new SingleTransactionDataBroker(dataBroker);
+        this.datastoreType = datastoreType;
 
         requireNonNull(cacheProvider, "cacheProvider");
-        cache = CacheBuilder.newBuilder().build(new CacheLoader<K, Optional<V>>() {
+        statistics = new DataObjectCacheStatistics(metricProvider, getClass(), datastoreType, dataObjectClass);
+        CacheBuilder<K, Optional<V>> cacheBuilder = CacheBuilder.newBuilder().removalListener(this::onRemoval);
+        long maxSize = getPolicyProperty(MAX_SIZE_PROPERTY);
+        if (maxSize > 0) {
+            cacheBuilder.maximumSize(maxSize);
+        }
+        long expireAfterAccessMillis = getPolicyProperty(EXPIRE_AFTER_ACCESS_PROPERTY);
+        if (expireAfterAccessMillis > 0) {
+            cacheBuilder.expireAfterAccess(expireAfterAccessMillis, TimeUnit.MILLISECONDS);
+        }
+        negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(getPolicyProperty(NEGATIVE_TTL_PROPERTY));
+        cache = cacheBuilder.build(new CacheLoader<K, Optional<V>>() {
             @Override
-            public Optional<V> load(K key) throws ReadFailedException, ExecutionException, InterruptedException  {
-                return broker.syncReadOptional(datastoreType, instanceIdFunction.apply(key));
+            public Optional<V> load(K key) throws ReadFailedException {
+                InstanceIdentifier<V> path = instanceIdFunction.apply(key);
+                long startNanos = System.nanoTime();
+                try {
+                    return loaded(key, broker.syncReadOptional(datastoreType, path));
+                } catch (ExecutionException | InterruptedException e) {
+                    throw new ReadFailedException("Failed to read " + path, e);
+                } finally {
+                    statistics.loaded(System.nanoTime() - startNanos);
+                }
             }
         });
 
@@ -97,11 +190,14 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
                     case WRITE:
                     case SUBTREE_MODIFIED:
                         V dataAfter = rootNode.getDataAfter();
-                        cache.put(keyFunction.apply(path, dataAfter), Optional.ofNullable(dataAfter));
-                        added(path, dataAfter);
+                        K addedKey = keyFunction.apply(path, dataAfter);
+                        cache.put(addedKey, Optional.ofNullable(dataAfter));
+                        negativeExpiryNanos.remove(addedKey);
+                        modified(path, rootNode);
                         break;
                     case DELETE:
                         V dataBefore = rootNode.getDataBefore();
+                        deletions.incrementAndGet();
                         cache.invalidate(keyFunction.apply(path, dataBefore));
                         removed(path, dataBefore);
                         break;
@@ -120,11 +216,51 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
                 listenerRegistration.close();
             }
             cache.cleanUp();
+            statistics.close();
         } else {
             LOG.warn("Lifecycled object already closed; ignoring extra close()");
         }
     }
 
+    private long getPolicyProperty(String property) {
+        String classProperty = property.replace("genius.cache.", "genius.cache." + getClass().getSimpleName() + ".");
+        return Long.getLong(classProperty, Long.getLong(property, 0L));
+    }
+
+    private void onRemoval(RemovalNotification<K, Optional<V>> notification) {
+        if (notification.wasEvicted()) {
+            statistics.evicted();
+            negativeExpiryNanos.remove(notification.getKey());
+        }
+    }
+
+    private Optional<V> loaded(K key, Optional<V> dataObject) {
+        if (!dataObject.isPresent() && negativeTtlNanos > 0) {
+            negativeExpiryNanos.put(key, System.nanoTime() + negativeTtlNanos);
+        }
+        return dataObject;
+    }
+
+    /**
+     * Returns the cached Optional of the given key and counts a hit, or null if it isn't cached, or is the cached
+     * absence of a DataObject older than the negative TTL.
+     */
+    private @Nullable Optional<V> getCached(K key) {
+        Optional<V> cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.isPresent() && negativeTtlNanos > 0) {
+            Long expiryNanos = negativeExpiryNanos.get(key);
+            if (expiryNanos == null || System.nanoTime() - expiryNanos > 0) {
+                cache.asMap().remove(key, cached);
+                return null;
+            }
+        }
+        statistics.hit();
+        return cached;
+    }
+
     protected void checkIsClosed() throws ReadFailedException {
         if (isClosed.get()) {
             throw new ReadFailedException("Lifecycled object is already closed: " + this.toString());
@@ -146,6 +282,11 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
     @SuppressWarnings("checkstyle:AvoidHidingCauseException")
     public Optional<V> get(@NonNull K key) throws ReadFailedException {
         checkIsClosed();
+        Optional<V> cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        statistics.miss();
         try {
             return cache.get(key);
         } catch (ExecutionException e) {
@@ -153,6 +294,163 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets the DataObject for the given key, without blocking. If there's no DataObject cached, it will be read from
+     * the data store, once for all the concurrent calls for the same key. The returned future is then completed on
+     * the data store's callback thread, so the callers should not chain blocking work to it on a direct executor.
+     *
+     * @param key identifies the DataObject to query
+     * @return a future with the Optional DataObject, failed with a ReadFailedException if the read fails
+     */
+    @NonNull
+    public ListenableFuture<Optional<V>> getAsync(@NonNull K key) {
+        if (isClosed.get()) {
+            return Futures.immediateFailedFuture(
+                    new ReadFailedException("Lifecycled object is already closed: " + this.toString()));
+        }
+        Optional<V> cached = getCached(key);
+        if (cached != null) {
+            return Futures.immediateFuture(cached);
+        }
+        statistics.miss();
+        SettableFuture<Optional<V>> load = SettableFuture.create();
+        ListenableFuture<Optional<V>> pendingLoad = pendingLoads.putIfAbsent(key, load);
+        if (pendingLoad != null) {
+            return Futures.nonCancellationPropagating(pendingLoad);
+        }
+
+        InstanceIdentifier<V> path = instanceIdFunction.apply(key);
+        long startNanos = System.nanoTime();
+        ReadTransaction tx = dataBroker.newReadOnlyTransaction();
+        FluentFuture<Optional<V>> read;
+        try {
+            read = tx.read(datastoreType, path);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Fails the pending load below, so that it isn't left pending
+            read = FluentFuture.from(Futures.immediateFailedFuture(e));
+        }
+        read.addCallback(new FutureCallback<Optional<V>>() {
+            @Override
+            public void onSuccess(Optional<V> dataObject) {
+                tx.close();
+                statistics.loaded(System.nanoTime() - startNanos);
+                // The listener may have cached newer data in the meantime
+                Optional<V> cachedMeanwhile = cache.asMap().putIfAbsent(key, loaded(key, dataObject));
+                pendingLoads.remove(key, load);
+                load.set(cachedMeanwhile != null ? cachedMeanwhile : dataObject);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                tx.close();
+                statistics.loaded(System.nanoTime() - startNanos);
+                pendingLoads.remove(key, load);
+                load.setException(cause instanceof ReadFailedException ? cause
+                        : new ReadFailedException("Failed to read " + path, cause));
+            }
+        }, MoreExecutors.directExecutor());
+        return Futures.nonCancellationPropagating(load);
+    }
+
+    /**
+     * Gets the DataObjects for the given keys. The DataObjects which aren't cached are all read from the data store
+     * in a single read transaction, instead of one transaction per key as {@link #get(Object)} would.
+     *
+     * @param keys identify the DataObjects to query
+     * @return the Optional DataObject of each key, in the iteration order of the keys
+     * @throws ReadFailedException if some data isn't cached and the read to fetch it fails
+     */
+    @NonNull
+    public Map<K, Optional<V>> getAll(@NonNull Collection<K> keys) throws ReadFailedException {
+        checkIsClosed();
+        Map<K, Optional<V>> dataObjects = new LinkedHashMap<>();
+        Set<K> misses = new LinkedHashSet<>();
+        for (K key : keys) {
+            Optional<V> cached = getCached(key);
+            // Keeps the iteration order of the keys, the misses are replaced below
+            dataObjects.put(key, cached);
+            if (cached == null && misses.add(key)) {
+                statistics.miss();
+            }
+        }
+        if (misses.isEmpty()) {
+            return dataObjects;
+        }
+
+        Map<K, FluentFuture<Optional<V>>> reads = new HashMap<>();
+        long startNanos = System.nanoTime();
+        try (ReadTransaction tx = dataBroker.newReadOnlyTransaction()) {
+            for (K key : misses) {
+                reads.put(key, tx.read(datastoreType, instanceIdFunction.apply(key)));
+            }
+            for (Map.Entry<K, FluentFuture<Optional<V>>> read : reads.entrySet()) {
+                K key = read.getKey();
+                Optional<V> dataObject = read.getValue().get();
+                // The listener may have cached newer data in the meantime
+                Optional<V> cached = cache.asMap().putIfAbsent(key, loaded(key, dataObject));
+                dataObjects.put(key, cached != null ? cached : dataObject);
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            throw new ReadFailedException("Failed to read " + misses, e);
+        } finally {
+            statistics.loaded(System.nanoTime() - startNanos);
+        }
+        return dataObjects;
+    }
+
+    /**
+     * Populates the cache with all the DataObjects of a subtree, read from the data store in a single read, for
+     * example to warm up the cache on start up, rather than read each DataObject on its first {@link #get(Object)}.
+     * The {@link #added(InstanceIdentifier, DataObject)} hook isn't invoked; the listener does it.
+     *
+     * <p>If the listener is notified of a deletion while the subtree is read, the cache isn't populated, as the
+     * subtree may already be stale; the listener then populates it as usual.
+     *
+     * @param parentPath the path of the DataObject containing the DataObjects to cache, typically the parent of the
+     *        listener registration path
+     * @param childrenFunction the function returning the DataObjects to cache contained in the parent DataObject
+     * @param pathFunction the function returning the InstanceIdentifier of a DataObject to cache
+     * @return the number of DataObjects cached
+     * @throws ReadFailedException if the read of the subtree fails
+     */
+    public <P extends DataObject> int preload(@NonNull InstanceIdentifier<P> parentPath,
+            @NonNull Function<P, Collection<V>> childrenFunction,
+            @NonNull Function<V, InstanceIdentifier<V>> pathFunction) throws ReadFailedException {
+        checkIsClosed();
+        long deletionsBefore = deletions.get();
+        long startNanos = System.nanoTime();
+        Optional<P> parent;
+        try {
+            parent = broker.syncReadOptional(datastoreType, parentPath);
+        } catch (ExecutionException | InterruptedException e) {
+            throw new ReadFailedException("Failed to read " + parentPath, e);
+        } finally {
+            statistics.loaded(System.nanoTime() - startNanos);
+        }
+        if (!parent.isPresent()) {
+            return 0;
+        }
+        if (deletions.get() != deletionsBefore) {
+            LOG.debug("{} not preloaded, as DataObjects were deleted during the read", parentPath);
+            return 0;
+        }
+
+        int preloaded = 0;
+        for (V dataObject : childrenFunction.apply(parent.get())) {
+            K key = keyFunction.apply(pathFunction.apply(dataObject), dataObject);
+            // The listener may have cached newer data in the meantime, but the data read is newer than a cached
+            // absence
+            Optional<V> newValue = Optional.of(dataObject);
+            Optional<V> cached = cache.asMap().putIfAbsent(key, newValue);
+            if (cached == null || (!cached.isPresent() && cache.asMap().replace(key, cached, newValue))) {
+                negativeExpiryNanos.remove(key);
+                preloaded++;
+            }
+        }
+        LOG.debug("Preloaded {} DataObjects from {}", preloaded, parentPath);
+        return preloaded;
+    }
+
     /**
      * Gets all DataObjects currently in the cache.
      *
@@ -164,9 +462,33 @@ public class DataObjectCache<K, V extends DataObject> implements AutoCloseable {
                 ? Stream.of(optional.get()) : Stream.empty()).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the number of entries in the cache, including the cached absence of DataObjects.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    public DataObjectCacheStatistics getStatistics() {
+        return statistics;
+    }
+
     protected void added(InstanceIdentifier<V> path, V dataObject) {
     }
 
+    /**
+     * Invoked on the creation or the modification of a DataObject, after the cache is updated. By default it invokes
+     * {@link #added(InstanceIdentifier, DataObject)} with the whole new DataObject; caches of DataObjects containing
+     * large lists can override it to only process the children which changed, from
+     * {@link DataObjectModification#getModifiedChildren(Class)} or by comparing the data before and after.
+     *
+     * @param path the path of the DataObject
+     * @param modification the WRITE or SUBTREE_MODIFIED modification of the DataObject
+     */
+    protected void modified(InstanceIdentifier<V> path, DataObjectModification<V> modification) {
+        added(path, modification.getDataAfter());
+    }
+
     protected void removed(InstanceIdentifier<V> path, V dataObject) {
     }
 
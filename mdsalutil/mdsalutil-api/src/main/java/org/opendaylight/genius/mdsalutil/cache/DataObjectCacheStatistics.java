@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.cache;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.infrautils.metrics.Counter;
+import org.opendaylight.infrautils.metrics.Meter;
+import org.opendaylight.infrautils.metrics.MetricDescriptor;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+
+/**
+ * Statistics of a {@link DataObjectCache}, also exported through the infrautils {@link MetricProvider} if the
+ * cache was given one.
+ */
+public final class DataObjectCacheStatistics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final @Nullable Meter hitMeter;
+    private final @Nullable Meter missMeter;
+    private final @Nullable Meter loadMeter;
+    private final @Nullable Counter loadTimeMicrosCounter;
+    private final @Nullable Meter evictionMeter;
+
+    DataObjectCacheStatistics(@Nullable MetricProvider metricProvider, Class<?> clazz,
+            LogicalDatastoreType datastoreType, Class<?> dataObjectClass) {
+        if (metricProvider != null) {
+            // Several caches of the same class may cache different DataObjects, of either datastore
+            String id = clazz.getSimpleName() + "_" + datastoreType.name().toLowerCase(Locale.ROOT) + "_"
+                    + dataObjectClass.getSimpleName();
+            hitMeter = metricProvider.newMeter(descriptor(clazz, id + "_hits"));
+            missMeter = metricProvider.newMeter(descriptor(clazz, id + "_misses"));
+            loadMeter = metricProvider.newMeter(descriptor(clazz, id + "_loads"));
+            loadTimeMicrosCounter = metricProvider.newCounter(descriptor(clazz, id + "_load_time_micros"));
+            evictionMeter = metricProvider.newMeter(descriptor(clazz, id + "_evictions"));
+        } else {
+            hitMeter = null;
+            missMeter = null;
+            loadMeter = null;
+            loadTimeMicrosCounter = null;
+            evictionMeter = null;
+        }
+    }
+
+    void hit() {
+        hits.increment();
+        if (hitMeter != null) {
+            hitMeter.mark();
+        }
+    }
+
+    void miss() {
+        misses.increment();
+        if (missMeter != null) {
+            missMeter.mark();
+        }
+    }
+
+    void loaded(long elapsedNanos) {
+        loads.increment();
+        loadNanos.add(elapsedNanos);
+        if (loadMeter != null) {
+            loadMeter.mark();
+        }
+        if (loadTimeMicrosCounter != null) {
+            loadTimeMicrosCounter.increment(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+    }
+
+    void evicted() {
+        evictions.increment();
+        if (evictionMeter != null) {
+            evictionMeter.mark();
+        }
+    }
+
+    /**
+     * Unregisters the metrics, so that another cache of the same DataObjects can register them again.
+     */
+    void close() {
+        if (hitMeter != null) {
+            hitMeter.close();
+        }
+        if (missMeter != null) {
+            missMeter.close();
+        }
+        if (loadMeter != null) {
+            loadMeter.close();
+        }
+        if (loadTimeMicrosCounter != null) {
+            loadTimeMicrosCounter.close();
+        }
+        if (evictionMeter != null) {
+            evictionMeter.close();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the number of reads from the datastore, which is less than the number of misses when concurrent
+     * misses of the same key share a read.
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getAverageLoadLatencyMicros() {
+        long loadCount = loads.sum();
+        return loadCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(loadNanos.sum() / loadCount);
+    }
+
+    /**
+     * Returns the number of entries evicted because of the maximum size or the expiry after access; entries
+     * removed because the DataObject was deleted are not counted.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DataObjectCacheStatistics{hits=" + getHitCount() + ", misses=" + getMissCount() + ", hitRate="
+                + getHitRate() + ", loads=" + getLoadCount() + ", averageLoadLatencyMicros="
+                + getAverageLoadLatencyMicros() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private static MetricDescriptor descriptor(Class<?> clazz, String id) {
+        // expects the form org.opendaylight.project.module
+        String project = clazz.getName().split("\\.")[2];
+        String module = clazz.getName().split("\\.")[3];
+        return new MetricDescriptor() {
+            @Override
+            public Object anchor() {
+                return this;
+            }
+
+            @Override
+            public String project() {
+                return project;
+            }
+
+            @Override
+            public String module() {
+                return module;
+            }
+
+            @Override
+            public String id() {
+                return id;
+            }
+        };
+    }
+}
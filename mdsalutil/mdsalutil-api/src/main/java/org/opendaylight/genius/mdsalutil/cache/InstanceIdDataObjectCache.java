@@ -7,7 +7,9 @@
  */
 package org.opendaylight.genius.mdsalutil.cache;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.infrautils.caches.CacheProvider;
+import org.opendaylight.infrautils.metrics.MetricProvider;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -26,8 +28,22 @@ public class InstanceIdDataObjectCache<V extends DataObject> extends DataObjectC
             (iid, value) -> iid, iid -> iid);
     }
 
+    public InstanceIdDataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker,
+            LogicalDatastoreType datastoreType, InstanceIdentifier<V> listenerRegistrationPath,
+            CacheProvider cacheProvider, @Nullable MetricProvider metricProvider) {
+        super(dataObjectClass, dataBroker, datastoreType, listenerRegistrationPath, cacheProvider, metricProvider,
+            (iid, value) -> iid, iid -> iid);
+    }
+
     public InstanceIdDataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker,
                                      LogicalDatastoreType datastoreType, CacheProvider cacheProvider) {
         super(dataObjectClass, dataBroker, datastoreType, cacheProvider, (iid, value) -> iid, iid -> iid);
     }
+
+    public InstanceIdDataObjectCache(Class<V> dataObjectClass, DataBroker dataBroker,
+                                     LogicalDatastoreType datastoreType, CacheProvider cacheProvider,
+                                     @Nullable MetricProvider metricProvider) {
+        super(dataObjectClass, dataBroker, datastoreType, cacheProvider, metricProvider, (iid, value) -> iid,
+            iid -> iid);
+    }
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.out;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.infrautils.metrics.Counter;
+import org.opendaylight.infrautils.metrics.Labeled;
+import org.opendaylight.infrautils.metrics.MetricDescriptor;
+import org.opendaylight.infrautils.metrics.MetricProvider;
+import org.opendaylight.infrautils.utils.concurrent.Executors;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketOutput;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PacketProcessingService} which aggregates the packet-outs in a queue per DPN, instead of each caller
+ * invoking the transmitPacket RPC of openflowplugin itself. A DPN queue is flushed as soon as it holds a batch of
+ * packets, or after a short delay otherwise. A flush issues the RPCs of the batch one after the other without waiting
+ * for their results, keeping at most a window of RPCs in flight per DPN; the completion of the earlier ones flushes
+ * the packets queued meanwhile.
+ *
+ * <p>The future returned by {@link #transmitPacket(TransmitPacketInput)} completes with the result of the RPC of the
+ * packet. Packets without a node are transmitted directly.
+ */
+public class PacketOutBatcher implements PacketProcessingService, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PacketOutBatcher.class);
+
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("genius.mdsalutil.packetout.batch.size", 32);
+    public static final long DEFAULT_MAX_DELAY_MICROS =
+            Long.getLong("genius.mdsalutil.packetout.max.delay.micros", 1000L);
+    public static final int DEFAULT_MAX_IN_FLIGHT = Integer.getInteger("genius.mdsalutil.packetout.max.in.flight", 64);
+
+    private final PacketProcessingService delegate;
+    private final int batchSize;
+    private final long maxDelayMicros;
+    private final int maxInFlight;
+    private final ScheduledExecutorService flusher;
+    private final Map<NodeId, DpnQueue> queues = new ConcurrentHashMap<>();
+    private final @Nullable Labeled<Counter> queueDepthCounter;
+    private final @Nullable Labeled<Counter> transmittedCounter;
+    private final @Nullable Labeled<Counter> latencyMicrosCounter;
+    private volatile boolean closed;
+
+    public PacketOutBatcher(PacketProcessingService delegate, String name, @Nullable MetricProvider metricProvider) {
+        this(delegate, name, metricProvider, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY_MICROS, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a batcher with its own flusher thread.
+     *
+     * @param delegate the service transmitting the packets, typically the openflowplugin RPC
+     * @param name the name of the flusher thread and of the metrics
+     * @param metricProvider the provider of the per DPN metrics, if any
+     * @param batchSize the number of queued packets of a DPN which triggers a flush
+     * @param maxDelayMicros the maximum time a packet is queued before its DPN queue is flushed
+     * @param maxInFlight the maximum number of RPCs of a DPN waiting for their result
+     */
+    public PacketOutBatcher(PacketProcessingService delegate, String name, @Nullable MetricProvider metricProvider,
+            int batchSize, long maxDelayMicros, int maxInFlight) {
+        if (batchSize <= 0 || maxDelayMicros < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Invalid batchSize " + batchSize + ", maxDelayMicros " + maxDelayMicros
+                    + " or maxInFlight " + maxInFlight);
+        }
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxDelayMicros = maxDelayMicros;
+        this.maxInFlight = maxInFlight;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(name + "-PacketOutBatcher", LOG);
+        if (metricProvider != null) {
+            queueDepthCounter = metricProvider.newCounter(descriptor(name, "packetout_queue_depth"), "dpnid");
+            transmittedCounter = metricProvider.newCounter(descriptor(name, "packetout_transmitted"), "dpnid");
+            latencyMicrosCounter = metricProvider.newCounter(descriptor(name, "packetout_latency_micros"), "dpnid");
+        } else {
+            queueDepthCounter = null;
+            transmittedCounter = null;
+            latencyMicrosCounter = null;
+        }
+    }
+
+    @Override
+    public ListenableFuture<RpcResult<TransmitPacketOutput>> transmitPacket(TransmitPacketInput input) {
+        NodeId nodeId = getNodeId(input);
+        if (nodeId == null || closed) {
+            return delegate.transmitPacket(input);
+        }
+        DpnQueue queue = queues.computeIfAbsent(nodeId, DpnQueue::new);
+        PendingPacket packet = new PendingPacket(input);
+        queue.packets.add(packet);
+        int depth = queue.statistics.queued();
+        if (queue.depthCounter != null) {
+            queue.depthCounter.increment();
+        }
+        if (depth % batchSize == 0) {
+            execute(queue);
+        } else if (queue.flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.schedule(() -> flush(queue), maxDelayMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Flusher shut down, flushing the packet-outs to {} directly", nodeId, e);
+                flush(queue);
+            }
+        }
+        return packet.future;
+    }
+
+    /**
+     * Returns the statistics of the packet-outs to the given node, or null if none were sent to it.
+     */
+    public @Nullable PacketOutStatistics getStatistics(NodeId nodeId) {
+        DpnQueue queue = queues.get(nodeId);
+        return queue != null ? queue.statistics : null;
+    }
+
+    public Set<NodeId> getNodeIds() {
+        return Collections.unmodifiableSet(queues.keySet());
+    }
+
+    /**
+     * Forgets the queue, statistics and metrics of a node, typically by a {@link PacketOutNodeListener} once it is
+     * disconnected; packets still queued for it are transmitted.
+     */
+    public void remove(NodeId nodeId) {
+        DpnQueue queue = queues.remove(nodeId);
+        if (queue != null) {
+            flush(queue);
+            queue.closeCounters();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queues.values().forEach(queue -> {
+            flush(queue);
+            queue.closeCounters();
+        });
+        flusher.shutdown();
+    }
+
+    private void execute(DpnQueue queue) {
+        try {
+            flusher.execute(() -> flush(queue));
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Flusher shut down, flushing the packet-outs to {} directly", queue.nodeId, e);
+            flush(queue);
+        }
+    }
+
+    private void flush(DpnQueue queue) {
+        queue.flushScheduled.set(false);
+        // A single flush per DPN at a time keeps the packets of a DPN in order
+        if (!queue.flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<PendingPacket> batch = new ArrayList<>(batchSize);
+            PendingPacket packet;
+            while ((closed || queue.inFlight.get() < maxInFlight) && (packet = queue.packets.poll()) != null) {
+                queue.statistics.dequeued();
+                if (queue.depthCounter != null) {
+                    queue.depthCounter.decrement();
+                }
+                queue.inFlight.incrementAndGet();
+                batch.add(packet);
+                if (batch.size() == batchSize) {
+                    transmit(queue, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                transmit(queue, batch);
+            }
+        } finally {
+            queue.flushing.set(false);
+        }
+        // Packets queued while flushing, which the window allows to send now; otherwise a completion flushes them
+        if (!queue.packets.isEmpty() && queue.inFlight.get() < maxInFlight
+                && queue.flushScheduled.compareAndSet(false, true)) {
+            execute(queue);
+        }
+    }
+
+    private void transmit(DpnQueue queue, List<PendingPacket> batch) {
+        queue.statistics.batched();
+        for (PendingPacket packet : batch) {
+            ListenableFuture<RpcResult<TransmitPacketOutput>> future;
+            try {
+                future = delegate.transmitPacket(packet.input);
+            } catch (RuntimeException e) {
+                future = Futures.immediateFailedFuture(e);
+            }
+            // The statistics are updated before the caller sees the result
+            Futures.addCallback(future, new FutureCallback<RpcResult<TransmitPacketOutput>>() {
+                @Override
+                public void onSuccess(RpcResult<TransmitPacketOutput> result) {
+                    completed(queue, packet, result != null && result.isSuccessful());
+                }
+
+                @Override
+                public void onFailure(Throwable error) {
+                    LOG.debug("Packet-out to {} failed", queue.nodeId, error);
+                    completed(queue, packet, false);
+                }
+            }, MoreExecutors.directExecutor());
+            packet.future.setFuture(future);
+        }
+    }
+
+    private void completed(DpnQueue queue, PendingPacket packet, boolean successful) {
+        long latencyNanos = System.nanoTime() - packet.queuedNanos;
+        queue.statistics.transmitted(latencyNanos, successful);
+        if (queue.transmittedCounter != null) {
+            queue.transmittedCounter.increment();
+        }
+        if (queue.latencyMicrosCounter != null) {
+            queue.latencyMicrosCounter.increment(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        }
+        if (queue.inFlight.decrementAndGet() < maxInFlight && !queue.packets.isEmpty()
+                && queue.flushScheduled.compareAndSet(false, true)) {
+            execute(queue);
+        }
+    }
+
+    private static @Nullable NodeId getNodeId(TransmitPacketInput input) {
+        if (input.getNode() == null || input.getNode().getValue() == null) {
+            return null;
+        }
+        NodeKey nodeKey = input.getNode().getValue().firstKeyOf(Node.class);
+        return nodeKey != null ? nodeKey.getId() : null;
+    }
+
+    private static MetricDescriptor descriptor(String name, String id) {
+        return MetricDescriptor.builder().anchor(PacketOutBatcher.class).project("genius").module("mdsalutil")
+                .id(name + "_" + id).build();
+    }
+
+    private final class DpnQueue {
+        final NodeId nodeId;
+        final Queue<PendingPacket> packets = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+        final AtomicBoolean flushing = new AtomicBoolean();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final PacketOutStatistics statistics = new PacketOutStatistics();
+        final @Nullable Counter depthCounter;
+        final @Nullable Counter transmittedCounter;
+        final @Nullable Counter latencyMicrosCounter;
+
+        DpnQueue(NodeId nodeId) {
+            this.nodeId = nodeId;
+            String dpnId = nodeId.getValue();
+            depthCounter = queueDepthCounter != null ? queueDepthCounter.label(dpnId) : null;
+            transmittedCounter = PacketOutBatcher.this.transmittedCounter != null
+                    ? PacketOutBatcher.this.transmittedCounter.label(dpnId) : null;
+            latencyMicrosCounter = PacketOutBatcher.this.latencyMicrosCounter != null
+                    ? PacketOutBatcher.this.latencyMicrosCounter.label(dpnId) : null;
+        }
+
+        void closeCounters() {
+            if (depthCounter != null) {
+                depthCounter.close();
+            }
+            if (transmittedCounter != null) {
+                transmittedCounter.close();
+            }
+            if (latencyMicrosCounter != null) {
+                latencyMicrosCounter.close();
+            }
+        }
+    }
+
+    private static final class PendingPacket {
+        final TransmitPacketInput input;
+        final SettableFuture<RpcResult<TransmitPacketOutput>> future = SettableFuture.create();
+        final long queuedNanos = System.nanoTime();
+
+        PendingPacket(TransmitPacketInput input) {
+            this.input = input;
+        }
+    }
+}
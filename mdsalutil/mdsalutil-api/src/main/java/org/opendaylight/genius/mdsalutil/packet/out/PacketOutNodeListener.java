@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.out;
+
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.serviceutils.tools.listener.AbstractClusteredSyncDataTreeChangeListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.inventory.rev130819.FlowCapableNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Listener of the operational inventory nodes which {@link PacketOutBatcher#remove removes} the queue and statistics
+ * of a node from a batcher once the node is disconnected. It is clustered, as packet-outs are sent from every node.
+ *
+ * <p>It listens to the {@link FlowCapableNode} augmentation, which goes away with the connection of the switch, rather
+ * than to the whole node, whose node connectors change with its ports.
+ */
+public class PacketOutNodeListener extends AbstractClusteredSyncDataTreeChangeListener<FlowCapableNode> {
+
+    private final PacketOutBatcher packetOutBatcher;
+
+    public PacketOutNodeListener(DataBroker dataBroker, PacketOutBatcher packetOutBatcher) {
+        super(dataBroker, LogicalDatastoreType.OPERATIONAL,
+                InstanceIdentifier.create(Nodes.class).child(Node.class).augmentation(FlowCapableNode.class));
+        this.packetOutBatcher = packetOutBatcher;
+        super.register();
+    }
+
+    @Override
+    public void add(InstanceIdentifier<FlowCapableNode> instanceIdentifier, FlowCapableNode flowCapableNode) {
+        // Nothing to do, the queue of a node is created by its first packet-out
+    }
+
+    @Override
+    public void update(InstanceIdentifier<FlowCapableNode> instanceIdentifier, FlowCapableNode originalNode,
+            FlowCapableNode updatedNode) {
+        // Nothing to do
+    }
+
+    @Override
+    public void remove(InstanceIdentifier<FlowCapableNode> instanceIdentifier, FlowCapableNode flowCapableNode) {
+        NodeKey nodeKey = instanceIdentifier.firstKeyOf(Node.class);
+        if (nodeKey != null) {
+            packetOutBatcher.remove(nodeKey.getId());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.out;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the packet-outs of a {@link PacketOutBatcher} to a DPN.
+ */
+public final class PacketOutStatistics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Long::max, 0);
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder transmitted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    int queued() {
+        int depth = queueDepth.incrementAndGet();
+        maxQueueDepth.accumulate(depth);
+        return depth;
+    }
+
+    void dequeued() {
+        queueDepth.decrementAndGet();
+    }
+
+    void batched() {
+        batches.increment();
+    }
+
+    void transmitted(long elapsedNanos, boolean successful) {
+        transmitted.increment();
+        latencyNanos.add(elapsedNanos);
+        if (!successful) {
+            failed.increment();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the number of packets whose RPC completed, successfully or not.
+     */
+    public long getTransmittedCount() {
+        return transmitted.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the average time between the queuing of a packet and the completion of its RPC.
+     */
+    public long getAverageLatencyMicros() {
+        long count = transmitted.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(latencyNanos.sum() / count);
+    }
+
+    @Override
+    public String toString() {
+        return "PacketOutStatistics{queueDepth=" + getQueueDepth() + ", maxQueueDepth=" + getMaxQueueDepth()
+                + ", batches=" + getBatchCount() + ", transmitted=" + getTransmittedCount() + ", failed="
+                + getFailedCount() + ", averageLatencyMicros=" + getAverageLatencyMicros() + "}";
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getMac;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putMac;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+
+/**
+ * View of an ARP packet for IPv4 over Ethernet, the only kind handled by {@link #isEthernetIpv4()}. The MAC
+ * addresses are the 48 low order bits of longs, and the IPv4 addresses are ints.
+ */
+public class ArpView extends PacketView<ArpView> {
+
+    public static final int HEADER_LENGTH = 28;
+    public static final int REQUEST = 1;
+    public static final int REPLY = 2;
+
+    private static final int HW_TYPE_ETHERNET = 1;
+    private static final int PROTO_TYPE_IP = 0x800;
+
+    private static final int PROTOCOL_TYPE = 2;
+    private static final int HW_ADDRESS_LENGTH = 4;
+    private static final int PROTOCOL_ADDRESS_LENGTH = 5;
+    private static final int OP_CODE = 6;
+    private static final int SENDER_HW_ADDRESS = 8;
+    private static final int SENDER_PROTOCOL_ADDRESS = 14;
+    private static final int TARGET_HW_ADDRESS = 18;
+    private static final int TARGET_PROTOCOL_ADDRESS = 24;
+
+    @Override
+    protected int getMinimumLength() {
+        return HEADER_LENGTH;
+    }
+
+    public int getHardwareType() {
+        return getUnsignedShort(data, offset);
+    }
+
+    public int getProtocolType() {
+        return getUnsignedShort(data, offset + PROTOCOL_TYPE);
+    }
+
+    /**
+     * Returns whether the addresses are Ethernet MAC addresses and IPv4 addresses, which the other getters assume.
+     */
+    public boolean isEthernetIpv4() {
+        return getHardwareType() == HW_TYPE_ETHERNET && getProtocolType() == PROTO_TYPE_IP
+                && getUnsignedByte(data, offset + HW_ADDRESS_LENGTH) == 6
+                && getUnsignedByte(data, offset + PROTOCOL_ADDRESS_LENGTH) == 4;
+    }
+
+    public int getOpCode() {
+        return getUnsignedShort(data, offset + OP_CODE);
+    }
+
+    public long getSenderHardwareAddress() {
+        return getMac(data, offset + SENDER_HW_ADDRESS);
+    }
+
+    public int getSenderProtocolAddress() {
+        return getInt(data, offset + SENDER_PROTOCOL_ADDRESS);
+    }
+
+    public long getTargetHardwareAddress() {
+        return getMac(data, offset + TARGET_HW_ADDRESS);
+    }
+
+    public int getTargetProtocolAddress() {
+        return getInt(data, offset + TARGET_PROTOCOL_ADDRESS);
+    }
+
+    public ArpView setOpCode(int opCode) {
+        putShort(data, offset + OP_CODE, opCode);
+        return this;
+    }
+
+    public ArpView setSenderHardwareAddress(long mac) {
+        putMac(data, offset + SENDER_HW_ADDRESS, mac);
+        return this;
+    }
+
+    public ArpView setSenderProtocolAddress(int ip) {
+        putInt(data, offset + SENDER_PROTOCOL_ADDRESS, ip);
+        return this;
+    }
+
+    public ArpView setTargetHardwareAddress(long mac) {
+        putMac(data, offset + TARGET_HW_ADDRESS, mac);
+        return this;
+    }
+
+    public ArpView setTargetProtocolAddress(int ip) {
+        putInt(data, offset + TARGET_PROTOCOL_ADDRESS, ip);
+        return this;
+    }
+}
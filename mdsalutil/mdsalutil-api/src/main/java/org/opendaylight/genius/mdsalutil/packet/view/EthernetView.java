@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getMac;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putMac;
+
+/**
+ * View of an Ethernet frame, optionally with one IEEE 802.1Q VLAN tag. The MAC addresses are the 48 low order
+ * bits of longs.
+ */
+public class EthernetView extends PacketView<EthernetView> {
+
+    public static final int HEADER_LENGTH = 14;
+    public static final int VLAN_TAG_LENGTH = 4;
+    public static final int ETHER_TYPE_VLAN = 0x8100;
+
+    private static final int SOURCE_MAC = 6;
+    private static final int ETHER_TYPE = 12;
+    private static final int VLAN_TCI = 14;
+
+    @Override
+    protected int getMinimumLength() {
+        return HEADER_LENGTH;
+    }
+
+    @Override
+    protected void validate() {
+        if (isVlanTagged() && length < HEADER_LENGTH + VLAN_TAG_LENGTH) {
+            throw new IllegalArgumentException("Truncated VLAN tag in frame of length " + length);
+        }
+    }
+
+    @Override
+    public int getHeaderLength() {
+        return isVlanTagged() ? HEADER_LENGTH + VLAN_TAG_LENGTH : HEADER_LENGTH;
+    }
+
+    public long getDestinationMac() {
+        return getMac(data, offset);
+    }
+
+    public long getSourceMac() {
+        return getMac(data, offset + SOURCE_MAC);
+    }
+
+    public boolean isVlanTagged() {
+        return getUnsignedShort(data, offset + ETHER_TYPE) == ETHER_TYPE_VLAN;
+    }
+
+    /**
+     * Returns the VLAN id of the tagged frames, or -1.
+     */
+    public int getVlanId() {
+        return isVlanTagged() ? getUnsignedShort(data, offset + VLAN_TCI) & 0x0fff : -1;
+    }
+
+    /**
+     * Returns the EtherType of the payload, after the VLAN tag of the tagged frames.
+     */
+    public int getEtherType() {
+        return getUnsignedShort(data, offset + (isVlanTagged() ? ETHER_TYPE + VLAN_TAG_LENGTH : ETHER_TYPE));
+    }
+
+    public EthernetView setDestinationMac(long mac) {
+        putMac(data, offset, mac);
+        return this;
+    }
+
+    public EthernetView setSourceMac(long mac) {
+        putMac(data, offset + SOURCE_MAC, mac);
+        return this;
+    }
+}
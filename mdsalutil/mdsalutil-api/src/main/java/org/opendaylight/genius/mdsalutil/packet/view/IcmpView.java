@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.checksum;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.sum;
+
+/**
+ * View of an ICMP message; the identifier and sequence number are those of the echo messages.
+ */
+public class IcmpView extends PacketView<IcmpView> {
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int ECHO_REPLY = 0;
+    public static final int ECHO_REQUEST = 8;
+
+    private static final int CODE = 1;
+    private static final int CHECKSUM = 2;
+    private static final int IDENTIFIER = 4;
+    private static final int SEQUENCE_NUMBER = 6;
+
+    @Override
+    protected int getMinimumLength() {
+        return HEADER_LENGTH;
+    }
+
+    public int getType() {
+        return getUnsignedByte(data, offset);
+    }
+
+    public int getCode() {
+        return getUnsignedByte(data, offset + CODE);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(data, offset + CHECKSUM);
+    }
+
+    public int getIdentifier() {
+        return getUnsignedShort(data, offset + IDENTIFIER);
+    }
+
+    public int getSequenceNumber() {
+        return getUnsignedShort(data, offset + SEQUENCE_NUMBER);
+    }
+
+    public boolean isChecksumValid() {
+        return checksum(sum(data, offset, length, 0)) == 0;
+    }
+
+    public IcmpView setType(int type) {
+        putByte(data, offset, type);
+        return this;
+    }
+
+    public IcmpView setCode(int code) {
+        putByte(data, offset + CODE, code);
+        return this;
+    }
+
+    /**
+     * Recomputes the checksum over the whole message, after the fields were set.
+     */
+    public IcmpView updateChecksum() {
+        putShort(data, offset + CHECKSUM, 0);
+        putShort(data, offset + CHECKSUM, checksum(sum(data, offset, length, 0)));
+        return this;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.checksum;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.sum;
+
+/**
+ * View of an IPv4 packet. The addresses are ints. The payload ends at the total length of the packet, which
+ * excludes the Ethernet padding of short packets.
+ */
+public class Ipv4View extends PacketView<Ipv4View> {
+
+    public static final int MIN_HEADER_LENGTH = 20;
+
+    private static final int TOTAL_LENGTH = 2;
+    private static final int IDENTIFICATION = 4;
+    private static final int FLAGS_FRAGMENT_OFFSET = 6;
+    private static final int TTL = 8;
+    private static final int PROTOCOL = 9;
+    private static final int CHECKSUM = 10;
+    private static final int SOURCE_ADDRESS = 12;
+    private static final int DESTINATION_ADDRESS = 16;
+
+    @Override
+    protected int getMinimumLength() {
+        return MIN_HEADER_LENGTH;
+    }
+
+    @Override
+    protected void validate() {
+        int headerLength = getHeaderLength();
+        if (headerLength < MIN_HEADER_LENGTH || headerLength > length || getTotalLength() < headerLength) {
+            throw new IllegalArgumentException("Invalid IPv4 header length " + headerLength + " or total length "
+                    + getTotalLength() + " in packet of length " + length);
+        }
+    }
+
+    public int getVersion() {
+        return getUnsignedByte(data, offset) >>> 4;
+    }
+
+    @Override
+    public int getHeaderLength() {
+        return (data[offset] & 0x0f) << 2;
+    }
+
+    @Override
+    public int getPayloadLength() {
+        return Math.min(getTotalLength(), length) - getHeaderLength();
+    }
+
+    public int getDscp() {
+        return getUnsignedByte(data, offset + 1) >>> 2;
+    }
+
+    public int getTotalLength() {
+        return getUnsignedShort(data, offset + TOTAL_LENGTH);
+    }
+
+    public int getIdentification() {
+        return getUnsignedShort(data, offset + IDENTIFICATION);
+    }
+
+    public int getFlags() {
+        return getUnsignedByte(data, offset + FLAGS_FRAGMENT_OFFSET) >>> 5;
+    }
+
+    public int getFragmentOffset() {
+        return getUnsignedShort(data, offset + FLAGS_FRAGMENT_OFFSET) & 0x1fff;
+    }
+
+    public int getTtl() {
+        return getUnsignedByte(data, offset + TTL);
+    }
+
+    public int getProtocol() {
+        return getUnsignedByte(data, offset + PROTOCOL);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(data, offset + CHECKSUM);
+    }
+
+    public int getSourceAddress() {
+        return getInt(data, offset + SOURCE_ADDRESS);
+    }
+
+    public int getDestinationAddress() {
+        return getInt(data, offset + DESTINATION_ADDRESS);
+    }
+
+    public boolean isChecksumValid() {
+        return checksum(sum(data, offset, getHeaderLength(), 0)) == 0;
+    }
+
+    public Ipv4View setTtl(int ttl) {
+        putByte(data, offset + TTL, ttl);
+        return this;
+    }
+
+    public Ipv4View setSourceAddress(int ip) {
+        putInt(data, offset + SOURCE_ADDRESS, ip);
+        return this;
+    }
+
+    public Ipv4View setDestinationAddress(int ip) {
+        putInt(data, offset + DESTINATION_ADDRESS, ip);
+        return this;
+    }
+
+    /**
+     * Recomputes the header checksum, after the fields were set.
+     */
+    public Ipv4View updateChecksum() {
+        putShort(data, offset + CHECKSUM, 0);
+        putShort(data, offset + CHECKSUM, checksum(sum(data, offset, getHeaderLength(), 0)));
+        return this;
+    }
+
+    /**
+     * Returns the running sum of the pseudo header of the TCP and UDP checksums.
+     */
+    int getPseudoHeaderSum(int transportLength) {
+        return sum(data, offset + SOURCE_ADDRESS, 8, getProtocol() + transportLength);
+    }
+}
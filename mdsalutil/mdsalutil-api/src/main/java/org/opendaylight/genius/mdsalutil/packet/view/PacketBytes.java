@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+/**
+ * Big endian accessors of the fields of packets, and the internet checksum, on byte arrays.
+ */
+final class PacketBytes {
+
+    private PacketBytes() {
+    }
+
+    static int getUnsignedByte(byte[] data, int index) {
+        return data[index] & 0xff;
+    }
+
+    static int getUnsignedShort(byte[] data, int index) {
+        return (data[index] & 0xff) << 8 | data[index + 1] & 0xff;
+    }
+
+    static int getInt(byte[] data, int index) {
+        return (data[index] & 0xff) << 24 | (data[index + 1] & 0xff) << 16 | (data[index + 2] & 0xff) << 8
+                | data[index + 3] & 0xff;
+    }
+
+    static long getMac(byte[] data, int index) {
+        return (long) getUnsignedShort(data, index) << 32 | getInt(data, index + 2) & 0xffffffffL;
+    }
+
+    static void putByte(byte[] data, int index, int value) {
+        data[index] = (byte) value;
+    }
+
+    static void putShort(byte[] data, int index, int value) {
+        data[index] = (byte) (value >>> 8);
+        data[index + 1] = (byte) value;
+    }
+
+    static void putInt(byte[] data, int index, int value) {
+        data[index] = (byte) (value >>> 24);
+        data[index + 1] = (byte) (value >>> 16);
+        data[index + 2] = (byte) (value >>> 8);
+        data[index + 3] = (byte) value;
+    }
+
+    static void putMac(byte[] data, int index, long mac) {
+        putShort(data, index, (int) (mac >>> 32));
+        putInt(data, index + 2, (int) mac);
+    }
+
+    /**
+     * Adds the given bytes, as 16 bits words, to the running sum of an internet checksum.
+     */
+    static int sum(byte[] data, int index, int length, int initialSum) {
+        int sum = initialSum;
+        int end = index + (length & ~1);
+        for (int i = index; i < end; i += 2) {
+            sum += getUnsignedShort(data, i);
+        }
+        if ((length & 1) != 0) {
+            sum += (data[index + length - 1] & 0xff) << 8;
+        }
+        return sum;
+    }
+
+    /**
+     * Folds the running sum of an internet checksum into the checksum.
+     */
+    static int checksum(int sum) {
+        int folded = sum;
+        while (folded >>> 16 != 0) {
+            folded = (folded & 0xffff) + (folded >>> 16);
+        }
+        return ~folded & 0xffff;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+/**
+ * Flyweight view of a packet header in a byte array. Unlike the {@link org.opendaylight.genius.mdsalutil.packet}
+ * classes, which deserialize every field of every header into maps of byte arrays, a view reads and writes the
+ * fields in place, at their offsets, and can be re-wrapped around the next packet, so that decoding a packet
+ * allocates nothing.
+ *
+ * <p>Views aren't thread-safe; they are typically kept per thread, or per packet-in handler invocation.
+ *
+ * @param <T> the type of the view
+ */
+public abstract class PacketView<T extends PacketView<T>> {
+
+    protected byte[] data;
+    protected int offset;
+    protected int length;
+
+    /**
+     * Wraps the view around a header.
+     *
+     * @param packetData the packet
+     * @param headerOffset the offset of the header in the packet
+     * @param headerLength the length of the header and its payload
+     * @return this view
+     * @throws IllegalArgumentException if the bounds are out of the packet or too short for the header
+     */
+    @SuppressWarnings("unchecked")
+    public T wrap(byte[] packetData, int headerOffset, int headerLength) {
+        if (headerOffset < 0 || headerLength < getMinimumLength() || headerOffset + headerLength > packetData.length) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " of length " + headerLength
+                    + " at offset " + headerOffset + " out of a packet of length " + packetData.length);
+        }
+        this.data = packetData;
+        this.offset = headerOffset;
+        this.length = headerLength;
+        validate();
+        return (T) this;
+    }
+
+    /**
+     * Wraps the view around the header at the start of a packet.
+     *
+     * @param packetData the packet
+     * @return this view
+     * @throws IllegalArgumentException if the packet is too short for the header
+     */
+    public T wrap(byte[] packetData) {
+        return wrap(packetData, 0, packetData.length);
+    }
+
+    /**
+     * Wraps the view around the payload of another view.
+     *
+     * @param view the view of the enclosing header
+     * @return this view
+     * @throws IllegalArgumentException if the payload is too short for the header
+     */
+    public T wrapPayload(PacketView<?> view) {
+        return wrap(view.data, view.getPayloadOffset(), view.getPayloadLength());
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the length of the header, without its payload.
+     */
+    public int getHeaderLength() {
+        return getMinimumLength();
+    }
+
+    public int getPayloadOffset() {
+        return offset + getHeaderLength();
+    }
+
+    public int getPayloadLength() {
+        return length - getHeaderLength();
+    }
+
+    protected abstract int getMinimumLength();
+
+    /**
+     * Checks the header once wrapped, for variable length headers.
+     *
+     * @throws IllegalArgumentException if the header is malformed
+     */
+    protected void validate() {
+    }
+}
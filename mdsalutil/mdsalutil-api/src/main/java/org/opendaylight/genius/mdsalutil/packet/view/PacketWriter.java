@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putMac;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reusable builder of packets to send out, which writes the headers one after the other in a growing buffer, and
+ * fills in the lengths and checksums when the packet is built. Once {@link #reset()}, the same writer builds the
+ * next packet in the same buffer, so that the only allocation per packet is the array returned by
+ * {@link #build()}, which the packet-out API requires; {@link #writeTo(ByteBuffer)} avoids even that one.
+ *
+ * <p>Writers aren't thread-safe; they are typically kept per thread.
+ */
+public class PacketWriter {
+
+    private static final int DEFAULT_CAPACITY = 128;
+    private static final int IPV4_VERSION_IHL = 0x45;
+    private static final int IPV4_FLAG_DONT_FRAGMENT = 0x4000;
+
+    private final Ipv4View ipv4View = new Ipv4View();
+    private final UdpView udpView = new UdpView();
+    private final IcmpView icmpView = new IcmpView();
+    private byte[] buffer;
+    private int position;
+    private int ipv4Start;
+    private int udpStart;
+    private int icmpStart;
+
+    public PacketWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PacketWriter(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+        reset();
+    }
+
+    /**
+     * Discards the packet written so far, to write the next one.
+     */
+    public PacketWriter reset() {
+        position = 0;
+        ipv4Start = -1;
+        udpStart = -1;
+        icmpStart = -1;
+        return this;
+    }
+
+    public PacketWriter ethernet(long destinationMac, long sourceMac, int etherType) {
+        int start = reserve(EthernetView.HEADER_LENGTH);
+        putMac(buffer, start, destinationMac);
+        putMac(buffer, start + 6, sourceMac);
+        putShort(buffer, start + 12, etherType);
+        return this;
+    }
+
+    /**
+     * Writes the header of an Ethernet frame with an IEEE 802.1Q VLAN tag.
+     */
+    public PacketWriter ethernet(long destinationMac, long sourceMac, int vlanId, int etherType) {
+        int start = reserve(EthernetView.HEADER_LENGTH + EthernetView.VLAN_TAG_LENGTH);
+        putMac(buffer, start, destinationMac);
+        putMac(buffer, start + 6, sourceMac);
+        putShort(buffer, start + 12, EthernetView.ETHER_TYPE_VLAN);
+        putShort(buffer, start + 14, vlanId & 0x0fff);
+        putShort(buffer, start + 16, etherType);
+        return this;
+    }
+
+    /**
+     * Writes an ARP packet for IPv4 over Ethernet.
+     */
+    public PacketWriter arp(int opCode, long senderMac, int senderIp, long targetMac, int targetIp) {
+        int start = reserve(ArpView.HEADER_LENGTH);
+        putShort(buffer, start, 1);
+        putShort(buffer, start + 2, 0x800);
+        putByte(buffer, start + 4, 6);
+        putByte(buffer, start + 5, 4);
+        putShort(buffer, start + 6, opCode);
+        putMac(buffer, start + 8, senderMac);
+        putInt(buffer, start + 14, senderIp);
+        putMac(buffer, start + 18, targetMac);
+        putInt(buffer, start + 24, targetIp);
+        return this;
+    }
+
+    /**
+     * Writes the header of an IPv4 packet without options; its total length and checksum are filled in when the
+     * packet is built.
+     */
+    public PacketWriter ipv4(int protocol, int ttl, int sourceIp, int destinationIp) {
+        int start = reserve(Ipv4View.MIN_HEADER_LENGTH);
+        ipv4Start = start;
+        putByte(buffer, start, IPV4_VERSION_IHL);
+        putByte(buffer, start + 1, 0);
+        putShort(buffer, start + 4, ThreadLocalRandom.current().nextInt(0x10000));
+        putShort(buffer, start + 6, IPV4_FLAG_DONT_FRAGMENT);
+        putByte(buffer, start + 8, ttl);
+        putByte(buffer, start + 9, protocol);
+        putInt(buffer, start + 12, sourceIp);
+        putInt(buffer, start + 16, destinationIp);
+        return this;
+    }
+
+    /**
+     * Writes the header of a UDP datagram, in the IPv4 packet written before; its length and checksum are filled
+     * in when the packet is built.
+     */
+    public PacketWriter udp(int sourcePort, int destinationPort) {
+        int start = reserve(UdpView.HEADER_LENGTH);
+        udpStart = start;
+        putShort(buffer, start, sourcePort);
+        putShort(buffer, start + 2, destinationPort);
+        return this;
+    }
+
+    /**
+     * Writes the header of an ICMP message; its checksum is filled in when the packet is built.
+     */
+    public PacketWriter icmp(int type, int code, int identifier, int sequenceNumber) {
+        int start = reserve(IcmpView.HEADER_LENGTH);
+        icmpStart = start;
+        putByte(buffer, start, type);
+        putByte(buffer, start + 1, code);
+        putShort(buffer, start + 4, identifier);
+        putShort(buffer, start + 6, sequenceNumber);
+        return this;
+    }
+
+    public PacketWriter payload(byte[] bytes) {
+        return payload(bytes, 0, bytes.length);
+    }
+
+    public PacketWriter payload(byte[] bytes, int offset, int length) {
+        System.arraycopy(bytes, offset, buffer, reserve(length), length);
+        return this;
+    }
+
+    /**
+     * Returns the length of the packet written so far.
+     */
+    public int length() {
+        return position;
+    }
+
+    /**
+     * Builds the packet written since the last {@link #reset()}.
+     *
+     * @return a new array with the packet
+     */
+    public byte[] build() {
+        finish();
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Builds the packet written since the last {@link #reset()} into the given buffer.
+     *
+     * @param target the buffer to write the packet to
+     * @throws java.nio.BufferOverflowException if the packet doesn't fit in the remaining space of the buffer
+     */
+    public void writeTo(ByteBuffer target) {
+        finish();
+        target.put(buffer, 0, position);
+    }
+
+    private int reserve(int length) {
+        int start = position;
+        if (start + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, start + length));
+        }
+        // The buffer is reused, so the fields not written explicitly must be cleared
+        Arrays.fill(buffer, start, start + length, (byte) 0);
+        position = start + length;
+        return start;
+    }
+
+    private void finish() {
+        if (ipv4Start >= 0) {
+            putShort(buffer, ipv4Start + 2, position - ipv4Start);
+            ipv4View.wrap(buffer, ipv4Start, position - ipv4Start).updateChecksum();
+        }
+        if (icmpStart >= 0) {
+            icmpView.wrap(buffer, icmpStart, position - icmpStart).updateChecksum();
+        }
+        if (udpStart >= 0) {
+            if (ipv4Start < 0) {
+                throw new IllegalStateException("UDP datagram written without IPv4 header");
+            }
+            putShort(buffer, udpStart + 4, position - udpStart);
+            udpView.wrap(buffer, udpStart, position - udpStart).updateChecksum(ipv4View);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.checksum;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getInt;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedByte;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.sum;
+
+/**
+ * View of a TCP segment.
+ */
+public class TcpView extends PacketView<TcpView> {
+
+    public static final int MIN_HEADER_LENGTH = 20;
+
+    private static final int DESTINATION_PORT = 2;
+    private static final int SEQUENCE_NUMBER = 4;
+    private static final int ACKNOWLEDGEMENT_NUMBER = 8;
+    private static final int DATA_OFFSET = 12;
+    private static final int WINDOW_SIZE = 14;
+    private static final int CHECKSUM = 16;
+    private static final int URGENT_POINTER = 18;
+
+    @Override
+    protected int getMinimumLength() {
+        return MIN_HEADER_LENGTH;
+    }
+
+    @Override
+    protected void validate() {
+        int headerLength = getHeaderLength();
+        if (headerLength < MIN_HEADER_LENGTH || headerLength > length) {
+            throw new IllegalArgumentException("Invalid TCP header length " + headerLength + " in segment of length "
+                    + length);
+        }
+    }
+
+    @Override
+    public int getHeaderLength() {
+        return getUnsignedByte(data, offset + DATA_OFFSET) >>> 4 << 2;
+    }
+
+    public int getSourcePort() {
+        return getUnsignedShort(data, offset);
+    }
+
+    public int getDestinationPort() {
+        return getUnsignedShort(data, offset + DESTINATION_PORT);
+    }
+
+    public int getSequenceNumber() {
+        return getInt(data, offset + SEQUENCE_NUMBER);
+    }
+
+    public int getAcknowledgementNumber() {
+        return getInt(data, offset + ACKNOWLEDGEMENT_NUMBER);
+    }
+
+    /**
+     * Returns the 9 flag bits, NS to FIN.
+     */
+    public int getFlags() {
+        return getUnsignedShort(data, offset + DATA_OFFSET) & 0x01ff;
+    }
+
+    public int getWindowSize() {
+        return getUnsignedShort(data, offset + WINDOW_SIZE);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(data, offset + CHECKSUM);
+    }
+
+    public int getUrgentPointer() {
+        return getUnsignedShort(data, offset + URGENT_POINTER);
+    }
+
+    public TcpView setSourcePort(int port) {
+        putShort(data, offset, port);
+        return this;
+    }
+
+    public TcpView setDestinationPort(int port) {
+        putShort(data, offset + DESTINATION_PORT, port);
+        return this;
+    }
+
+    /**
+     * Recomputes the checksum, after the fields were set.
+     *
+     * @param ipv4 the view of the enclosing IPv4 packet, for the pseudo header, and which bounds the segment
+     * @return this view
+     */
+    public TcpView updateChecksum(Ipv4View ipv4) {
+        int segmentLength = ipv4.getPayloadLength();
+        putShort(data, offset + CHECKSUM, 0);
+        putShort(data, offset + CHECKSUM,
+                checksum(sum(data, offset, segmentLength, ipv4.getPseudoHeaderSum(segmentLength))));
+        return this;
+    }
+}
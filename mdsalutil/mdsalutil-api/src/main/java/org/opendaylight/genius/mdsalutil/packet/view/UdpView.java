@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.checksum;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.getUnsignedShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.putShort;
+import static org.opendaylight.genius.mdsalutil.packet.view.PacketBytes.sum;
+
+/**
+ * View of a UDP datagram.
+ */
+public class UdpView extends PacketView<UdpView> {
+
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int DESTINATION_PORT = 2;
+    private static final int LENGTH = 4;
+    private static final int CHECKSUM = 6;
+
+    @Override
+    protected int getMinimumLength() {
+        return HEADER_LENGTH;
+    }
+
+    @Override
+    protected void validate() {
+        // The checksum covers the datagram length, which must be within the view
+        int datagramLength = getDatagramLength();
+        if (datagramLength < HEADER_LENGTH || datagramLength > length) {
+            throw new IllegalArgumentException("Invalid UDP length " + datagramLength + " in datagram of length "
+                    + length);
+        }
+    }
+
+    public int getSourcePort() {
+        return getUnsignedShort(data, offset);
+    }
+
+    public int getDestinationPort() {
+        return getUnsignedShort(data, offset + DESTINATION_PORT);
+    }
+
+    public int getDatagramLength() {
+        return getUnsignedShort(data, offset + LENGTH);
+    }
+
+    @Override
+    public int getPayloadLength() {
+        return getDatagramLength() - HEADER_LENGTH;
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(data, offset + CHECKSUM);
+    }
+
+    public UdpView setSourcePort(int port) {
+        putShort(data, offset, port);
+        return this;
+    }
+
+    public UdpView setDestinationPort(int port) {
+        putShort(data, offset + DESTINATION_PORT, port);
+        return this;
+    }
+
+    /**
+     * Recomputes the checksum, after the fields were set.
+     *
+     * @param ipv4 the view of the enclosing IPv4 packet, for the pseudo header
+     * @return this view
+     */
+    public UdpView updateChecksum(Ipv4View ipv4) {
+        int datagramLength = getDatagramLength();
+        putShort(data, offset + CHECKSUM, 0);
+        int checksum = checksum(sum(data, offset, datagramLength, ipv4.getPseudoHeaderSum(datagramLength)));
+        // A zero UDP checksum means no checksum
+        putShort(data, offset + CHECKSUM, checksum == 0 ? 0xffff : checksum);
+        return this;
+    }
+}
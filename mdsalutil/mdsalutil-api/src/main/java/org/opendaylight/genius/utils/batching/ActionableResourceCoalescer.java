@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
+
+/**
+ * Coalesces the modifications of the same InstanceIdentifier in a list of {@link ActionableResource}s, before they
+ * are written into a transaction.
+ *
+ * <ul>
+ * <li>A create (put) or delete supersedes all the preceding modifications of its InstanceIdentifier, so a create
+ * followed by a delete leaves the delete alone; dropping both would resurrect an entry which existed before.</li>
+ * <li>A merge of the same data as the preceding create or merge of its InstanceIdentifier is dropped.</li>
+ * <li>A read, or a modification of any other kind, ends the coalescing of its InstanceIdentifier, so that the read
+ * sees all the modifications queued before it.</li>
+ * <li>The modifications of an InstanceIdentifier which is an ancestor or a descendant of another one modified in
+ * the same list are left alone, as their relative order matters.</li>
+ * </ul>
+ *
+ * <p>The result future of each dropped resource completes with the one of the resource which superseded it. This
+ * assumes the put, merge and delete semantics of the {@link DefaultBatchHandler}.
+ */
+final class ActionableResourceCoalescer {
+
+    private ActionableResourceCoalescer() {
+    }
+
+    /**
+     * Coalesces the given resources.
+     *
+     * @param resources the resources, in queue order
+     * @return the remaining resources, in queue order; the given list if nothing was coalesced
+     */
+    static List<ActionableResource<?>> coalesce(List<ActionableResource<?>> resources) {
+        if (resources.size() < 2) {
+            return resources;
+        }
+        Set<InstanceIdentifier<?>> nested = findNested(resources);
+        ActionableResource<?>[] kept = resources.toArray(new ActionableResource<?>[0]);
+        // previous[i] is the index of the preceding kept modification of the same InstanceIdentifier, or -1
+        int[] previous = new int[kept.length];
+        Map<InstanceIdentifier<?>, Integer> lastIndexes = new HashMap<>();
+        int dropped = 0;
+        for (int i = 0; i < kept.length; i++) {
+            ActionableResource<?> resource = kept[i];
+            InstanceIdentifier<?> iid = resource.getInstanceIdentifier();
+            if (nested.contains(iid)) {
+                continue;
+            }
+            Integer lastIndex = lastIndexes.get(iid);
+            switch (resource.getAction()) {
+                case ActionableResource.CREATE:
+                case ActionableResource.DELETE:
+                    for (int j = lastIndex != null ? lastIndex : -1; j >= 0; j = previous[j]) {
+                        supersede(kept[j], resource);
+                        kept[j] = null;
+                        dropped++;
+                    }
+                    previous[i] = -1;
+                    lastIndexes.put(iid, i);
+                    break;
+                case ActionableResource.UPDATE:
+                    if (lastIndex != null) {
+                        ActionableResource<?> last = kept[lastIndex];
+                        if (last.getAction() != ActionableResource.DELETE
+                                && Objects.equals(last.getInstance(), resource.getInstance())) {
+                            supersede(resource, last);
+                            kept[i] = null;
+                            dropped++;
+                            break;
+                        }
+                    }
+                    previous[i] = lastIndex != null ? lastIndex : -1;
+                    lastIndexes.put(iid, i);
+                    break;
+                default:
+                    lastIndexes.remove(iid);
+                    break;
+            }
+        }
+        if (dropped == 0) {
+            return resources;
+        }
+        List<ActionableResource<?>> coalesced = new ArrayList<>(kept.length - dropped);
+        for (ActionableResource<?> resource : kept) {
+            if (resource != null) {
+                coalesced.add(resource);
+            }
+        }
+        return coalesced;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void supersede(ActionableResource<?> dropped, ActionableResource<?> survivor) {
+        ((SettableFuture<Void>) dropped.getResultFuture()).setFuture(survivor.getResultFuture());
+    }
+
+    private static Set<InstanceIdentifier<?>> findNested(List<ActionableResource<?>> resources) {
+        Map<InstanceIdentifier<?>, Integer> depths = new HashMap<>();
+        int minDepth = Integer.MAX_VALUE;
+        int maxDepth = 0;
+        for (ActionableResource<?> resource : resources) {
+            int depth = depths.computeIfAbsent(resource.getInstanceIdentifier(),
+                iid -> Iterables.size(iid.getPathArguments()));
+            minDepth = Math.min(minDepth, depth);
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        // Only an InstanceIdentifier shorter than another one can be its ancestor
+        if (minDepth == maxDepth) {
+            return Collections.emptySet();
+        }
+        Map<List<PathArgument>, InstanceIdentifier<?>> iidsByPath = new HashMap<>();
+        for (InstanceIdentifier<?> iid : depths.keySet()) {
+            iidsByPath.put(ImmutableList.copyOf(iid.getPathArguments()), iid);
+        }
+        Set<InstanceIdentifier<?>> nested = new HashSet<>();
+        for (Map.Entry<List<PathArgument>, InstanceIdentifier<?>> entry : iidsByPath.entrySet()) {
+            List<PathArgument> path = entry.getKey();
+            for (int length = minDepth; length < path.size(); length++) {
+                InstanceIdentifier<?> ancestor = iidsByPath.get(path.subList(0, length));
+                if (ancestor != null) {
+                    nested.addAll(Arrays.asList(ancestor, entry.getValue()));
+                }
+            }
+        }
+        return nested;
+    }
+}
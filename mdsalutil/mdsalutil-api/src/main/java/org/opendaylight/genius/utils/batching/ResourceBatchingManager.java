@@ -9,6 +9,7 @@ package org.opendaylight.genius.utils.batching;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -17,7 +18,9 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,12 +28,16 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.infrautils.utils.concurrent.Executors;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.ReadTransaction;
@@ -42,6 +49,8 @@ import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.IdentifiableItem;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +61,19 @@ import org.slf4j.LoggerFactory;
  * Finally the framework attempts to reliably write this single transaction
  * which represents a batch of an ordered list of entities owned by that subscriber,
  * to be written/updated/removed from a specific datastore as registered by the subscriber.
+ *
+ * <p>By default the batches of a resource type are committed one after the other. Setting the
+ * {@value #LANES_PROPERTY} system property to K &gt; 1 before registering a resource type pipelines its commits
+ * instead: the resources are spread over K lanes by the hash of the first keyed path argument of their
+ * InstanceIdentifier, and the lanes commit their batches concurrently, so up to K batches are in flight while the
+ * order of the modifications of any one InstanceIdentifier and of its descendants is preserved; a resource with no
+ * keyed path argument is committed once the batches of all the lanes are, and before any following batch. At
+ * most {@value #MAX_INFLIGHT_PROPERTY} batches (2 * K by default) are handed over to the lanes and not yet
+ * committed; beyond that the resource queue is not drained until some complete.
+ *
+ * <p>Setting the {@value #COALESCE_PROPERTY} system property to true before registering a resource type coalesces
+ * the modifications of the same InstanceIdentifier drained from its queue, as described in
+ * {@link ActionableResourceCoalescer}, before they are batched.
  */
 public class ResourceBatchingManager implements AutoCloseable {
 
@@ -63,6 +85,10 @@ public class ResourceBatchingManager implements AutoCloseable {
     private static final int PERIODICITY_IN_MS = 500;
     private static final int BATCH_SIZE = 1000;
 
+    public static final String LANES_PROPERTY = "resource.manager.batch.lanes";
+    public static final String MAX_INFLIGHT_PROPERTY = "resource.manager.batch.inflight.max";
+    public static final String COALESCE_PROPERTY = "resource.manager.batch.coalesce";
+
     public enum ShardResource {
         CONFIG_TOPOLOGY(LogicalDatastoreType.CONFIGURATION),
         OPERATIONAL_TOPOLOGY(LogicalDatastoreType.OPERATIONAL),
@@ -91,6 +117,13 @@ public class ResourceBatchingManager implements AutoCloseable {
     private final ConcurrentHashMap<String, ScheduledExecutorService>
             resourceBatchingThreadMapper = new ConcurrentHashMap<>();
 
+    private final ConcurrentHashMap<String, BatchingLanes> resourceLanesMapper = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, ResourceBatchingStatistics> resourceStatisticsMapper =
+            new ConcurrentHashMap<>();
+
+    private final Set<String> coalescingResourceTypes = ConcurrentHashMap.newKeySet();
+
     private final Map<String, Set<InstanceIdentifier<?>>> pendingModificationByResourceType = new ConcurrentHashMap<>();
 
     private static ResourceBatchingManager instance;
@@ -107,6 +140,7 @@ public class ResourceBatchingManager implements AutoCloseable {
     public void close() {
         LOG.trace("ResourceBatchingManager Closed, closing all batched resources");
         resourceBatchingThreadMapper.values().forEach(ScheduledExecutorService::shutdown);
+        resourceLanesMapper.values().forEach(BatchingLanes::shutdown);
     }
 
     public void registerBatchableResource(final String resourceType,
@@ -115,11 +149,26 @@ public class ResourceBatchingManager implements AutoCloseable {
         requireNonNull(resHandler, "ResourceHandler cannot not be null.");
 
         resourceHandlerMapper.put(resourceType, new ImmutablePair<>(resQueue, resHandler));
+        resourceStatisticsMapper.put(resourceType, new ResourceBatchingStatistics(resQueue));
+        int lanes = Integer.getInteger(LANES_PROPERTY, 1);
+        BatchingLanes oldLanes = lanes > 1
+                ? resourceLanesMapper.put(resourceType, new BatchingLanes(resourceType, lanes,
+                        Math.max(lanes, Integer.getInteger(MAX_INFLIGHT_PROPERTY, 2 * lanes))))
+                : resourceLanesMapper.remove(resourceType);
+        if (oldLanes != null) {
+            oldLanes.shutdown();
+        }
+        boolean coalesce = Boolean.getBoolean(COALESCE_PROPERTY);
+        if (coalesce) {
+            coalescingResourceTypes.add(resourceType);
+        } else {
+            coalescingResourceTypes.remove(resourceType);
+        }
         ScheduledExecutorService resDelegatorService =
                 Executors.newListeningScheduledThreadPool(1, "ResourceBatchingManager", LOG);
         resourceBatchingThreadMapper.put(resourceType, resDelegatorService);
-        LOG.info("Registered resourceType {} with batchSize {} and batchInterval {}", resourceType,
-                resHandler.getBatchSize(), resHandler.getBatchInterval());
+        LOG.info("Registered resourceType {} with batchSize {}, batchInterval {}, lanes {} and coalescing {}",
+                resourceType, resHandler.getBatchSize(), resHandler.getBatchInterval(), lanes, coalesce);
         resDelegatorService.scheduleWithFixedDelay(
                 new Batcher(resourceType), resHandler.getBatchInterval(), resHandler.getBatchInterval(), TIME_UNIT);
         pendingModificationByResourceType.putIfAbsent(resourceType, ConcurrentHashMap.newKeySet());
@@ -253,6 +302,20 @@ public class ResourceBatchingManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the statistics of the given resource type.
+     *
+     * @param resourceType resource type that was registered with batch manager
+     * @return the statistics, or null if the resource type is not registered
+     */
+    public ResourceBatchingStatistics getStatistics(String resourceType) {
+        return resourceStatisticsMapper.get(resourceType);
+    }
+
+    public ResourceBatchingStatistics getStatistics(ShardResource shardResource) {
+        return getStatistics(shardResource.name());
+    }
+
     private BlockingQueue<ActionableResource<?>> getQueue(String resourceType) {
         if (resourceHandlerMapper.containsKey(resourceType)) {
             return resourceHandlerMapper.get(resourceType).getLeft();
@@ -265,8 +328,146 @@ public class ResourceBatchingManager implements AutoCloseable {
         if (scheduledThreadPoolExecutor != null) {
             scheduledThreadPoolExecutor.shutdown();
         }
+        BatchingLanes lanes = resourceLanesMapper.remove(resourceType);
+        if (lanes != null) {
+            lanes.shutdown();
+        }
         resourceHandlerMapper.remove(resourceType);
         resourceBatchingThreadMapper.remove(resourceType);
+        resourceStatisticsMapper.remove(resourceType);
+        coalescingResourceTypes.remove(resourceType);
+    }
+
+    /**
+     * The lanes over which the batches of a resource type are committed in the pipelined mode. The next batch of
+     * a lane is chained on the commit of the previous one, so no thread waits for an in-flight batch.
+     */
+    private final class BatchingLanes {
+        private final ExecutorService[] laneExecutors;
+        // The last batch dispatched to each lane, completed once it is processed; only used by the Batcher
+        private final ListenableFuture<?>[] laneTails;
+        private final Semaphore inflightPermits;
+
+        BatchingLanes(String resourceType, int lanes, int maxInflight) {
+            laneExecutors = new ExecutorService[lanes];
+            laneTails = new ListenableFuture<?>[lanes];
+            for (int i = 0; i < lanes; i++) {
+                laneExecutors[i] = Executors.newSingleThreadExecutor(
+                        "ResourceBatchingManager-" + resourceType + "-lane" + i, LOG);
+                laneTails[i] = Futures.immediateFuture(null);
+            }
+            inflightPermits = new Semaphore(maxInflight);
+        }
+
+        void dispatch(String resourceType, List<ActionableResource<?>> resList, int batchSize,
+                ResourceBatchingStatistics statistics) throws InterruptedException {
+            List<List<ActionableResource<?>>> laneLists = new ArrayList<>(laneExecutors.length);
+            for (int i = 0; i < laneExecutors.length; i++) {
+                laneLists.add(new ArrayList<>());
+            }
+            List<ActionableResource<?>> barrierList = new ArrayList<>();
+            // All the modifications of an InstanceIdentifier and of its descendants, which share its first keyed
+            // path argument, go to the same lane, which commits in order
+            for (ActionableResource<?> actResource : resList) {
+                PathArgument laneKey = getFirstKeyedPathArgument(actResource.getInstanceIdentifier());
+                if (laneKey == null) {
+                    // The resource may be an ancestor of the resources of any lane
+                    if (barrierList.isEmpty()) {
+                        dispatchLanes(resourceType, laneLists, batchSize, statistics);
+                    }
+                    barrierList.add(actResource);
+                    continue;
+                }
+                if (!barrierList.isEmpty()) {
+                    dispatchBarrier(resourceType, barrierList, batchSize, statistics);
+                }
+                laneLists.get(Math.floorMod(laneKey.hashCode(), laneExecutors.length)).add(actResource);
+            }
+            dispatchBarrier(resourceType, barrierList, batchSize, statistics);
+            dispatchLanes(resourceType, laneLists, batchSize, statistics);
+        }
+
+        private void dispatchLanes(String resourceType, List<List<ActionableResource<?>>> laneLists, int batchSize,
+                ResourceBatchingStatistics statistics) throws InterruptedException {
+            for (int lane = 0; lane < laneExecutors.length; lane++) {
+                List<ActionableResource<?>> laneList = laneLists.get(lane);
+                for (int from = 0; from < laneList.size(); from += batchSize) {
+                    laneTails[lane] = dispatch(resourceType, laneTails[lane], laneExecutors[lane],
+                            laneList.subList(from, Math.min(from + batchSize, laneList.size())), statistics);
+                }
+                // The dispatched batches are views of the list
+                laneLists.set(lane, new ArrayList<>());
+            }
+        }
+
+        /*
+         * Dispatches resources after the batches of all the lanes, all the lanes then chaining on them.
+         */
+        private void dispatchBarrier(String resourceType, List<ActionableResource<?>> barrierList, int batchSize,
+                ResourceBatchingStatistics statistics) throws InterruptedException {
+            for (int from = 0; from < barrierList.size(); from += batchSize) {
+                ListenableFuture<?> allTails = Futures.whenAllComplete(laneTails)
+                        .call(() -> null, MoreExecutors.directExecutor());
+                Arrays.fill(laneTails, dispatch(resourceType, allTails, laneExecutors[0],
+                        new ArrayList<>(barrierList.subList(from, Math.min(from + batchSize, barrierList.size()))),
+                        statistics));
+            }
+            barrierList.clear();
+        }
+
+        private @Nullable PathArgument getFirstKeyedPathArgument(InstanceIdentifier<?> iid) {
+            for (PathArgument pathArgument : iid.getPathArguments()) {
+                if (pathArgument instanceof IdentifiableItem) {
+                    return pathArgument;
+                }
+            }
+            return null;
+        }
+
+        /*
+         * Dispatches a batch once its predecessor is processed, and returns the tail to chain the next batch on.
+         */
+        private ListenableFuture<?> dispatch(String resourceType, ListenableFuture<?> predecessor,
+                ExecutorService executor, List<ActionableResource<?>> batch, ResourceBatchingStatistics statistics)
+                throws InterruptedException {
+            if (!inflightPermits.tryAcquire()) {
+                statistics.backpressureWait();
+                LOG.debug("Waiting for in-flight batches of resourceType {} to complete", resourceType);
+                inflightPermits.acquire();
+            }
+            statistics.batchStarted(batch.size());
+            ListenableFuture<Void> processed = Futures.transformAsync(predecessor,
+                unused -> new MdsalDsTask<>(resourceType, batch).submit(), executor);
+            processed.addListener(() -> {
+                statistics.batchCompleted();
+                inflightPermits.release();
+            }, MoreExecutors.directExecutor());
+            Futures.addCallback(processed, new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    // The results of the resources are set by the MdsalDsTask
+                }
+
+                @Override
+                public void onFailure(Throwable cause) {
+                    if (cause instanceof RejectedExecutionException) {
+                        LOG.warn("Dropping batch of size {} of deregistered resourceType {}", batch.size(),
+                                resourceType);
+                    } else {
+                        LOG.error("Failed to process batch of size {} of resourceType {}", batch.size(),
+                                resourceType, cause);
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+            // A failed batch must not stop the following batches of its lane
+            return Futures.whenAllComplete(processed).call(() -> null, MoreExecutors.directExecutor());
+        }
+
+        void shutdown() {
+            for (ExecutorService laneExecutor : laneExecutors) {
+                laneExecutor.shutdown();
+            }
+        }
     }
 
     private class Batcher implements Runnable {
@@ -283,7 +484,8 @@ public class ResourceBatchingManager implements AutoCloseable {
             try {
                 Pair<BlockingQueue<ActionableResource<?>>, ResourceHandler> resMapper =
                         resourceHandlerMapper.get(resourceType);
-                if (resMapper == null) {
+                ResourceBatchingStatistics statistics = getStatistics(resourceType);
+                if (resMapper == null || statistics == null) {
                     LOG.error("Unable to find resourceMapper for batching the ResourceType {}", resourceType);
                     return;
                 }
@@ -291,24 +493,39 @@ public class ResourceBatchingManager implements AutoCloseable {
                 ResourceHandler resHandler = resMapper.getRight();
                 resList.add(resQueue.take());
                 resQueue.drainTo(resList);
+                if (coalescingResourceTypes.contains(resourceType)) {
+                    int drained = resList.size();
+                    resList = ActionableResourceCoalescer.coalesce(resList);
+                    statistics.coalesced(drained, resList.size());
+                    LOG.trace("Coalesced {} resources into {} for resourceType {}", drained, resList.size(),
+                            resourceType);
+                }
 
                 long start = System.currentTimeMillis();
                 int batchSize = resHandler.getBatchSize();
 
+                BatchingLanes lanes = resourceLanesMapper.get(resourceType);
+                if (lanes != null) {
+                    lanes.dispatch(resourceType, resList, batchSize, statistics);
+                    LOG.debug("Dispatched resourceList of size {} for resourceType {} in {}ms",
+                            resList.size(), resourceType, System.currentTimeMillis() - start);
+                    return;
+                }
+
                 int batches = resList.size() / batchSize;
                 if (resList.size() > batchSize) {
                     LOG.info("Batched up resources of size {} into batches {} for resourcetype {}",
                             resList.size(), batches, resourceType);
                     for (int i = 0, j = 0; i < batches; j = j + batchSize,i++) {
-                        new MdsalDsTask<>(resourceType, resList.subList(j, j + batchSize)).process();
+                        process(resList.subList(j, j + batchSize), statistics);
                     }
                     // process remaining routes
                     LOG.trace("Picked up 1 size {} ", resList.subList(batches * batchSize, resList.size()).size());
-                    new MdsalDsTask<>(resourceType, resList.subList(batches * batchSize, resList.size())).process();
+                    process(resList.subList(batches * batchSize, resList.size()), statistics);
                 } else {
                     // process less than OR == batchsize routes
                     LOG.trace("Picked up 2 size {}", resList.size());
-                    new MdsalDsTask<>(resourceType, resList).process();
+                    process(resList, statistics);
                 }
 
                 long timetaken = System.currentTimeMillis() - start;
@@ -320,6 +537,15 @@ public class ResourceBatchingManager implements AutoCloseable {
             }
 
         }
+
+        private void process(List<ActionableResource<?>> batch, ResourceBatchingStatistics statistics) {
+            statistics.batchStarted(batch.size());
+            try {
+                new MdsalDsTask<>(resourceType, batch).process();
+            } finally {
+                statistics.batchCompleted();
+            }
+        }
     }
 
     private class MdsalDsTask<T extends DataObject> {
@@ -331,14 +557,28 @@ public class ResourceBatchingManager implements AutoCloseable {
             this.actResourceList = actResourceList;
         }
 
-        @SuppressWarnings("unchecked")
         public void process() {
+            try {
+                submit().get();
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.error("Failed to process batch of size {} of resourceType {}", actResourceList.size(),
+                        resourceType, e);
+            }
+        }
+
+        /**
+         * Writes the batch in a transaction and commits it, retrying the operations of a failed commit.
+         *
+         * @return a future completed once the results of all the resources of the batch are set
+         */
+        @SuppressWarnings("unchecked")
+        ListenableFuture<Void> submit() {
             LOG.trace("Picked up 3 size {} of resourceType {}", actResourceList.size(), resourceType);
             Pair<BlockingQueue<ActionableResource<?>>, ResourceHandler> resMapper =
                     resourceHandlerMapper.get(resourceType);
             if (resMapper == null) {
                 LOG.error("Unable to find resourceMapper for batching the ResourceType {}", resourceType);
-                return;
+                return Futures.immediateFuture(null);
             }
             ResourceHandler resHandler = resMapper.getRight();
             DataBroker broker = resHandler.getResourceBroker();
@@ -398,58 +638,144 @@ public class ResourceBatchingManager implements AutoCloseable {
 
 
             long start = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
             FluentFuture<? extends @NonNull CommitInfo> futures = tx.commit();
+            futures.addListener(() -> {
+                ResourceBatchingStatistics statistics = getStatistics(resourceType);
+                if (statistics != null) {
+                    statistics.committed(System.nanoTime() - startNanos);
+                }
+            }, MoreExecutors.directExecutor());
+
+            SettableFuture<Void> processed = SettableFuture.create();
+            futures.addCallback(new FutureCallback<CommitInfo>() {
+                @Override
+                public void onSuccess(CommitInfo result) {
+                    actResourceList.forEach(actionableResource -> {
+                        ((SettableFuture<Void>) actionableResource.getResultFuture()).set(null);
+                        postCommit(actionableResource.getAction(), actionableResource.getInstanceIdentifier());
+                    });
+                    long time = System.currentTimeMillis() - start;
+                    LOG.trace("##### Time taken for {} = {}ms", actResourceList.size(), time);
+                    processed.set(null);
+                }
 
-            try {
-                futures.get();
-                actResourceList.forEach(actionableResource -> {
-                    ((SettableFuture<Void>) actionableResource.getResultFuture()).set(null);
-                    postCommit(actionableResource.getAction(), actionableResource.getInstanceIdentifier());
-                });
-                long time = System.currentTimeMillis() - start;
-                LOG.trace("##### Time taken for {} = {}ms", actResourceList.size(), time);
+                @Override
+                public void onFailure(Throwable cause) {
+                    LOG.error("Exception occurred while batch writing to datastore", cause);
+                    LOG.info("Bisecting the {} transaction operations of the failed batch for resType {}",
+                            transactionObjects.size(), resourceType);
+                    Futures.addCallback(bisect(broker, dsType, transactionObjects, txMap,
+                            areIndependent(transactionObjects)), new FutureCallback<Void>() {
+                                @Override
+                                public void onSuccess(Void result) {
+                                    // The resources which did not write anything have nothing to fail
+                                    actResourceList.forEach(actionableResource -> ((SettableFuture<Void>)
+                                            actionableResource.getResultFuture()).set(null));
+                                    processed.set(null);
+                                }
+
+                                @Override
+                                public void onFailure(Throwable exception) {
+                                    LOG.error("Failed to retry the failed batch for resType {}", resourceType,
+                                            exception);
+                                    actResourceList.forEach(actionableResource -> ((SettableFuture<Void>)
+                                            actionableResource.getResultFuture()).setException(exception));
+                                    processed.set(null);
+                                }
+                            }, MoreExecutors.directExecutor());
+                }
+            }, MoreExecutors.directExecutor());
+            return processed;
+        }
 
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.error("Exception occurred while batch writing to datastore", e);
-                LOG.info("Trying to submit transaction operations one at a time for resType {}", resourceType);
-                for (SubTransaction object : transactionObjects) {
-                    WriteTransaction writeTransaction = broker.newWriteOnlyTransaction();
-                    switch (object.getAction()) {
-                        case SubTransaction.CREATE:
-                            writeTransaction.mergeParentStructurePut(dsType, object.getInstanceIdentifier(),
-                                    (DataObject) object.getInstance());
-                            break;
-                        case SubTransaction.DELETE:
-                            writeTransaction.delete(dsType, object.getInstanceIdentifier());
-                            break;
-                        case SubTransaction.UPDATE:
-                            writeTransaction.mergeParentStructureMerge(dsType, object.getInstanceIdentifier(),
-                                    (DataObject) object.getInstance());
-                            break;
-                        default:
-                            LOG.error("Unable to determine Action for transaction object with id {}",
-                                    object.getInstanceIdentifier());
+        /**
+         * Commits each half of the given operations of a failed batch in its own transaction, and recursively
+         * the halves of a half which fails again, until the offending operations are isolated. Only these fail.
+         * The halves are committed concurrently if the operations are independent, else one after the other.
+         *
+         * @return a future completed once all the given operations are committed or failed; it never fails
+         */
+        private ListenableFuture<Void> bisect(DataBroker broker, LogicalDatastoreType dsType,
+                List<SubTransaction> objects, Map<SubTransaction, SettableFuture<Void>> txMap, boolean parallel) {
+            List<SubTransaction> left = objects.subList(0, objects.size() / 2);
+            List<SubTransaction> right = objects.subList(objects.size() / 2, objects.size());
+            if (parallel) {
+                return Futures.whenAllComplete(retry(broker, dsType, left, txMap, parallel),
+                        retry(broker, dsType, right, txMap, parallel)).call(() -> null,
+                                MoreExecutors.directExecutor());
+            }
+            return Futures.transformAsync(retry(broker, dsType, left, txMap, parallel),
+                unused -> retry(broker, dsType, right, txMap, parallel), MoreExecutors.directExecutor());
+        }
+
+        private ListenableFuture<Void> retry(DataBroker broker, LogicalDatastoreType dsType,
+                List<SubTransaction> objects, Map<SubTransaction, SettableFuture<Void>> txMap, boolean parallel) {
+            if (objects.isEmpty()) {
+                return Futures.immediateFuture(null);
+            }
+            WriteTransaction writeTransaction = broker.newWriteOnlyTransaction();
+            for (SubTransaction object : objects) {
+                switch (object.getAction()) {
+                    case SubTransaction.CREATE:
+                        writeTransaction.mergeParentStructurePut(dsType, object.getInstanceIdentifier(),
+                                (DataObject) object.getInstance());
+                        break;
+                    case SubTransaction.DELETE:
+                        writeTransaction.delete(dsType, object.getInstanceIdentifier());
+                        break;
+                    case SubTransaction.UPDATE:
+                        writeTransaction.mergeParentStructureMerge(dsType, object.getInstanceIdentifier(),
+                                (DataObject) object.getInstance());
+                        break;
+                    default:
+                        LOG.error("Unable to determine Action for transaction object with id {}",
+                                object.getInstanceIdentifier());
+                }
+            }
+            ResourceBatchingStatistics statistics = getStatistics(resourceType);
+            if (statistics != null) {
+                statistics.retryCommitted();
+            }
+            SettableFuture<Void> retried = SettableFuture.create();
+            writeTransaction.commit().addCallback(new FutureCallback<CommitInfo>() {
+                @Override
+                public void onSuccess(CommitInfo result) {
+                    objects.forEach(object -> completed(object, txMap, null));
+                    retried.set(null);
+                }
+
+                @Override
+                public void onFailure(Throwable cause) {
+                    if (objects.size() > 1) {
+                        retried.setFuture(bisect(broker, dsType, objects, txMap, parallel));
+                        return;
                     }
-                    FluentFuture<? extends @NonNull CommitInfo> futureOperation = writeTransaction.commit();
-                    try {
-                        futureOperation.get();
-                        if (txMap.containsKey(object)) {
-                            txMap.get(object).set(null);
-                        } else {
-                            LOG.error("Subtx object {} has no Actionable-resource associated with it !! ",
-                                    object.getInstanceIdentifier());
-                        }
-                    } catch (InterruptedException | ExecutionException exception) {
-                        if (txMap.containsKey(object)) {
-                            txMap.get(object).setException(exception);
-                        }
-                        LOG.error("Error {} to datastore (path, data) : ({}, {})", object.getAction(),
-                                object.getInstanceIdentifier(), object.getInstance(), exception);
-                    } finally {
-                        postCommit(object.getAction(), object.getInstanceIdentifier());
+                    SubTransaction object = objects.get(0);
+                    LOG.error("Error {} to datastore (path, data) : ({}, {})", object.getAction(),
+                            object.getInstanceIdentifier(), object.getInstance(), cause);
+                    if (statistics != null) {
+                        statistics.isolatedFailure();
                     }
+                    completed(object, txMap, cause);
+                    retried.set(null);
                 }
+            }, MoreExecutors.directExecutor());
+            return retried;
+        }
+
+        private void completed(SubTransaction object, Map<SubTransaction, SettableFuture<Void>> txMap,
+                Throwable cause) {
+            SettableFuture<Void> future = txMap.get(object);
+            if (future == null) {
+                LOG.error("Subtx object {} has no Actionable-resource associated with it !! ",
+                        object.getInstanceIdentifier());
+            } else if (cause == null) {
+                future.set(null);
+            } else {
+                future.setException(cause);
             }
+            postCommit(object.getAction(), object.getInstanceIdentifier());
         }
 
         private void postCommit(int action, InstanceIdentifier iid) {
@@ -465,6 +791,27 @@ public class ResourceBatchingManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Checks whether the given operations can be committed in any order: they must all be on different
+     * InstanceIdentifiers, none of them an ancestor of another, which is guaranteed if they all have the same depth.
+     */
+    private static boolean areIndependent(List<SubTransaction> objects) {
+        Set<InstanceIdentifier<?>> iids = new HashSet<>();
+        int depth = -1;
+        for (SubTransaction object : objects) {
+            InstanceIdentifier<?> iid = object.getInstanceIdentifier();
+            if (!iids.add(iid)) {
+                return false;
+            }
+            int iidDepth = Iterables.size(iid.getPathArguments());
+            if (depth != -1 && iidDepth != depth) {
+                return false;
+            }
+            depth = iidDepth;
+        }
+        return true;
+    }
+
     private static class ActionableReadResource<T extends DataObject> extends ActionableResourceImpl<T> {
         private final SettableFuture<Optional<T>> readFuture;
 
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a resource type registered with the {@link ResourceBatchingManager}.
+ */
+public final class ResourceBatchingStatistics {
+
+    private final Queue<?> queue;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedResources = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final LongAccumulator maxCommitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder coalescerInput = new LongAdder();
+    private final LongAdder coalescedResources = new LongAdder();
+    private final LongAdder retryCommits = new LongAdder();
+    private final LongAdder isolatedFailures = new LongAdder();
+    private final AtomicInteger inflightBatches = new AtomicInteger();
+    private volatile int lastBatchSize;
+
+    ResourceBatchingStatistics(Queue<?> queue) {
+        this.queue = queue;
+    }
+
+    void batchStarted(int batchSize) {
+        batches.increment();
+        batchedResources.add(batchSize);
+        lastBatchSize = batchSize;
+        inflightBatches.incrementAndGet();
+    }
+
+    void batchCompleted() {
+        inflightBatches.decrementAndGet();
+    }
+
+    void committed(long elapsedNanos) {
+        commits.increment();
+        commitNanos.add(elapsedNanos);
+        maxCommitNanos.accumulate(elapsedNanos);
+    }
+
+    void backpressureWait() {
+        backpressureWaits.increment();
+    }
+
+    void coalesced(int inputSize, int outputSize) {
+        coalescerInput.add(inputSize);
+        coalescedResources.add(inputSize - outputSize);
+    }
+
+    void retryCommitted() {
+        retryCommits.increment();
+    }
+
+    void isolatedFailure() {
+        isolatedFailures.increment();
+    }
+
+    /**
+     * Returns the number of resources queued and not yet picked up into a batch.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) batchedResources.sum() / count;
+    }
+
+    /**
+     * Returns the number of batched transactions committed, successfully or not; the retries of parts of failed
+     * batches are counted by {@link #getRetryCommitCount()}.
+     */
+    public long getCommitCount() {
+        return commits.sum();
+    }
+
+    public long getAverageCommitLatencyMicros() {
+        long count = commits.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(commitNanos.sum() / count);
+    }
+
+    public long getMaxCommitLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxCommitNanos.get());
+    }
+
+    /**
+     * Returns the number of batches handed over for commit and not yet completed.
+     */
+    public int getInflightBatches() {
+        return inflightBatches.get();
+    }
+
+    /**
+     * Returns how many times the batching had to wait for in-flight batches to complete before it could hand
+     * over another one.
+     */
+    public long getBackpressureWaits() {
+        return backpressureWaits.sum();
+    }
+
+    /**
+     * Returns the number of resources dropped by the coalescing because others superseded them.
+     */
+    public long getCoalescedResources() {
+        return coalescedResources.sum();
+    }
+
+    /**
+     * Returns the fraction of the resources seen by the coalescing which it dropped, between 0 and 1.
+     */
+    public double getCoalesceRatio() {
+        long input = coalescerInput.sum();
+        return input == 0 ? 0 : (double) coalescedResources.sum() / input;
+    }
+
+    /**
+     * Returns the number of commits of parts of failed batches, retried to isolate the offending operations.
+     */
+    public long getRetryCommitCount() {
+        return retryCommits.sum();
+    }
+
+    /**
+     * Returns the number of offending operations isolated in failed batches, and failed.
+     */
+    public long getIsolatedFailureCount() {
+        return isolatedFailures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceBatchingStatistics{queueDepth=" + getQueueDepth() + ", batches=" + getBatchCount()
+                + ", lastBatchSize=" + getLastBatchSize() + ", averageBatchSize=" + getAverageBatchSize()
+                + ", commits=" + getCommitCount() + ", averageCommitLatencyMicros="
+                + getAverageCommitLatencyMicros() + ", maxCommitLatencyMicros=" + getMaxCommitLatencyMicros()
+                + ", inflightBatches=" + getInflightBatches() + ", backpressureWaits=" + getBackpressureWaits()
+                + ", coalescedResources=" + getCoalescedResources() + ", coalesceRatio=" + getCoalesceRatio()
+                + ", retryCommits=" + getRetryCommitCount() + ", isolatedFailures=" + getIsolatedFailureCount() + "}";
+    }
+}
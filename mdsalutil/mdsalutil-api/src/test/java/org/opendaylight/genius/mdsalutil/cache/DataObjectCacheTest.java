@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.utils.hwvtep.HwvtepSouthboundConstants;
+import org.opendaylight.infrautils.caches.baseimpl.internal.CacheManagersRegistryImpl;
+import org.opendaylight.infrautils.caches.guava.internal.GuavaCacheProvider;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.ReadFailedException;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Test for the bounding and the statistics of {@link DataObjectCache}, including concurrent reads while the cache
+ * is updated by its listener.
+ */
+public class DataObjectCacheTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final InstanceIdentifier<Topology> TOPOLOGY_IID = InstanceIdentifier.create(NetworkTopology.class)
+            .child(Topology.class, new TopologyKey(HwvtepSouthboundConstants.HWVTEP_TOPOLOGY_ID));
+    private static final InstanceIdentifier<Node> NODES_IID = TOPOLOGY_IID.child(Node.class);
+
+    private static final int NODES = 100;
+    private static final int READERS = 4;
+    private static final int READS_PER_READER = 20000;
+
+    private InstanceIdDataObjectCache<Node> cache;
+
+    @After
+    public void closeCache() {
+        if (cache != null) {
+            cache.close();
+        }
+        System.clearProperty(DataObjectCache.MAX_SIZE_PROPERTY);
+        System.clearProperty(DataObjectCache.NEGATIVE_TTL_PROPERTY);
+    }
+
+    @Test
+    public void testHitMissAndLoadStatistics() throws Exception {
+        cache = newCache();
+        writeNode("node1");
+        // The listener caches the written DataObject
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.size() == 1);
+
+        assertTrue(cache.get(buildNodeIid("node1")).isPresent());
+        assertTrue(cache.get(buildNodeIid("node1")).isPresent());
+        // The absence of a DataObject is cached too
+        assertFalse(cache.get(buildNodeIid("node2")).isPresent());
+        assertFalse(cache.get(buildNodeIid("node2")).isPresent());
+
+        DataObjectCacheStatistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getLoadCount());
+        assertEquals(0.75, statistics.getHitRate(), 0.0);
+        assertEquals(0, statistics.getEvictionCount());
+    }
+
+    @Test
+    public void testBoundedCacheEvicts() throws Exception {
+        System.setProperty(DataObjectCache.MAX_SIZE_PROPERTY, "10");
+        cache = newCache();
+
+        for (int i = 0; i < 50; i++) {
+            cache.get(buildNodeIid("node" + i));
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertEquals(50 - cache.size(), cache.getStatistics().getEvictionCount());
+        // An evicted DataObject is simply read again
+        assertFalse(cache.get(buildNodeIid("node0")).isPresent());
+    }
+
+    @Test
+    public void testGetAllReadsMissesTogether() throws Exception {
+        cache = newCache();
+        writeNode("node1");
+        writeNode("node2");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.size() == 2);
+
+        Map<InstanceIdentifier<Node>, Optional<Node>> nodes = cache.getAll(List.of(buildNodeIid("node1"),
+                buildNodeIid("node3"), buildNodeIid("node2"), buildNodeIid("node4"), buildNodeIid("node3")));
+
+        assertEquals(List.of(buildNodeIid("node1"), buildNodeIid("node3"), buildNodeIid("node2"),
+                buildNodeIid("node4")), List.copyOf(nodes.keySet()));
+        assertTrue(nodes.get(buildNodeIid("node1")).isPresent());
+        assertTrue(nodes.get(buildNodeIid("node2")).isPresent());
+        assertFalse(nodes.get(buildNodeIid("node3")).isPresent());
+        assertFalse(nodes.get(buildNodeIid("node4")).isPresent());
+        DataObjectCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(1, statistics.getLoadCount());
+
+        // The absences are cached
+        assertFalse(cache.get(buildNodeIid("node4")).isPresent());
+        assertEquals(1, statistics.getLoadCount());
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        for (int i = 0; i < NODES; i++) {
+            writeNode("node" + i);
+        }
+        cache = new InstanceIdDataObjectCache<>(Node.class, getDataBroker(), LogicalDatastoreType.OPERATIONAL,
+                new GuavaCacheProvider(new CacheManagersRegistryImpl()), null);
+
+        assertEquals(NODES, cache.preload(TOPOLOGY_IID, topology -> topology.nonnullNode().values(),
+            node -> TOPOLOGY_IID.child(Node.class, node.key())));
+        assertEquals(NODES, cache.size());
+        // Already cached
+        assertEquals(0, cache.preload(TOPOLOGY_IID, topology -> topology.nonnullNode().values(),
+            node -> TOPOLOGY_IID.child(Node.class, node.key())));
+
+        for (int i = 0; i < NODES; i++) {
+            assertTrue(cache.get(buildNodeIid("node" + i)).isPresent());
+        }
+        assertEquals(0, cache.getStatistics().getMissCount());
+        assertEquals(2, cache.getStatistics().getLoadCount());
+    }
+
+    @Test
+    public void testNegativeTtl() throws Exception {
+        System.setProperty(DataObjectCache.NEGATIVE_TTL_PROPERTY, "1000");
+        // Without listener, so the absence can only expire
+        cache = new InstanceIdDataObjectCache<>(Node.class, getDataBroker(), LogicalDatastoreType.OPERATIONAL,
+                new GuavaCacheProvider(new CacheManagersRegistryImpl()), null);
+
+        assertFalse(cache.get(buildNodeIid("node1")).isPresent());
+        writeNode("node1");
+        assertFalse(cache.get(buildNodeIid("node1")).isPresent());
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.get(buildNodeIid("node1")).isPresent());
+        assertTrue(cache.getStatistics().getLoadCount() >= 2);
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+        cache = newCache();
+        writeNode("node1");
+        // Without waiting for the listener, the DataObject may or may not be cached
+        assertTrue(cache.getAsync(buildNodeIid("node1")).get(10, TimeUnit.SECONDS).isPresent());
+        assertFalse(cache.getAsync(buildNodeIid("node2")).get(10, TimeUnit.SECONDS).isPresent());
+        long loads = cache.getStatistics().getLoadCount();
+
+        // The loaded DataObjects are cached
+        assertTrue(cache.getAsync(buildNodeIid("node1")).isDone());
+        assertFalse(cache.get(buildNodeIid("node2")).isPresent());
+        assertEquals(loads, cache.getStatistics().getLoadCount());
+
+        cache.close();
+        try {
+            cache.getAsync(buildNodeIid("node1")).get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ReadFailedException);
+        } finally {
+            cache = null;
+        }
+    }
+
+    @Test
+    public void testConcurrentReadsWhileUpdated() throws Exception {
+        cache = newCache();
+        for (int i = 0; i < NODES; i++) {
+            writeNode("node" + i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < READS_PER_READER; j++) {
+                        cache.get(buildNodeIid("node" + random.nextInt(NODES)));
+                    }
+                    return null;
+                }));
+            }
+            // Updates the cache through its listener while it is read
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < NODES; i++) {
+                    writeNode("node" + i);
+                }
+                return null;
+            });
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+            writer.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DataObjectCacheStatistics statistics = cache.getStatistics();
+        assertEquals(READERS * READS_PER_READER, statistics.getHitCount() + statistics.getMissCount());
+        assertTrue(statistics.getLoadCount() <= statistics.getMissCount());
+        assertTrue(statistics.getHitRate() > 0.9);
+    }
+
+    private InstanceIdDataObjectCache<Node> newCache() {
+        return new InstanceIdDataObjectCache<>(Node.class, getDataBroker(), LogicalDatastoreType.OPERATIONAL,
+                NODES_IID, new GuavaCacheProvider(new CacheManagersRegistryImpl()), null);
+    }
+
+    private void writeNode(String nodeId) throws Exception {
+        SingleTransactionDataBroker.syncWrite(getDataBroker(), LogicalDatastoreType.OPERATIONAL,
+                buildNodeIid(nodeId), new NodeBuilder().setNodeId(new NodeId(nodeId)).build());
+    }
+
+    private static InstanceIdentifier<Node> buildNodeIid(String nodeId) {
+        return TOPOLOGY_IID.child(Node.class, new NodeKey(new NodeId(nodeId)));
+    }
+}
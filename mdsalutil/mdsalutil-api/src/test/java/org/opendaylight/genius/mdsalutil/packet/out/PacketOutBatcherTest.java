@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.out;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketOutput;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+
+/**
+ * Test of the {@link PacketOutBatcher} with a stubbed {@link PacketProcessingService}, checking the RPCs and batches
+ * of the packet-outs to each DPN.
+ */
+public class PacketOutBatcherTest {
+
+    private static final int BATCH_SIZE = 32;
+    private static final int DPNS = 10;
+    private static final int PACKETS_PER_DPN = 200;
+    // Simulated round trip of the RPC to the switch
+    private static final long RPC_LATENCY_MICROS = 200;
+
+    private final ScheduledExecutorService switchSimulator = Executors.newScheduledThreadPool(2);
+    private PacketOutBatcher batcher;
+
+    @After
+    public void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        switchSimulator.shutdownNow();
+    }
+
+    @Test
+    public void testBatchedPerDpn() throws Exception {
+        DelayedPacketProcessingService service = new DelayedPacketProcessingService();
+        batcher = new PacketOutBatcher(service, "test", null, BATCH_SIZE, 1000, 64);
+        List<ListenableFuture<RpcResult<TransmitPacketOutput>>> futures = new ArrayList<>();
+        for (int i = 0; i < PACKETS_PER_DPN; i++) {
+            for (int dpn = 1; dpn <= DPNS; dpn++) {
+                futures.add(batcher.transmitPacket(packetOut(dpn)));
+            }
+        }
+        for (RpcResult<TransmitPacketOutput> result : Futures.allAsList(futures).get(30, TimeUnit.SECONDS)) {
+            assertTrue(result.isSuccessful());
+        }
+
+        // One RPC per packet, in batches of at most BATCH_SIZE packets of a DPN
+        assertEquals(DPNS * PACKETS_PER_DPN, service.calls.get());
+        assertEquals(DPNS, batcher.getNodeIds().size());
+        for (int dpn = 1; dpn <= DPNS; dpn++) {
+            PacketOutStatistics statistics = batcher.getStatistics(nodeId(dpn));
+            assertNotNull(statistics);
+            assertEquals(PACKETS_PER_DPN, statistics.getTransmittedCount());
+            assertEquals(0, statistics.getFailedCount());
+            assertEquals(0, statistics.getQueueDepth());
+            assertTrue(statistics.toString(), statistics.getBatchCount() >= PACKETS_PER_DPN / BATCH_SIZE);
+            assertTrue(statistics.toString(), statistics.getBatchCount() < PACKETS_PER_DPN);
+        }
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        batcher = new PacketOutBatcher(
+            input -> Futures.immediateFuture(RpcResultBuilder.<TransmitPacketOutput>success().build()),
+            "test", null, BATCH_SIZE, 1000, 64);
+        assertTrue(batcher.transmitPacket(packetOut(1)).get(10, TimeUnit.SECONDS).isSuccessful());
+        assertTrue(batcher.transmitPacket(packetOut(2)).get(10, TimeUnit.SECONDS).isSuccessful());
+
+        batcher.remove(nodeId(1));
+        assertNull(batcher.getStatistics(nodeId(1)));
+        assertEquals(1, batcher.getNodeIds().size());
+        assertNotNull(batcher.getStatistics(nodeId(2)));
+    }
+
+    @Test
+    public void testFlushAfterDelay() throws Exception {
+        batcher = new PacketOutBatcher(
+            input -> Futures.immediateFuture(RpcResultBuilder.<TransmitPacketOutput>success().build()),
+            "test", null, BATCH_SIZE, 1000, 64);
+
+        assertTrue(batcher.transmitPacket(packetOut(1)).get(10, TimeUnit.SECONDS).isSuccessful());
+        PacketOutStatistics statistics = batcher.getStatistics(nodeId(1));
+        assertEquals(1, statistics.getBatchCount());
+        assertEquals(1, statistics.getTransmittedCount());
+    }
+
+    @Test
+    public void testInFlightWindow() throws Exception {
+        Queue<SettableFuture<RpcResult<TransmitPacketOutput>>> pending = new ConcurrentLinkedQueue<>();
+        batcher = new PacketOutBatcher(input -> {
+            SettableFuture<RpcResult<TransmitPacketOutput>> future = SettableFuture.create();
+            pending.add(future);
+            return future;
+        }, "test", null, 2, 1000, 4);
+
+        List<ListenableFuture<RpcResult<TransmitPacketOutput>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(batcher.transmitPacket(packetOut(1)));
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> pending.size() == 4);
+        assertEquals(6, batcher.getStatistics(nodeId(1)).getQueueDepth());
+
+        // Each completion lets a queued packet out, until all are sent
+        for (int i = 0; i < 10; i++) {
+            await().atMost(10, TimeUnit.SECONDS).until(() -> !pending.isEmpty());
+            pending.poll().set(RpcResultBuilder.<TransmitPacketOutput>success().build());
+        }
+        assertEquals(10, Futures.allAsList(futures).get(10, TimeUnit.SECONDS).size());
+        assertEquals(0, batcher.getStatistics(nodeId(1)).getQueueDepth());
+    }
+
+    private static NodeId nodeId(int dpn) {
+        return new NodeId("openflow:" + dpn);
+    }
+
+    private static TransmitPacketInput packetOut(int dpn) {
+        return new TransmitPacketInputBuilder().setPayload(new byte[64])
+                .setNode(new NodeRef(InstanceIdentifier.builder(Nodes.class)
+                        .child(Node.class, new NodeKey(nodeId(dpn))).build()))
+                .build();
+    }
+
+    private class DelayedPacketProcessingService implements PacketProcessingService {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ListenableFuture<RpcResult<TransmitPacketOutput>> transmitPacket(TransmitPacketInput input) {
+            calls.incrementAndGet();
+            SettableFuture<RpcResult<TransmitPacketOutput>> future = SettableFuture.create();
+            switchSimulator.schedule(() -> future.set(RpcResultBuilder.<TransmitPacketOutput>success().build()),
+                    RPC_LATENCY_MICROS, TimeUnit.MICROSECONDS);
+            return future;
+        }
+    }
+}
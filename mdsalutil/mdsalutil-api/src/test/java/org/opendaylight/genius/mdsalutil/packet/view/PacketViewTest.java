@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet.view;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+import org.opendaylight.genius.mdsalutil.packet.ARP;
+import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.ICMP;
+import org.opendaylight.genius.mdsalutil.packet.IPProtocols;
+import org.opendaylight.genius.mdsalutil.packet.IPv4;
+import org.opendaylight.genius.mdsalutil.packet.UDP;
+import org.opendaylight.openflowplugin.libraries.liblldp.EtherTypes;
+import org.opendaylight.openflowplugin.libraries.liblldp.PacketException;
+
+/**
+ * Tests the packet views and {@link PacketWriter} against the {@link org.opendaylight.genius.mdsalutil.packet}
+ * classes.
+ */
+public class PacketViewTest {
+
+    private static final long SRC_MAC = 0x0a0b0c0d0e0fL;
+    private static final long DST_MAC = 0x010203040506L;
+    private static final int SRC_IP = 0x0a000001;
+    private static final int DST_IP = 0x0a000002;
+
+    private final EthernetView ethernetView = new EthernetView();
+    private final ArpView arpView = new ArpView();
+    private final Ipv4View ipv4View = new Ipv4View();
+    private final UdpView udpView = new UdpView();
+    private final IcmpView icmpView = new IcmpView();
+    private final PacketWriter writer = new PacketWriter();
+
+    @Test
+    public void testWrittenArpParsedByLegacy() throws PacketException {
+        byte[] packet = writer.reset().ethernet(DST_MAC, SRC_MAC, EtherTypes.ARP.intValue())
+                .arp(ArpView.REQUEST, SRC_MAC, SRC_IP, 0, DST_IP).build();
+
+        Ethernet ethernet = new Ethernet();
+        ethernet.deserialize(packet, 0, packet.length * Byte.SIZE);
+        assertArrayEquals(mac(DST_MAC), ethernet.getDestinationMACAddress());
+        assertArrayEquals(mac(SRC_MAC), ethernet.getSourceMACAddress());
+        ARP arp = (ARP) ethernet.getPayload();
+        assertEquals(ARP.REQUEST, arp.getOpCode());
+        assertEquals(ARP.HW_TYPE_ETHERNET, arp.getHardwareType());
+        assertEquals(ARP.PROTO_TYPE_IP, arp.getProtocolType());
+        assertArrayEquals(mac(SRC_MAC), arp.getSenderHardwareAddress());
+        assertArrayEquals(ip(SRC_IP), arp.getSenderProtocolAddress());
+        assertArrayEquals(mac(0), arp.getTargetHardwareAddress());
+        assertArrayEquals(ip(DST_IP), arp.getTargetProtocolAddress());
+    }
+
+    @Test
+    public void testLegacyArpParsedByViews() throws PacketException {
+        byte[] packet = legacyArp();
+
+        ethernetView.wrap(packet);
+        assertEquals(DST_MAC, ethernetView.getDestinationMac());
+        assertEquals(SRC_MAC, ethernetView.getSourceMac());
+        assertEquals(EtherTypes.ARP.intValue(), ethernetView.getEtherType());
+        assertFalse(ethernetView.isVlanTagged());
+        arpView.wrapPayload(ethernetView);
+        assertTrue(arpView.isEthernetIpv4());
+        assertEquals(ArpView.REPLY, arpView.getOpCode());
+        assertEquals(SRC_MAC, arpView.getSenderHardwareAddress());
+        assertEquals(SRC_IP, arpView.getSenderProtocolAddress());
+        assertEquals(DST_MAC, arpView.getTargetHardwareAddress());
+        assertEquals(DST_IP, arpView.getTargetProtocolAddress());
+
+        // Turns the reply around in place
+        arpView.setOpCode(ArpView.REQUEST).setTargetHardwareAddress(0);
+        Ethernet ethernet = new Ethernet();
+        ethernet.deserialize(packet, 0, packet.length * Byte.SIZE);
+        assertEquals(ARP.REQUEST, ((ARP) ethernet.getPayload()).getOpCode());
+    }
+
+    @Test
+    public void testUdpChecksums() throws PacketException {
+        byte[] payload = "aliveness".getBytes(StandardCharsets.UTF_8);
+        byte[] packet = writer.reset().ethernet(DST_MAC, SRC_MAC, EtherTypes.IPv4.intValue())
+                .ipv4(IPProtocols.UDP.intValue(), 64, SRC_IP, DST_IP).udp(3784, 49152).payload(payload).build();
+
+        Ethernet ethernet = new Ethernet();
+        ethernet.deserialize(packet, 0, packet.length * Byte.SIZE);
+        IPv4 ipv4 = (IPv4) ethernet.getPayload();
+        assertFalse(ipv4.isCorrupted());
+        assertEquals(64, ipv4.getTtl());
+        UDP udp = (UDP) ipv4.getPayload();
+        assertEquals(3784, udp.getSourcePort());
+        assertEquals(49152, udp.getDestinationPort());
+        assertEquals(UdpView.HEADER_LENGTH + payload.length, udp.getLength());
+
+        ipv4View.wrapPayload(ethernetView.wrap(packet));
+        assertTrue(ipv4View.isChecksumValid());
+        assertEquals(IPProtocols.UDP.intValue(), ipv4View.getProtocol());
+        assertEquals(SRC_IP, ipv4View.getSourceAddress());
+        udpView.wrapPayload(ipv4View);
+        assertEquals(payload.length, udpView.getPayloadLength());
+        assertArrayEquals(payload, Arrays.copyOfRange(packet, udpView.getPayloadOffset(), packet.length));
+
+        // The sum over the datagram and the pseudo header, with the checksum, is all ones
+        int checksum = udpView.getChecksum();
+        udpView.updateChecksum(ipv4View);
+        assertEquals(checksum, udpView.getChecksum());
+        assertEquals(0, PacketBytes.checksum(PacketBytes.sum(packet, udpView.getOffset(),
+                udpView.getDatagramLength(), ipv4View.getPseudoHeaderSum(udpView.getDatagramLength()))));
+    }
+
+    @Test
+    public void testIcmpEchoAndVlanTag() throws PacketException {
+        byte[] packet = writer.reset().ethernet(DST_MAC, SRC_MAC, 100, EtherTypes.IPv4.intValue())
+                .ipv4(IPProtocols.ICMP.intValue(), 64, SRC_IP, DST_IP).icmp(IcmpView.ECHO_REQUEST, 0, 7, 42)
+                .payload(new byte[16]).build();
+
+        ethernetView.wrap(packet);
+        assertTrue(ethernetView.isVlanTagged());
+        assertEquals(100, ethernetView.getVlanId());
+        assertEquals(EtherTypes.IPv4.intValue(), ethernetView.getEtherType());
+        ipv4View.wrapPayload(ethernetView);
+        assertTrue(ipv4View.isChecksumValid());
+        icmpView.wrapPayload(ipv4View);
+        assertTrue(icmpView.isChecksumValid());
+        assertEquals(IcmpView.ECHO_REQUEST, icmpView.getType());
+        assertEquals(7, icmpView.getIdentifier());
+        assertEquals(42, icmpView.getSequenceNumber());
+
+        // The legacy classes parse the tagged payload separately
+        byte[] untagged = new byte[packet.length - EthernetView.VLAN_TAG_LENGTH - EthernetView.HEADER_LENGTH];
+        System.arraycopy(packet, ethernetView.getPayloadOffset(), untagged, 0, untagged.length);
+        IPv4 ipv4 = new IPv4();
+        ipv4.deserialize(untagged, 0, untagged.length * Byte.SIZE);
+        assertFalse(ipv4.isCorrupted());
+        ICMP icmp = (ICMP) ipv4.getPayload();
+        assertEquals(7, icmp.getIdentifier());
+        assertEquals(42, icmp.getSequenceNumber());
+
+        // Turns the request into a reply in place
+        icmpView.setType(IcmpView.ECHO_REPLY).updateChecksum();
+        assertTrue(icmpView.isChecksumValid());
+    }
+
+    @Test
+    public void testWriterReuse() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.reset().ethernet(DST_MAC, SRC_MAC, EtherTypes.IPv4.intValue())
+                .ipv4(IPProtocols.UDP.intValue(), 64, SRC_IP, DST_IP).udp(1, 2).payload(new byte[200]).writeTo(buffer);
+        byte[] arp = writer.reset().ethernet(DST_MAC, SRC_MAC, EtherTypes.ARP.intValue())
+                .arp(ArpView.REQUEST, SRC_MAC, SRC_IP, 0, DST_IP).build();
+
+        assertEquals(EthernetView.HEADER_LENGTH + ArpView.HEADER_LENGTH, arp.length);
+        assertEquals(EthernetView.HEADER_LENGTH + Ipv4View.MIN_HEADER_LENGTH + UdpView.HEADER_LENGTH + 200,
+                buffer.position());
+        arpView.wrapPayload(ethernetView.wrap(arp));
+        assertEquals(DST_IP, arpView.getTargetProtocolAddress());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedHeader() {
+        byte[] packet = writer.reset().ethernet(DST_MAC, SRC_MAC, EtherTypes.ARP.intValue())
+                .arp(ArpView.REQUEST, SRC_MAC, SRC_IP, 0, DST_IP).build();
+        arpView.wrap(packet, EthernetView.HEADER_LENGTH, ArpView.HEADER_LENGTH - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIpv4HeaderLength() {
+        byte[] packet = writer.reset().ipv4(IPProtocols.UDP.intValue(), 64, SRC_IP, DST_IP).udp(1, 2).build();
+        packet[0] = 0x4f;
+        ipv4View.wrap(packet);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUdpLengthBeyondDatagram() {
+        byte[] packet = writer.reset().ipv4(IPProtocols.UDP.intValue(), 64, SRC_IP, DST_IP).udp(1, 2)
+                .payload(new byte[16]).build();
+        PacketBytes.putShort(packet, Ipv4View.MIN_HEADER_LENGTH + 4, UdpView.HEADER_LENGTH + 17);
+        udpView.wrapPayload(ipv4View.wrap(packet));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUdpLengthShorterThanHeader() {
+        byte[] packet = writer.reset().ipv4(IPProtocols.UDP.intValue(), 64, SRC_IP, DST_IP).udp(1, 2).build();
+        PacketBytes.putShort(packet, Ipv4View.MIN_HEADER_LENGTH + 4, UdpView.HEADER_LENGTH - 1);
+        udpView.wrapPayload(ipv4View.wrap(packet));
+    }
+
+    /**
+     * Turns an ARP reply into a request with the legacy classes and with the views, several times over the same
+     * views and writer, and checks that both give the same bytes.
+     */
+    @Test
+    public void testRoundTripsAgree() throws PacketException {
+        byte[] packet = legacyArp();
+        byte[] expected = legacyRoundTrip(packet);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(expected, viewsRoundTrip(packet));
+        }
+    }
+
+    private static byte[] legacyRoundTrip(byte[] packet) throws PacketException {
+        Ethernet ethernet = new Ethernet();
+        ethernet.deserialize(packet, 0, packet.length * Byte.SIZE);
+        ARP arp = (ARP) ethernet.getPayload();
+        ARP request = new ARP().setHardwareType(ARP.HW_TYPE_ETHERNET).setProtocolType(ARP.PROTO_TYPE_IP)
+                .setHardwareAddressLength((byte) 6).setProtocolAddressLength((byte) 4).setOpCode(ARP.REQUEST)
+                .setSenderHardwareAddress(arp.getTargetHardwareAddress())
+                .setSenderProtocolAddress(arp.getTargetProtocolAddress())
+                .setTargetHardwareAddress(new byte[6]).setTargetProtocolAddress(arp.getSenderProtocolAddress());
+        Ethernet out = new Ethernet().setSourceMACAddress(ethernet.getDestinationMACAddress())
+                .setDestinationMACAddress(ethernet.getSourceMACAddress()).setEtherType(EtherTypes.ARP.shortValue());
+        out.setPayload(request);
+        return out.serialize();
+    }
+
+    private byte[] viewsRoundTrip(byte[] packet) {
+        arpView.wrapPayload(ethernetView.wrap(packet));
+        return writer.reset().ethernet(ethernetView.getSourceMac(), ethernetView.getDestinationMac(),
+                EtherTypes.ARP.intValue()).arp(ArpView.REQUEST, arpView.getTargetHardwareAddress(),
+                arpView.getTargetProtocolAddress(), 0, arpView.getSenderProtocolAddress()).build();
+    }
+
+    private static byte[] legacyArp() throws PacketException {
+        ARP arp = new ARP().setHardwareType(ARP.HW_TYPE_ETHERNET).setProtocolType(ARP.PROTO_TYPE_IP)
+                .setHardwareAddressLength((byte) 6).setProtocolAddressLength((byte) 4).setOpCode(ARP.REPLY)
+                .setSenderHardwareAddress(mac(SRC_MAC)).setSenderProtocolAddress(ip(SRC_IP))
+                .setTargetHardwareAddress(mac(DST_MAC)).setTargetProtocolAddress(ip(DST_IP));
+        Ethernet ethernet = new Ethernet().setSourceMACAddress(mac(SRC_MAC)).setDestinationMACAddress(mac(DST_MAC))
+                .setEtherType(EtherTypes.ARP.shortValue());
+        ethernet.setPayload(arp);
+        return ethernet.serialize();
+    }
+
+    private static byte[] mac(long mac) {
+        return Arrays.copyOfRange(ByteBuffer.allocate(8).putLong(mac).array(), 2, 8);
+    }
+
+    private static byte[] ip(int ip) {
+        return ByteBuffer.allocate(4).putInt(ip).array();
+    }
+}
@@ -16,6 +16,7 @@ import static org.opendaylight.genius.mdsalutil.NWUtil.getEtherTypeFromIpPrefix;
 import static org.opendaylight.genius.mdsalutil.NWUtil.isIpAddressInRange;
 
 import org.junit.Test;
+import org.opendaylight.genius.mdsalutil.NWUtil;
 import org.opendaylight.genius.mdsalutil.NwConstants;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
@@ -115,6 +116,14 @@ public class NWUtilTest {
         assertThrowsBadAddress("aaaa:bbbb:cccc:dddd:eeee:ffff:gggg:hhhh/128");
     }
 
+    @Test
+    public void testToStringMacAddressFromLong() {
+        byte[] mac = new byte[] { 0x00, 0x1a, (byte) 0xff, 0x02, (byte) 0xc0, 0x05 };
+        assertEquals("00:1A:FF:02:C0:05", NWUtil.toStringMacAddress(NWUtil.macByteToLong(mac)));
+        assertEquals(NWUtil.toStringMacAddress(mac), NWUtil.toStringMacAddress(NWUtil.macByteToLong(mac)));
+        assertEquals("00:00:00:00:00:00", NWUtil.toStringMacAddress(0L));
+    }
+
     private static void assertThrowsBadAddress(final String address) {
         final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
             getEtherTypeFromIpPrefix(address);
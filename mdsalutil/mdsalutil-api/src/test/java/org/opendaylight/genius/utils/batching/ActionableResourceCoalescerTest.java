@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.opendaylight.genius.utils.hwvtep.HwvtepSouthboundConstants;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyBuilder;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Unit test for {@link ActionableResourceCoalescer}.
+ */
+public class ActionableResourceCoalescerTest {
+
+    private static final InstanceIdentifier<Topology> TOPOLOGY_IID = InstanceIdentifier.create(NetworkTopology.class)
+            .child(Topology.class, new TopologyKey(HwvtepSouthboundConstants.HWVTEP_TOPOLOGY_ID));
+    private static final InstanceIdentifier<Node> NODE1_IID = buildNodeIid("node1");
+    private static final InstanceIdentifier<Node> NODE2_IID = buildNodeIid("node2");
+
+    @Test
+    public void testLastWriterWins() {
+        ActionableResource<Node> put = ActionableResources.create(NODE1_IID, buildNode("node1"));
+        ActionableResource<Node> merge = ActionableResources.update(NODE1_IID, buildNode("node1"));
+        ActionableResource<?> otherPut = ActionableResources.create(NODE2_IID, buildNode("node2"));
+        ActionableResource<?> delete = ActionableResources.delete(NODE1_IID);
+
+        List<ActionableResource<?>> coalesced =
+                ActionableResourceCoalescer.coalesce(Arrays.asList(put, merge, otherPut, delete));
+        assertEquals(Arrays.asList(otherPut, delete), coalesced);
+
+        assertFalse(put.getResultFuture().isDone());
+        ((SettableFuture<Void>) delete.getResultFuture()).set(null);
+        assertTrue(put.getResultFuture().isDone());
+        assertTrue(merge.getResultFuture().isDone());
+        assertFalse(otherPut.getResultFuture().isDone());
+    }
+
+    @Test
+    public void testFoldedFuturesFailWithSurvivor() {
+        ActionableResource<Node> put1 = ActionableResources.create(NODE1_IID, buildNode("node1"));
+        ActionableResource<Node> put2 = ActionableResources.create(NODE1_IID, buildNode("node1"));
+
+        List<ActionableResource<?>> coalesced = ActionableResourceCoalescer.coalesce(Arrays.asList(put1, put2));
+        assertEquals(Arrays.asList(put2), coalesced);
+
+        IllegalStateException failure = new IllegalStateException("commit failed");
+        ((SettableFuture<Void>) put2.getResultFuture()).setException(failure);
+        try {
+            put1.getResultFuture().get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException | InterruptedException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testMergesOfSameDataFolded() {
+        ActionableResource<Node> merge1 = ActionableResources.update(NODE1_IID, buildNode("node1"));
+        ActionableResource<Node> merge2 = ActionableResources.update(NODE1_IID, buildNode("node1"));
+        // The data only matters for its equality, the coalescing does not look into it
+        ActionableResource<Node> merge3 = ActionableResources.update(NODE1_IID, buildNode("other"));
+        ActionableResource<Node> merge4 = ActionableResources.update(NODE1_IID, buildNode("other"));
+
+        assertEquals(Arrays.asList(merge1, merge3),
+                ActionableResourceCoalescer.coalesce(Arrays.asList(merge1, merge2, merge3, merge4)));
+    }
+
+    @Test
+    public void testReadEndsCoalescing() {
+        ActionableResource<Node> put1 = ActionableResources.create(NODE1_IID, buildNode("node1"));
+        ActionableResource<Node> read = new ActionableResourceImpl<>(NODE1_IID, ActionableResource.READ, null, null);
+        ActionableResource<Node> put2 = ActionableResources.create(NODE1_IID, buildNode("node1"));
+
+        List<ActionableResource<?>> resources = Arrays.asList(put1, read, put2);
+        assertSame(resources, ActionableResourceCoalescer.coalesce(resources));
+    }
+
+    @Test
+    public void testNestedIdentifiersNotCoalesced() {
+        ActionableResource<Topology> topologyPut = ActionableResources.create(TOPOLOGY_IID,
+                new TopologyBuilder().setTopologyId(HwvtepSouthboundConstants.HWVTEP_TOPOLOGY_ID).build());
+        ActionableResource<Node> nodePut = ActionableResources.create(NODE1_IID, buildNode("node1"));
+        ActionableResource<?> topologyDelete = ActionableResources.delete(TOPOLOGY_IID);
+        ActionableResource<Node> node2Put1 = ActionableResources.create(NODE2_IID, buildNode("node2"));
+        ActionableResource<Node> node2Put2 = ActionableResources.create(NODE2_IID, buildNode("node2"));
+
+        // The node2 modifications are also nested under the topology, so nothing can be coalesced
+        List<ActionableResource<?>> resources = Arrays.asList(topologyPut, nodePut, topologyDelete, node2Put1,
+                node2Put2);
+        assertSame(resources, ActionableResourceCoalescer.coalesce(resources));
+    }
+
+    private static InstanceIdentifier<Node> buildNodeIid(String nodeId) {
+        return TOPOLOGY_IID.child(Node.class, new NodeKey(new NodeId(nodeId)));
+    }
+
+    private static Node buildNode(String nodeId) {
+        return new NodeBuilder().setNodeId(new NodeId(nodeId)).build();
+    }
+}
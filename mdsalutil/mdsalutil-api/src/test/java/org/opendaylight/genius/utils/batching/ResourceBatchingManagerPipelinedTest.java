@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.utils.hwvtep.HwvtepSouthboundConstants;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TpId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPoint;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPointBuilder;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPointKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Test for the pipelined mode of {@link ResourceBatchingManager}.
+ */
+public class ResourceBatchingManagerPipelinedTest extends AbstractConcurrentDataBrokerTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int BATCH_INTERVAL_IN_MILLIS = 100;
+    private static final int LANES = 4;
+    private static final int NODES = 200;
+
+    private final String resourceType = "config.topology.pipelined";
+
+    private ResourceBatchingManager batchingManager;
+
+    @Before
+    public void registerResource() {
+        System.setProperty(ResourceBatchingManager.LANES_PROPERTY, String.valueOf(LANES));
+        System.setProperty(ResourceBatchingManager.MAX_INFLIGHT_PROPERTY, String.valueOf(LANES));
+        try {
+            batchingManager = ResourceBatchingManager.getInstance();
+            DefaultBatchHandler batchHandler = new DefaultBatchHandler(getDataBroker(),
+                    LogicalDatastoreType.CONFIGURATION, BATCH_SIZE, BATCH_INTERVAL_IN_MILLIS);
+            batchingManager.registerBatchableResource(resourceType, new LinkedBlockingQueue<>(), batchHandler);
+        } finally {
+            System.clearProperty(ResourceBatchingManager.LANES_PROPERTY);
+            System.clearProperty(ResourceBatchingManager.MAX_INFLIGHT_PROPERTY);
+        }
+    }
+
+    @After
+    public void deregisterResource() {
+        batchingManager.deregisterBatchableResource(resourceType);
+    }
+
+    @Test
+    public void testPipelinedPutsAndDeletes() throws Exception {
+        for (int i = 0; i < NODES; i++) {
+            batchingManager.put(resourceType, buildNodeIid("node" + i), buildNode("node" + i));
+        }
+        // The modifications of the same identifier are all in one lane, so they must be applied in order
+        InstanceIdentifier<Node> flappingIid = buildNodeIid("flapping");
+        for (int i = 0; i < 10; i++) {
+            batchingManager.put(resourceType, flappingIid, buildNode("flapping"));
+            batchingManager.delete(resourceType, flappingIid);
+        }
+        batchingManager.delete(resourceType, buildNodeIid("node0"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !isPresent(flappingIid)
+                && !isPresent(buildNodeIid("node0")) && isPresent(buildNodeIid("node" + (NODES - 1))));
+        for (int i = 1; i < NODES; i++) {
+            Optional<Node> optional = batchingManager.read(resourceType, buildNodeIid("node" + i))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue("Expected present", optional.isPresent());
+            assertEquals("Node", buildNode("node" + i), optional.get());
+        }
+
+        ResourceBatchingStatistics statistics = batchingManager.getStatistics(resourceType);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> statistics.getInflightBatches() == 0);
+        assertEquals(0, statistics.getQueueDepth());
+        // Each of the NODES + 21 modifications is in a batch of at most BATCH_SIZE, spread over the lanes
+        assertTrue(statistics.getBatchCount() >= (NODES + 21) / BATCH_SIZE);
+        assertTrue(statistics.getAverageBatchSize() <= BATCH_SIZE);
+        assertTrue(statistics.getCommitCount() > 0);
+    }
+
+    @Test
+    public void testParentDeleteThenChildPut() throws Exception {
+        for (int i = 0; i < NODES; i++) {
+            batchingManager.put(resourceType, buildTpIid("node" + i, "tp-old"), buildTp("tp-old"));
+        }
+        // Each node is deleted and then one of its children put, which must not be lost nor come back with the
+        // deleted children, whatever the lanes of the node and of its children
+        for (int i = 0; i < NODES; i++) {
+            batchingManager.delete(resourceType, buildNodeIid("node" + i));
+            batchingManager.put(resourceType, buildTpIid("node" + i, "tp-new"), buildTp("tp-new"));
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            for (int i = 0; i < NODES; i++) {
+                if (!isPresent(buildTpIid("node" + i, "tp-new")) || isPresent(buildTpIid("node" + i, "tp-old"))) {
+                    return false;
+                }
+            }
+            return true;
+        });
+
+        // The same with an ancestor of the resources of all the lanes
+        batchingManager.delete(resourceType, InstanceIdentifier.create(NetworkTopology.class));
+        batchingManager.put(resourceType, buildTpIid("node0", "tp-root"), buildTp("tp-root"));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> isPresent(buildTpIid("node0", "tp-root")));
+        assertFalse("Expected absent", isPresent(buildTpIid("node0", "tp-new")));
+        assertFalse("Expected absent", isPresent(buildNodeIid("node1")));
+    }
+
+    private boolean isPresent(InstanceIdentifier<?> iid) throws Exception {
+        return batchingManager.read(resourceType, iid).get(5, TimeUnit.SECONDS).isPresent();
+    }
+
+    private static InstanceIdentifier<Node> buildNodeIid(String nodeId) {
+        return InstanceIdentifier
+                .create(NetworkTopology.class)
+                .child(Topology.class, new TopologyKey(HwvtepSouthboundConstants.HWVTEP_TOPOLOGY_ID))
+                .child(Node.class, new NodeKey(new NodeId(nodeId)));
+    }
+
+    private static InstanceIdentifier<TerminationPoint> buildTpIid(String nodeId, String tpId) {
+        return buildNodeIid(nodeId).child(TerminationPoint.class, new TerminationPointKey(new TpId(tpId)));
+    }
+
+    private static TerminationPoint buildTp(String tpId) {
+        return new TerminationPointBuilder().setTpId(new TpId(tpId)).build();
+    }
+
+    private static Node buildNode(String nodeId) {
+        return new NodeBuilder().setNodeId(new NodeId(nodeId)).build();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.datastoreutils.testutils;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.ReadWriteTransaction;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.binding.spi.ForwardingDataBroker;
+import org.opendaylight.mdsal.binding.spi.ForwardingReadWriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * DataBroker which fails the commit of any transaction that writes (puts, merges or deletes) one of a configured
+ * set of "poisoned" paths, and lets all other transactions through. Unlike {@link DataBrokerFailures}, which fails
+ * the next N commits whatever they contain, this simulates an offending operation in the middle of a batch, which
+ * makes every transaction containing it fail, however the batch is split up and retried.
+ */
+public class CommitFailureInjectingDataBroker extends ForwardingDataBroker {
+
+    private final DataBroker delegate;
+    private final Set<InstanceIdentifier<?>> poisonedPaths = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger failedCommits = new AtomicInteger();
+
+    public CommitFailureInjectingDataBroker(DataBroker delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    protected DataBroker delegate() {
+        return delegate;
+    }
+
+    /**
+     * Fails the commits of all future transactions which write any of the given paths.
+     */
+    public void failCommitsWriting(InstanceIdentifier<?>... paths) {
+        poisonedPaths.addAll(List.of(paths));
+    }
+
+    /**
+     * Fails the commits of all future transactions which write any of the paths at the given positions of a batch.
+     *
+     * @param batchPaths the paths written by a batch, in order
+     * @param positions the zero based positions of the offending operations in the batch
+     */
+    public void failCommitsAt(List<? extends InstanceIdentifier<?>> batchPaths, int... positions) {
+        for (int position : positions) {
+            poisonedPaths.add(batchPaths.get(position));
+        }
+    }
+
+    /**
+     * Resets any earlier {@link #failCommitsWriting(InstanceIdentifier...)} or
+     * {@link #failCommitsAt(List, int...)}, and the commit counts.
+     */
+    public void reset() {
+        poisonedPaths.clear();
+        commits.set(0);
+        failedCommits.set(0);
+    }
+
+    /**
+     * Returns the number of commits, including the failed ones.
+     */
+    public int getCommitCount() {
+        return commits.get();
+    }
+
+    public int getFailedCommitCount() {
+        return failedCommits.get();
+    }
+
+    @Override
+    public ReadWriteTransaction newReadWriteTransaction() {
+        return new FailureInjectingTransaction(delegate.newReadWriteTransaction());
+    }
+
+    /**
+     * Returns a read-write transaction of the delegate, restricted to writes by its type, so that both kinds
+     * of transactions share the same failure injection.
+     */
+    @Override
+    public WriteTransaction newWriteOnlyTransaction() {
+        return new FailureInjectingTransaction(delegate.newReadWriteTransaction());
+    }
+
+    /**
+     * Transaction which records the paths it writes, and fails its commit if any of them is poisoned.
+     */
+    private final class FailureInjectingTransaction extends ForwardingReadWriteTransaction {
+        private final Set<InstanceIdentifier<?>> written = ConcurrentHashMap.newKeySet();
+
+        FailureInjectingTransaction(ReadWriteTransaction delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public <T extends DataObject> void put(LogicalDatastoreType store, InstanceIdentifier<T> path, T data) {
+            written.add(path);
+            super.put(store, path, data);
+        }
+
+        @Override
+        public <T extends DataObject> void mergeParentStructurePut(LogicalDatastoreType store,
+                InstanceIdentifier<T> path, T data) {
+            written.add(path);
+            super.mergeParentStructurePut(store, path, data);
+        }
+
+        @Override
+        public <T extends DataObject> void merge(LogicalDatastoreType store, InstanceIdentifier<T> path, T data) {
+            written.add(path);
+            super.merge(store, path, data);
+        }
+
+        @Override
+        public <T extends DataObject> void mergeParentStructureMerge(LogicalDatastoreType store,
+                InstanceIdentifier<T> path, T data) {
+            written.add(path);
+            super.mergeParentStructureMerge(store, path, data);
+        }
+
+        @Override
+        public void delete(LogicalDatastoreType store, InstanceIdentifier<?> path) {
+            written.add(path);
+            super.delete(store, path);
+        }
+
+        @Override
+        public FluentFuture<? extends CommitInfo> commit() {
+            commits.incrementAndGet();
+            for (InstanceIdentifier<?> path : written) {
+                if (poisonedPaths.contains(path)) {
+                    failedCommits.incrementAndGet();
+                    cancel();
+                    return FluentFuture.from(Futures.immediateFailedFuture(
+                            new TransactionCommitFailedException("Simulated failure of commit writing " + path)));
+                }
+            }
+            return super.commit();
+        }
+    }
+}
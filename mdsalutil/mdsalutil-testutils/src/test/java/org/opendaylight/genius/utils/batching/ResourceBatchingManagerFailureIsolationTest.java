@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.controller.md.sal.test.model.util.ListsBindingUtils.path;
+import static org.opendaylight.controller.md.sal.test.model.util.ListsBindingUtils.topLevelList;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
+import org.opendaylight.genius.datastoreutils.testutils.CommitFailureInjectingDataBroker;
+import org.opendaylight.mdsal.binding.testutils.DataBrokerTestModule;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Test for the isolation of the offending operations of failed {@link ResourceBatchingManager} batches.
+ */
+public class ResourceBatchingManagerFailureIsolationTest {
+
+    private static final int BATCH_SIZE = 1000;
+    // Long enough for all the resources of a test to be queued before the first batch
+    private static final int BATCH_INTERVAL_IN_MILLIS = 500;
+    private static final int RESOURCES = 64;
+
+    private final String resourceType = "operational.failure.isolation";
+    private final LinkedBlockingQueue<ActionableResource<?>> queue = new LinkedBlockingQueue<>();
+
+    private CommitFailureInjectingDataBroker dataBroker;
+    private ResourceBatchingManager batchingManager;
+
+    @Before
+    public void registerResource() throws Exception {
+        dataBroker = new CommitFailureInjectingDataBroker(new DataBrokerTestModule(true).getDataBroker());
+        batchingManager = ResourceBatchingManager.getInstance();
+        batchingManager.registerBatchableResource(resourceType, queue, new DefaultBatchHandler(dataBroker,
+                LogicalDatastoreType.OPERATIONAL, BATCH_SIZE, BATCH_INTERVAL_IN_MILLIS));
+    }
+
+    @After
+    public void deregisterResource() {
+        batchingManager.deregisterBatchableResource(resourceType);
+    }
+
+    @Test
+    public void testOnlyOffendingOperationsFail() throws Exception {
+        List<InstanceIdentifier<TopLevelList>> paths = new ArrayList<>();
+        List<ActionableResource<?>> resources = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            TopLevelListKey key = new TopLevelListKey("name" + i);
+            paths.add(path(key));
+            resources.add(ActionableResources.create(path(key), topLevelList(key)));
+        }
+        dataBroker.failCommitsAt(paths, 5, 40);
+        queue.addAll(resources);
+        awaitResults(resources);
+
+        for (int i = 0; i < RESOURCES; i++) {
+            if (i == 5 || i == 40) {
+                assertFailed(resources.get(i));
+                assertFalse(read(paths.get(i)));
+            } else {
+                resources.get(i).getResultFuture().get();
+                assertTrue(read(paths.get(i)));
+            }
+        }
+
+        ResourceBatchingStatistics statistics = batchingManager.getStatistics(resourceType);
+        assertEquals(2, statistics.getIsolatedFailureCount());
+        // Bisecting takes at most 2 commits per level of the halving for each of the 2 offending operations,
+        // instead of one commit per operation
+        assertTrue(statistics.getRetryCommitCount() <= 2 * 2 * 6);
+        assertTrue(dataBroker.getFailedCommitCount() < dataBroker.getCommitCount());
+    }
+
+    @Test
+    public void testOrderPreservedWhenRetryingDependentOperations() throws Exception {
+        TopLevelListKey flappingKey = new TopLevelListKey("flapping");
+        TopLevelListKey offendingKey = new TopLevelListKey("offending");
+        List<ActionableResource<?>> resources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            resources.add(ActionableResources.create(path(flappingKey), topLevelList(flappingKey)));
+            resources.add(ActionableResources.delete(path(flappingKey)));
+        }
+        resources.add(ActionableResources.create(path(offendingKey), topLevelList(offendingKey)));
+        dataBroker.failCommitsWriting(path(offendingKey));
+        queue.addAll(resources);
+        awaitResults(resources);
+
+        assertFailed(resources.get(resources.size() - 1));
+        assertFalse(read(path(flappingKey)));
+        assertFalse(read(path(offendingKey)));
+    }
+
+    private static void awaitResults(List<ActionableResource<?>> resources) throws Exception {
+        List<ListenableFuture<Void>> futures = new ArrayList<>();
+        resources.forEach(resource -> futures.add(resource.getResultFuture()));
+        Futures.successfulAsList(futures).get(10, TimeUnit.SECONDS);
+    }
+
+    private static void assertFailed(ActionableResource<?> resource) throws InterruptedException {
+        try {
+            resource.getResultFuture().get();
+            fail("Expected the offending operation to fail");
+        } catch (ExecutionException e) {
+            assertTrue("Expected TransactionCommitFailedException",
+                    e.getCause() instanceof TransactionCommitFailedException);
+        }
+    }
+
+    private boolean read(InstanceIdentifier<TopLevelList> iid) throws Exception {
+        return new SingleTransactionDataBroker(dataBroker).syncReadOptional(LogicalDatastoreType.OPERATIONAL, iid)
+                .isPresent();
+    }
+}